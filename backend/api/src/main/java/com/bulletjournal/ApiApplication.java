@@ -0,0 +1,18 @@
+package com.bulletjournal;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Request handling process, the api module. Background daemons run in the worker module.
+ * Runs with the api profile in addition to the active ones, see application-api.properties.
+ */
+@SpringBootApplication
+@EnableJpaAuditing
+public class ApiApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ApiApplication.class).profiles("api").run(args);
+    }
+}
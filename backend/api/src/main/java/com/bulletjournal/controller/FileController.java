@@ -1,8 +1,10 @@
 package com.bulletjournal.controller;
 
 import com.bulletjournal.clients.AWSS3Client;
+import com.bulletjournal.clients.Bulkheads;
 import com.bulletjournal.clients.UserClient;
 import com.bulletjournal.controller.models.User;
+import com.bulletjournal.controller.utils.DeferredResults;
 import com.bulletjournal.filters.rate.limiting.TokenBucket;
 import com.bulletjournal.filters.rate.limiting.TokenBucketType;
 import com.bulletjournal.redis.RedisUserRepository;
@@ -13,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -33,28 +36,31 @@ public class FileController {
     @Autowired
     private RedisUserRepository redisUserRepository;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
     @PostMapping("/api/uploadFile")
-    public String uploadFile(@RequestPart(value = "file") MultipartFile file) {
+    public DeferredResult<String> uploadFile(@RequestPart(value = "file") MultipartFile file) {
         if (this.tokenBucket.isLimitExceeded(TokenBucketType.FILE_UPLOAD)) {
             LOGGER.error("File upload limit exceeded");
         }
-        return this.awsS3Client.uploadFile(file);
+        return DeferredResults.of(this.awsS3Client.uploadFile(file), this.bulkheads.get(Bulkheads.S3));
     }
 
     @PostMapping("/api/uploadAvatar")
-    public void uploadAvatar(@RequestPart(value = "file") MultipartFile file) throws IOException {
+    public DeferredResult<Void> uploadAvatar(@RequestPart(value = "file") MultipartFile file) throws IOException {
         if (this.tokenBucket.isLimitExceeded(TokenBucketType.FILE_UPLOAD)) {
             LOGGER.error("File upload limit exceeded");
         }
         String fileName = file.getOriginalFilename();
         LOGGER.info("Uploading avatar " + fileName);
         String username = MDC.get(UserClient.USER_NAME_KEY);
-        this.userClient.uploadAvatar(file, username);
-
-        LOGGER.info("Clearing " + username + " cache");
-        Optional<User> userOptional = redisUserRepository.findById(username);
-        if (userOptional.isPresent()) {
-            this.redisUserRepository.delete(userOptional.get());
-        }
+        return DeferredResults.of(this.userClient.uploadAvatar(file, username).thenRun(() -> {
+            LOGGER.info("Clearing " + username + " cache");
+            Optional<User> userOptional = redisUserRepository.findById(username);
+            if (userOptional.isPresent()) {
+                this.redisUserRepository.delete(userOptional.get());
+            }
+        }), this.bulkheads.get(Bulkheads.SSO));
     }
 }
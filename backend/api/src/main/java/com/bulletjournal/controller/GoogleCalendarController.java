@@ -1,11 +1,14 @@
 package com.bulletjournal.controller;
 
 import com.bulletjournal.calendars.google.*;
+import com.bulletjournal.clients.Bulkhead;
+import com.bulletjournal.clients.Bulkheads;
 import com.bulletjournal.clients.GoogleCalClient;
 import com.bulletjournal.clients.UserClient;
 import com.bulletjournal.config.GoogleCalConfig;
 import com.bulletjournal.controller.models.LoginStatus;
 import com.bulletjournal.controller.models.Project;
+import com.bulletjournal.controller.utils.DeferredResults;
 import com.bulletjournal.exceptions.BadRequestException;
 import com.bulletjournal.exceptions.ResourceNotFoundException;
 import com.bulletjournal.repository.GoogleCalendarProjectDaoJpa;
@@ -27,6 +30,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.servlet.view.RedirectView;
 
 import javax.validation.Valid;
@@ -38,12 +42,13 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 @RestController
 public class GoogleCalendarController {
 
-    public static final String CHANNEL_NOTIFICATIONS_ROUTE = "/api/calendar/google/channel/notifications";
+    public static final String CHANNEL_NOTIFICATIONS_ROUTE = Util.CHANNEL_NOTIFICATIONS_ROUTE;
     private static final GsonFactory GSON = new GsonFactory();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GoogleCalendarController.class);
@@ -64,6 +69,9 @@ public class GoogleCalendarController {
     @Autowired
     private UserClient userClient;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
     @Autowired
     private Environment env;
 
@@ -76,21 +84,23 @@ public class GoogleCalendarController {
     }
 
     @RequestMapping(value = "/api/calendar/google/oauth2_basic/callback", method = RequestMethod.GET, params = "code")
-    public RedirectView oauth2Callback(@RequestParam(value = "code") String code) {
+    public DeferredResult<RedirectView> oauth2Callback(@RequestParam(value = "code") String code) {
         String username = MDC.get(UserClient.USER_NAME_KEY);
-        try {
-            TokenResponse response = this.googleCalClient.getFlow().newTokenRequest(code)
-                    .setRedirectUri(this.googleCalConfig.getRedirectURI()).execute();
-            this.googleCalClient.getFlow().createAndStoreCredential(response, username);
-        } catch (Exception ex) {
-            throw new IllegalStateException(ex);
-        }
+        return this.callGoogleCalendar(() -> {
+            try {
+                TokenResponse response = this.googleCalClient.getFlow().newTokenRequest(code)
+                        .setRedirectUri(this.googleCalConfig.getRedirectURI()).execute();
+                this.googleCalClient.getFlow().createAndStoreCredential(response, username);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
 
-        if (isProd()) {
-            return new RedirectView("https://bulletjournal.us/#/googleCalendar");
-        }
+            if (isProd()) {
+                return new RedirectView("https://bulletjournal.us/#/googleCalendar");
+            }
 
-        return new RedirectView(GOOGLE_CALENDAR_PAGE_PATH);
+            return new RedirectView(GOOGLE_CALENDAR_PAGE_PATH);
+        });
     }
 
     private boolean isProd() {
@@ -119,12 +129,16 @@ public class GoogleCalendarController {
     }
 
     @GetMapping("/api/calendar/google/calendars/{calendarId}/eventList")
-    public List<GoogleCalendarEvent> getEventList(
+    public DeferredResult<List<GoogleCalendarEvent>> getEventList(
             @NotNull @PathVariable String calendarId,
             @NotBlank @RequestParam String timezone,
             @RequestParam(name = "startDate", required = false) String startDate, // yyyy-MM-dd
-            @RequestParam(name = "endDate", required = false) String endDate)
-            throws IOException {
+            @RequestParam(name = "endDate", required = false) String endDate) {
+        return this.callGoogleCalendar(() -> getEvents(calendarId, timezone, startDate, endDate));
+    }
+
+    private List<GoogleCalendarEvent> getEvents(
+            String calendarId, String timezone, String startDate, String endDate) throws IOException {
         Calendar service = this.googleCalClient.getCalendarService();
         Calendar.Events.List list = service.events().list(calendarId);
         //        2002-10-02T10:00:00-05:00
@@ -169,7 +183,11 @@ public class GoogleCalendarController {
     }
 
     @GetMapping("/api/calendar/google/calendarList")
-    public List<CalendarListEntry> getCalendarList() throws IOException {
+    public DeferredResult<List<CalendarListEntry>> getCalendarList() {
+        return this.callGoogleCalendar(this::getCalendars);
+    }
+
+    private List<CalendarListEntry> getCalendars() throws IOException {
         Calendar service = this.googleCalClient.getCalendarService();
         List<CalendarListEntry> result = new ArrayList<>();
         // Iterate through entries in calendar list
@@ -188,14 +206,18 @@ public class GoogleCalendarController {
     }
 
     @PostMapping("/api/calendar/google/calendars/{calendarId}/watch")
-    public Project watchCalendar(
+    public DeferredResult<Project> watchCalendar(
             @NotNull @PathVariable String calendarId,
-            @Valid @RequestBody @NotNull WatchCalendarParams watchCalendarParams) throws IOException {
+            @Valid @RequestBody @NotNull WatchCalendarParams watchCalendarParams) {
         Project project = getWatchedProject(calendarId);
         if (project.getId() != null) {
             throw new BadRequestException("Calendar " + calendarId + " is already watched");
         }
 
+        return this.callGoogleCalendar(() -> watch(calendarId, watchCalendarParams));
+    }
+
+    private Project watch(String calendarId, WatchCalendarParams watchCalendarParams) throws IOException {
         String username = MDC.get(UserClient.USER_NAME_KEY);
         Channel createdChannel;
         Channel channel = Util.getChannel();
@@ -221,14 +243,17 @@ public class GoogleCalendarController {
     }
 
     @PostMapping(CHANNEL_NOTIFICATIONS_ROUTE)
-    public void getChannelNotifications(@RequestHeader Map<String, String> headers) throws IOException {
+    public DeferredResult<Void> getChannelNotifications(@RequestHeader Map<String, String> headers) {
         String channelId = headers.get(GOOGLE_CHANNEL_ID_HEADER);
         GoogleCalendarProject googleCalendarProject = this.googleCalendarProjectDaoJpa.getByChannelId(channelId);
         String token = googleCalendarProject.getToken();
         String calendarId = googleCalendarProject.getId();
         String requester = googleCalendarProject.getOwner();
         LOGGER.info("Notification for channelId {} token {} calendarId {}", channelId, token, calendarId);
-        incrementSync(calendarId, token, requester);
+        return this.callGoogleCalendar(() -> {
+            incrementSync(calendarId, token, requester);
+            return null;
+        });
     }
 
     @GetMapping("/api/calendar/google/calendars/{calendarId}/watchedProject")
@@ -247,18 +272,20 @@ public class GoogleCalendarController {
     }
 
     @PostMapping("/api/calendar/google/calendars/{calendarId}/unwatch")
-    public Project unwatchCalendar(@NotNull @PathVariable String calendarId) throws IOException {
+    public DeferredResult<Project> unwatchCalendar(@NotNull @PathVariable String calendarId) throws IOException {
         GoogleCalendarProject googleCalendarProject = this.googleCalendarProjectDaoJpa.get(calendarId);
         // https://developers.google.com/calendar/v3/reference/channels/stop
         LOGGER.info("Stopping channel {}", googleCalendarProject.getChannel());
         Channel channel = GSON.fromString(googleCalendarProject.getChannel(), Channel.class);
         LOGGER.info("Retrieved channel {}", channel);
-        if (isProd()) {
-            Calendar service = this.googleCalClient.getCalendarService();
-            service.channels().stop(channel).execute();
-        }
-        this.googleCalendarProjectDaoJpa.delete(calendarId);
-        return googleCalendarProject.getProject().toPresentationModel();
+        return this.callGoogleCalendar(() -> {
+            if (isProd()) {
+                Calendar service = this.googleCalClient.getCalendarService();
+                service.channels().stop(channel).execute();
+            }
+            this.googleCalendarProjectDaoJpa.delete(calendarId);
+            return googleCalendarProject.getProject().toPresentationModel();
+        });
     }
 
     private String getSyncToken(String calendarId) throws IOException {
@@ -306,6 +333,14 @@ public class GoogleCalendarController {
     }
 
 
+    private Bulkhead googleCalendar() {
+        return this.bulkheads.get(Bulkheads.GOOGLE_CALENDAR);
+    }
+
+    private <T> DeferredResult<T> callGoogleCalendar(Callable<T> call) {
+        return DeferredResults.of(this.googleCalendar().submit(call), this.googleCalendar());
+    }
+
     private String authorize() {
         if (this.googleCalClient.getFlow() == null) {
             throw new IllegalStateException("Google Calendar Settings missing");
@@ -11,6 +11,7 @@ import com.bulletjournal.repository.NoteRepository;
 import com.bulletjournal.repository.models.ContentModel;
 import com.bulletjournal.repository.models.NoteContent;
 import com.bulletjournal.repository.models.ProjectItemModel;
+import com.google.common.collect.ImmutableMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.MDC;
@@ -46,6 +47,7 @@ public class NoteController {
     protected static final String CONTENT_ROUTE = "/api/notes/{noteId}/contents/{contentId}";
     protected static final String CONTENTS_ROUTE = "/api/notes/{noteId}/contents";
     protected static final String CONTENT_REVISIONS_ROUTE = "/api/notes/{noteId}/contents/{contentId}/revisions/{revisionId}";
+    protected static final String CONTENT_REVISION_HISTORY_ROUTE = "/api/notes/{noteId}/contents/{contentId}/revisions";
 
     @Autowired
     private NoteDaoJpa noteDaoJpa;
@@ -102,9 +104,10 @@ public class NoteController {
         com.bulletjournal.repository.models.Note createdNote = noteDaoJpa.create(projectId, username, note);
         String projectName = createdNote.getProject().getName();
 
-        this.notificationService.trackActivity(new Auditable(projectId,
-                "created Note ##" + createdNote.getName() + "## in BuJo ##" + projectName + "##", username,
-                createdNote.getId(), Timestamp.from(Instant.now()), ContentAction.ADD_NOTE));
+        this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.CREATE_ITEM,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Note", ActivityTemplate.NAME, createdNote.getName(),
+                        ActivityTemplate.PROJECT, projectName),
+                username, createdNote.getId(), Timestamp.from(Instant.now()), ContentAction.ADD_NOTE));
         return createdNote.toPresentationModel();
     }
 
@@ -123,7 +126,9 @@ public class NoteController {
         Long projectId = updatedNote.getProject().getId();
         String projectName = updatedNote.getProject().getName();
         this.notificationService.trackActivity(
-                new Auditable(projectId, "updated note ##" + updatedNote.getName() + "## in BuJo " + projectName + "##",
+                new Auditable(projectId, ActivityTemplate.UPDATE_ITEM,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Note", ActivityTemplate.NAME, updatedNote.getName(),
+                                ActivityTemplate.PROJECT, projectName),
                         username, noteId, Timestamp.from(Instant.now()), ContentAction.UPDATE_NOTE));
         return getNotes(projectId, null, null, null, null, null);
     }
@@ -147,8 +152,9 @@ public class NoteController {
             this.notificationService.inform(new RemoveNoteEvent(events, username));
         }
         this.notificationService.deleteESDocument(new RemoveElasticsearchDocumentEvent(deleteESDocumentIds));
-        this.notificationService.trackActivity(new Auditable(projectId, "deleted note ##" + noteName + "##", username,
-                noteId, Timestamp.from(Instant.now()), ContentAction.DELETE_NOTE));
+        this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.DELETE_ITEM,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Note", ActivityTemplate.NAME, noteName),
+                username, noteId, Timestamp.from(Instant.now()), ContentAction.DELETE_NOTE));
         return note;
     }
 
@@ -197,9 +203,11 @@ public class NoteController {
                 .move(username, noteId, moveProjectItemParams.getTargetProject());
         com.bulletjournal.repository.models.Note note = res.getLeft();
         com.bulletjournal.repository.models.Project targetProject = res.getRight();
-        this.notificationService.trackActivity(new Auditable(note.getProject().getId(),
-                "moved Note ##" + note.getName() + "## to BuJo ##" + targetProject.getName() + "##", username,
-                note.getId(), Timestamp.from(Instant.now()), ContentAction.MOVE_NOTE));
+        this.notificationService.trackActivity(new Auditable(note.getProject().getId(), ActivityTemplate.MOVE_ITEM,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Note",
+                        ActivityTemplate.NAME, note.getName(),
+                        ActivityTemplate.TARGET, targetProject.getName()),
+                username, note.getId(), Timestamp.from(Instant.now()), ContentAction.MOVE_NOTE));
     }
 
     @PostMapping(SHARE_NOTE_ROUTE)
@@ -251,9 +259,10 @@ public class NoteController {
         Long projectId = res.getRight().getProject().getId();
         String projectName = res.getRight().getProject().getName();
 
-        this.notificationService.trackActivity(new Auditable(projectId,
-                "created Content in Note ##" + noteName + "## under BuJo ##" + projectName + "##", username, noteId,
-                Timestamp.from(Instant.now()), ContentAction.ADD_NOTE_CONTENT));
+        this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.CREATE_CONTENT,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Note", ActivityTemplate.NAME, noteName,
+                        ActivityTemplate.PROJECT, projectName),
+                username, noteId, Timestamp.from(Instant.now()), ContentAction.ADD_NOTE_CONTENT));
 
         return createdContent;
     }
@@ -261,7 +270,7 @@ public class NoteController {
     @GetMapping(CONTENTS_ROUTE)
     public List<Content> getContents(@NotNull @PathVariable Long noteId) {
         String username = MDC.get(UserClient.USER_NAME_KEY);
-        return Content.addOwnerAvatar(this.noteDaoJpa.getContents(noteId, username).stream()
+        return Content.addOwnerAvatar(this.noteDaoJpa.getContentSummaries(noteId, username).stream()
                 .map(t -> t.toPresentationModel()).collect(Collectors.toList()), this.userClient);
     }
 
@@ -271,8 +280,8 @@ public class NoteController {
         List<String> deleteESDocumentIds = this.noteDaoJpa.getDeleteESDocumentIdsForContent(username, contentId);
         ProjectItemModel note = this.noteDaoJpa.deleteContent(contentId, noteId, username);
 
-        this.notificationService.trackActivity(new Auditable(note.getProject().getId(),
-                "deleted Content in Note ##" + note.getName() + "## under BuJo ##" + note.getProject().getName() + "##",
+        this.notificationService.trackActivity(new Auditable(note.getProject().getId(), ActivityTemplate.DELETE_CONTENT,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Note", ActivityTemplate.NAME, note.getName()),
                 username, noteId, Timestamp.from(Instant.now()), ContentAction.DELETE_NOTE_CONTENT));
         this.notificationService.deleteESDocument(new RemoveElasticsearchDocumentEvent(deleteESDocumentIds));
 
@@ -286,13 +295,21 @@ public class NoteController {
         ProjectItemModel note = this.noteDaoJpa.updateContent(contentId, noteId, username, updateContentParams)
                 .getRight();
 
-        this.notificationService.trackActivity(new Auditable(note.getProject().getId(),
-                "updated Content in Note ##" + note.getName() + "## under BuJo ##" + note.getProject().getName() + "##",
+        this.notificationService.trackActivity(new Auditable(note.getProject().getId(), ActivityTemplate.UPDATE_CONTENT,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Note", ActivityTemplate.NAME, note.getName()),
                 username, noteId, Timestamp.from(Instant.now()), ContentAction.UPDATE_NOTE_CONTENT));
 
         return getContents(noteId);
     }
 
+    @GetMapping(CONTENT_REVISION_HISTORY_ROUTE)
+    public List<Revision> getContentRevisions(@NotNull @PathVariable Long noteId,
+            @NotNull @PathVariable Long contentId) {
+        String username = MDC.get(UserClient.USER_NAME_KEY);
+        return Revision.addAvatar(this.noteDaoJpa.getContentRevisions(username, noteId, contentId),
+                this.userClient);
+    }
+
     @GetMapping(CONTENT_REVISIONS_ROUTE)
     public Revision getContentRevision(@NotNull @PathVariable Long noteId, @NotNull @PathVariable Long contentId,
             @NotNull @PathVariable Long revisionId) {
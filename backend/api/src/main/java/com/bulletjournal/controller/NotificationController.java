@@ -3,7 +3,6 @@ package com.bulletjournal.controller;
 import com.bulletjournal.clients.UserClient;
 import com.bulletjournal.controller.models.AnswerNotificationParams;
 import com.bulletjournal.controller.models.Notification;
-import com.bulletjournal.controller.utils.EtagGenerator;
 import com.bulletjournal.exceptions.ResourceNotFoundException;
 import com.bulletjournal.notifications.*;
 import com.bulletjournal.redis.RedisEtagDaoJpa;
@@ -13,7 +12,9 @@ import com.bulletjournal.repository.models.Group;
 import com.bulletjournal.repository.models.User;
 import com.bulletjournal.repository.models.UserGroup;
 import com.bulletjournal.repository.models.UserGroupKey;
+import com.bulletjournal.repository.utils.KeysetCursor;
 import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -26,11 +27,13 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
 import java.util.List;
 
 @RestController
 public class NotificationController {
     protected static final String NOTIFICATIONS_ROUTE = "/api/notifications";
+    protected static final String NOTIFICATION_COUNT_ROUTE = "/api/notifications/count";
     protected static final String ANSWER_NOTIFICATION_ROUTE = "/api/notifications/{notificationId}/answer";
     private static final Logger LOGGER = LoggerFactory.getLogger(NotificationController.class);
     @Autowired
@@ -58,18 +61,39 @@ public class NotificationController {
     public ResponseEntity<List<Notification>> getNotifications() {
         String username = MDC.get(UserClient.USER_NAME_KEY);
         List<Notification> notificationList = this.notificationDaoJpa.getNotifications(username);
+        return ResponseEntity.ok().headers(getNotificationsHeader(username)).body(notificationList);
+    }
+
+    @GetMapping(value = NOTIFICATIONS_ROUTE, params = "cursor")
+    public ResponseEntity<List<Notification>> getNotificationsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(required = false, defaultValue = "50") Integer pageSize) {
+        KeysetCursor.validatePageSize(pageSize);
+        String username = MDC.get(UserClient.USER_NAME_KEY);
+        Pair<List<Notification>, String> page = this.notificationDaoJpa.getNotifications(username, cursor, pageSize);
+
+        HttpHeaders responseHeader = getNotificationsHeader(username);
+        if (page.getRight() != null) {
+            responseHeader.set(KeysetCursor.NEXT_CURSOR_HEADER, page.getRight());
+        }
+        return ResponseEntity.ok().headers(responseHeader).body(page.getLeft());
+    }
 
-        String notificationsEtag = EtagGenerator.generateEtag(EtagGenerator.HashAlgorithm.MD5,
-                EtagGenerator.HashType.TO_HASHCODE,
-                notificationList);
+    @GetMapping(NOTIFICATION_COUNT_ROUTE)
+    public Long getNotificationCount() {
+        String username = MDC.get(UserClient.USER_NAME_KEY);
+        return this.notificationDaoJpa.getNotificationCount(username);
+    }
+
+    private HttpHeaders getNotificationsHeader(String username) {
+        String notificationsEtag = this.notificationDaoJpa.getUserEtag(username);
 
         HttpHeaders responseHeader = new HttpHeaders();
         responseHeader.setETag(notificationsEtag);
 
         // Store Etag to cache
         redisEtagDaoJpa.singleCache(username, EtagType.NOTIFICATION, notificationsEtag);
-
-        return ResponseEntity.ok().headers(responseHeader).body(notificationList);
+        return responseHeader;
     }
 
     @PostMapping(ANSWER_NOTIFICATION_ROUTE)
@@ -93,7 +117,7 @@ public class NotificationController {
     public ResponseEntity<List<Notification>> cleanNotifications() {
         String username = MDC.get(UserClient.USER_NAME_KEY);
         this.notificationRepository.deleteByTargetUser(username);
-        return getNotifications();
+        return ResponseEntity.ok().headers(getNotificationsHeader(username)).body(Collections.emptyList());
     }
 
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
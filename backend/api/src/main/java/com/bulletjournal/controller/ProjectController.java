@@ -7,6 +7,10 @@ import com.bulletjournal.controller.utils.EtagGenerator;
 import com.bulletjournal.notifications.*;
 import com.bulletjournal.repository.AuditableDaoJpa;
 import com.bulletjournal.repository.ProjectDaoJpa;
+import com.bulletjournal.repository.utils.KeysetCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,8 +18,10 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.bulletjournal.exceptions.BadRequestException;
 
 import javax.validation.Valid;
@@ -26,6 +32,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -36,8 +43,10 @@ public class ProjectController {
     protected static final String PROJECTS_ROUTE = "/api/projects";
     protected static final String PROJECT_ROUTE = "/api/projects/{projectId}";
     protected static final String PROJECT_HISTORY_ROUTE = "/api/projects/{projectId}/history";
+    protected static final String PROJECT_HISTORY_EXPORT_ROUTE = "/api/projects/{projectId}/history/export";
     protected static final String UPDATE_SHARED_PROJECTS_ORDER_ROUTE = "/api/updateSharedProjectsOrder";
     private static final Logger LOGGER = LoggerFactory.getLogger(ProjectController.class);
+    private static final int HISTORY_EXPORT_PAGE_SIZE = 1000;
     @Autowired
     private ProjectDaoJpa projectDaoJpa;
 
@@ -50,6 +59,9 @@ public class ProjectController {
     @Autowired
     private UserClient userClient;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping(PROJECTS_ROUTE)
     public ResponseEntity<Projects> getProjects() {
         String username = MDC.get(UserClient.USER_NAME_KEY);
@@ -69,7 +81,7 @@ public class ProjectController {
     @GetMapping(PROJECT_ROUTE)
     public Project getProject(@NotNull @PathVariable Long projectId) {
         String username = MDC.get(UserClient.USER_NAME_KEY);
-        Project project = this.projectDaoJpa.getProject(projectId, username).toVerbosePresentationModel();
+        Project project = this.projectDaoJpa.getVerboseProject(projectId, username);
         return Project.addOwnerAvatar(project, this.userClient);
     }
 
@@ -78,12 +90,14 @@ public class ProjectController {
     public Project createProject(@Valid @RequestBody CreateProjectParams project) {
         String username = MDC.get(UserClient.USER_NAME_KEY);
         List<Event> events = new ArrayList<>();
-        Project createdProject = projectDaoJpa.create(project, username, events).toVerbosePresentationModel();
+        Long projectId = projectDaoJpa.create(project, username, events).getId();
+        Project createdProject = this.projectDaoJpa.getVerboseProject(projectId, username);
         if (!events.isEmpty()) {
             this.notificationService.inform(new CreateProjectEvent(events, username));
         }
         this.notificationService
-                .trackActivity(new Auditable(createdProject.getId(), "created BuJo ##" + project.getName() + "##",
+                .trackActivity(new Auditable(createdProject.getId(), ActivityTemplate.CREATE_PROJECT,
+                        ImmutableMap.of(),
                         username, null, Timestamp.from(Instant.now()), ContentAction.ADD_PROJECT));
         return Project.addOwnerAvatar(createdProject, this.userClient);
     }
@@ -102,7 +116,8 @@ public class ProjectController {
             this.notificationService.inform(new RemoveFromProjectEvent(removed, username));
         }
         Project project = getProject(projectId);
-        this.notificationService.trackActivity(new Auditable(projectId, "updated BuJo ##" + project.getName() + "##",
+        this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.UPDATE_PROJECT,
+                ImmutableMap.of(),
                 username, null, Timestamp.from(Instant.now()), ContentAction.UPDATE_PROJECT));
         return project;
     }
@@ -120,7 +135,8 @@ public class ProjectController {
         if (!events.isEmpty()) {
             this.notificationService.inform(new RemoveProjectEvent(events, username));
         }
-        this.notificationService.trackActivity(new Auditable(projectId, "deleted BuJo ##" + projectName + "##",
+        this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.DELETE_PROJECT,
+                ImmutableMap.of(ActivityTemplate.PROJECT, projectName),
                 username, null, Timestamp.from(Instant.now()), ContentAction.DELETE_PROJECT));
     }
 
@@ -157,11 +173,70 @@ public class ProjectController {
             @NotBlank @RequestParam String startDate, @NotBlank @RequestParam String endDate,
             @RequestParam @NotNull ContentAction action, @RequestParam @NotBlank String username) {
         String requester = MDC.get(UserClient.USER_NAME_KEY);
-        return this.auditableDaoJpa.getHistory(projectId, timezone, startDate, endDate, action, username, requester)
-                .stream().map(a -> {
-                    User user = this.userClient.getUser(a.getOriginator().getName());
-                    a.setOriginator(user);
-                    return a;
-                }).collect(Collectors.toList());
+        return addOriginators(this.auditableDaoJpa.getHistory(
+                projectId, timezone, startDate, endDate, action, username, requester));
+    }
+
+    @GetMapping(value = PROJECT_HISTORY_ROUTE, params = "cursor")
+    public ResponseEntity<List<Activity>> getHistoryByCursor(@NotNull @PathVariable Long projectId,
+            @NotBlank @RequestParam String timezone, @NotBlank @RequestParam String startDate,
+            @NotBlank @RequestParam String endDate, @RequestParam @NotNull ContentAction action,
+            @RequestParam @NotBlank String username, @RequestParam String cursor,
+            @RequestParam(required = false, defaultValue = "50") Integer pageSize) {
+        KeysetCursor.validatePageSize(pageSize);
+        String requester = MDC.get(UserClient.USER_NAME_KEY);
+        Pair<List<Activity>, String> page = this.auditableDaoJpa.getHistory(projectId, timezone, startDate,
+                endDate, action, username, requester, cursor, pageSize);
+
+        HttpHeaders responseHeader = new HttpHeaders();
+        if (page.getRight() != null) {
+            responseHeader.set(KeysetCursor.NEXT_CURSOR_HEADER, page.getRight());
+        }
+        return ResponseEntity.ok().headers(responseHeader).body(addOriginators(page.getLeft()));
+    }
+
+    /**
+     * Export the whole history window as a JSON array. Rows are read page by page and written out
+     * as they come, so neither the server nor the database holds the window in one piece.
+     */
+    @GetMapping(value = PROJECT_HISTORY_EXPORT_ROUTE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHistory(@NotNull @PathVariable Long projectId,
+            @NotBlank @RequestParam String timezone, @NotBlank @RequestParam String startDate,
+            @NotBlank @RequestParam String endDate, @RequestParam @NotNull ContentAction action,
+            @RequestParam @NotBlank String username) {
+        String requester = MDC.get(UserClient.USER_NAME_KEY);
+        // read first page before committing the response so that permission errors keep their status
+        Pair<List<Activity>, String> firstPage = this.auditableDaoJpa.getHistory(projectId, timezone, startDate,
+                endDate, action, username, requester, null, HISTORY_EXPORT_PAGE_SIZE);
+
+        StreamingResponseBody body = outputStream -> {
+            MDC.put(UserClient.USER_NAME_KEY, requester);
+            try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                Pair<List<Activity>, String> page = firstPage;
+                while (true) {
+                    for (Activity activity : addOriginators(page.getLeft())) {
+                        generator.writeObject(activity);
+                    }
+                    generator.flush();
+                    if (page.getRight() == null) {
+                        break;
+                    }
+                    page = this.auditableDaoJpa.getHistory(projectId, timezone, startDate, endDate, action,
+                            username, requester, page.getRight(), HISTORY_EXPORT_PAGE_SIZE);
+                }
+                generator.writeEndArray();
+            } finally {
+                MDC.remove(UserClient.USER_NAME_KEY);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private List<Activity> addOriginators(List<Activity> activities) {
+        Map<String, User> users = this.userClient.getUsers(
+                activities.stream().map(a -> a.getOriginator().getName()).collect(Collectors.toSet()));
+        activities.forEach(a -> a.setOriginator(users.get(a.getOriginator().getName())));
+        return activities;
     }
 }
\ No newline at end of file
@@ -6,12 +6,9 @@ import com.bulletjournal.controller.utils.ProjectItemsGrouper;
 import com.bulletjournal.controller.utils.ZonedDateTimeHelper;
 import com.bulletjournal.repository.*;
 import com.bulletjournal.repository.factory.ProjectItemDaos;
-import com.bulletjournal.repository.models.Group;
-import com.bulletjournal.repository.models.Project;
 import com.bulletjournal.repository.models.Task;
 import com.bulletjournal.repository.models.Transaction;
 import com.bulletjournal.repository.models.User;
-import com.bulletjournal.repository.models.UserGroup;
 import com.bulletjournal.repository.models.*;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,18 +40,22 @@ public class ProjectItemController {
 
     private final UserDaoJpa userDaoJpa;
 
+    private final ProjectDaoJpa projectDaoJpa;
+
     private final UserClient userClient;
 
     private final Map<ProjectType, ProjectItemDaoJpa> daos;
 
     @Autowired
     public ProjectItemController(TaskDaoJpa taskDaoJpa, TransactionDaoJpa transactionDaoJpa, LabelDaoJpa labelDaoJpa,
-                                 UserDaoJpa userDaoJpa, UserClient userClient, ProjectItemDaos projectItemDaos) {
+                                 UserDaoJpa userDaoJpa, ProjectDaoJpa projectDaoJpa, UserClient userClient,
+                                 ProjectItemDaos projectItemDaos) {
         this.taskDaoJpa = taskDaoJpa;
         this.transactionDaoJpa = transactionDaoJpa;
         this.daos = projectItemDaos.getDaos();
         this.labelDaoJpa = labelDaoJpa;
         this.userDaoJpa = userDaoJpa;
+        this.projectDaoJpa = projectDaoJpa;
         this.userClient = userClient;
     }
 
@@ -131,14 +132,8 @@ public class ProjectItemController {
                                                                     List<ProjectItem> projectItems, final ProjectType projectType) {
 
         String username = MDC.get(UserClient.USER_NAME_KEY);
-        User user = this.userDaoJpa.getByName(username);
-        Set<Long> projectIds = new HashSet<>();
-        for (UserGroup userGroup : user.getGroups()) {
-            if (!userGroup.isAccepted()) continue;
-            Group group = userGroup.getGroup();
-            projectIds.addAll(group.getProjects().stream().map(Project::getId).collect(Collectors.toList()));
-        }
-        final List<T> items = this.daos.get(projectType).getRecentProjectItemsBetween(startTime, endTime, new ArrayList<>(projectIds));
+        List<Long> projectIds = this.projectDaoJpa.getGroupProjectIds(username, true);
+        final List<T> items = this.daos.get(projectType).getRecentProjectItemsBetween(startTime, endTime, projectIds);
 
         projectItems.addAll(items.stream().map(t -> ProjectItem.addAvatar(t.toPresentationModel(), this.userClient))
                 .collect(Collectors.toList()));
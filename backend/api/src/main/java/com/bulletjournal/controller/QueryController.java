@@ -247,6 +247,8 @@ public class QueryController {
                                           Set<Long> shareNoteIds, Set<Long> shareTaskIds) {
         // Created a Map to group search result to the same id
         Map<String, SearchResultItem> results = new HashMap<>();
+        Map<String, String> projectItemNames = validateSearchResults(
+                searchResultList.stream().map(SearchHit::getContent).collect(Collectors.toList()), username);
 
         searchResultList.forEach(searchHit -> {
             SearchIndex index = searchHit.getContent();
@@ -254,7 +256,7 @@ public class QueryController {
             String projectItemId = isContent ? index.getParentId() : index.getId();
 
             // If search result is not present in database, add result to invalid results list
-            String projectItemName = validateSearchResult(index, username);
+            String projectItemName = projectItemNames.get(index.getId());
             if (projectItemName == null) {
                 invalid.add(index);
                 return;
@@ -290,40 +292,73 @@ public class QueryController {
     }
 
     /**
-     * Validate search result still exists.
+     * Validate search results still exist.
      * <p>
-     * 1. Determine the search index type.
-     * - If type is NAME, search id in project item repo
-     * - If type is CONTENT, search content in project content repo and search its parent in project item repo
-     * 2. Return project item name, if result is valid. Otherwise, return null.
+     * 1. Group search indices by project item type.
+     * - If type is NAME, its id is a project item
+     * - If type is CONTENT, its id is a content, look up the project item of the content
+     * 2. Load contents, then project items the requester may read, of each type at once.
+     * 3. Return project item names by search index id. Invalid search indices are absent.
      *
-     * @param searchIndex the target search index
-     * @param username    the requester username
-     * @return the project item name of the search index
+     * @param searchIndices the target search indices
+     * @param username      the requester username
+     * @return the project item name of each valid search index, by search index id
      */
-    private String validateSearchResult(SearchIndex searchIndex, String username) {
-        Pair<String, Long> searchIndexPair = parseSearchIndexInfo(searchIndex.getId());
-        String searchIndexType = searchIndexPair.getFirst();
-        Long searchIndexId = searchIndexPair.getSecond();
-
-        // If content type contains suffix as CONTENT
-        boolean isContent = searchIndexType.endsWith(CONTENT_TYPE_SUFFIX);
-
-        ProjectItemDaoJpa projectItemDaoJpa = getProjectItemDao(searchIndexType);
-
-        try {
-            if (isContent) {
-                if (projectItemDaoJpa.getContent(searchIndexId, username) == null)
-                    return null;
+    private Map<String, String> validateSearchResults(List<SearchIndex> searchIndices, String username) {
+        // task and task content share a dao, and so on
+        Map<ProjectItemDaoJpa<?>, List<SearchIndex>> searchIndicesByDao = new HashMap<>();
+        for (SearchIndex searchIndex : searchIndices) {
+            try {
+                searchIndicesByDao.computeIfAbsent(getProjectItemDao(
+                        parseSearchIndexInfo(searchIndex.getId()).getFirst()), k -> new ArrayList<>())
+                        .add(searchIndex);
+            } catch (IllegalArgumentException ex) {
+                // unknown type, invalid
+            }
+        }
 
-                searchIndexId = parseSearchIndexInfo(searchIndex.getParentId()).getSecond();
+        Map<String, String> projectItemNames = new HashMap<>();
+        searchIndicesByDao.forEach((projectItemDaoJpa, indices) -> {
+            Map<Long, Long> contentProjectItemIds = projectItemDaoJpa.getContentProjectItemIds(indices.stream()
+                    .filter(QueryController::isContent)
+                    .map(searchIndex -> parseSearchIndexInfo(searchIndex.getId()).getSecond())
+                    .collect(Collectors.toSet()));
+
+            // project item id of each search index
+            Map<String, Long> projectItemIds = new HashMap<>();
+            for (SearchIndex searchIndex : indices) {
+                Long id = parseSearchIndexInfo(searchIndex.getId()).getSecond();
+                if (!isContent(searchIndex)) {
+                    projectItemIds.put(searchIndex.getId(), id);
+                    continue;
+                }
+                // content must still exist and belong to its parent
+                if (searchIndex.getParentId() == null) {
+                    continue;
+                }
+                Long parentId = parseSearchIndexInfo(searchIndex.getParentId()).getSecond();
+                if (Objects.equals(contentProjectItemIds.get(id), parentId)) {
+                    projectItemIds.put(searchIndex.getId(), parentId);
+                }
             }
 
-            // If ResourceNotFound or NullPointer exception is thrown, return null
-            return projectItemDaoJpa.getProjectItem(searchIndexId, username).getName();
-        } catch (Exception ex) {
-            return null;
-        }
+            Map<Long, ProjectItemModel> projectItems = projectItemDaoJpa.getProjectItems(
+                    new HashSet<>(projectItemIds.values()), username);
+            projectItemIds.forEach((searchIndexId, projectItemId) -> {
+                ProjectItemModel projectItem = projectItems.get(projectItemId);
+                if (projectItem != null) {
+                    projectItemNames.put(searchIndexId, projectItem.getName());
+                }
+            });
+        });
+        return projectItemNames;
+    }
+
+    /**
+     * @return whether the search index is a content, its type has the CONTENT suffix
+     */
+    private static boolean isContent(SearchIndex searchIndex) {
+        return parseSearchIndexInfo(searchIndex.getId()).getFirst().endsWith(CONTENT_TYPE_SUFFIX);
     }
 
     /**
@@ -5,7 +5,6 @@ import com.bulletjournal.contents.ContentAction;
 import com.bulletjournal.controller.models.*;
 import com.bulletjournal.controller.utils.EtagGenerator;
 import com.bulletjournal.controller.utils.ZonedDateTimeHelper;
-import com.bulletjournal.daemon.Reminder;
 import com.bulletjournal.exceptions.BadRequestException;
 import com.bulletjournal.notifications.*;
 import com.bulletjournal.repository.TaskDaoJpa;
@@ -14,6 +13,8 @@ import com.bulletjournal.repository.models.CompletedTask;
 import com.bulletjournal.repository.models.ContentModel;
 import com.bulletjournal.repository.models.ProjectItemModel;
 import com.bulletjournal.repository.models.TaskContent;
+import com.bulletjournal.repository.utils.KeysetCursor;
+import com.google.common.collect.ImmutableMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.MDC;
@@ -56,6 +57,7 @@ public class TaskController {
     protected static final String CONTENTS_ROUTE = "/api/tasks/{taskId}/contents";
     protected static final String COMPLETED_TASK_CONTENTS_ROUTE = "/api/completedTasks/{taskId}/contents";
     protected static final String CONTENT_REVISIONS_ROUTE = "/api/tasks/{taskId}/contents/{contentId}/revisions/{revisionId}";
+    protected static final String CONTENT_REVISION_HISTORY_ROUTE = "/api/tasks/{taskId}/contents/{contentId}/revisions";
     protected static final String TASK_STATISTICS_ROUTE = "/api/taskStatistics";
 
     @Autowired
@@ -67,9 +69,6 @@ public class TaskController {
     @Autowired
     private NotificationService notificationService;
 
-    @Autowired
-    Reminder reminder;
-
     @Autowired
     private UserClient userClient;
 
@@ -128,9 +127,10 @@ public class TaskController {
         String username = MDC.get(UserClient.USER_NAME_KEY);
         com.bulletjournal.repository.models.Task createdTask = taskDaoJpa.create(projectId, username, task);
         String projectName = createdTask.getProject().getName();
-        this.notificationService.trackActivity(new Auditable(projectId,
-                "created Task ##" + createdTask.getName() + "## in BuJo ##" + projectName + "##", username,
-                createdTask.getId(), Timestamp.from(Instant.now()), ContentAction.ADD_TASK));
+        this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.CREATE_ITEM,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Task", ActivityTemplate.NAME, createdTask.getName(),
+                        ActivityTemplate.PROJECT, projectName),
+                username, createdTask.getId(), Timestamp.from(Instant.now()), ContentAction.ADD_TASK));
         return createdTask.toPresentationModel();
 
     }
@@ -149,9 +149,10 @@ public class TaskController {
             events.forEach((event) -> notificationService.inform(event));
         }
 
-        this.notificationService.trackActivity(new Auditable(projectId,
-                "updated Task ##" + updatedTask.getName() + "## in BuJo ##" + projectName + "##", username,
-                updatedTask.getId(), Timestamp.from(Instant.now()), ContentAction.UPDATE_TASK));
+        this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.UPDATE_ITEM,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Task", ActivityTemplate.NAME, updatedTask.getName(),
+                        ActivityTemplate.PROJECT, projectName),
+                username, updatedTask.getId(), Timestamp.from(Instant.now()), ContentAction.UPDATE_TASK));
         return getTasks(projectId, null, null, null, null, null);
     }
 
@@ -186,9 +187,9 @@ public class TaskController {
         CompletedTask task = this.taskDaoJpa.complete(username, taskId, dateTime);
 
         this.notificationService.deleteESDocument(new RemoveElasticsearchDocumentEvent(deleteESDocumentIds));
-        this.notificationService.trackActivity(new Auditable(task.getProject().getId(),
-                "completed Task ##" + task.getName() + "## in BuJo ##" + task.getProject().getName() + "##", username,
-                task.getId(), Timestamp.from(Instant.now()), ContentAction.COMPLETE_TASK));
+        this.notificationService.trackActivity(new Auditable(task.getProject().getId(), ActivityTemplate.COMPLETE_TASK,
+                ImmutableMap.of(ActivityTemplate.NAME, task.getName()),
+                username, task.getId(), Timestamp.from(Instant.now()), ContentAction.COMPLETE_TASK));
         return task;
     }
 
@@ -220,9 +221,9 @@ public class TaskController {
         }
 
         this.notificationService.trackActivity(new Auditable(updatedTask.getProject().getId(),
-                "set Task ##" + updatedTask.getName() + "## to ##"
-                        + TaskStatus.toText(setTaskStatusParams.getStatus()) + "## in BuJo ##"
-                        + updatedTask.getProject().getName() + "##",
+                ActivityTemplate.SET_TASK_STATUS,
+                ImmutableMap.of(ActivityTemplate.NAME, updatedTask.getName(),
+                        ActivityTemplate.STATUS, TaskStatus.toText(setTaskStatusParams.getStatus())),
                 username, updatedTask.getId(), Timestamp.from(Instant.now()), ContentAction.UPDATE_TASK));
 
         return getTasks(updatedTask.getProject().getId(), null, null, null, null, null);
@@ -236,34 +237,56 @@ public class TaskController {
         CompletedTask task = res.getRight();
 
         this.notificationService.trackActivity(new Auditable(task.getProject().getId(),
-                "uncompleted Task ##" + task.getName() + "## in BuJo ##" + task.getProject().getName() + "##", username,
-                task.getId(), Timestamp.from(Instant.now()), ContentAction.UNCOMPLETE_TASK));
+                ActivityTemplate.UNCOMPLETE_TASK,
+                ImmutableMap.of(ActivityTemplate.NAME, task.getName()),
+                username, task.getId(), Timestamp.from(Instant.now()), ContentAction.UNCOMPLETE_TASK));
 
         return getTask(newId);
     }
 
+    /**
+     * Page through completed tasks by pageNo, or with a date range get the first page of them by cursor, whose next
+     * pages are read with the cursor in the Next-Cursor header
+     */
     @GetMapping(COMPLETED_TASKS_ROUTE)
-    public List<Task> getCompletedTasks(@NotNull @PathVariable Long projectId,
+    public ResponseEntity<List<Task>> getCompletedTasks(@NotNull @PathVariable Long projectId,
             @RequestParam(required = false, defaultValue = "0") Integer pageNo,
             @RequestParam(required = false, defaultValue = "50") Integer pageSize,
             @RequestParam(required = false) String assignee, @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate, @RequestParam(required = false) String timezone) {
 
         if (StringUtils.isNotBlank(startDate) && StringUtils.isNotBlank(endDate)) {
-            return getCompletedTasksBetween(projectId, assignee, startDate, endDate, timezone);
+            return getCompletedTasksByCursor(projectId, null, pageSize, assignee, startDate, endDate, timezone);
         }
 
+        KeysetCursor.validatePageSize(pageSize);
+        if (pageNo < 0) {
+            throw new BadRequestException("Invalid pageNo: " + pageNo);
+        }
         String username = MDC.get(UserClient.USER_NAME_KEY);
-        return this.taskDaoJpa.getCompletedTasks(projectId, username, pageNo, pageSize).stream()
-                .map(t -> ProjectItem.addAvatar(t.toPresentationModel(), this.userClient)).collect(Collectors.toList());
+        return ResponseEntity.ok(this.taskDaoJpa.getCompletedTasks(projectId, username, pageNo, pageSize).stream()
+                .map(t -> ProjectItem.addAvatar(t.toPresentationModel(), this.userClient))
+                .collect(Collectors.toList()));
     }
 
-    private List<Task> getCompletedTasksBetween(Long projectId, String assignee, String startDate, String endDate,
-            String timezone) {
+    @GetMapping(value = COMPLETED_TASKS_ROUTE, params = "cursor")
+    public ResponseEntity<List<Task>> getCompletedTasksByCursor(@NotNull @PathVariable Long projectId,
+            @RequestParam String cursor,
+            @RequestParam(required = false, defaultValue = "50") Integer pageSize,
+            @RequestParam(required = false) String assignee, @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate, @RequestParam(required = false) String timezone) {
+        KeysetCursor.validatePageSize(pageSize);
         String username = MDC.get(UserClient.USER_NAME_KEY);
-        return this.taskDaoJpa.getCompletedTasksBetween(projectId, assignee, username, startDate, endDate, timezone)
-                .stream().map(t -> ProjectItem.addAvatar(t.toPresentationModel(), this.userClient))
-                .collect(Collectors.toList());
+        Pair<List<CompletedTask>, String> page = this.taskDaoJpa.getCompletedTasks(projectId, username, cursor,
+                pageSize, assignee, startDate, endDate, timezone);
+
+        HttpHeaders responseHeader = new HttpHeaders();
+        if (page.getRight() != null) {
+            responseHeader.set(KeysetCursor.NEXT_CURSOR_HEADER, page.getRight());
+        }
+        return ResponseEntity.ok().headers(responseHeader).body(page.getLeft().stream()
+                .map(t -> ProjectItem.addAvatar(t.toPresentationModel(), this.userClient))
+                .collect(Collectors.toList()));
     }
 
     @DeleteMapping(TASK_ROUTE)
@@ -287,8 +310,10 @@ public class TaskController {
         }
         this.notificationService.deleteESDocument(new RemoveElasticsearchDocumentEvent(deleteESDocumentIds));
         this.notificationService.trackActivity(
-                new Auditable(projectId, "deleted Task ##" + taskName + "## in BuJo ##" + projectName + "##", username,
-                        taskId, Timestamp.from(Instant.now()), ContentAction.DELETE_TASK));
+                new Auditable(projectId, ActivityTemplate.DELETE_ITEM,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Task", ActivityTemplate.NAME, taskName,
+                                ActivityTemplate.PROJECT, projectName),
+                        username, taskId, Timestamp.from(Instant.now()), ContentAction.DELETE_TASK));
         return projectId;
     }
 
@@ -314,7 +339,7 @@ public class TaskController {
         if (!events.isEmpty()) {
             this.notificationService.inform(new RemoveTaskEvent(events, username));
         }
-        return getCompletedTasks(task.getProjectId(), 0, 50, null, null, null, null);
+        return getCompletedTasks(task.getProjectId(), 0, 50, null, null, null, null).getBody();
     }
 
     @PutMapping(TASK_SET_LABELS_ROUTE)
@@ -332,9 +357,11 @@ public class TaskController {
                 .move(username, taskId, moveProjectItemParams.getTargetProject());
         com.bulletjournal.repository.models.Task task = res.getLeft();
         com.bulletjournal.repository.models.Project targetProject = res.getRight();
-        this.notificationService.trackActivity(new Auditable(task.getProject().getId(),
-                "moved Task ##" + task.getName() + "## to BuJo ##" + targetProject.getName() + "##", username,
-                task.getId(), Timestamp.from(Instant.now()), ContentAction.MOVE_TASK));
+        this.notificationService.trackActivity(new Auditable(task.getProject().getId(), ActivityTemplate.MOVE_ITEM,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Task",
+                        ActivityTemplate.NAME, task.getName(),
+                        ActivityTemplate.TARGET, targetProject.getName()),
+                username, task.getId(), Timestamp.from(Instant.now()), ContentAction.MOVE_TASK));
     }
 
     @PostMapping(SHARE_TASK_ROUTE)
@@ -386,7 +413,9 @@ public class TaskController {
         String projectName = res.getRight().getProject().getName();
 
         this.notificationService.trackActivity(
-                new Auditable(projectId, "created Content in Task ##" + taskName + "## in BuJo ##" + projectName + "##",
+                new Auditable(projectId, ActivityTemplate.CREATE_CONTENT,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Task", ActivityTemplate.NAME, taskName,
+                                ActivityTemplate.PROJECT, projectName),
                         username, taskId, Timestamp.from(Instant.now()), ContentAction.ADD_TASK_CONTENT));
 
         return createdContent;
@@ -395,7 +424,7 @@ public class TaskController {
     @GetMapping(CONTENTS_ROUTE)
     public List<Content> getContents(@NotNull @PathVariable Long taskId) {
         String username = MDC.get(UserClient.USER_NAME_KEY);
-        return Content.addOwnerAvatar(this.taskDaoJpa.getContents(taskId, username).stream()
+        return Content.addOwnerAvatar(this.taskDaoJpa.getContentSummaries(taskId, username).stream()
                 .map(t -> t.toPresentationModel()).collect(Collectors.toList()), this.userClient);
     }
 
@@ -412,8 +441,8 @@ public class TaskController {
         List<String> deleteESDocumentIds = this.taskDaoJpa.getDeleteESDocumentIdsForContent(username, contentId);
         ProjectItemModel task = this.taskDaoJpa.deleteContent(contentId, taskId, username);
 
-        this.notificationService.trackActivity(new Auditable(task.getProject().getId(),
-                "Deleted Content in Task ##" + task.getName() + "## under BuJo ##" + task.getProject().getName() + "##",
+        this.notificationService.trackActivity(new Auditable(task.getProject().getId(), ActivityTemplate.DELETE_CONTENT,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Task", ActivityTemplate.NAME, task.getName()),
                 username, taskId, Timestamp.from(Instant.now()), ContentAction.DELETE_TASK_CONTENT));
         this.notificationService.deleteESDocument(new RemoveElasticsearchDocumentEvent(deleteESDocumentIds));
 
@@ -427,13 +456,21 @@ public class TaskController {
         ProjectItemModel task = this.taskDaoJpa.updateContent(contentId, taskId, username, updateContentParams)
                 .getRight();
 
-        this.notificationService.trackActivity(new Auditable(task.getProject().getId(),
-                "updated Content in Task ##" + task.getName() + "## under BuJo ##" + task.getProject().getName() + "##",
+        this.notificationService.trackActivity(new Auditable(task.getProject().getId(), ActivityTemplate.UPDATE_CONTENT,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Task", ActivityTemplate.NAME, task.getName()),
                 username, taskId, Timestamp.from(Instant.now()), ContentAction.UPDATE_TASK_CONTENT));
 
         return getContents(taskId);
     }
 
+    @GetMapping(CONTENT_REVISION_HISTORY_ROUTE)
+    public List<Revision> getContentRevisions(@NotNull @PathVariable Long taskId,
+            @NotNull @PathVariable Long contentId) {
+        String username = MDC.get(UserClient.USER_NAME_KEY);
+        return Revision.addAvatar(this.taskDaoJpa.getContentRevisions(username, taskId, contentId),
+                this.userClient);
+    }
+
     @GetMapping(CONTENT_REVISIONS_ROUTE)
     public Revision getContentRevision(@NotNull @PathVariable Long taskId, @NotNull @PathVariable Long contentId,
             @NotNull @PathVariable Long revisionId) {
@@ -15,6 +15,7 @@ import com.bulletjournal.repository.TransactionDaoJpa;
 import com.bulletjournal.repository.models.ContentModel;
 import com.bulletjournal.repository.models.ProjectItemModel;
 import com.bulletjournal.repository.models.TransactionContent;
+import com.google.common.collect.ImmutableMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.MDC;
@@ -44,6 +45,7 @@ public class TransactionController {
         protected static final String CONTENT_ROUTE = "/api/transactions/{transactionId}/contents/{contentId}";
         protected static final String CONTENTS_ROUTE = "/api/transactions/{transactionId}/contents";
         protected static final String CONTENT_REVISIONS_ROUTE = "/api/transactions/{transactionId}/contents/{contentId}/revisions/{revisionId}";
+        protected static final String CONTENT_REVISION_HISTORY_ROUTE = "/api/transactions/{transactionId}/contents/{contentId}/revisions";
 
         @Autowired
         private LedgerSummaryCalculator ledgerSummaryCalculator;
@@ -108,11 +110,12 @@ public class TransactionController {
                                 username, createTransactionParams);
                 String projectName = createdTransaction.getProject().getName();
 
-                this.notificationService.trackActivity(new Auditable(projectId,
-                                "created Transaction ##" + createdTransaction.getName() + "## in BuJo ##" + projectName
-                                                + "##",
-                                username, createdTransaction.getId(), Timestamp.from(Instant.now()),
-                                ContentAction.ADD_TRANSACTION));
+                this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.CREATE_ITEM,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Transaction",
+                                ActivityTemplate.NAME, createdTransaction.getName(),
+                                ActivityTemplate.PROJECT, projectName),
+                        username, createdTransaction.getId(),
+                        Timestamp.from(Instant.now()), ContentAction.ADD_TRANSACTION));
                 return createdTransaction.toPresentationModel();
         }
 
@@ -130,7 +133,7 @@ public class TransactionController {
                 Pair<List<Event>, com.bulletjournal.repository.models.Transaction> res = transactionDaoJpa
                                 .partialUpdate(username, transactionId, updateTransactionParams);
                 List<Event> events = res.getLeft();
-                String projectName = res.getRight().getName();
+                String projectName = res.getRight().getProject().getName();
 
                 if (!events.isEmpty()) {
                         notificationService.inform(new UpdateTransactionPayerEvent(events, username,
@@ -138,11 +141,12 @@ public class TransactionController {
                 }
                 Transaction transaction = getTransaction(transactionId);
                 this.notificationService
-                                .trackActivity(new Auditable(transaction.getProjectId(),
-                                                "updated Transaction ##" + transaction.getName() + "## in BuJo ##"
-                                                                + projectName + "##",
-                                                username, transactionId, Timestamp.from(Instant.now()),
-                                                ContentAction.UPDATE_TRANSACTION));
+                                .trackActivity(new Auditable(transaction.getProjectId(), ActivityTemplate.UPDATE_ITEM,
+                                        ImmutableMap.of(ActivityTemplate.TYPE, "Transaction",
+                                                ActivityTemplate.NAME, transaction.getName(),
+                                                ActivityTemplate.PROJECT, projectName),
+                                        username, transactionId,
+                                        Timestamp.from(Instant.now()), ContentAction.UPDATE_TRANSACTION));
                 return transaction;
         }
 
@@ -161,9 +165,9 @@ public class TransactionController {
                         this.notificationService.inform(new RemoveTransactionEvent(events, username));
                 }
                 this.notificationService.deleteESDocument(new RemoveElasticsearchDocumentEvent(deleteESDocumentIds));
-                this.notificationService.trackActivity(new Auditable(projectId,
-                                "deleted Transaction ##" + transactionName + "##", username, transactionId,
-                                Timestamp.from(Instant.now()), ContentAction.DELETE_TRANSACTION));
+                this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.DELETE_ITEM,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Transaction", ActivityTemplate.NAME, transactionName),
+                        username, transactionId, Timestamp.from(Instant.now()), ContentAction.DELETE_TRANSACTION));
         }
 
         @DeleteMapping(TRANSACTIONS_ROUTE)
@@ -192,10 +196,11 @@ public class TransactionController {
                 com.bulletjournal.repository.models.Transaction transaction = res.getLeft();
                 com.bulletjournal.repository.models.Project targetProject = res.getRight();
                 this.notificationService.trackActivity(new Auditable(transaction.getProject().getId(),
-                                "moved Transaction ##" + transaction.getName() + "## to BuJo ##"
-                                                + targetProject.getName() + "##",
-                                username, transaction.getId(), Timestamp.from(Instant.now()),
-                                ContentAction.MOVE_TRANSACTION));
+                        ActivityTemplate.MOVE_ITEM,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Transaction",
+                                ActivityTemplate.NAME, transaction.getName(),
+                                ActivityTemplate.TARGET, targetProject.getName()),
+                        username, transaction.getId(), Timestamp.from(Instant.now()), ContentAction.MOVE_TRANSACTION));
         }
 
         @Deprecated
@@ -238,11 +243,10 @@ public class TransactionController {
                 Long projectId = res.getRight().getProject().getId();
                 String projectName = res.getRight().getProject().getName();
 
-                this.notificationService.trackActivity(new Auditable(projectId,
-                                "created Content in Transaction ##" + transactionName + "## under BuJo ##" + projectName
-                                                + "##",
-                                username, transactionId, Timestamp.from(Instant.now()),
-                                ContentAction.ADD_TRANSACTION_CONTENT));
+                this.notificationService.trackActivity(new Auditable(projectId, ActivityTemplate.CREATE_CONTENT,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Transaction", ActivityTemplate.NAME, transactionName,
+                                ActivityTemplate.PROJECT, projectName),
+                        username, transactionId, Timestamp.from(Instant.now()), ContentAction.ADD_TRANSACTION_CONTENT));
 
                 return createdContent;
         }
@@ -251,7 +255,7 @@ public class TransactionController {
         public List<Content> getContents(@NotNull @PathVariable Long transactionId) {
                 String username = MDC.get(UserClient.USER_NAME_KEY);
                 return Content.addOwnerAvatar(
-                                this.transactionDaoJpa.getContents(transactionId, username).stream()
+                                this.transactionDaoJpa.getContentSummaries(transactionId, username).stream()
                                                 .map(t -> t.toPresentationModel()).collect(Collectors.toList()),
                                 this.userClient);
         }
@@ -265,10 +269,11 @@ public class TransactionController {
                 ProjectItemModel transaction = this.transactionDaoJpa.deleteContent(contentId, transactionId, username);
 
                 this.notificationService.trackActivity(new Auditable(transaction.getProject().getId(),
-                                "deleted Content in Transaction ##" + transaction.getName() + "## under BuJo ##"
-                                                + transaction.getProject().getName() + "##",
-                                username, transactionId, Timestamp.from(Instant.now()),
-                                ContentAction.DELETE_TRANSACTION_CONTENT));
+                        ActivityTemplate.DELETE_CONTENT,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Transaction",
+                                ActivityTemplate.NAME, transaction.getName()),
+                        username, transactionId,
+                        Timestamp.from(Instant.now()), ContentAction.DELETE_TRANSACTION_CONTENT));
                 this.notificationService.deleteESDocument(new RemoveElasticsearchDocumentEvent(deleteESDocumentIds));
 
                 return getContents(transactionId);
@@ -283,14 +288,23 @@ public class TransactionController {
                                 .updateContent(contentId, transactionId, username, updateContentParams).getRight();
 
                 this.notificationService.trackActivity(new Auditable(transaction.getProject().getId(),
-                                "updated Content in Transaction ##" + transaction.getName() + "## under BuJo ##"
-                                                + transaction.getProject().getName() + "##",
-                                username, transactionId, Timestamp.from(Instant.now()),
-                                ContentAction.UPDATE_TRANSACTION_CONTENT));
+                        ActivityTemplate.UPDATE_CONTENT,
+                        ImmutableMap.of(ActivityTemplate.TYPE, "Transaction",
+                                ActivityTemplate.NAME, transaction.getName()),
+                        username, transactionId,
+                        Timestamp.from(Instant.now()), ContentAction.UPDATE_TRANSACTION_CONTENT));
 
                 return getContents(transactionId);
         }
 
+        @GetMapping(CONTENT_REVISION_HISTORY_ROUTE)
+        public List<Revision> getContentRevisions(@NotNull @PathVariable Long transactionId,
+                        @NotNull @PathVariable Long contentId) {
+                String username = MDC.get(UserClient.USER_NAME_KEY);
+                return Revision.addAvatar(this.transactionDaoJpa.getContentRevisions(username, transactionId, contentId),
+                                this.userClient);
+        }
+
         @GetMapping(CONTENT_REVISIONS_ROUTE)
         public Revision getContentRevision(@NotNull @PathVariable Long transactionId,
                         @NotNull @PathVariable Long contentId, @NotNull @PathVariable Long revisionId) {
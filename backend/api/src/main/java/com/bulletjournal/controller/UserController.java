@@ -1,7 +1,9 @@
 package com.bulletjournal.controller;
 
+import com.bulletjournal.clients.Bulkheads;
 import com.bulletjournal.clients.UserClient;
 import com.bulletjournal.controller.models.*;
+import com.bulletjournal.controller.utils.DeferredResults;
 import com.bulletjournal.redis.FirstTimeUserRepository;
 import com.bulletjournal.redis.models.FirstTimeUser;
 import com.bulletjournal.repository.UserAliasDaoJpa;
@@ -12,6 +14,7 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -39,9 +42,12 @@ public class UserController {
     @Autowired
     private FirstTimeUserRepository firstTimeUserRepository;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
     @GetMapping(GET_USER_ROUTE)
-    public User getUser(@NotNull @PathVariable String username) {
-        return this.userClient.getUser(username);
+    public DeferredResult<User> getUser(@NotNull @PathVariable String username) {
+        return DeferredResults.of(this.userClient.getUserAsync(username), this.bulkheads.get(Bulkheads.SSO));
     }
 
     @GetMapping(MYSELF_ROUTE)
@@ -74,12 +80,13 @@ public class UserController {
     }
 
     @PostMapping(LOGOUT_MYSELF_ROUTE)
-    public ResponseEntity<?> logout() {
+    public DeferredResult<ResponseEntity<?>> logout() {
         String username = MDC.get(UserClient.USER_NAME_KEY);
         LOGGER.info("Logging out " + username);
-        this.userClient.logout(username);
-        LOGGER.info(username + " is logged out, redirecting");
-        return ResponseEntity.ok().build();
+        return DeferredResults.of(this.userClient.logout(username).thenApply(v -> {
+            LOGGER.info(username + " is logged out, redirecting");
+            return ResponseEntity.ok().build();
+        }), this.bulkheads.get(Bulkheads.SSO));
     }
 
     @PostMapping(CLEAR_MYSELF_ROUTE)
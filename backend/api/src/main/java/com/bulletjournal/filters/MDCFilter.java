@@ -2,6 +2,8 @@ package com.bulletjournal.filters;
 
 import com.bulletjournal.config.AuthConfig;
 import com.bulletjournal.config.MDCConfig;
+import com.bulletjournal.config.RequestCostConfig;
+import com.bulletjournal.metrics.RequestCost;
 import com.bulletjournal.redis.models.LockedIP;
 import com.bulletjournal.redis.RedisLockedIPRepository;
 import org.slf4j.Logger;
@@ -17,8 +19,10 @@ import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
@@ -35,11 +39,18 @@ public class MDCFilter implements Filter {
     @Autowired
     RedisLockedIPRepository redisLockedIPRepository;
 
+    @Autowired
+    RequestCostConfig requestCostConfig;
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
+        RequestCost requestCost = RequestCost.start();
+        long start = System.nanoTime();
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        httpRequest.setAttribute(RequestCost.ATTRIBUTE, requestCost);
+        boolean async = false;
         try {
-            HttpServletRequest httpRequest = (HttpServletRequest) request;
             HttpServletResponse httpResponse = (HttpServletResponse) response;
 
             final String requestId = extractRequestId(httpRequest);
@@ -60,12 +71,81 @@ public class MDCFilter implements Filter {
             httpResponse.setHeader(mdcConfig.getDefaultRequestIdKey(), requestId);
 
             chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // a DeferredResult is completed later on another thread, account for the request once it is written
+                async = true;
+                request.getAsyncContext().addListener(
+                        new CostListener(httpRequest, requestCost, start, MDC.getCopyOfContextMap()));
+            }
         } finally {
+            RequestCost.end();
+            if (!async) {
+                logRequestCost(httpRequest, requestCost, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
             MDC.remove(mdcConfig.getDefaultRequestIdKey());
             MDC.remove(mdcConfig.getDefaultClientIpKey());
         }
     }
 
+    /**
+     * Attach the cost totals to the MDC of the request's last log line, with the full breakdown if it was slow
+     */
+    private void logRequestCost(HttpServletRequest request, RequestCost requestCost, long elapsedMillis) {
+        MDC.put(mdcConfig.getDefaultRequestCostKey(), requestCost.getSummary());
+        try {
+            if (elapsedMillis < requestCostConfig.getSlowThresholdInMillis()) {
+                LOGGER.debug("Request {} {} took {} ms", request.getMethod(), request.getRequestURI(),
+                        elapsedMillis);
+                return;
+            }
+            LOGGER.warn("Slow request {} {} took {} ms, {}\n{}", request.getMethod(), request.getRequestURI(),
+                    elapsedMillis, requestCost.getSummary(), requestCost.getBreakdown());
+        } finally {
+            MDC.remove(mdcConfig.getDefaultRequestCostKey());
+        }
+    }
+
+    private class CostListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final RequestCost requestCost;
+        private final long start;
+        private final Map<String, String> mdc;
+
+        CostListener(HttpServletRequest request, RequestCost requestCost, long start, Map<String, String> mdc) {
+            this.request = request;
+            this.requestCost = requestCost;
+            this.start = start;
+            this.mdc = mdc;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // also called after a timeout or an error
+            if (this.mdc != null) {
+                MDC.setContextMap(this.mdc);
+            }
+            try {
+                logRequestCost(this.request, this.requestCost,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start));
+            } finally {
+                MDC.clear();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
     private String extractRequestId(HttpServletRequest request) {
         final String token;
         String requestId = request.getHeader(mdcConfig.getDefaultRequestIdKey());
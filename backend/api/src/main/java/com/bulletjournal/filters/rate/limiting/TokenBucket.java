@@ -9,10 +9,13 @@ import com.bulletjournal.redis.models.LockedUser;
 import com.bulletjournal.redis.RedisLockedIPRepository;
 import com.bulletjournal.redis.RedisLockedUserRepository;
 import io.github.bucket4j.*;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -39,6 +42,17 @@ public class TokenBucket {
     public TokenBucket() {
     }
 
+    @PostConstruct
+    public void postConstruct() {
+        registerSizeGauge("user", bucketsUser);
+        registerSizeGauge("fileUpload", bucketsFileUpload);
+        registerSizeGauge("publicItem", bucketsPublicItem);
+    }
+
+    private static void registerSizeGauge(String type, Map<String, Bucket> buckets) {
+        Gauge.builder("rate.limit.buckets", buckets, Map::size).tag("type", type).register(Metrics.globalRegistry);
+    }
+
     public boolean isLimitExceeded(TokenBucketType type) {
         switch (type) {
             case USER:
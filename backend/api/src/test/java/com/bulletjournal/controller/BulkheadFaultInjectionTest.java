@@ -0,0 +1,144 @@
+package com.bulletjournal.controller;
+
+import com.bulletjournal.clients.Bulkheads;
+import com.bulletjournal.clients.GoogleCalClient;
+import com.bulletjournal.controller.utils.TestHelpers;
+import com.google.api.services.calendar.Calendar;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a slow Google Calendar fails fast and leaves request threads to other endpoints: the stubbed service
+ * never answers, calls beyond the bulkhead are rejected at once and those it accepted time out, all with 503.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + BulkheadFaultInjectionTest.REQUEST_THREADS,
+        "bulkhead.services.google-calendar.threads=" + BulkheadFaultInjectionTest.THREADS,
+        "bulkhead.services.google-calendar.queueCapacity=" + BulkheadFaultInjectionTest.QUEUE_CAPACITY,
+        "bulkhead.services.google-calendar.timeoutInMillis=" + BulkheadFaultInjectionTest.TIMEOUT_MILLIS})
+@ActiveProfiles("test")
+public class BulkheadFaultInjectionTest {
+
+    static final int REQUEST_THREADS = 4;
+    static final int THREADS = 2;
+    static final int QUEUE_CAPACITY = 2;
+    static final long TIMEOUT_MILLIS = 1000;
+    // many times the requests a blocking endpoint could serve before the slow calls end
+    private static final int REQUESTS = 20;
+    private static final long SLOW_CALL_MILLIS = 30000;
+    private static final String USER = "BulletJournal";
+    private static final String ROOT_URL = "http://localhost:";
+    private static final String CALENDAR_LIST_ROUTE = "/api/calendar/google/calendarList";
+    private static final String WATCHED_PROJECTS_ROUTE = "/api/calendar/google/calendars/watchedProjects";
+
+    @LocalServerPort
+    int randomServerPort;
+    private TestRestTemplate restTemplate = new TestRestTemplate();
+
+    // calls that reached the stubbed service
+    private static final CountDownLatch STARTED = new CountDownLatch(THREADS);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class SlowGoogleCalendar {
+
+        // @MockBean needs a newer Mockito than mockito-all on the test classpath
+        @Bean
+        @Primary
+        public GoogleCalClient slowGoogleCalClient() {
+            return new GoogleCalClient() {
+                @Override
+                public Calendar getCalendarService() throws IOException {
+                    STARTED.countDown();
+                    try {
+                        Thread.sleep(SLOW_CALL_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IOException("Google Calendar stub timed out");
+                }
+            };
+        }
+    }
+
+    @Before
+    public void setup() {
+        // not limited in connections per route
+        restTemplate.getRestTemplate().setRequestFactory(new SimpleClientHttpRequestFactory());
+    }
+
+    @Test
+    public void testSlowServiceFailsFastAndIsolated() throws Exception {
+        double rejectedBefore = count("bulkhead.rejected");
+        double timeoutsBefore = count("bulkhead.timeouts");
+
+        ExecutorService clients = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            long start = System.nanoTime();
+            List<Future<HttpStatus>> statuses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                statuses.add(clients.submit(() -> get(CALENDAR_LIST_ROUTE).getStatusCode()));
+            }
+
+            // the bulkhead is full of slow calls, other endpoints are still served
+            assertTrue(STARTED.await(10, TimeUnit.SECONDS));
+            long otherStart = System.nanoTime();
+            assertEquals(HttpStatus.OK, get(WATCHED_PROJECTS_ROUTE).getStatusCode());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - otherStart) < TIMEOUT_MILLIS);
+
+            for (Future<HttpStatus> status : statuses) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, status.get(10, TimeUnit.SECONDS));
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < SLOW_CALL_MILLIS / 3);
+        } finally {
+            clients.shutdownNow();
+        }
+
+        double rejected = count("bulkhead.rejected") - rejectedBefore;
+        double timeouts = count("bulkhead.timeouts") - timeoutsBefore;
+        assertEquals(REQUESTS, rejected + timeouts, 0);
+        // accepted calls in flight and in the queue
+        assertTrue(timeouts >= THREADS + QUEUE_CAPACITY);
+        // unless the requests were spread over more than two timeouts
+        assertTrue(rejected >= REQUESTS - 2 * (THREADS + QUEUE_CAPACITY));
+        assertNotNull(this.meterRegistry.find("executor.queue.remaining")
+                .tag("bulkhead", Bulkheads.GOOGLE_CALENDAR).gauge());
+    }
+
+    private ResponseEntity<String> get(String route) {
+        return this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + route,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, USER),
+                String.class);
+    }
+
+    private double count(String name) {
+        return this.meterRegistry.get(name).tag("bulkhead", Bulkheads.GOOGLE_CALENDAR).counter().count();
+    }
+}
@@ -4,11 +4,11 @@ import com.bulletjournal.contents.ContentType;
 import com.bulletjournal.controller.models.*;
 import com.bulletjournal.controller.utils.TestHelpers;
 import com.bulletjournal.filters.rate.limiting.TokenBucket;
-import com.bulletjournal.hierarchy.HierarchyProcessorProcessorTest;
 import com.bulletjournal.ledger.FrequencyType;
 import com.bulletjournal.ledger.LedgerSummary;
 import com.bulletjournal.ledger.LedgerSummaryType;
 import com.bulletjournal.notifications.Action;
+import com.bulletjournal.repository.utils.KeysetCursor;
 import com.google.common.collect.ImmutableList;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,7 +28,9 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
@@ -1122,8 +1124,13 @@ public class ProjectControllerTest {
          *   |
          *    -- p6
          */
-        List<Project> projectRelations = HierarchyProcessorProcessorTest.createSampleProjectRelations(
-                p1, p2, p3, p4, p5, p6);
+        List<Project> projectRelations = new ArrayList<>();
+        projectRelations.add(p1);
+        p1.addSubProject(p2);
+        p1.addSubProject(p4);
+        p2.addSubProject(p3);
+        projectRelations.add(p5);
+        p5.addSubProject(p6);
         // Set user's project relations
         ResponseEntity<Projects> updateProjectRelationsResponse = this.restTemplate.exchange(
                 ROOT_URL + randomServerPort + ProjectController.PROJECTS_ROUTE,
@@ -1254,6 +1261,35 @@ public class ProjectControllerTest {
 
         List<Notification> notifications = Arrays.asList(notificationsResponse.getBody());
         assertEquals(5, notifications.size());
+
+        ResponseEntity<Long> countResponse = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + NotificationController.NOTIFICATION_COUNT_ROUTE,
+                HttpMethod.GET,
+                null,
+                Long.class);
+        assertEquals(HttpStatus.OK, countResponse.getStatusCode());
+        assertEquals(5L, countResponse.getBody().longValue());
+
+        // page through the inbox with cursor
+        Set<Long> pagedIds = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            ResponseEntity<Notification[]> pageResponse = this.restTemplate.exchange(
+                    ROOT_URL + randomServerPort + NotificationController.NOTIFICATIONS_ROUTE
+                            + "?pageSize=2&cursor={cursor}",
+                    HttpMethod.GET,
+                    null,
+                    Notification[].class,
+                    cursor);
+            assertEquals(HttpStatus.OK, pageResponse.getStatusCode());
+            assertEquals(notificationsResponse.getHeaders().getETag(), pageResponse.getHeaders().getETag());
+            Arrays.stream(pageResponse.getBody()).forEach(n -> pagedIds.add(n.getId()));
+            cursor = pageResponse.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+        assertEquals(3, pages);
+        assertEquals(notifications.stream().map(Notification::getId).collect(Collectors.toSet()), pagedIds);
     }
 
     private List<GroupsWithOwner> getGroups() {
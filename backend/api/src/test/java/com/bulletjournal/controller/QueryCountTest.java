@@ -0,0 +1,379 @@
+package com.bulletjournal.controller;
+
+import com.bulletjournal.controller.models.*;
+import com.bulletjournal.controller.utils.TestHelpers;
+import com.bulletjournal.es.repository.SearchIndexDaoJpa;
+import com.bulletjournal.es.repository.models.SearchIndex;
+import com.bulletjournal.metrics.RequestCost;
+import com.bulletjournal.notifications.RemoveElasticsearchDocumentEvent;
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.SearchScrollHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests hot endpoints issue a bounded number of SQL statements. The same endpoints are measured on a small fixture
+ * and again after it grows to a large one: projects, deep task and note trees, labels on every item and tasks
+ * shared to another user. Statements may not grow with the fixture, so a new per-item lookup fails here.
+ * <p>
+ * Statements are counted per request by {@link RequestCost} and read from its debug response header. Hibernate
+ * statistics are session factory wide and would also count notifications written by background threads.
+ * <p>
+ * Search runs against a stubbed search index that returns every task, task content and note as a hit, so that
+ * validation of the hits in {@link QueryController} is measured.
+ */
+@RunWith(SpringRunner.class)
+// building the large fixture takes more requests than the per user rate limit allows
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "request.cost.debug=true", "rate.limit.user=1000000", "spring.elasticsearch.rest.enable=true"})
+@ActiveProfiles("test")
+public class QueryCountTest {
+    private static final String ROOT_URL = "http://localhost:";
+    private static final String TIMEZONE = "America/Los_Angeles";
+    private static final String TODAY = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    private static final String YESTERDAY = LocalDate.now().minusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    private static final String TOMORROW = LocalDate.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    private static final String OWNER = "Thinker";
+    private static final String SHARE_TARGET = "bean";
+    private static final Pattern SQL_STATEMENTS = Pattern.compile("sql=(\\d+)");
+    private static final int SMALL_FIXTURE = 5;
+    // large enough for a per item lookup to dwarf any constant overhead
+    private static final int LARGE_FIXTURE = 300;
+    // items past this depth hang off the chain of the first ones, keeping the large trees wide as well as deep
+    private static final int MAX_TREE_DEPTH = 20;
+    // statements the large fixture may add regardless of its size, e.g. for an extra page of results
+    private static final int SLACK = 2;
+    // no hot endpoint should get anywhere near this
+    private static final int MAX_STATEMENTS = 60;
+    // hits returned by the stubbed search index
+    private static final List<SearchHit<SearchIndex>> SEARCH_HITS = new ArrayList<>();
+
+    @LocalServerPort
+    int randomServerPort;
+    private TestRestTemplate restTemplate = new TestRestTemplate();
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Note> notes = new ArrayList<>();
+    // task content ids by task id
+    private final Map<Long, Long> taskContents = new HashMap<>();
+    private Group group;
+    private Project taskProject;
+    private Project noteProject;
+
+    @TestConfiguration
+    static class FixtureSearchIndex {
+
+        // Elasticsearch is not running in tests
+        @Bean
+        @Primary
+        public SearchIndexDaoJpa fixtureSearchIndexDaoJpa() {
+            return new SearchIndexDaoJpa() {
+                @Override
+                public SearchScrollHits<SearchIndex> search(String username, String term,
+                                                            List<String> sharedItemIds, int pageNo, int pageSize) {
+                    synchronized (SEARCH_HITS) {
+                        return new SearchHitsImpl<>(SEARCH_HITS.size(), TotalHitsRelation.EQUAL_TO, 1.0f,
+                                UUID.randomUUID().toString(), new ArrayList<>(SEARCH_HITS), null);
+                    }
+                }
+
+                @Override
+                public void delete(List<RemoveElasticsearchDocumentEvent> events) {
+                }
+            };
+        }
+    }
+
+    @Before
+    public void setup() {
+        restTemplate.getRestTemplate().setRequestFactory(new HttpComponentsClientHttpRequestFactory());
+    }
+
+    @Test
+    public void testStatementsDoNotGrowWithFixture() {
+        this.group = createGroup();
+        this.taskProject = createProject("p_QueryCount_Task", ProjectType.TODO);
+        this.noteProject = createProject("p_QueryCount_Note", ProjectType.NOTE);
+
+        growFixture(SMALL_FIXTURE);
+        Map<String, Integer> small = measure();
+        growFixture(LARGE_FIXTURE);
+        Map<String, Integer> large = measure();
+
+        small.forEach((endpoint, statements) -> {
+            int bound = statements + SLACK;
+            int actual = large.get(endpoint);
+            assertTrue(endpoint + " issued " + statements + " statements on " + SMALL_FIXTURE + " items and "
+                    + actual + " on " + LARGE_FIXTURE + " items, expected at most " + bound, actual <= bound);
+            assertTrue(endpoint + " issued " + actual + " statements", actual <= MAX_STATEMENTS);
+        });
+    }
+
+    private Map<String, Integer> measure() {
+        Map<String, Integer> statements = new LinkedHashMap<>();
+        statements.put("getTasks", countStatements(
+                ROOT_URL + randomServerPort + TaskController.TASKS_ROUTE, OWNER, this.taskProject.getId()));
+        statements.put("getNotes", countStatements(
+                ROOT_URL + randomServerPort + NoteController.NOTES_ROUTE, OWNER, this.noteProject.getId()));
+        statements.put("getProjects", countStatements(
+                ROOT_URL + randomServerPort + ProjectController.PROJECTS_ROUTE, OWNER));
+        statements.put("getUpdates", countStatements(
+                UriComponentsBuilder.fromHttpUrl(ROOT_URL + randomServerPort + SystemController.UPDATES_ROUTE)
+                        .queryParam("projectId", this.taskProject.getId())
+                        .toUriString(), OWNER));
+        statements.put("getRecentProjectItems", countStatements(
+                UriComponentsBuilder.fromHttpUrl(ROOT_URL + randomServerPort + ProjectItemController.RECENT_ITEMS_ROUTE)
+                        .queryParam("types", ImmutableList.of(ProjectType.TODO, ProjectType.NOTE))
+                        .queryParam("startDate", YESTERDAY)
+                        .queryParam("endDate", TOMORROW)
+                        .queryParam("timezone", TIMEZONE)
+                        .toUriString(), OWNER));
+        statements.put("getProjectItems", countStatements(
+                UriComponentsBuilder.fromHttpUrl(ROOT_URL + randomServerPort + ProjectItemController.PROJECT_ITEMS_ROUTE)
+                        .queryParam("types", ImmutableList.of(ProjectType.TODO))
+                        .queryParam("startDate", YESTERDAY)
+                        .queryParam("endDate", TOMORROW)
+                        .queryParam("timezone", TIMEZONE)
+                        .toUriString(), OWNER));
+        statements.put("getSharedTasks", countStatements(
+                ROOT_URL + randomServerPort + TaskController.TASKS_ROUTE, SHARE_TARGET, getSharedProject().getId()));
+        statements.put("search", countSearchStatements());
+        return statements;
+    }
+
+    private int countStatements(String url, String username, Object... uriVariables) {
+        ResponseEntity<String> response = this.restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, username),
+                String.class,
+                uriVariables);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return getStatements(response);
+    }
+
+    private static int getStatements(ResponseEntity<?> response) {
+        String cost = response.getHeaders().getFirst(RequestCost.HEADER);
+        assertNotNull(cost);
+        Matcher matcher = SQL_STATEMENTS.matcher(cost);
+        assertTrue(cost, matcher.find());
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    /**
+     * Search with every task, task content and note as a hit, all of which pass validation
+     */
+    private int countSearchStatements() {
+        synchronized (SEARCH_HITS) {
+            SEARCH_HITS.clear();
+            this.tasks.forEach(task -> {
+                SEARCH_HITS.add(createSearchHit("task@" + task.getId(), null));
+                SEARCH_HITS.add(createSearchHit("task_content@" + this.taskContents.get(task.getId()),
+                        "task@" + task.getId()));
+            });
+            this.notes.forEach(note -> SEARCH_HITS.add(createSearchHit("note@" + note.getId(), null)));
+        }
+        String url = UriComponentsBuilder.fromHttpUrl(ROOT_URL + randomServerPort + QueryController.SEARCH_ROUTE)
+                .queryParam("term", "QueryCount")
+                .toUriString();
+        ResponseEntity<SearchResult> response = this.restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, OWNER),
+                SearchResult.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(this.tasks.size() + this.notes.size(), response.getBody().getSearchResultItemList().size());
+        return getStatements(response);
+    }
+
+    private static SearchHit<SearchIndex> createSearchHit(String id, String parentId) {
+        SearchIndex searchIndex = new SearchIndex();
+        searchIndex.setId(id);
+        searchIndex.setParentId(parentId);
+        return new SearchHit<>(id, 1.0f, new Object[0], Collections.emptyMap(), searchIndex);
+    }
+
+    /**
+     * Add labelled tasks and notes until there are size of each, arrange them into a tree up to MAX_TREE_DEPTH deep
+     * and share the new tasks
+     */
+    private void growFixture(int size) {
+        createProject("p_QueryCount_" + size, ProjectType.LEDGER);
+        List<Long> labels = ImmutableList.of(
+                createLabel("QueryCount" + size + "_0").getId(), createLabel("QueryCount" + size + "_1").getId());
+        for (int i = this.tasks.size(); i < size; i++) {
+            Task task = createTask("T" + i, labels);
+            this.taskContents.put(task.getId(), addTaskContent(task, "task content " + i).getId());
+            shareTask(task);
+            this.tasks.add(task);
+        }
+        for (int i = this.notes.size(); i < size; i++) {
+            this.notes.add(createNote("N" + i, labels));
+        }
+
+        for (int i = 0; i < this.tasks.size(); i++) {
+            this.tasks.get(i).setSubTasks(new ArrayList<>());
+            if (i > 0) {
+                this.tasks.get(getParent(i)).addSubTask(this.tasks.get(i));
+            }
+        }
+        ResponseEntity<Task[]> taskResponse = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.TASKS_ROUTE,
+                HttpMethod.PUT,
+                TestHelpers.actAsOtherUser(ImmutableList.of(this.tasks.get(0)), OWNER),
+                Task[].class,
+                this.taskProject.getId());
+        assertEquals(HttpStatus.OK, taskResponse.getStatusCode());
+        assertEquals(1, taskResponse.getBody().length);
+
+        for (int i = 0; i < this.notes.size(); i++) {
+            this.notes.get(i).setSubNotes(new ArrayList<>());
+            if (i > 0) {
+                this.notes.get(getParent(i)).addSubNote(this.notes.get(i));
+            }
+        }
+        ResponseEntity<Note[]> noteResponse = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + NoteController.NOTES_ROUTE,
+                HttpMethod.PUT,
+                TestHelpers.actAsOtherUser(ImmutableList.of(this.notes.get(0)), OWNER),
+                Note[].class,
+                this.noteProject.getId());
+        assertEquals(HttpStatus.OK, noteResponse.getStatusCode());
+        assertEquals(1, noteResponse.getBody().length);
+    }
+
+    /**
+     * @return index of the parent of item i > 0, the first MAX_TREE_DEPTH items form a chain
+     */
+    private static int getParent(int i) {
+        return i < MAX_TREE_DEPTH ? i - 1 : i % MAX_TREE_DEPTH;
+    }
+
+    private Group createGroup() {
+        CreateGroupParams params = new CreateGroupParams("Group_QueryCount");
+        ResponseEntity<Group> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + GroupController.GROUPS_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(params, OWNER),
+                Group.class);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        return response.getBody();
+    }
+
+    private Project createProject(String name, ProjectType type) {
+        CreateProjectParams params = new CreateProjectParams(name, type, "QueryCountTest", this.group.getId());
+        ResponseEntity<Project> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + ProjectController.PROJECTS_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(params, OWNER),
+                Project.class);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        return response.getBody();
+    }
+
+    private Label createLabel(String value) {
+        CreateLabelParams params = new CreateLabelParams(value, "TagOutlined");
+        ResponseEntity<Label> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + LabelController.LABELS_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(params, OWNER),
+                Label.class);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private Task createTask(String name, List<Long> labels) {
+        CreateTaskParams params = new CreateTaskParams(name, TODAY, null, 10,
+                new ReminderSetting(), ImmutableList.of(OWNER), TIMEZONE, null, labels);
+        ResponseEntity<Task> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.TASKS_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(params, OWNER),
+                Task.class,
+                this.taskProject.getId());
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        Task created = response.getBody();
+        assertNotNull(created);
+        assertEquals(labels.size(), created.getLabels().size());
+        return created;
+    }
+
+    private Note createNote(String name, List<Long> labels) {
+        CreateNoteParams params = new CreateNoteParams(name);
+        params.setLabels(labels);
+        ResponseEntity<Note> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + NoteController.NOTES_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(params, OWNER),
+                Note.class,
+                this.noteProject.getId());
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        return response.getBody();
+    }
+
+    private Content addTaskContent(Task task, String text) {
+        ResponseEntity<Content> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.ADD_CONTENT_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(new CreateContentParams(text), OWNER),
+                Content.class,
+                task.getId());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        return response.getBody();
+    }
+
+    private void shareTask(Task task) {
+        ResponseEntity<String> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.SHARE_TASK_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(new ShareProjectItemParams(SHARE_TARGET), OWNER),
+                String.class,
+                task.getId());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    private Project getSharedProject() {
+        ResponseEntity<Projects> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + ProjectController.PROJECTS_ROUTE,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, SHARE_TARGET),
+                Projects.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<Project> sharedProjects = response.getBody().getShared().stream()
+                .filter(projects -> SHARE_TARGET.equals(projects.getOwner().getName()))
+                .flatMap(projects -> projects.getProjects().stream())
+                .filter(project -> ProjectType.TODO.equals(project.getProjectType()))
+                .collect(Collectors.toList());
+        assertEquals(1, sharedProjects.size());
+        return sharedProjects.get(0);
+    }
+}
@@ -137,8 +137,10 @@ public class SystemControllerTest {
         assertTrue(flag);
 
         String oldNotificationsEtag = getNotificationsEtag();
-        createTask(p1, new CreateTaskParams("task_for_notification_etag", "2022-02-27",
-                null, null, new ReminderSetting(), ImmutableList.of(sampleUsers[1]), TIMEZONE, null));
+        // the etag only changes with the inbox, creating a task does not notify its assignees but assigning does
+        Task notifyingTask = createTask(p1, new CreateTaskParams("task_for_notification_etag", "2022-02-27",
+                null, null, new ReminderSetting(), ImmutableList.of(sampleUsers[0]), TIMEZONE, null));
+        assignTask(notifyingTask, sampleUsers[1]);
         flag = false;
         for (int i = 0; i < ETAG_TEST_RETRY; i++) {
             String newNotificationsEtag = getNotificationsEtag();
@@ -168,6 +170,18 @@ public class SystemControllerTest {
         return created;
     }
 
+    private void assignTask(Task task, String assignee) {
+        UpdateTaskParams updateTaskParams = new UpdateTaskParams(task.getDueDate(), task.getDueTime(),
+                task.getName(), null, task.getReminderSetting(), ImmutableList.of(assignee), TIMEZONE, null, null);
+        ResponseEntity<Task[]> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.TASK_ROUTE,
+                HttpMethod.PATCH,
+                TestHelpers.actAsOtherUser(updateTaskParams, sampleUsers[0]),
+                Task[].class,
+                task.getId());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
     private String getNotificationsEtag() {
         String url = ROOT_URL + randomServerPort + SystemController.UPDATES_ROUTE;
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(url)
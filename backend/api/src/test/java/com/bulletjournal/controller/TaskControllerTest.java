@@ -2,8 +2,11 @@ package com.bulletjournal.controller;
 
 
 import com.bulletjournal.config.ContentRevisionConfig;
+import com.bulletjournal.contents.ContentType;
 import com.bulletjournal.controller.models.*;
 import com.bulletjournal.controller.utils.TestHelpers;
+import com.bulletjournal.repository.utils.KeysetCursor;
+import com.bulletjournal.util.ContentDiffTool;
 import com.google.common.collect.ImmutableList;
 import org.junit.Before;
 import org.junit.Test;
@@ -23,9 +26,12 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests {@link TaskController}
@@ -37,13 +43,19 @@ public class TaskControllerTest {
 
     private static final String USER = "999999";
 
+    private static final String SHARED_USER = "Scarlet";
+
     private static final String ROOT_URL = "http://localhost:";
 
     private static final String TIMEZONE = "America/Los_Angeles";
+
+    private static final int CONCURRENT_DIFFS = 8;
     @LocalServerPort
     int randomServerPort;
     @Autowired
     private ContentRevisionConfig revisionConfig;
+    @Autowired
+    private ContentDiffTool contentDiffTool;
     private final TestRestTemplate restTemplate = new TestRestTemplate();
 
     @Before
@@ -66,7 +78,7 @@ public class TaskControllerTest {
         String testContent3 = "Test content 3.";
         String testContent4 = "Test content 4.";
 
-        Group group = createGroup();
+        Group group = createGroup("Group_ProjectItem");
         List<String> users = new ArrayList<>();
         users.add("xlf");
         users.add("ccc");
@@ -95,7 +107,8 @@ public class TaskControllerTest {
             contents1 = updateContent(task1.getId(), content1.getId(), testContent1 + i);
         }
         assertEquals(1, contents1.size());
-        assertEquals(maxRevisionNumber, contents1.get(0).getRevisions().length);
+        assertNull(contents1.get(0).getRevisions());
+        assertEquals(maxRevisionNumber, getContentRevisions(task1.getId(), content1.getId()).length);
 
 
         // borrowing test for testing task pagination
@@ -166,6 +179,78 @@ public class TaskControllerTest {
         assertNotNull(completedTasksResponse.getBody());
         completedTasks = Arrays.asList(completedTasksResponse.getBody());
         assertEquals(4, completedTasks.size());
+
+        // cursor pagination, first page
+        url = UriComponentsBuilder.fromHttpUrl(
+                ROOT_URL + randomServerPort + TaskController.COMPLETED_TASKS_ROUTE)
+                .queryParam("cursor", "")
+                .queryParam("pageSize", 3)
+                .buildAndExpand(p1.getId()).toUriString();
+        completedTasksResponse = this.restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, USER),
+                Task[].class,
+                p1.getId());
+        assertEquals(HttpStatus.OK, completedTasksResponse.getStatusCode());
+        completedTasks = Arrays.asList(completedTasksResponse.getBody());
+        assertEquals(3, completedTasks.size());
+        assertEquals("task5", completedTasks.get(0).getName());
+        assertEquals("task3", completedTasks.get(2).getName());
+        String cursor = completedTasksResponse.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        // cursor pagination, last page
+        url = UriComponentsBuilder.fromHttpUrl(
+                ROOT_URL + randomServerPort + TaskController.COMPLETED_TASKS_ROUTE)
+                .queryParam("cursor", cursor)
+                .queryParam("pageSize", 3)
+                .buildAndExpand(p1.getId()).toUriString();
+        completedTasksResponse = this.restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, USER),
+                Task[].class,
+                p1.getId());
+        assertEquals(HttpStatus.OK, completedTasksResponse.getStatusCode());
+        completedTasks = Arrays.asList(completedTasksResponse.getBody());
+        assertEquals(1, completedTasks.size());
+        assertEquals("task2", completedTasks.get(0).getName());
+        assertNull(completedTasksResponse.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
+
+        // page number pagination, page too large
+        url = UriComponentsBuilder.fromHttpUrl(
+                ROOT_URL + randomServerPort + TaskController.COMPLETED_TASKS_ROUTE)
+                .queryParam("pageNo", 0)
+                .queryParam("pageSize", KeysetCursor.MAX_PAGE_SIZE + 1)
+                .buildAndExpand(p1.getId()).toUriString();
+        ResponseEntity<String> invalidResponse = this.restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, USER),
+                String.class,
+                p1.getId());
+        assertEquals(HttpStatus.BAD_REQUEST, invalidResponse.getStatusCode());
+
+        // date range without cursor, first page
+        url = UriComponentsBuilder.fromHttpUrl(
+                ROOT_URL + randomServerPort + TaskController.COMPLETED_TASKS_ROUTE)
+                .queryParam("pageSize", 3)
+                .queryParam("startDate", "2000-01-01")
+                .queryParam("endDate", "2100-12-31")
+                .queryParam("timezone", TIMEZONE)
+                .buildAndExpand(p1.getId()).toUriString();
+        completedTasksResponse = this.restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, USER),
+                Task[].class,
+                p1.getId());
+        assertEquals(HttpStatus.OK, completedTasksResponse.getStatusCode());
+        completedTasks = Arrays.asList(completedTasksResponse.getBody());
+        assertEquals(3, completedTasks.size());
+        assertEquals("task5", completedTasks.get(0).getName());
+        assertNotNull(completedTasksResponse.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
     }
 
     private void testUpdateAssignees(Project p1, Task task, List<String> users) {
@@ -243,6 +328,22 @@ public class TaskControllerTest {
         return completeTaskResponse.getBody();
     }
 
+    private Revision[] getContentRevisions(Long taskId, Long contentId) {
+        ResponseEntity<Revision[]> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.CONTENT_REVISION_HISTORY_ROUTE,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, USER),
+                Revision[].class,
+                taskId,
+                contentId
+        );
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        for (Revision revision : response.getBody()) {
+            assertNull(revision.getDiff());
+        }
+        return response.getBody();
+    }
+
     private String getContentRevision(Long taskId, Long contentId, Long revisionId) {
         ResponseEntity<Revision> response = this.restTemplate.exchange(
                 ROOT_URL + randomServerPort + TaskController.CONTENT_REVISIONS_ROUTE,
@@ -258,6 +359,135 @@ public class TaskControllerTest {
         return text;
     }
 
+    /**
+     * Tests that a user a task is shared with, outside the project group, and the admin serving shared items can
+     * change and read it, with the project loaded before the transaction ends as open-in-view is off
+     */
+    @Test
+    public void testSharedTaskUpdatedOutsideGroup() {
+        Group group = createGroup("Group_SharedTask");
+        Project project = createProject("task_project_shared", group, ProjectType.TODO);
+        Task task = createTask(project, new CreateTaskParams("task_shared", "2021-01-01", null, null,
+                new ReminderSetting(), ImmutableList.of(USER), TIMEZONE, null));
+
+        ResponseEntity<String> shareResponse = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.SHARE_TASK_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(new ShareProjectItemParams(SHARED_USER), USER),
+                String.class,
+                task.getId());
+        assertEquals(HttpStatus.OK, shareResponse.getStatusCode());
+
+        // authorized as a share recipient, the project is not read during authorization
+        ResponseEntity<Content> addResponse = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.ADD_CONTENT_ROUTE,
+                HttpMethod.POST,
+                TestHelpers.actAsOtherUser(new CreateContentParams("shared content 1"), SHARED_USER),
+                Content.class,
+                task.getId());
+        assertEquals(HttpStatus.OK, addResponse.getStatusCode());
+        Content content = addResponse.getBody();
+        assertNotNull(content);
+
+        ResponseEntity<Content[]> updateResponse = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.CONTENT_ROUTE,
+                HttpMethod.PATCH,
+                TestHelpers.actAsOtherUser(new UpdateContentParams("shared content 2"), SHARED_USER),
+                Content[].class,
+                task.getId(),
+                content.getId());
+        assertEquals(HttpStatus.OK, updateResponse.getStatusCode());
+        assertEquals("shared content 2", updateResponse.getBody()[0].getText());
+
+        // authorized as admin
+        ResponseEntity<String> publicItemResponse = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + SystemController.PUBLIC_ITEM_ROUTE,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, SHARED_USER),
+                String.class,
+                ContentType.TASK.name() + task.getId());
+        assertEquals(HttpStatus.OK, publicItemResponse.getStatusCode());
+        assertTrue(publicItemResponse.getBody().contains("task_shared"));
+        assertTrue(publicItemResponse.getBody().contains("shared content 2"));
+    }
+
+    /**
+     * Tests that diffs made against the same revision and sent at once are applied one at a time: only one is
+     * accepted and the others are rejected as conflicts instead of overwriting it
+     */
+    @Test
+    public void testConcurrentContentDiffs() throws Exception {
+        Group group = createGroup("Group_ConcurrentDiffs");
+        Project project = createProject("task_project_diffs", group, ProjectType.TODO);
+        Task task = createTask(project, new CreateTaskParams("task_diffs", "2021-01-01", null, null,
+                new ReminderSetting(), ImmutableList.of(USER), TIMEZONE, null));
+        String text = "Concurrent diffs base.";
+        Content content = addContent(task, text);
+        List<Content> contents = getContents(task.getId());
+        assertEquals(Long.valueOf(1), contents.get(0).getLatestRevisionId());
+
+        // neither text and diff together nor blank text
+        UpdateContentParams both = new UpdateContentParams(
+                this.contentDiffTool.computeDiff(text, text + " both"), 1L);
+        both.setText(text + " both");
+        assertEquals(HttpStatus.BAD_REQUEST, patchContent(task.getId(), content.getId(), both).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, patchContent(task.getId(), content.getId(),
+                new UpdateContentParams(" ")).getStatusCode());
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_DIFFS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> statuses = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_DIFFS; i++) {
+                UpdateContentParams params = new UpdateContentParams(
+                        this.contentDiffTool.computeDiff(text, text + " Edit " + i + "."), 1L);
+                statuses.add(clients.submit(() -> {
+                    start.await();
+                    return patchContent(task.getId(), content.getId(), params).getStatusCode();
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<HttpStatus> status : statuses) {
+                HttpStatus code = status.get(30, TimeUnit.SECONDS);
+                if (code == HttpStatus.OK) {
+                    accepted++;
+                } else {
+                    assertEquals(HttpStatus.CONFLICT, code);
+                }
+            }
+            assertEquals(1, accepted);
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(2, getContentRevisions(task.getId(), content.getId()).length);
+        contents = getContents(task.getId());
+        assertEquals(Long.valueOf(2), contents.get(0).getLatestRevisionId());
+        assertTrue(contents.get(0).getText().startsWith(text + " Edit "));
+    }
+
+    private ResponseEntity<String> patchContent(Long taskId, Long contentId, UpdateContentParams params) {
+        return this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.CONTENT_ROUTE,
+                HttpMethod.PATCH,
+                TestHelpers.actAsOtherUser(params, USER),
+                String.class,
+                taskId,
+                contentId);
+    }
+
+    private List<Content> getContents(Long taskId) {
+        ResponseEntity<Content[]> response = this.restTemplate.exchange(
+                ROOT_URL + randomServerPort + TaskController.CONTENTS_ROUTE,
+                HttpMethod.GET,
+                TestHelpers.actAsOtherUser(null, USER),
+                Content[].class,
+                taskId);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return Arrays.asList(response.getBody());
+    }
+
     private List<Content> updateContent(Long taskId, Long contentId, String text) {
         UpdateContentParams params = new UpdateContentParams(text);
         ResponseEntity<Content[]> response = this.restTemplate.exchange(
@@ -305,8 +535,8 @@ public class TaskControllerTest {
         return created;
     }
 
-    private Group createGroup() {
-        CreateGroupParams group = new CreateGroupParams("Group_ProjectItem");
+    private Group createGroup(String name) {
+        CreateGroupParams group = new CreateGroupParams(name);
 
         ResponseEntity<Group> response = this.restTemplate.exchange(
                 ROOT_URL + randomServerPort + GroupController.GROUPS_ROUTE,
@@ -317,7 +547,7 @@ public class TaskControllerTest {
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(created);
-        assertEquals("Group_ProjectItem", created.getName());
+        assertEquals(name, created.getName());
         assertEquals(USER, created.getOwner().getName());
 
         return created;
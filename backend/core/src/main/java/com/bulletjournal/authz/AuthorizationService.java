@@ -2,6 +2,7 @@ package com.bulletjournal.authz;
 
 import com.bulletjournal.contents.ContentType;
 import com.bulletjournal.exceptions.UnAuthorizedException;
+import com.bulletjournal.repository.GroupDaoJpa;
 import com.bulletjournal.repository.SharedProjectItemDaoJpa;
 import com.bulletjournal.repository.models.Project;
 import com.bulletjournal.repository.models.ProjectItemModel;
@@ -12,9 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import java.util.Objects;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Component
 public class AuthorizationService {
@@ -29,6 +29,10 @@ public class AuthorizationService {
     @Lazy
     private SharedProjectItemDaoJpa sharedProjectItemDaoJpa;
 
+    @Autowired
+    @Lazy
+    private GroupDaoJpa groupDaoJpa;
+
     public <T extends ProjectItemModel> void validateRequesterInProjectGroup(String requester, T projectItem) {
         if (this.sharedProjectItemDaoJpa.getSharedProjectItems(requester).stream()
                 .anyMatch(item -> Objects.equals(item.getId(), projectItem.getId()) &&
@@ -38,13 +42,36 @@ public class AuthorizationService {
         validateRequesterInProjectGroup(requester, projectItem.getProject());
     }
 
+    /**
+     * Keep the project items the requester may read, as {@link #validateRequesterInProjectGroup(String,
+     * ProjectItemModel)} does one by one, with one query for shared items and one for groups of the requester.
+     *
+     * @param requester    the requester username
+     * @param projectItems the project items to check
+     * @return the project items shared with the requester or in a group the requester joined
+     */
+    public <T extends ProjectItemModel> List<T> filterReadableProjectItems(String requester,
+                                                                            Collection<T> projectItems) {
+        if (ADMINS.contains(requester) || projectItems.isEmpty()) {
+            return new ArrayList<>(projectItems);
+        }
+
+        Map<ContentType, Set<Long>> sharedIds = this.sharedProjectItemDaoJpa.getSharedProjectItems(requester).stream()
+                .collect(Collectors.groupingBy(ProjectItemModel::getContentType,
+                        Collectors.mapping(ProjectItemModel::getId, Collectors.toSet())));
+        Set<Long> groupIds = new HashSet<>(this.groupDaoJpa.getAcceptedGroupIds(requester));
+        return projectItems.stream()
+                .filter(item -> sharedIds.getOrDefault(item.getContentType(), Collections.emptySet())
+                        .contains(item.getId()) || groupIds.contains(item.getProject().getGroup().getId()))
+                .collect(Collectors.toList());
+    }
+
     public <T extends ProjectItemModel> void validateRequesterInProjectGroup(String requester, Project project) {
         if (ADMINS.contains(requester)) {
             return;
         }
 
-        if (!project.getGroup().getAcceptedUsers()
-                .stream().anyMatch(u -> Objects.equals(requester, u.getUser().getName()))) {
+        if (!this.groupDaoJpa.isAcceptedMember(requester, project.getGroup().getId())) {
             throw new UnAuthorizedException("User " + requester + " not in Project "
                     + project.getName());
         }
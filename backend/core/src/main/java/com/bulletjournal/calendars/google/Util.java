@@ -5,10 +5,10 @@ import com.google.common.collect.ImmutableMap;
 
 import java.util.UUID;
 
-import static com.bulletjournal.controller.GoogleCalendarController.CHANNEL_NOTIFICATIONS_ROUTE;
-
 public class Util {
 
+    // served by GoogleCalendarController
+    public static final String CHANNEL_NOTIFICATIONS_ROUTE = "/api/calendar/google/channel/notifications";
     private static final String WATCH_CHANNEL_TOKEN = "BuJo";
 
     public static Channel getChannel() {
@@ -18,6 +18,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
 import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class AWSS3Client {
@@ -27,6 +29,9 @@ public class AWSS3Client {
     @Autowired
     private AWSConfig awsConfig;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
     private AmazonS3 amazonS3Client;
 
     @PostConstruct
@@ -47,27 +52,31 @@ public class AWSS3Client {
                 .build();
     }
 
-    public String uploadFile(MultipartFile multipartFile) {
+    /**
+     * Copy the file to local disk and upload it on the S3 bulkhead
+     *
+     * @return url of the uploaded file
+     */
+    public CompletableFuture<String> uploadFile(MultipartFile multipartFile) {
         if (this.amazonS3Client == null) {
-            return "amazonS3Client not set up";
+            return CompletableFuture.completedFuture("amazonS3Client not set up");
         }
 
-        File file = null;
+        String fileName = FileUtil.generateFileName(multipartFile.getOriginalFilename());
+        LOGGER.info("Uploading file " + fileName);
+        File file;
         try {
-            String fileName = FileUtil.generateFileName(multipartFile.getOriginalFilename());
-            LOGGER.info("Uploading file " + fileName);
+            // the multipart file may be gone once the request thread returns
             file = FileUtil.convertMultiPartToFile(multipartFile, fileName);
-            String fileUrl = awsConfig.getEndpointUrl() + "/" + awsConfig.getBucketName() + "/" + fileName;
-            LOGGER.info("AWS file url: " + fileUrl);
-            uploadFileToS3Bucket(fileName, file);
-            return fileUrl;
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new IllegalStateException(e);
-        } finally {
-            if (file != null) {
-                file.delete();
-            }
         }
+        String fileUrl = awsConfig.getEndpointUrl() + "/" + awsConfig.getBucketName() + "/" + fileName;
+        LOGGER.info("AWS file url: " + fileUrl);
+        return this.bulkheads.get(Bulkheads.S3).submit(() -> {
+            uploadFileToS3Bucket(fileName, file);
+            return fileUrl;
+        }).whenComplete((url, e) -> file.delete());
     }
 
     private void uploadFileToS3Bucket(String fileName, File file) {
@@ -0,0 +1,164 @@
+package com.bulletjournal.clients;
+
+import com.bulletjournal.config.BulkheadConfig;
+import com.bulletjournal.exceptions.ServiceUnavailableException;
+import com.bulletjournal.metrics.RequestCost;
+import com.bulletjournal.util.CustomThreadFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Runs calls to one external service on its own bounded executor, so a slow service holds at most its own threads
+ * and not those serving requests. A call is rejected when all threads are busy and the queue is full, and fails
+ * when it does not finish within timeoutInMillis of its submission; both fail with
+ * {@link ServiceUnavailableException}. The MDC of the caller is visible to the call, and its work is recorded in the
+ * {@link RequestCost} of the caller.
+ * <p>
+ * Saturation is reported as executor.active, executor.queued and executor.queue.remaining tagged with name, and
+ * bulkhead.rejected, bulkhead.timeouts and bulkhead.wait tagged with bulkhead.
+ */
+public class Bulkhead {
+
+    // bulkhead whose call runs on the current thread
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final long timeoutInMillis;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final Counter rejected;
+    private final Counter timeouts;
+    private final Timer wait;
+
+    public Bulkhead(String name, BulkheadConfig.Service config, ScheduledExecutorService timeoutScheduler,
+                    MeterRegistry meterRegistry) {
+        if (config.getThreads() <= 0 || config.getQueueCapacity() <= 0 || config.getTimeoutInMillis() <= 0) {
+            throw new IllegalArgumentException("Invalid bulkhead " + name + " threads: " + config.getThreads() +
+                    " queueCapacity: " + config.getQueueCapacity() +
+                    " timeoutInMillis: " + config.getTimeoutInMillis());
+        }
+        this.name = name;
+        this.timeoutInMillis = config.getTimeoutInMillis();
+        this.timeoutScheduler = timeoutScheduler;
+        this.executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()), new CustomThreadFactory("bulkhead-" + name));
+        // an idle service holds no threads
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Tags tags = Tags.of("bulkhead", name);
+        new ExecutorServiceMetrics(this.executor, name, tags).bindTo(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected").tags(tags).register(meterRegistry);
+        this.timeouts = Counter.builder("bulkhead.timeouts").tags(tags).register(meterRegistry);
+        this.wait = Timer.builder("bulkhead.wait").tags(tags).register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTimeoutInMillis() {
+        return timeoutInMillis;
+    }
+
+    /**
+     * Submit call, the returned future completes with its result or with {@link ServiceUnavailableException} when
+     * rejected or timed out. A timed out call is interrupted. Runs call on the current thread if it is already
+     * running a call of this bulkhead, which would otherwise wait for a thread it holds.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (CURRENT.get() == this) {
+            complete(call, result);
+            return result;
+        }
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        RequestCost requestCost = RequestCost.current();
+        long submitted = System.nanoTime();
+        Future<?> task;
+        try {
+            task = this.executor.submit(() -> run(call, result, mdc, requestCost, submitted));
+        } catch (RejectedExecutionException e) {
+            this.rejected.increment();
+            result.completeExceptionally(new ServiceUnavailableException(
+                    "Too many concurrent calls to " + this.name, e));
+            return result;
+        }
+
+        ScheduledFuture<?> timeout = this.timeoutScheduler.schedule(() -> {
+            if (result.completeExceptionally(new ServiceUnavailableException(
+                    "Call to " + this.name + " timed out after " + this.timeoutInMillis + " ms"))) {
+                this.timeouts.increment();
+                task.cancel(true);
+                // frees its place in the queue if it has not started
+                this.executor.purge();
+            }
+        }, this.timeoutInMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, ex) -> timeout.cancel(false));
+        return result;
+    }
+
+    /**
+     * Run call and wait for its result, see {@link #join(CompletableFuture)}
+     */
+    public <T> T call(Callable<T> call) {
+        return join(submit(call));
+    }
+
+    /**
+     * Wait for future. Exceptions it completed with are rethrown, checked ones wrapped in IllegalStateException.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private <T> void run(Callable<T> call, CompletableFuture<T> result, Map<String, String> mdc,
+                         RequestCost requestCost, long submitted) {
+        this.wait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+        if (result.isDone()) {
+            // timed out in the queue
+            return;
+        }
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        RequestCost.attach(requestCost);
+        CURRENT.set(this);
+        try {
+            complete(call, result);
+        } finally {
+            CURRENT.remove();
+            RequestCost.end();
+            MDC.clear();
+        }
+    }
+
+    private static <T> void complete(Callable<T> call, CompletableFuture<T> result) {
+        try {
+            result.complete(call.call());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+}
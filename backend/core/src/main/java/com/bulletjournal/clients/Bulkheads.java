@@ -0,0 +1,50 @@
+package com.bulletjournal.clients;
+
+import com.bulletjournal.config.BulkheadConfig;
+import com.bulletjournal.util.CustomThreadFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * One {@link Bulkhead} per external service
+ */
+@Component
+public class Bulkheads {
+
+    public static final String SSO = "sso";
+    public static final String GOOGLE_CALENDAR = "google-calendar";
+    public static final String S3 = "s3";
+    public static final String MAILJET = "mailjet";
+    private final ScheduledExecutorService timeoutScheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("bulkhead-timeout"));
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    @Autowired
+    public Bulkheads(BulkheadConfig bulkheadConfig, MeterRegistry meterRegistry) {
+        for (String name : new String[]{SSO, GOOGLE_CALENDAR, S3, MAILJET}) {
+            this.bulkheads.put(name, new Bulkhead(name, bulkheadConfig.getService(name), this.timeoutScheduler,
+                    meterRegistry));
+        }
+    }
+
+    public Bulkhead get(String name) {
+        Bulkhead bulkhead = this.bulkheads.get(name);
+        if (bulkhead == null) {
+            throw new IllegalArgumentException("Unknown bulkhead " + name);
+        }
+        return bulkhead;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.bulkheads.values().forEach(Bulkhead::shutdown);
+        this.timeoutScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,118 @@
+package com.bulletjournal.clients;
+
+import com.bulletjournal.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Stops calling a failing service for a while. Opens after failureThreshold consecutive failures, calls fail with
+ * {@link ServiceUnavailableException} without reaching the service while open. After openInMillis a single trial
+ * call is let through, which closes it on success and opens it again on failure.
+ * <p>
+ * Reported as circuit.breaker.open, 1 while open or trying, and circuit.breaker.rejected tagged with name.
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    // exceptions that count as a failure of the service, others mean it answered
+    private final Predicate<Throwable> isFailure;
+    private final Counter rejected;
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, long openInMillis, Predicate<Throwable> isFailure,
+                          MeterRegistry meterRegistry) {
+        if (failureThreshold <= 0 || openInMillis <= 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker " + name + " failureThreshold: " +
+                    failureThreshold + " openInMillis: " + openInMillis);
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openInMillis);
+        this.isFailure = isFailure;
+        Gauge.builder("circuit.breaker.open", this, c -> c.isClosed() ? 0 : 1)
+                .tag("name", name).register(meterRegistry);
+        this.rejected = Counter.builder("circuit.breaker.rejected")
+                .tag("name", name).register(meterRegistry);
+    }
+
+    /**
+     * Run call on the current thread unless open. Exceptions thrown by call are rethrown, checked ones wrapped in
+     * IllegalStateException.
+     */
+    public <T> T call(Callable<T> call) {
+        if (!tryAcquire()) {
+            this.rejected.increment();
+            throw new ServiceUnavailableException("Calls to " + this.name + " are suspended after failures");
+        }
+        boolean failed = false;
+        try {
+            return call.call();
+        } catch (Throwable e) {
+            failed = this.isFailure.test(e);
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw new IllegalStateException(e);
+        } finally {
+            release(failed);
+        }
+    }
+
+    public synchronized boolean isClosed() {
+        return this.state == State.CLOSED;
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (this.state == State.CLOSED) {
+            return true;
+        }
+        if (this.state == State.OPEN && System.nanoTime() - this.openedAt >= this.openNanos) {
+            this.state = State.HALF_OPEN;
+            return true;
+        }
+        // open, or the trial call is in flight
+        return false;
+    }
+
+    private synchronized void release(boolean failed) {
+        if (this.state == State.OPEN) {
+            // started before it opened
+            return;
+        }
+        if (!failed) {
+            if (this.state != State.CLOSED) {
+                LOGGER.info("Circuit breaker {} closed", this.name);
+            }
+            this.state = State.CLOSED;
+            this.failures = 0;
+            return;
+        }
+        if (this.state == State.HALF_OPEN || ++this.failures >= this.failureThreshold) {
+            LOGGER.warn("Circuit breaker {} opened for {} ms", this.name,
+                    TimeUnit.NANOSECONDS.toMillis(this.openNanos));
+            this.state = State.OPEN;
+            this.openedAt = System.nanoTime();
+            this.failures = 0;
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.bulletjournal.clients;
 
 import com.mailjet.client.*;
-import com.mailjet.client.errors.MailjetException;
-import com.mailjet.client.errors.MailjetSocketTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class MailjetEmailClient {
@@ -22,6 +22,9 @@ public class MailjetEmailClient {
 
     private MailjetClient client;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
     @PostConstruct
     private void initializeMailjetClient() {
         if (System.getenv(API_KEY_PUBLIC) != null) {
@@ -37,15 +40,19 @@ public class MailjetEmailClient {
         }
     }
 
-    public MailjetResponse sendEmail(MailjetRequest request)
-        throws MailjetSocketTimeoutException, MailjetException {
+    /**
+     * Send on the Mailjet bulkhead, the returned future completes with null if Mailjet is not set up
+     */
+    public CompletableFuture<MailjetResponse> sendEmail(MailjetRequest request) {
         if (client == null) {
             LOGGER.warn("Mailjet key not set up, skip sending email.");
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
-        MailjetResponse response = client.post(request);
-        LOGGER.info("Mail sent, response status: {}, response data: {}",
-            response.getStatus(), response.getData());
-        return response;
+        return this.bulkheads.get(Bulkheads.MAILJET).submit(() -> {
+            MailjetResponse response = client.post(request);
+            LOGGER.info("Mail sent, response status: {}, response data: {}",
+                response.getStatus(), response.getData());
+            return response;
+        });
     }
-}
+}
\ No newline at end of file
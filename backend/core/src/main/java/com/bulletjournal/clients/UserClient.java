@@ -0,0 +1,393 @@
+package com.bulletjournal.clients;
+
+import com.bulletjournal.config.SSOConfig;
+import com.bulletjournal.controller.models.ContactType;
+import com.bulletjournal.controller.models.UpdateMyselfParams;
+import com.bulletjournal.controller.models.User;
+import com.bulletjournal.exceptions.ResourceAlreadyExistException;
+import com.bulletjournal.exceptions.ResourceNotFoundException;
+import com.bulletjournal.metrics.RequestCost;
+import com.bulletjournal.redis.RedisUserRepository;
+import com.bulletjournal.repository.UserAliasDaoJpa;
+import com.bulletjournal.repository.UserDaoJpa;
+import com.bulletjournal.util.CustomThreadFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Component
+public class UserClient {
+    public static final String USER_NAME_KEY = "discourse-user-name";
+    public static final String API_USERNAME = "Api-Username";
+    public static final String API_KEY = "Api-Key";
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserClient.class);
+    private static final String AVATAR_SIZE = "75";
+    private static final String THUMBNAIL_SIZE = "37";
+    private static final String SIZE_HOLDER = "{size}";
+    private static final String DEFAULT_USER_TIME_ZONE = "America/Los_Angeles";
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restClient;
+    private final URI ssoEndPoint;
+    private final String ssoAPIKey;
+    private final RedisUserRepository redisUserRepository;
+    private final UserDaoJpa userDaoJpa;
+    private final UserAliasDaoJpa userAliasDaoJpa;
+    // every SSO request runs on it
+    private final Bulkhead sso;
+    private final CircuitBreaker circuitBreaker;
+    // fetches of users missing in redis, keyed by the requested username
+    private final ConcurrentMap<String, CompletableFuture<User>> fills = new ConcurrentHashMap<>();
+    // aliases of users returned by getUserAsync and users stored by fills, which hold no SSO thread while using
+    // the database
+    private final ThreadPoolExecutor aliasExecutor;
+
+    @Autowired
+    public UserClient(SSOConfig ssoConfig, RedisUserRepository redisUserRepository,
+                      UserDaoJpa userDaoJpa, UserAliasDaoJpa userAliasDaoJpa, Bulkheads bulkheads,
+                      MeterRegistry meterRegistry) throws URISyntaxException {
+        this.httpClient = createHttpClient(ssoConfig);
+        this.restClient = new RestTemplate(new HttpComponentsClientHttpRequestFactory(this.httpClient));
+        this.sso = bulkheads.get(Bulkheads.SSO);
+        // a 4xx answer is not a failure of SSO
+        this.circuitBreaker = new CircuitBreaker(Bulkheads.SSO, ssoConfig.getCircuitBreakerFailureThreshold(),
+                ssoConfig.getCircuitBreakerOpenInMillis(), e -> !(e instanceof HttpClientErrorException),
+                meterRegistry);
+        this.ssoEndPoint = new URI(ssoConfig.getEndpoint());
+        this.ssoAPIKey = ssoConfig.getAPIKey();
+        this.redisUserRepository = redisUserRepository;
+        this.userDaoJpa = userDaoJpa;
+        this.userAliasDaoJpa = userAliasDaoJpa;
+        this.aliasExecutor = new ThreadPoolExecutor(ssoConfig.getAliasThreads(), ssoConfig.getAliasThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new CustomThreadFactory("user-alias"));
+        this.aliasExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    private static CloseableHttpClient createHttpClient(SSOConfig ssoConfig) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(ssoConfig.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(ssoConfig.getMaxConnections());
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(ssoConfig.getConnectTimeoutInMillis())
+                .setSocketTimeout(ssoConfig.getReadTimeoutInMillis())
+                .setConnectionRequestTimeout(ssoConfig.getConnectionRequestTimeoutInMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        this.aliasExecutor.shutdownNow();
+        this.httpClient.close();
+    }
+
+    /**
+     * Send request to SSO on its bulkhead, unless the circuit breaker is open
+     */
+    private <T> T callSSO(Callable<T> request) {
+        return this.circuitBreaker.call(() -> this.sso.call(request));
+    }
+
+    public CompletableFuture<Void> logout(String username) {
+        if (this.ssoAPIKey == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return this.sso.submit(() -> {
+            // build the request
+            HttpEntity<?> request = buildHeaders();
+            User user = getUser(username);
+            String url = this.ssoEndPoint.resolve("/admin/users/" + user.getId() + "/log_out").toString();
+            callSSO(() -> this.restClient
+                    .exchange(url, HttpMethod.POST, request, Void.class));
+            return null;
+        });
+    }
+
+    /**
+     * Same as {@link #getUser(String)}, a user missing in redis is fetched from SSO without blocking the caller
+     */
+    public CompletableFuture<User> getUserAsync(String username) {
+        User user = getCachedUser(username);
+        if (user != null) {
+            return CompletableFuture.completedFuture(user);
+        }
+        String requester = MDC.get(USER_NAME_KEY);
+        RequestCost requestCost = RequestCost.current();
+        return fill(username).thenApplyAsync(filled -> {
+            RequestCost.attach(requestCost);
+            try {
+                return this.userAliasDaoJpa.updateUserAlias(copy(filled), requester);
+            } finally {
+                RequestCost.end();
+            }
+        }, this.aliasExecutor);
+    }
+
+    /**
+     * DO NOT wrap this function inside @Transactional
+     */
+    public User getUser(String username) {
+        User user = getCachedUser(username);
+        if (user != null) {
+            return user;
+        }
+        return this.userAliasDaoJpa.updateUserAlias(copy(Bulkhead.join(fill(username))));
+    }
+
+    /**
+     * Fetch a user missing in redis from SSO and put it there. Concurrent misses of the same username share one
+     * fetch and the user it returns, which they must not change.
+     */
+    private CompletableFuture<User> fill(String username) {
+        CompletableFuture<User> fill = new CompletableFuture<>();
+        CompletableFuture<User> inFlight = this.fills.putIfAbsent(username, fill);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        // the user is in redis by then, a later miss finds it there
+        fill.whenComplete((user, e) -> this.fills.remove(username, fill));
+        Optional<User> userOptional = this.redisUserRepository.findById(username);
+        if (userOptional.isPresent()) {
+            // put there by a fetch that ended after the miss
+            fill.complete(userOptional.get());
+            return fill;
+        }
+
+        // an SSO thread only waits for the response, the user is stored on the alias executor
+        RequestCost requestCost = RequestCost.current();
+        this.sso.submit(() -> getSSOUserInfo(username)).thenApplyAsync(userInfo -> {
+            RequestCost.attach(requestCost);
+            try {
+                return saveUser(userInfo);
+            } finally {
+                RequestCost.end();
+            }
+        }, this.aliasExecutor).whenComplete((user, e) -> {
+            if (e == null) {
+                fill.complete(user);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause instanceof HttpClientErrorException) {
+                cause = new ResourceNotFoundException("Unable to find user " + username, cause);
+            }
+            fill.completeExceptionally(cause);
+        });
+        return fill;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private User saveUser(LinkedHashMap userInfo) {
+        // SSO is case-insensitive for username
+        String username = (String) userInfo.get("username");
+        User user = getUser(username, userInfo);
+        try {
+            com.bulletjournal.repository.models.User createdUser
+                = this.userDaoJpa.create(username, getUserTimeZone(userInfo));
+            updateEmail(createdUser);
+        } catch (ResourceAlreadyExistException ex) {
+            LOGGER.info(username + " already exists");
+        }
+
+        redisUserRepository.save(user);
+        return user;
+    }
+
+    private static User copy(User user) {
+        User copy = new User(user.getId(), user.getName(), user.getThumbnail(), user.getAvatar());
+        copy.setEmail(user.getEmail());
+        return copy;
+    }
+
+    /**
+     * Resolve many users at once: cached users are read from redis together and SSO is only called for misses.
+     * DO NOT wrap this function inside @Transactional
+     *
+     * @return users keyed by the requested username
+     */
+    public Map<String, User> getUsers(Collection<String> usernames) {
+        Set<String> names = new HashSet<>(usernames);
+        Map<String, User> users = new HashMap<>();
+        this.redisUserRepository.multiGet(names).forEach(user -> users.put(user.getName(), user));
+        for (String name : names) {
+            if (!users.containsKey(name)) {
+                users.put(name, getUser(name));
+            }
+        }
+
+        String requester = MDC.get(USER_NAME_KEY);
+        Map<String, String> aliases = requester == null
+                ? Collections.emptyMap() : this.userAliasDaoJpa.getAliases(requester);
+        users.values().forEach(user -> user.setAlias(aliases.getOrDefault(user.getName(), user.getName())));
+        return users;
+    }
+
+    private User getCachedUser(String username) {
+        Optional<User> userOptional = redisUserRepository.findById(username);
+        if (!userOptional.isPresent()) {
+            return null;
+        }
+        User user = userOptional.get();
+        user.setAlias(user.getName()); // disable caching user alias
+        return this.userAliasDaoJpa.updateUserAlias(user);
+    }
+
+    private String getUserTimeZone(LinkedHashMap userInfo) {
+        if (this.ssoAPIKey == null) {
+            return DEFAULT_USER_TIME_ZONE;
+        }
+
+        String timezone = (String) ((LinkedHashMap) userInfo.get("user_option")).get("timezone");
+        if (timezone == null) {
+            timezone = DEFAULT_USER_TIME_ZONE;
+        }
+
+        return timezone;
+    }
+
+    private String getUserEmail(String username) {
+        if (this.ssoAPIKey == null) {
+            throw new IllegalArgumentException("ssoAPIKey missing");
+        }
+        String url = this.ssoEndPoint.resolve("/u/" + username + "/emails.json").toString();
+        return (String) callSSO(() -> this.restClient
+                .exchange(url, HttpMethod.GET, buildHeaders(), LinkedHashMap.class)).getBody().get("email");
+    }
+
+    private User getUser(String username, LinkedHashMap userInfo) {
+        Integer id = (Integer) userInfo.get("id");
+        String avatarTemplate = (String) userInfo.get("avatar_template");
+        String avatar = this.ssoEndPoint.resolve(avatarTemplate.replace(SIZE_HOLDER, AVATAR_SIZE)).toString();
+        String thumbnail = this.ssoEndPoint.resolve(avatarTemplate.replace(SIZE_HOLDER, THUMBNAIL_SIZE)).toString();
+        return new User(id, username, thumbnail, avatar);
+    }
+
+    private LinkedHashMap getSSOUserInfo(String username) {
+        String url = this.ssoEndPoint.resolve("/u/" + username + ".json").toString();
+        return (LinkedHashMap) callSSO(() -> this.restClient
+                .exchange(url, HttpMethod.GET, buildHeaders(), LinkedHashMap.class)).getBody().get("user");
+    }
+
+    private HttpEntity<LinkedHashMap> buildHeaders() {
+        if (this.ssoAPIKey == null) {
+            return null;
+        }
+        HttpEntity<LinkedHashMap> request;
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(API_USERNAME, "system");
+        headers.add(API_KEY, this.ssoAPIKey);
+        // build the request
+        request = new HttpEntity<>(headers);
+        return request;
+    }
+
+    /**
+     * Upload on the SSO bulkhead, the file is read before returning
+     */
+    public CompletableFuture<Void> uploadAvatar(MultipartFile file, String username) throws IOException {
+        if (this.ssoAPIKey == null) {
+            throw new IllegalArgumentException("ssoAPIKey missing");
+        }
+
+        String fileName = file.getOriginalFilename();
+        byte[] bytes = file.getBytes();
+        return this.sso.submit(() -> {
+            HttpHeaders headers = getHttpHeaders(username, MediaType.MULTIPART_FORM_DATA);
+
+            MultiValueMap<String, String> fileMap = new LinkedMultiValueMap<>();
+            ContentDisposition contentDisposition = ContentDisposition
+                    .builder("form-data")
+                    .name("file")
+                    .filename(fileName)
+                    .build();
+            fileMap.add(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString());
+            HttpEntity<byte[]> fileEntity = new HttpEntity<>(bytes, fileMap);
+
+            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+            body.add("file", fileEntity);
+            body.add("type", "avatar");
+            body.add("user_id", this.getUser(username).getId());
+
+            HttpEntity<MultiValueMap<String, Object>> requestEntity =
+                    new HttpEntity<>(body, headers);
+            String uploadUrl = this.ssoEndPoint.resolve("/uploads.json").toString();
+            ResponseEntity<LinkedHashMap> response = callSSO(() -> this.restClient.exchange(
+                    uploadUrl,
+                    HttpMethod.POST,
+                    requestEntity,
+                    LinkedHashMap.class));
+            LOGGER.info("Upload avatar response {}", response);
+
+            int uploadId = (Integer) response.getBody().get("id");
+            headers = getHttpHeaders(username, MediaType.APPLICATION_JSON);
+            String pickUrl = this.ssoEndPoint.resolve("/users/" + username + "/preferences/avatar/pick").toString();
+            HttpEntity<PickAvatarParams> pickEntity =
+                    new HttpEntity<>(new PickAvatarParams("uploaded", uploadId), headers);
+            response = callSSO(() -> this.restClient.exchange(
+                    pickUrl,
+                    HttpMethod.PUT,
+                    pickEntity,
+                    LinkedHashMap.class));
+            LOGGER.info("Pick avatar response {}", response);
+            return null;
+        });
+    }
+
+    private HttpHeaders getHttpHeaders(String username, MediaType mediaType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(API_USERNAME, username);
+        headers.add(API_KEY, this.ssoAPIKey);
+        headers.setContentType(mediaType);
+        return headers;
+    }
+
+    public String createTopic(String username, ContactType contactType, String title, String content) {
+        if (this.ssoAPIKey == null) {
+            throw new IllegalArgumentException("ssoAPIKey missing");
+        }
+        String url = this.ssoEndPoint.resolve("/posts.json").toString();
+        HttpHeaders headers = getHttpHeaders(username, MediaType.APPLICATION_JSON);
+        ResponseEntity<LinkedHashMap> response = callSSO(() -> this.restClient.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(
+                        new CreateTopicParams(title, content, ContactType.getForumCategoryID(contactType)), headers),
+                LinkedHashMap.class));
+        LOGGER.info("Posts response {}", response);
+        return this.ssoEndPoint.resolve(
+                "/t/" + response.getBody().get("topic_slug") + "/" + response.getBody().get("topic_id")).toString();
+    }
+
+    public void updateEmail(com.bulletjournal.repository.models.User user) {
+        if (user.getEmail() == null && this.ssoAPIKey != null) {
+            String email = getUserEmail(user.getName());
+            UpdateMyselfParams params = new UpdateMyselfParams();
+            params.setEmail(email);
+            this.userDaoJpa.updateMyself(user.getName(), params);
+        }
+    }
+}
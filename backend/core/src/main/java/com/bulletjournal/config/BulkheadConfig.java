@@ -0,0 +1,63 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits of the executors calls to external services run on, see {@link com.bulletjournal.clients.Bulkhead}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadConfig {
+
+    // keyed by service name
+    private Map<String, Service> services = new HashMap<>();
+
+    public Map<String, Service> getServices() {
+        return services;
+    }
+
+    public void setServices(Map<String, Service> services) {
+        this.services = services;
+    }
+
+    public Service getService(String name) {
+        return this.services.computeIfAbsent(name, k -> new Service());
+    }
+
+    public static class Service {
+        // calls in flight at most
+        private int threads = 10;
+        // calls waiting for a thread at most, further calls are rejected
+        private int queueCapacity = 20;
+        // from submission, waiting in the queue included
+        private long timeoutInMillis = 10000;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getTimeoutInMillis() {
+            return timeoutInMillis;
+        }
+
+        public void setTimeoutInMillis(long timeoutInMillis) {
+            this.timeoutInMillis = timeoutInMillis;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "compression")
+public class CompressionConfig {
+
+    private Recompressor recompressor = new Recompressor();
+
+    public Recompressor getRecompressor() {
+        return recompressor;
+    }
+
+    public void setRecompressor(Recompressor recompressor) {
+        this.recompressor = recompressor;
+    }
+
+    public static class Recompressor {
+        private boolean enabled;
+        private int intervalInSeconds;
+        private int batchSize;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getIntervalInSeconds() {
+            return intervalInSeconds;
+        }
+
+        public void setIntervalInSeconds(int intervalInSeconds) {
+            this.intervalInSeconds = intervalInSeconds;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+}
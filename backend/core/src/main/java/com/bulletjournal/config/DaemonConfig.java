@@ -0,0 +1,24 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Background daemons run in processes with daemon.enabled, the worker profile. The api profile turns them off.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "daemon")
+public class DaemonConfig {
+
+    public static final String ENABLED = "daemon.enabled";
+
+    private boolean enabled = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
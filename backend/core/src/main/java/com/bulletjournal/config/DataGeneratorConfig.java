@@ -0,0 +1,217 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Shape of the synthetic tenant generated by {@link com.bulletjournal.datagen.DataGenerator}. Counts are per user
+ * unless noted otherwise. The same seed, shape and anchor date produce the same data.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "datagen")
+public class DataGeneratorConfig {
+
+    private long seed = 1024;
+    // generated users are named <userPrefix><index>
+    private String userPrefix = "perf";
+    private String timezone = "America/Los_Angeles";
+    // "yyyy-MM-dd", dates are generated backwards from it, today if not set
+    private String anchorDate;
+    private int users = 10;
+    private int groupsPerUser = 2;
+    // including the owner
+    private int usersPerGroup = 20;
+    private int projectsPerGroup = 6;
+    private int tasksPerProject = 200;
+    // completed tasks are in the same projects, with completion times within months
+    private int completedTasksPerProject = 50;
+    private int notesPerProject = 100;
+    private int transactionsPerProject = 300;
+    private int maxTreeDepth = 8;
+    private int labelsPerUser = 20;
+    private int contentsPerItem = 2;
+    private int revisionsPerContent = 5;
+    private int recurringTaskPercent = 10;
+    private int sharedItemsPerUser = 1000;
+    private int notificationsPerUser = 500;
+    private int months = 24;
+    private int auditablesPerProjectPerMonth = 50;
+    // rows written before the persistence context is flushed and cleared
+    private int batchSize = 1000;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public String getUserPrefix() {
+        return userPrefix;
+    }
+
+    public void setUserPrefix(String userPrefix) {
+        this.userPrefix = userPrefix;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public String getAnchorDate() {
+        return anchorDate;
+    }
+
+    public void setAnchorDate(String anchorDate) {
+        this.anchorDate = anchorDate;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getGroupsPerUser() {
+        return groupsPerUser;
+    }
+
+    public void setGroupsPerUser(int groupsPerUser) {
+        this.groupsPerUser = groupsPerUser;
+    }
+
+    public int getUsersPerGroup() {
+        return usersPerGroup;
+    }
+
+    public void setUsersPerGroup(int usersPerGroup) {
+        this.usersPerGroup = usersPerGroup;
+    }
+
+    public int getProjectsPerGroup() {
+        return projectsPerGroup;
+    }
+
+    public void setProjectsPerGroup(int projectsPerGroup) {
+        this.projectsPerGroup = projectsPerGroup;
+    }
+
+    public int getTasksPerProject() {
+        return tasksPerProject;
+    }
+
+    public void setTasksPerProject(int tasksPerProject) {
+        this.tasksPerProject = tasksPerProject;
+    }
+
+    public int getCompletedTasksPerProject() {
+        return completedTasksPerProject;
+    }
+
+    public void setCompletedTasksPerProject(int completedTasksPerProject) {
+        this.completedTasksPerProject = completedTasksPerProject;
+    }
+
+    public int getNotesPerProject() {
+        return notesPerProject;
+    }
+
+    public void setNotesPerProject(int notesPerProject) {
+        this.notesPerProject = notesPerProject;
+    }
+
+    public int getTransactionsPerProject() {
+        return transactionsPerProject;
+    }
+
+    public void setTransactionsPerProject(int transactionsPerProject) {
+        this.transactionsPerProject = transactionsPerProject;
+    }
+
+    public int getMaxTreeDepth() {
+        return maxTreeDepth;
+    }
+
+    public void setMaxTreeDepth(int maxTreeDepth) {
+        this.maxTreeDepth = maxTreeDepth;
+    }
+
+    public int getLabelsPerUser() {
+        return labelsPerUser;
+    }
+
+    public void setLabelsPerUser(int labelsPerUser) {
+        this.labelsPerUser = labelsPerUser;
+    }
+
+    public int getContentsPerItem() {
+        return contentsPerItem;
+    }
+
+    public void setContentsPerItem(int contentsPerItem) {
+        this.contentsPerItem = contentsPerItem;
+    }
+
+    public int getRevisionsPerContent() {
+        return revisionsPerContent;
+    }
+
+    public void setRevisionsPerContent(int revisionsPerContent) {
+        this.revisionsPerContent = revisionsPerContent;
+    }
+
+    public int getRecurringTaskPercent() {
+        return recurringTaskPercent;
+    }
+
+    public void setRecurringTaskPercent(int recurringTaskPercent) {
+        this.recurringTaskPercent = recurringTaskPercent;
+    }
+
+    public int getSharedItemsPerUser() {
+        return sharedItemsPerUser;
+    }
+
+    public void setSharedItemsPerUser(int sharedItemsPerUser) {
+        this.sharedItemsPerUser = sharedItemsPerUser;
+    }
+
+    public int getNotificationsPerUser() {
+        return notificationsPerUser;
+    }
+
+    public void setNotificationsPerUser(int notificationsPerUser) {
+        this.notificationsPerUser = notificationsPerUser;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public void setMonths(int months) {
+        this.months = months;
+    }
+
+    public int getAuditablesPerProjectPerMonth() {
+        return auditablesPerProjectPerMonth;
+    }
+
+    public void setAuditablesPerProjectPerMonth(int auditablesPerProjectPerMonth) {
+        this.auditablesPerProjectPerMonth = auditablesPerProjectPerMonth;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bulletjournal.config;
+
+import com.bulletjournal.repository.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary and replica pools behind a {@link ReplicaRoutingDataSource} when the replica is enabled. Otherwise Spring
+ * Boot configures the primary pool alone.
+ */
+@Configuration
+@ConditionalOnProperty(value = ReplicaConfig.ENABLED, havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, ReplicaConfig replicaConfig) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(replicaConfig.getUrl())
+                .username(replicaConfig.getUsername() == null
+                        ? properties.determineUsername() : replicaConfig.getUsername())
+                .password(replicaConfig.getPassword() == null
+                        ? properties.determinePassword() : replicaConfig.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                      @Qualifier("replicaDataSource") DataSource replica,
+                                                      ReplicaConfig replicaConfig,
+                                                      StringRedisTemplate stringRedisTemplate) {
+        return new ReplicaRoutingDataSource(primary, replica, replicaConfig, stringRedisTemplate);
+    }
+
+    /**
+     * Connections are taken on the first statement, after the transaction manager has marked the transaction
+     * read-only, instead of when the transaction begins.
+     * <p>
+     * The pools are created after this bean, the DataSource initializer Spring Boot runs for each DataSource bean
+     * looks up this one and would find it in creation otherwise.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Lazy ReplicaRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        // connects to read the defaults in afterPropertiesSet, which the container calls after creation
+        dataSource.setTargetDataSource(routingDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Return the connection after each transaction, otherwise an EntityManager open for the whole request keeps
+     * the pool of its first transaction for the later ones
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,108 @@
+package com.bulletjournal.config;
+
+import com.bulletjournal.repository.SecondLevelCacheInvalidator;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Ehcache heap regions behind Hibernate's JCache region factory. Regions are created here with their size limit and
+ * Hibernate fails to start on a region without one.
+ */
+@Configuration
+@ConditionalOnProperty(value = SecondLevelCacheConfig.ENABLED, havingValue = "true")
+public class HibernateCacheConfig {
+
+    // one entry per table
+    private static final long UPDATE_TIMESTAMPS_ENTRIES = 1000;
+
+    @Bean
+    public CacheManager secondLevelCacheManager(SecondLevelCacheConfig secondLevelCacheConfig) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        // caching providers share cache managers by URI, every application context gets its own
+        CacheManager cacheManager = provider.getCacheManager(URI.create("bulletjournal-" + UUID.randomUUID()),
+                new DefaultConfiguration(provider.getDefaultClassLoader()));
+        Duration timeToLive = Duration.ofSeconds(secondLevelCacheConfig.getTimeToLiveInSeconds());
+        secondLevelCacheConfig.getRegions().forEach((region, entries) ->
+                createCache(cacheManager, region, entries, timeToLive));
+        createCache(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                secondLevelCacheConfig.getQueryResultsEntries(), timeToLive);
+        // update timestamps must outlive the query results they invalidate
+        createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                UPDATE_TIMESTAMPS_ENTRIES, null);
+        return cacheManager;
+    }
+
+    private static void createCache(CacheManager cacheManager, String region, long entries, Duration timeToLive) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class, Object.class, ResourcePoolsBuilder.heap(entries));
+        if (timeToLive != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        }
+        cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(builder));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Qualifier("secondLevelCacheManager") CacheManager cacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // inverse collections such as Group.users are evicted when a UserGroup changes
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+
+    /**
+     * Hits, misses, puts and evictions per region as cache.gets, cache.puts and cache.evictions tagged with cache
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(@Qualifier("secondLevelCacheManager") CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(region -> {
+            cacheManager.enableStatistics(region, true);
+            JCacheMetrics.monitor(registry, cacheManager.getCache(region));
+        });
+    }
+
+    @Bean
+    public SecondLevelCacheInvalidator secondLevelCacheInvalidator() {
+        return new SecondLevelCacheInvalidator();
+    }
+
+    @Bean
+    public RedisMessageListenerContainer secondLevelCacheListenerContainer(
+            RedisConnectionFactory redisConnectionFactory, SecondLevelCacheInvalidator secondLevelCacheInvalidator,
+            SecondLevelCacheConfig secondLevelCacheConfig) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(secondLevelCacheInvalidator,
+                new ChannelTopic(secondLevelCacheConfig.getInvalidationChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,37 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "leader")
+public class LeaderConfig {
+
+    private boolean enabled = true;
+    private long lockKey = 1024L;
+    private int keepAliveIntervalInSeconds = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getLockKey() {
+        return lockKey;
+    }
+
+    public void setLockKey(long lockKey) {
+        this.lockKey = lockKey;
+    }
+
+    public int getKeepAliveIntervalInSeconds() {
+        return keepAliveIntervalInSeconds;
+    }
+
+    public void setKeepAliveIntervalInSeconds(int keepAliveIntervalInSeconds) {
+        this.keepAliveIntervalInSeconds = keepAliveIntervalInSeconds;
+    }
+}
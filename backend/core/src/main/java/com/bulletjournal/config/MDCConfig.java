@@ -9,6 +9,7 @@ public class MDCConfig {
 
     private String defaultRequestIdKey;
     private String defaultClientIpKey;
+    private String defaultRequestCostKey;
 
     public String getDefaultRequestIdKey() {
         return defaultRequestIdKey;
@@ -26,4 +27,12 @@ public class MDCConfig {
         this.defaultClientIpKey = defaultClientIpKey;
     }
 
+    public String getDefaultRequestCostKey() {
+        return defaultRequestCostKey;
+    }
+
+    public void setDefaultRequestCostKey(String defaultRequestCostKey) {
+        this.defaultRequestCostKey = defaultRequestCostKey;
+    }
+
 }
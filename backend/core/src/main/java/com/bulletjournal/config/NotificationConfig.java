@@ -24,6 +24,7 @@ public class NotificationConfig {
         private int maxRetentionTimeInDays;
         private int intervalInSeconds;
         private int historyMaxRetentionDays;
+        private int partitionMonthsAhead = 3;
 
         public int getMaxRetentionTimeInDays() {
             return maxRetentionTimeInDays;
@@ -49,6 +50,14 @@ public class NotificationConfig {
             this.historyMaxRetentionDays = historyMaxRetentionDays;
         }
 
+        public int getPartitionMonthsAhead() {
+            return partitionMonthsAhead;
+        }
+
+        public void setPartitionMonthsAhead(int partitionMonthsAhead) {
+            this.partitionMonthsAhead = partitionMonthsAhead;
+        }
+
     }
 
 }
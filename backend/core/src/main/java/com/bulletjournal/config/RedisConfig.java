@@ -1,5 +1,6 @@
 package com.bulletjournal.config;
 
+import com.bulletjournal.metrics.RedisCostConnectionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,7 +20,7 @@ public class RedisConfig {
 
     @Bean
     JedisConnectionFactory jedisConnectionFactory() {
-        return new JedisConnectionFactory(
+        return new RedisCostConnectionFactory(
                 new RedisStandaloneConfiguration(springRedisConfig.getHost(), springRedisConfig.getPort()));
     }
 
@@ -10,6 +10,9 @@ public class ReminderConfig {
     private Long loadNextSeconds;
     private Long purgePrevSeconds;
     private String timeZone;
+    private int heartbeatIntervalInSeconds = 5;
+    private int nodeTimeoutInSeconds = 20;
+    private int virtualNodes = 100;
 
     public Long getLoadPrevSeconds() {
         return loadPrevSeconds;
@@ -43,6 +46,30 @@ public class ReminderConfig {
         this.timeZone = timeZone;
     }
 
+    public int getHeartbeatIntervalInSeconds() {
+        return heartbeatIntervalInSeconds;
+    }
+
+    public void setHeartbeatIntervalInSeconds(int heartbeatIntervalInSeconds) {
+        this.heartbeatIntervalInSeconds = heartbeatIntervalInSeconds;
+    }
+
+    public int getNodeTimeoutInSeconds() {
+        return nodeTimeoutInSeconds;
+    }
+
+    public void setNodeTimeoutInSeconds(int nodeTimeoutInSeconds) {
+        this.nodeTimeoutInSeconds = nodeTimeoutInSeconds;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
     @Override
     public String toString() {
         return "ReminderConfig{" +
@@ -50,6 +77,9 @@ public class ReminderConfig {
                 ", loadNextSeconds=" + loadNextSeconds +
                 ", purgePrevSeconds=" + purgePrevSeconds +
                 ", timeZone=" + timeZone +
+                ", heartbeatIntervalInSeconds=" + heartbeatIntervalInSeconds +
+                ", nodeTimeoutInSeconds=" + nodeTimeoutInSeconds +
+                ", virtualNodes=" + virtualNodes +
                 '}';
     }
 }
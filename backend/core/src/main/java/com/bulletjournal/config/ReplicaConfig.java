@@ -0,0 +1,83 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read replica of the primary database, see {@link com.bulletjournal.repository.ReplicaRoutingDataSource}.
+ * Pool settings of the replica are under datasource.replica.hikari, those of the primary under
+ * spring.datasource.hikari.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaConfig {
+
+    public static final String ENABLED = "datasource.replica.enabled";
+
+    private boolean enabled;
+    private String url;
+    // credentials of the primary if not set
+    private String username;
+    private String password;
+    // read-only transactions run on the primary while the replica lags behind by more than this
+    private int maxLagInSeconds = 5;
+    private long lagCheckIntervalInMillis = 1000;
+    // a user Redis has no write of is asked again after this, writes on other nodes may be missed as long
+    private long writeCheckIntervalInMillis = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaxLagInSeconds() {
+        return maxLagInSeconds;
+    }
+
+    public void setMaxLagInSeconds(int maxLagInSeconds) {
+        this.maxLagInSeconds = maxLagInSeconds;
+    }
+
+    public long getLagCheckIntervalInMillis() {
+        return lagCheckIntervalInMillis;
+    }
+
+    public void setLagCheckIntervalInMillis(long lagCheckIntervalInMillis) {
+        this.lagCheckIntervalInMillis = lagCheckIntervalInMillis;
+    }
+
+    public long getWriteCheckIntervalInMillis() {
+        return writeCheckIntervalInMillis;
+    }
+
+    public void setWriteCheckIntervalInMillis(long writeCheckIntervalInMillis) {
+        this.writeCheckIntervalInMillis = writeCheckIntervalInMillis;
+    }
+}
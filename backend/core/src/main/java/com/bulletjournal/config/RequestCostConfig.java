@@ -0,0 +1,28 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "request.cost")
+public class RequestCostConfig {
+
+    private long slowThresholdInMillis = 1000;
+    private boolean debug;
+
+    public long getSlowThresholdInMillis() {
+        return slowThresholdInMillis;
+    }
+
+    public void setSlowThresholdInMillis(long slowThresholdInMillis) {
+        this.slowThresholdInMillis = slowThresholdInMillis;
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+}
@@ -0,0 +1,66 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "retention")
+public class RetentionConfig {
+
+    // keyed by job name
+    private Map<String, Job> jobs = new HashMap<>();
+
+    public Map<String, Job> getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(Map<String, Job> jobs) {
+        this.jobs = jobs;
+    }
+
+    public Job getJob(String name) {
+        return this.jobs.computeIfAbsent(name, k -> new Job());
+    }
+
+    public static class Job {
+        private boolean enabled = true;
+        private int intervalInSeconds = 3600;
+        private int chunkSize = 1000;
+        private int maxRowsPerSecond = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getIntervalInSeconds() {
+            return intervalInSeconds;
+        }
+
+        public void setIntervalInSeconds(int intervalInSeconds) {
+            this.intervalInSeconds = intervalInSeconds;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxRowsPerSecond() {
+            return maxRowsPerSecond;
+        }
+
+        public void setMaxRowsPerSecond(int maxRowsPerSecond) {
+            this.maxRowsPerSecond = maxRowsPerSecond;
+        }
+    }
+}
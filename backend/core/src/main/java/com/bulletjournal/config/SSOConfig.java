@@ -0,0 +1,98 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "sso")
+public class SSOConfig {
+    private static final String API_KEY = "SSO_API_KEY";
+    private String endpoint;
+    // one route, so also the connections per route
+    private int maxConnections = 50;
+    private int connectTimeoutInMillis = 1000;
+    // per read of the socket, the whole call is bounded by bulkhead.services.sso.timeoutInMillis
+    private int readTimeoutInMillis = 3000;
+    // waiting for a pooled connection
+    private int connectionRequestTimeoutInMillis = 1000;
+    // consecutive failed requests that suspend calls to SSO for circuitBreakerOpenInMillis
+    private int circuitBreakerFailureThreshold = 5;
+    private long circuitBreakerOpenInMillis = 10000;
+    // database work of async user lookups once SSO answered, kept off the SSO bulkhead threads
+    private int aliasThreads = 10;
+
+    public SSOConfig() {
+    }
+
+    public SSOConfig(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getConnectTimeoutInMillis() {
+        return connectTimeoutInMillis;
+    }
+
+    public void setConnectTimeoutInMillis(int connectTimeoutInMillis) {
+        this.connectTimeoutInMillis = connectTimeoutInMillis;
+    }
+
+    public int getReadTimeoutInMillis() {
+        return readTimeoutInMillis;
+    }
+
+    public void setReadTimeoutInMillis(int readTimeoutInMillis) {
+        this.readTimeoutInMillis = readTimeoutInMillis;
+    }
+
+    public int getConnectionRequestTimeoutInMillis() {
+        return connectionRequestTimeoutInMillis;
+    }
+
+    public void setConnectionRequestTimeoutInMillis(int connectionRequestTimeoutInMillis) {
+        this.connectionRequestTimeoutInMillis = connectionRequestTimeoutInMillis;
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    public long getCircuitBreakerOpenInMillis() {
+        return circuitBreakerOpenInMillis;
+    }
+
+    public void setCircuitBreakerOpenInMillis(long circuitBreakerOpenInMillis) {
+        this.circuitBreakerOpenInMillis = circuitBreakerOpenInMillis;
+    }
+
+    public int getAliasThreads() {
+        return aliasThreads;
+    }
+
+    public void setAliasThreads(int aliasThreads) {
+        this.aliasThreads = aliasThreads;
+    }
+
+    public String getAPIKey() {
+        return System.getenv(API_KEY);
+    }
+}
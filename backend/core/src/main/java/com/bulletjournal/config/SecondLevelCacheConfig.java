@@ -0,0 +1,77 @@
+package com.bulletjournal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level and query cache, see {@link HibernateCacheConfig}. Each node caches in its own heap, changes
+ * committed on one node are sent to the others over Redis pub/sub.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache.second-level")
+public class SecondLevelCacheConfig {
+
+    public static final String ENABLED = "cache.second-level.enabled";
+
+    private boolean enabled;
+    // max entries per region, every region used by an entity or collection needs one
+    private Map<String, Long> regions = new HashMap<>();
+    private long queryResultsEntries = 10000;
+    // bounds staleness when an invalidation from another node is lost
+    private long timeToLiveInSeconds = 600;
+    private String invalidationChannel = "bulletjournal:second-level-cache";
+    // evict again after this delay, in case another node loaded the old row before the change was committed or
+    // read it from a lagging replica, not shorter than datasource.replica.maxLagInSeconds
+    private long reevictDelayInMillis = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Long> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Long> regions) {
+        this.regions = regions;
+    }
+
+    public long getQueryResultsEntries() {
+        return queryResultsEntries;
+    }
+
+    public void setQueryResultsEntries(long queryResultsEntries) {
+        this.queryResultsEntries = queryResultsEntries;
+    }
+
+    public long getTimeToLiveInSeconds() {
+        return timeToLiveInSeconds;
+    }
+
+    public void setTimeToLiveInSeconds(long timeToLiveInSeconds) {
+        this.timeToLiveInSeconds = timeToLiveInSeconds;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    public long getReevictDelayInMillis() {
+        return reevictDelayInMillis;
+    }
+
+    public void setReevictDelayInMillis(long reevictDelayInMillis) {
+        this.reevictDelayInMillis = reevictDelayInMillis;
+    }
+}
@@ -33,19 +33,23 @@ public class Content {
 
     private Revision[] revisions;
 
+    // the revision a diff update of this content is made against
+    private Long latestRevisionId;
+
     public Content() {
     }
 
     public Content(@NotNull Long id, @NotNull User owner,
                    @NotBlank String text, String baseText,
                    @NotNull Long createdAt, @NotNull Long updatedAt,
-                   String revisions) {
+                   String revisions, Long latestRevisionId) {
         this.id = id;
         this.owner = owner;
         this.text = text;
         this.baseText = baseText;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.latestRevisionId = latestRevisionId;
         try {
             this.revisions = GSON.fromJson(revisions, Revision[].class);
         } catch (Exception ex) {
@@ -57,6 +61,16 @@ public class Content {
         deleteRevisionDiff();
     }
 
+    public Content(@NotNull Long id, @NotNull User owner, @NotBlank String text,
+                   @NotNull Long createdAt, @NotNull Long updatedAt, Long latestRevisionId) {
+        this.id = id;
+        this.owner = owner;
+        this.text = text;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.latestRevisionId = latestRevisionId;
+    }
+
     public static List<Content> addOwnerAvatar(List<Content> contents, UserClient userClient) {
         contents.forEach(c -> addOwnerAvatar(c, userClient));
         return contents;
@@ -133,4 +147,12 @@ public class Content {
     public void setRevisions(Revision[] revisions) {
         this.revisions = revisions;
     }
+
+    public Long getLatestRevisionId() {
+        return latestRevisionId;
+    }
+
+    public void setLatestRevisionId(Long latestRevisionId) {
+        this.latestRevisionId = latestRevisionId;
+    }
 }
@@ -0,0 +1,54 @@
+package com.bulletjournal.controller.models;
+
+/**
+ * Either the new text, or a diff with the revision it was made against, exactly one of text and diff is set
+ */
+public class UpdateContentParams {
+
+    private String text;
+
+    // diff-match-patch patch text against the content at revision baseRevisionId
+    private String diff;
+
+    private Long baseRevisionId;
+
+    public UpdateContentParams() {
+    }
+
+    public UpdateContentParams(String text) {
+        this.text = text;
+    }
+
+    public UpdateContentParams(String diff, Long baseRevisionId) {
+        this.diff = diff;
+        this.baseRevisionId = baseRevisionId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getDiff() {
+        return diff;
+    }
+
+    public void setDiff(String diff) {
+        this.diff = diff;
+    }
+
+    public Long getBaseRevisionId() {
+        return baseRevisionId;
+    }
+
+    public void setBaseRevisionId(Long baseRevisionId) {
+        this.baseRevisionId = baseRevisionId;
+    }
+
+    public boolean hasDiff() {
+        return this.diff != null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bulletjournal.controller.utils;
+
+import com.bulletjournal.clients.Bulkhead;
+import com.bulletjournal.exceptions.ServiceUnavailableException;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Results of endpoints waiting on an external service. The request times out with the calls on the bulkhead of the
+ * service, instead of after spring.mvc.async.request-timeout, which is meant for long streamed responses.
+ */
+public class DeferredResults {
+
+    // lets the bulkhead time out the call first
+    private static final long MARGIN_IN_MILLIS = 1000;
+
+    private DeferredResults() {
+    }
+
+    public static <T> DeferredResult<T> of(CompletableFuture<T> future, Bulkhead bulkhead) {
+        DeferredResult<T> result = new DeferredResult<>(bulkhead.getTimeoutInMillis() + MARGIN_IN_MILLIS,
+                () -> new ServiceUnavailableException("Request to " + bulkhead.getName() + " timed out"));
+        future.whenComplete((value, ex) -> {
+            if (ex == null) {
+                result.setResult(value);
+            } else {
+                result.setErrorResult(ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause() : ex);
+            }
+        });
+        return result;
+    }
+}
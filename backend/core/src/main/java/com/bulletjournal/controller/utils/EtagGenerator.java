@@ -70,7 +70,7 @@ public class EtagGenerator {
             // SHA256 Hash
             try {
                 outputBuilder.append(
-                        bytesToHex(MessageDigest.getInstance("SHA3_256").digest(inputBuilder.toString().getBytes())));
+                        bytesToHex(MessageDigest.getInstance("SHA-256").digest(inputBuilder.toString().getBytes())));
             } catch (NoSuchAlgorithmException ex) {
                 throw new IllegalArgumentException(ex);
             }
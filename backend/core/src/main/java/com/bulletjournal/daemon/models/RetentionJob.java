@@ -0,0 +1,60 @@
+package com.bulletjournal.daemon.models;
+
+import java.sql.Timestamp;
+import java.util.function.Supplier;
+
+/**
+ * Deletes rows of table whose timeColumn is before the expiration time, in chunks ordered by keyColumn.
+ */
+public class RetentionJob {
+    private final String name;
+    private final String table;
+    private final String keyColumn;
+    // SQL type of keyColumn, checkpoints are stored as text and cast back to it
+    private final String keyType;
+    private final String timeColumn;
+    private final Supplier<Timestamp> expirationTime;
+
+    public RetentionJob(String name, String table, String keyColumn, String keyType, String timeColumn,
+                        Supplier<Timestamp> expirationTime) {
+        this.name = name;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.keyType = keyType;
+        this.timeColumn = timeColumn;
+        this.expirationTime = expirationTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public String getKeyType() {
+        return keyType;
+    }
+
+    public String getTimeColumn() {
+        return timeColumn;
+    }
+
+    public Timestamp getExpirationTime() {
+        return expirationTime.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RetentionJob{" +
+                "name='" + name + '\'' +
+                ", table='" + table + '\'' +
+                ", timeColumn='" + timeColumn + '\'' +
+                '}';
+    }
+}
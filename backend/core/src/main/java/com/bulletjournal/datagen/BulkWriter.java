@@ -0,0 +1,179 @@
+package com.bulletjournal.datagen;
+
+import com.bulletjournal.repository.PartitionDaoJpa;
+import com.bulletjournal.repository.models.Auditable;
+import com.bulletjournal.repository.models.Notification;
+import com.google.common.collect.ImmutableList;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes notifications and auditables with COPY on Postgres and JDBC batches elsewhere, e.g. H2. Rows bypass
+ * Hibernate so that created_at and activity_time can lie in the past and spread over partitions.
+ */
+@Component
+public class BulkWriter {
+
+    private static final List<String> NOTIFICATION_COLUMNS = ImmutableList.of(
+            "id", "created_at", "updated_at", "actions", "content", "content_id", "link", "originator",
+            "target_user", "title", "type");
+    private static final List<String> AUDITABLE_COLUMNS = ImmutableList.of(
+            "id", "created_at", "updated_at", "action", "project_item_id", "project_id", "template", "args",
+            "activity_time", "originator");
+    // allocationSize of the entities' sequence generators and increment of their sequences, Hibernate hands out
+    // the ids up to every sequence value it gets
+    private static final int ALLOCATION_SIZE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PartitionDaoJpa partitionDaoJpa;
+
+    /**
+     * Create monthly partitions of notifications and auditables from start to end month, nothing to do off Postgres
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public void createPartitions(YearMonth start, YearMonth end) {
+        if (!isPostgres()) {
+            return;
+        }
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            this.partitionDaoJpa.createPartition(PartitionDaoJpa.NOTIFICATIONS, month);
+            this.partitionDaoJpa.createPartition(PartitionDaoJpa.AUDITABLES, month);
+        }
+    }
+
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public void writeNotifications(List<Notification> notifications) {
+        List<Object[]> rows = new ArrayList<>(notifications.size());
+        for (Notification n : notifications) {
+            rows.add(new Object[]{null, n.getCreatedAt(), n.getUpdatedAt(), n.getActions(), n.getContent(),
+                    n.getContentId(), n.getLink(), n.getOriginator(), n.getTargetUser(), n.getTitle(), n.getType()});
+        }
+        write(PartitionDaoJpa.NOTIFICATIONS, "notification_sequence", NOTIFICATION_COLUMNS, rows);
+    }
+
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public void writeAuditables(List<Auditable> auditables) {
+        List<Object[]> rows = new ArrayList<>(auditables.size());
+        for (Auditable a : auditables) {
+            rows.add(new Object[]{null, a.getCreatedAt(), a.getUpdatedAt(), a.getAction().ordinal(),
+                    a.getProjectItemId(), a.getProjectId(), a.getTemplate().ordinal(), a.getArgs(),
+                    a.getActivityTime(), a.getOriginator()});
+        }
+        write(PartitionDaoJpa.AUDITABLES, "auditable_sequence", AUDITABLE_COLUMNS, rows);
+    }
+
+    private boolean isPostgres() {
+        return this.entityManager.unwrap(Session.class).doReturningWork(
+                connection -> connection.isWrapperFor(PGConnection.class));
+    }
+
+    private void write(String table, String sequence, List<String> columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // rows may refer to entities still pending in the persistence context
+        this.entityManager.flush();
+        this.entityManager.unwrap(Session.class).doWork(connection -> {
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            List<Long> blocks = reserveBlocks(connection, postgres, sequence,
+                    (rows.size() + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE);
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i)[0] = blocks.get(i / ALLOCATION_SIZE) - ALLOCATION_SIZE + 1 + i % ALLOCATION_SIZE;
+            }
+            if (postgres) {
+                copy(connection.unwrap(PGConnection.class), table, columns, rows);
+            } else {
+                insert(connection, table, columns, rows);
+            }
+        });
+    }
+
+    /**
+     * Take count blocks of ids from sequence the way Hibernate does, each value it returns is the last id of a block
+     * of ALLOCATION_SIZE ids no one else is given. Other writers keep using the sequence meanwhile.
+     *
+     * @return last id of each block
+     */
+    private static List<Long> reserveBlocks(Connection connection, boolean postgres, String sequence, int count)
+            throws SQLException {
+        List<Long> blocks = new ArrayList<>(count);
+        // one round trip on Postgres
+        String sql = postgres ? "SELECT nextval('" + sequence + "') FROM generate_series(1, " + count + ")"
+                : "SELECT nextval('" + sequence + "')";
+        try (Statement statement = connection.createStatement()) {
+            while (blocks.size() < count) {
+                try (ResultSet resultSet = statement.executeQuery(sql)) {
+                    while (resultSet.next()) {
+                        blocks.add(resultSet.getLong(1));
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static void copy(PGConnection connection, String table, List<String> columns, List<Object[]> rows)
+            throws SQLException {
+        StringBuilder csv = new StringBuilder();
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                // an unquoted empty value is NULL in CSV format
+                if (row[i] instanceof String) {
+                    csv.append('"').append(((String) row[i]).replace("\"", "\"\"")).append('"');
+                } else if (row[i] != null) {
+                    csv.append(row[i]);
+                }
+            }
+            csv.append('\n');
+        }
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        try {
+            connection.getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void insert(Connection connection, String table, List<String> columns, List<Object[]> rows)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES (?");
+        for (int i = 1; i < columns.size(); i++) {
+            sql.append(", ?");
+        }
+        sql.append(')');
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,623 @@
+package com.bulletjournal.datagen;
+
+import com.bulletjournal.config.ContentRevisionConfig;
+import com.bulletjournal.config.DataGeneratorConfig;
+import com.bulletjournal.contents.ContentAction;
+import com.bulletjournal.contents.ContentType;
+import com.bulletjournal.controller.models.Before;
+import com.bulletjournal.controller.models.ProjectType;
+import com.bulletjournal.controller.models.ReminderSetting;
+import com.bulletjournal.controller.models.Revision;
+import com.bulletjournal.controller.utils.ZonedDateTimeHelper;
+import com.bulletjournal.hierarchy.HierarchyItem;
+import com.bulletjournal.ledger.TransactionType;
+import com.bulletjournal.notifications.ActivityTemplate;
+import com.bulletjournal.repository.*;
+import com.bulletjournal.repository.models.*;
+import com.bulletjournal.util.ContentDiffTool;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Generates a large synthetic tenant for performance testing: users, groups, projects with deep item hierarchies,
+ * labels, contents with revisions, recurring and completed tasks, transactions, shared items, and months of
+ * notifications and auditables. Entities are saved through the JPA repositories, notifications and auditables through
+ * {@link BulkWriter}. Every user is generated in its own transaction from a random seeded by the shape's seed and
+ * the user's index, so the same shape and anchor date always produce the same data. Search indexes and caches are
+ * not populated.
+ */
+@Service
+public class DataGenerator {
+
+    public static final String USERS = "users";
+    public static final String GROUPS = "groups";
+    public static final String LABELS = "labels";
+    public static final String PROJECTS = "projects";
+    public static final String TASKS = "tasks";
+    public static final String COMPLETED_TASKS = "completedTasks";
+    public static final String NOTES = "notes";
+    public static final String TRANSACTIONS = "transactions";
+    public static final String CONTENTS = "contents";
+    public static final String SHARED_ITEMS = "sharedItems";
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String AUDITABLES = "auditables";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
+    private static final Gson GSON = new Gson();
+    private static final DateTimeFormatter RULE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String[] WORDS = {
+            "review", "plan", "call", "email", "budget", "design", "draft", "meeting", "grocery", "trip",
+            "report", "invoice", "rent", "gym", "doctor", "birthday", "book", "release", "backup", "garden",
+            "school", "project", "ideas", "notes", "weekly", "monthly", "team", "family", "car", "insurance"};
+    private static final String[] FREQUENCIES = {"DAILY", "WEEKLY", "MONTHLY"};
+    private static final String[] NOTIFICATION_TYPES = {
+            "JoinGroupEvent", "ShareProjectItemEvent", "SetLabelEvent", "UpdateTaskAssigneeEvent", "RemoveTaskEvent"};
+    private static final ActivityTemplate[] ITEM_TEMPLATES = {
+            ActivityTemplate.CREATE_ITEM, ActivityTemplate.UPDATE_ITEM,
+            ActivityTemplate.CREATE_CONTENT, ActivityTemplate.UPDATE_CONTENT};
+    private static final Map<ProjectType, ContentAction[]> ITEM_ACTIONS = ImmutableMap.of(
+            ProjectType.TODO, new ContentAction[]{ContentAction.ADD_TASK, ContentAction.UPDATE_TASK,
+                    ContentAction.ADD_TASK_CONTENT, ContentAction.UPDATE_TASK_CONTENT},
+            ProjectType.NOTE, new ContentAction[]{ContentAction.ADD_NOTE, ContentAction.UPDATE_NOTE,
+                    ContentAction.ADD_NOTE_CONTENT, ContentAction.UPDATE_NOTE_CONTENT},
+            ProjectType.LEDGER, new ContentAction[]{ContentAction.ADD_TRANSACTION, ContentAction.UPDATE_TRANSACTION,
+                    ContentAction.ADD_TRANSACTION_CONTENT, ContentAction.UPDATE_TRANSACTION_CONTENT});
+    private static final Map<ProjectType, String> ITEM_TYPES = ImmutableMap.of(
+            ProjectType.TODO, "Task", ProjectType.NOTE, "Note", ProjectType.LEDGER, "Transaction");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserDaoJpa userDaoJpa;
+
+    @Autowired
+    private GroupDaoJpa groupDaoJpa;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private UserGroupRepository userGroupRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserProjectsRepository userProjectsRepository;
+
+    @Autowired
+    private ProjectTasksRepository projectTasksRepository;
+
+    @Autowired
+    private ProjectNotesRepository projectNotesRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CompletedTaskRepository completedTaskRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TaskContentRepository taskContentRepository;
+
+    @Autowired
+    private NoteContentRepository noteContentRepository;
+
+    @Autowired
+    private TransactionContentRepository transactionContentRepository;
+
+    @Autowired
+    private SharedProjectItemRepository sharedProjectItemRepository;
+
+    @Autowired
+    private ContentDiffTool contentDiffTool;
+
+    @Autowired
+    private ContentRevisionConfig revisionConfig;
+
+    @Autowired
+    private BulkWriter bulkWriter;
+
+    public static String getUsername(DataGeneratorConfig shape, int index) {
+        return String.format("%s%04d", shape.getUserPrefix(), index);
+    }
+
+    /**
+     * Generate all users of shape. Fails if any of them already exists.
+     *
+     * @return number of generated rows by kind
+     */
+    public Map<String, Long> generate(DataGeneratorConfig shape) {
+        if (shape.getUsers() <= 0 || shape.getMaxTreeDepth() <= 0 || shape.getBatchSize() <= 0
+                || shape.getMonths() <= 0) {
+            throw new IllegalArgumentException("Invalid data generator shape");
+        }
+        LocalDate anchor = shape.getAnchorDate() == null ? LocalDate.now() : LocalDate.parse(shape.getAnchorDate());
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < shape.getUsers(); i++) {
+            usernames.add(getUsername(shape, i));
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+
+        transactionTemplate.execute(status -> {
+            usernames.forEach(username -> this.userDaoJpa.create(username, shape.getTimezone()));
+            YearMonth end = YearMonth.from(anchor);
+            this.bulkWriter.createPartitions(end.minusMonths(shape.getMonths() - 1), end);
+            return null;
+        });
+        add(counts, USERS, usernames.size());
+
+        for (int i = 0; i < usernames.size(); i++) {
+            int index = i;
+            transactionTemplate.execute(status -> {
+                new Tenant(shape, usernames, index, anchor, counts).generate();
+                return null;
+            });
+            LOGGER.info("Generated user {} of {}: {}", i + 1, usernames.size(), counts);
+        }
+        return counts;
+    }
+
+    private static void add(Map<String, Long> counts, String kind, long count) {
+        counts.merge(kind, count, Long::sum);
+    }
+
+    private static String randomName(Random random) {
+        int words = 1 + random.nextInt(3);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            name.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return name.toString();
+    }
+
+    private static <T> T pick(List<T> list, Random random) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    /**
+     * Place every id at root or under a random earlier item, never deeper than maxDepth
+     */
+    static List<HierarchyItem> createTree(List<Long> ids, int maxDepth, Random random) {
+        List<HierarchyItem> roots = new ArrayList<>();
+        List<HierarchyItem> parents = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        for (Long id : ids) {
+            HierarchyItem item = new HierarchyItem(id);
+            // about one in five items is a root
+            int depth = 1;
+            if (parents.isEmpty() || random.nextInt(5) == 0) {
+                roots.add(item);
+            } else {
+                int parent = random.nextInt(parents.size());
+                parents.get(parent).getS().add(item);
+                depth = depths.get(parent) + 1;
+            }
+            if (depth < maxDepth) {
+                parents.add(item);
+                depths.add(depth);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Generation state of one user, who owns groups, labels, projects and their items
+     */
+    private class Tenant {
+        private final DataGeneratorConfig shape;
+        private final List<String> usernames;
+        private final String owner;
+        private final LocalDate anchor;
+        private final Map<String, Long> counts;
+        private final Random random;
+        private final List<Long> labelIds = new ArrayList<>();
+        private final List<HierarchyItem> ownedProjects = new ArrayList<>();
+        private final List<Long> taskIds = new ArrayList<>();
+        private final List<Long> noteIds = new ArrayList<>();
+        private final List<Auditable> auditables = new ArrayList<>();
+        private int pending;
+
+        Tenant(DataGeneratorConfig shape, List<String> usernames, int index, LocalDate anchor,
+               Map<String, Long> counts) {
+            this.shape = shape;
+            this.usernames = usernames;
+            this.owner = usernames.get(index);
+            this.anchor = anchor;
+            this.counts = counts;
+            this.random = new Random(shape.getSeed() * 31 + index);
+        }
+
+        void generate() {
+            createLabels();
+            User user = userRepository.findByName(this.owner);
+            for (int g = 0; g < this.shape.getGroupsPerUser(); g++) {
+                Group group = createGroup(user, g);
+                for (int p = 0; p < this.shape.getProjectsPerGroup(); p++) {
+                    createProject(group, ProjectType.getType(p % ProjectType.values().length));
+                }
+            }
+            UserProjects userProjects = userProjectsRepository.findById(this.owner)
+                    .orElseGet(() -> new UserProjects(this.owner));
+            userProjects.setOwnedProjects(GSON.toJson(this.ownedProjects));
+            userProjectsRepository.save(userProjects);
+            createSharedItems();
+            writeAuditables(true);
+            createNotifications();
+            flush(true);
+        }
+
+        private void createLabels() {
+            for (int i = 0; i < this.shape.getLabelsPerUser(); i++) {
+                Label label = new Label();
+                label.setName("label " + i);
+                label.setOwner(this.owner);
+                label.setIcon("TagOutlined");
+                this.labelIds.add(labelRepository.save(label).getId());
+            }
+            add(this.counts, LABELS, this.shape.getLabelsPerUser());
+        }
+
+        private Group createGroup(User user, int index) {
+            Group group = new Group();
+            group.setName("group " + index);
+            group.setOwner(this.owner);
+            group = groupRepository.save(group);
+            userGroupRepository.save(new UserGroup(user, group, true));
+            for (String member : getMembers()) {
+                if (!member.equals(this.owner)) {
+                    userGroupRepository.save(new UserGroup(userRepository.findByName(member), group, true));
+                }
+            }
+            add(this.counts, GROUPS, 1);
+            return group;
+        }
+
+        /**
+         * @return owner and the next users after owner, up to users per group
+         */
+        private List<String> getMembers() {
+            int members = Math.min(this.shape.getUsersPerGroup(), this.usernames.size());
+            int index = this.usernames.indexOf(this.owner);
+            List<String> result = new ArrayList<>();
+            for (int i = 0; i < members; i++) {
+                result.add(this.usernames.get((index + i) % this.usernames.size()));
+            }
+            return result;
+        }
+
+        private void createProject(Group group, ProjectType type) {
+            Project project = new Project(type.name().toLowerCase() + " " + randomName(this.random),
+                    type.getValue(), group, false);
+            project.setOwner(this.owner);
+            project = projectRepository.save(project);
+            this.ownedProjects.add(new HierarchyItem(project.getId()));
+            add(this.counts, PROJECTS, 1);
+
+            List<Long> ids = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            switch (type) {
+                case TODO:
+                    for (int i = 0; i < this.shape.getTasksPerProject(); i++) {
+                        Task task = taskRepository.save(createTask(project));
+                        createContents(task, TaskContent::new, taskContentRepository);
+                        ids.add(task.getId());
+                        names.add(task.getName());
+                    }
+                    ProjectTasks projectTasks = new ProjectTasks(project.getId());
+                    projectTasks.setTasks(GSON.toJson(createTree(ids, this.shape.getMaxTreeDepth(), this.random)));
+                    projectTasksRepository.save(projectTasks);
+                    this.taskIds.addAll(ids);
+                    add(this.counts, TASKS, ids.size());
+                    createCompletedTasks(project);
+                    break;
+                case NOTE:
+                    for (int i = 0; i < this.shape.getNotesPerProject(); i++) {
+                        Note note = noteRepository.save(createNote(project));
+                        createContents(note, NoteContent::new, noteContentRepository);
+                        ids.add(note.getId());
+                        names.add(note.getName());
+                    }
+                    ProjectNotes projectNotes = new ProjectNotes(project.getId());
+                    projectNotes.setNotes(GSON.toJson(createTree(ids, this.shape.getMaxTreeDepth(), this.random)));
+                    projectNotesRepository.save(projectNotes);
+                    this.noteIds.addAll(ids);
+                    add(this.counts, NOTES, ids.size());
+                    break;
+                case LEDGER:
+                    for (int i = 0; i < this.shape.getTransactionsPerProject(); i++) {
+                        Transaction transaction = transactionRepository.save(createTransaction(project));
+                        createContents(transaction, TransactionContent::new, transactionContentRepository);
+                        ids.add(transaction.getId());
+                        names.add(transaction.getName());
+                    }
+                    add(this.counts, TRANSACTIONS, ids.size());
+                    break;
+                default:
+                    throw new IllegalArgumentException();
+            }
+            createAuditables(project, type, ids, names);
+        }
+
+        private void setItemFields(ProjectItemModel<?> item, Project project) {
+            item.setProject(project);
+            item.setOwner(this.owner);
+            item.setName(randomName(this.random));
+            int labels = this.labelIds.isEmpty() ? 0 : this.random.nextInt(4);
+            Set<Long> itemLabels = new LinkedHashSet<>();
+            for (int i = 0; i < labels; i++) {
+                itemLabels.add(pick(this.labelIds, this.random));
+            }
+            if (!itemLabels.isEmpty()) {
+                item.setLabels(new ArrayList<>(itemLabels));
+            }
+        }
+
+        private Task createTask(Project project) {
+            Task task = new Task();
+            setItemFields(task, project);
+            String timezone = this.shape.getTimezone();
+            task.setTimezone(timezone);
+            task.setAssignees(Collections.singletonList(this.owner));
+            if (this.random.nextInt(100) < this.shape.getRecurringTaskPercent()) {
+                task.setRecurrenceRule("DTSTART:" + randomDate().format(RULE_DATE_FORMATTER) + "T000000Z RRULE:FREQ="
+                        + FREQUENCIES[this.random.nextInt(FREQUENCIES.length)] + ";INTERVAL=1");
+                task.setDuration(30);
+            } else {
+                String dueDate = randomDate().format(ZonedDateTimeHelper.DATE_FORMATTER);
+                String dueTime = this.random.nextBoolean() ? null : String.format("%02d:%02d",
+                        this.random.nextInt(24), this.random.nextInt(4) * 15);
+                task.setDueDate(dueDate);
+                task.setDueTime(dueTime);
+                task.setStartTime(Timestamp.from(
+                        ZonedDateTimeHelper.getStartTime(dueDate, dueTime, timezone).toInstant()));
+                task.setEndTime(Timestamp.from(
+                        ZonedDateTimeHelper.getEndTime(dueDate, dueTime, timezone).toInstant()));
+            }
+            task.setReminderSetting(new ReminderSetting(null, null, Before.NONE.getValue()));
+            return task;
+        }
+
+        /**
+         * Completed tasks are created at the time of completion, which is set after they are inserted
+         */
+        private void createCompletedTasks(Project project) {
+            Map<Long, Timestamp> completedAt = new LinkedHashMap<>();
+            for (int i = 0; i < this.shape.getCompletedTasksPerProject(); i++) {
+                CompletedTask completedTask = completedTaskRepository.save(
+                        new CompletedTask(createTask(project), null));
+                completedAt.put(completedTask.getId(), Timestamp.from(
+                        randomDate().atStartOfDay(ZoneId.of(this.shape.getTimezone()))
+                                .plusSeconds(this.random.nextInt(86_400)).toInstant()));
+            }
+            entityManager.flush();
+            completedAt.forEach((id, time) -> entityManager.createNativeQuery(
+                    "UPDATE completed_tasks SET created_at = ?, updated_at = ? WHERE id = ?")
+                    .setParameter(1, time)
+                    .setParameter(2, time)
+                    .setParameter(3, id)
+                    .executeUpdate());
+            add(this.counts, COMPLETED_TASKS, completedAt.size());
+        }
+
+        private Note createNote(Project project) {
+            Note note = new Note();
+            setItemFields(note, project);
+            return note;
+        }
+
+        private Transaction createTransaction(Project project) {
+            Transaction transaction = new Transaction();
+            setItemFields(transaction, project);
+            String timezone = this.shape.getTimezone();
+            String date = randomDate().format(ZonedDateTimeHelper.DATE_FORMATTER);
+            transaction.setPayer(pick(getMembers(), this.random));
+            transaction.setAmount((1 + this.random.nextInt(50000)) / 100.0);
+            transaction.setTransactionType(this.random.nextInt(4) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transaction.setDate(date);
+            transaction.setTimezone(timezone);
+            transaction.setStartTime(Timestamp.from(ZonedDateTimeHelper.getStartTime(date, null, timezone).toInstant()));
+            transaction.setEndTime(Timestamp.from(ZonedDateTimeHelper.getEndTime(date, null, timezone).toInstant()));
+            return transaction;
+        }
+
+        /**
+         * Contents carry revisions the way ProjectItemDaoJpa records them: the first one is the creation with an
+         * empty diff, each later one is the diff from the previous text
+         */
+        private <T extends ProjectItemModel, K extends ContentModel<T>> void createContents(
+                T item, Supplier<K> factory, JpaRepository<K, Long> repository) {
+            int revisions = Math.min(this.shape.getRevisionsPerContent(), revisionConfig.getMaxRevisionNumber());
+            for (int c = 0; c < this.shape.getContentsPerItem(); c++) {
+                K content = factory.get();
+                content.setProjectItem(item);
+                content.setOwner(this.owner);
+                String text = randomName(this.random);
+                content.setBaseText(text);
+                LinkedList<Revision> revisionList = new LinkedList<>();
+                long createdAt = randomDate().atStartOfDay(ZoneId.of(this.shape.getTimezone()))
+                        .toInstant().toEpochMilli();
+                for (int r = 1; r <= revisions; r++) {
+                    String newText = r == 1 ? text : text + " " + randomName(this.random);
+                    revisionList.offerLast(new Revision((long) r, contentDiffTool.computeDiff(text, newText),
+                            createdAt + r * 60_000L, new com.bulletjournal.controller.models.User(this.owner)));
+                    text = newText;
+                }
+                content.setText(text);
+                content.setRevisions(GSON.toJson(revisionList));
+                repository.save(content);
+                flush(false);
+            }
+            add(this.counts, CONTENTS, this.shape.getContentsPerItem());
+        }
+
+        private void createSharedItems() {
+            List<String> targets = new ArrayList<>(this.usernames);
+            targets.remove(this.owner);
+            if (targets.isEmpty() || (this.taskIds.isEmpty() && this.noteIds.isEmpty())) {
+                return;
+            }
+            Set<String> shared = new HashSet<>();
+            Map<String, User> users = new HashMap<>();
+            // skip a pick already shared, so that there are fewer items when the tenant is small
+            for (int i = 0; i < this.shape.getSharedItemsPerUser(); i++) {
+                String target = pick(targets, this.random);
+                boolean note = this.taskIds.isEmpty() || (!this.noteIds.isEmpty() && this.random.nextBoolean());
+                Long id = pick(note ? this.noteIds : this.taskIds, this.random);
+                if (!shared.add(target + (note ? ":note:" : ":task:") + id)) {
+                    continue;
+                }
+                User user = users.computeIfAbsent(target, userRepository::findByName);
+                SharedProjectItem item = new SharedProjectItem(this.owner, target);
+                if (note) {
+                    createSharedProject(user, ProjectType.NOTE);
+                    item.setNote(noteRepository.getOne(id));
+                } else {
+                    createSharedProject(user, ProjectType.TODO);
+                    item.setTask(taskRepository.getOne(id));
+                }
+                sharedProjectItemRepository.save(item);
+                add(this.counts, SHARED_ITEMS, 1);
+            }
+        }
+
+        /**
+         * Same as SharedProjectItemDaoJpa does on first share with user
+         */
+        private void createSharedProject(User user, ProjectType type) {
+            if (ProjectType.NOTE.equals(type) ? user.hasSharedNotesProject() : user.hasSharedTasksProject()) {
+                return;
+            }
+            Project project = new Project("Shared " + type.name(), type.getValue(),
+                    groupDaoJpa.getDefaultGroup(user.getName()), true);
+            project.setOwner(user.getName());
+            project = projectRepository.save(project);
+            if (ProjectType.NOTE.equals(type)) {
+                user.setSharedNotesProject(project);
+            } else {
+                user.setSharedTasksProject(project);
+            }
+            userRepository.save(user);
+        }
+
+        private void createAuditables(Project project, ProjectType type, List<Long> ids, List<String> names) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<String> members = getMembers();
+            YearMonth end = YearMonth.from(this.anchor);
+            for (int m = 0; m < this.shape.getMonths(); m++) {
+                YearMonth month = end.minusMonths(m);
+                for (int i = 0; i < this.shape.getAuditablesPerProjectPerMonth(); i++) {
+                    int item = this.random.nextInt(ids.size());
+                    int kind = this.random.nextInt(ITEM_TEMPLATES.length);
+                    Map<String, String> args = new LinkedHashMap<>();
+                    args.put("type", ITEM_TYPES.get(type));
+                    args.put("name", names.get(item));
+                    Timestamp time = Timestamp.from(month.atDay(1 + this.random.nextInt(month.lengthOfMonth()))
+                            .atStartOfDay(ZoneId.of(this.shape.getTimezone()))
+                            .plusSeconds(this.random.nextInt(86_400)).toInstant());
+                    Auditable auditable = new Auditable(project.getId(), ITEM_TEMPLATES[kind], GSON.toJson(args),
+                            pick(members, this.random), time, ITEM_ACTIONS.get(type)[kind], ids.get(item));
+                    auditable.setCreatedAt(time);
+                    auditable.setUpdatedAt(time);
+                    this.auditables.add(auditable);
+                    writeAuditables(false);
+                }
+            }
+        }
+
+        private void writeAuditables(boolean force) {
+            if (this.auditables.isEmpty() || (!force && this.auditables.size() < this.shape.getBatchSize())) {
+                return;
+            }
+            bulkWriter.writeAuditables(this.auditables);
+            add(this.counts, AUDITABLES, this.auditables.size());
+            this.auditables.clear();
+        }
+
+        private void createNotifications() {
+            List<String> originators = new ArrayList<>(getMembers());
+            if (originators.size() > 1) {
+                originators.remove(this.owner);
+            }
+            List<Notification> notifications = new ArrayList<>();
+            for (int i = 0; i < this.shape.getNotificationsPerUser(); i++) {
+                String originator = pick(originators, this.random);
+                Long contentId = this.taskIds.isEmpty() ? null : pick(this.taskIds, this.random);
+                Notification notification = new Notification(originator,
+                        "##" + originator + "## shared Task ##" + randomName(this.random) + "##", null, this.owner,
+                        NOTIFICATION_TYPES[this.random.nextInt(NOTIFICATION_TYPES.length)], contentId,
+                        contentId == null ? null : ContentType.getContentLink(ContentType.TASK, contentId));
+                Timestamp time = Timestamp.from(randomDate().atStartOfDay(ZoneId.of(this.shape.getTimezone()))
+                        .plusSeconds(this.random.nextInt(86_400)).toInstant());
+                notification.setCreatedAt(time);
+                notification.setUpdatedAt(time);
+                notifications.add(notification);
+                if (notifications.size() == this.shape.getBatchSize()
+                        || i == this.shape.getNotificationsPerUser() - 1) {
+                    bulkWriter.writeNotifications(notifications);
+                    add(this.counts, NOTIFICATIONS, notifications.size());
+                    notifications.clear();
+                }
+            }
+        }
+
+        /**
+         * @return a day within the shape's months up to anchor date
+         */
+        private LocalDate randomDate() {
+            LocalDate start = YearMonth.from(this.anchor).minusMonths(this.shape.getMonths() - 1).atDay(1);
+            return start.plusDays(this.random.nextInt((int) (this.anchor.toEpochDay() - start.toEpochDay() + 1)));
+        }
+
+        /**
+         * Flush and clear persistence context every batch size rows, so that it does not grow with the tenant
+         */
+        private void flush(boolean force) {
+            if (!force && ++this.pending < this.shape.getBatchSize()) {
+                return;
+            }
+            entityManager.flush();
+            entityManager.clear();
+            this.pending = 0;
+        }
+    }
+}
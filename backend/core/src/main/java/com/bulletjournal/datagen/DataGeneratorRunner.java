@@ -0,0 +1,42 @@
+package com.bulletjournal.datagen;
+
+import com.bulletjournal.config.DataGeneratorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Generates the tenant described by datagen.* properties on startup and exits, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=dev,datagen --datagen.users=100}
+ */
+@Component
+@Profile(DataGeneratorRunner.PROFILE)
+public class DataGeneratorRunner implements CommandLineRunner {
+
+    public static final String PROFILE = "datagen";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGeneratorRunner.class);
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private DataGeneratorConfig dataGeneratorConfig;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void run(String... args) {
+        long start = System.currentTimeMillis();
+        Map<String, Long> counts = this.dataGenerator.generate(this.dataGeneratorConfig);
+        LOGGER.info("Generated {} in {} ms", counts, System.currentTimeMillis() - start);
+        System.exit(SpringApplication.exit(this.applicationContext));
+    }
+}
@@ -0,0 +1,37 @@
+package com.bulletjournal.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.BaseSessionEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times how long a Hibernate session holds its JDBC connection, from taking it out of the pool until giving it back.
+ * Recorded as a timer and into {@link RequestCost}. Hibernate creates one listener per session.
+ */
+public class ConnectionHoldTimeListener extends BaseSessionEventListener {
+
+    public static final String CONNECTION_HOLD_TIMER = "bulletjournal.db.connection.hold";
+    private static final Timer TIMER = Timer.builder(CONNECTION_HOLD_TIMER)
+            .description("Time a connection is held by a Hibernate session")
+            .register(Metrics.globalRegistry);
+
+    private long acquiredNanos = -1;
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        this.acquiredNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionReleaseEnd() {
+        if (this.acquiredNanos < 0) {
+            return;
+        }
+        long heldNanos = System.nanoTime() - this.acquiredNanos;
+        this.acquiredNanos = -1;
+        TIMER.record(heldNanos, TimeUnit.NANOSECONDS);
+        RequestCost.recordConnectionHold(heldNanos);
+    }
+}
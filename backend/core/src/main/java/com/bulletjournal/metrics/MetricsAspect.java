@@ -0,0 +1,87 @@
+package com.bulletjournal.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.Advised;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public DAO method and every Spring Data repository call, tagged with the store behind it.
+ * Controller routes are timed by Spring MVC as http.server.requests. Elasticsearch operations are also counted
+ * into {@link RequestCost}.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    public static final String DAO_TIMER = "bulletjournal.dao";
+    public static final String REPOSITORY_TIMER = "bulletjournal.repository";
+    public static final String ELASTICSEARCH_TIMER = "bulletjournal.elasticsearch";
+    private static final String PACKAGE_PREFIX = "com.bulletjournal";
+
+    @Around("execution(public * com.bulletjournal..*DaoJpa.*(..))")
+    public Object timeDao(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        return time(DAO_TIMER, Tags.of("class", type.getSimpleName(), "store", getStore(type)), joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> repository = getRepository(joinPoint.getTarget());
+        return time(REPOSITORY_TIMER, Tags.of("class", repository.getSimpleName(), "store", getStore(repository)),
+                joinPoint);
+    }
+
+    @Around("execution(public * org.springframework.data.elasticsearch.core.ElasticsearchOperations+.*(..))")
+    public Object timeElasticsearch(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestCost.recordElasticsearch(joinPoint.getSignature().getName());
+        return time(ELASTICSEARCH_TIMER, Tags.of("store", "elasticsearch"), joinPoint);
+    }
+
+    private static Object time(String name, Tags tags, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(Metrics.globalRegistry));
+        }
+    }
+
+    /**
+     * @return repository interface declared in this application, e.g. TaskRepository for the proxy implementing it
+     */
+    private static Class<?> getRepository(Object target) {
+        if (!(target instanceof Advised)) {
+            return target.getClass();
+        }
+        for (Class<?> type : ((Advised) target).getProxiedInterfaces()) {
+            if (type.getName().startsWith(PACKAGE_PREFIX)) {
+                return type;
+            }
+        }
+        return target.getClass();
+    }
+
+    private static String getStore(Class<?> type) {
+        String name = type.getName();
+        if (name.startsWith(PACKAGE_PREFIX + ".redis.")) {
+            return "redis";
+        }
+        if (name.startsWith(PACKAGE_PREFIX + ".es.")) {
+            return "elasticsearch";
+        }
+        return "postgres";
+    }
+}
@@ -0,0 +1,43 @@
+package com.bulletjournal.metrics;
+
+import com.google.common.collect.ImmutableSet;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+
+/**
+ * Counts Redis commands into {@link RequestCost}, each call on a connection being one round trip. Commands of a
+ * pipeline are sent together, the pipeline is counted once as closePipeline.
+ */
+public class RedisCostConnectionFactory extends JedisConnectionFactory {
+
+    // connection state, not sent to Redis
+    private static final Set<String> LOCAL_METHODS = ImmutableSet.of("close", "isClosed", "getNativeConnection",
+            "isQueueing", "isPipelined", "isSubscribed", "getSubscription", "toString", "hashCode", "equals",
+            "openPipeline");
+
+    public RedisCostConnectionFactory(RedisStandaloneConfiguration configuration) {
+        super(configuration);
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        RedisConnection connection = super.getConnection();
+        return (RedisConnection) Proxy.newProxyInstance(RedisConnection.class.getClassLoader(),
+                new Class<?>[]{RedisConnection.class}, (proxy, method, args) -> {
+                    if (!LOCAL_METHODS.contains(method.getName())
+                            && (!connection.isPipelined() || method.getName().equals("closePipeline"))) {
+                        RequestCost.recordRedis(method.getName());
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,165 @@
+package com.bulletjournal.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL, Redis and Elasticsearch work done for the current request, and how long it held database connections. Work
+ * on the request thread and on threads the request is attached to, e.g. calls it runs on a bulkhead, is recorded,
+ * events handled later by NotificationService are not.
+ */
+public class RequestCost {
+
+    public static final String HEADER = "Request-Cost";
+    // request attribute holding the cost of a request, for its async dispatches
+    public static final String ATTRIBUTE = RequestCost.class.getName();
+    // distinct statements or commands kept per breakdown
+    private static final int MAX_BREAKDOWN_SIZE = 50;
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+
+    // guarded by this, threads attached to the request record concurrently
+    private int sqlStatements;
+    private int sqlRows;
+    private int redisCalls;
+    private int elasticsearchCalls;
+    private int connections;
+    private long connectionHoldNanos;
+    private final Map<String, Integer> sqlBreakdown = new LinkedHashMap<>();
+    private final Map<String, Integer> redisBreakdown = new LinkedHashMap<>();
+    private final Map<String, Integer> elasticsearchBreakdown = new LinkedHashMap<>();
+
+    /**
+     * Start recording on the current thread
+     */
+    public static RequestCost start() {
+        RequestCost requestCost = new RequestCost();
+        CURRENT.set(requestCost);
+        return requestCost;
+    }
+
+    /**
+     * Record work of the current thread into requestCost of a request it works for, null records nothing
+     */
+    public static void attach(RequestCost requestCost) {
+        if (requestCost == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(requestCost);
+        }
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return cost of the request on the current thread, null if not recording
+     */
+    public static RequestCost current() {
+        return CURRENT.get();
+    }
+
+    public static void recordSql(String sql) {
+        RequestCost requestCost = CURRENT.get();
+        if (requestCost != null) {
+            synchronized (requestCost) {
+                requestCost.sqlStatements++;
+                add(requestCost.sqlBreakdown, sql);
+            }
+        }
+    }
+
+    public static void recordSqlRow() {
+        RequestCost requestCost = CURRENT.get();
+        if (requestCost != null) {
+            synchronized (requestCost) {
+                requestCost.sqlRows++;
+            }
+        }
+    }
+
+    public static void recordRedis(String command) {
+        RequestCost requestCost = CURRENT.get();
+        if (requestCost != null) {
+            synchronized (requestCost) {
+                requestCost.redisCalls++;
+                add(requestCost.redisBreakdown, command);
+            }
+        }
+    }
+
+    public static void recordElasticsearch(String operation) {
+        RequestCost requestCost = CURRENT.get();
+        if (requestCost != null) {
+            synchronized (requestCost) {
+                requestCost.elasticsearchCalls++;
+                add(requestCost.elasticsearchBreakdown, operation);
+            }
+        }
+    }
+
+    /**
+     * Record a pooled connection given back after being held for heldNanos
+     */
+    public static void recordConnectionHold(long heldNanos) {
+        RequestCost requestCost = CURRENT.get();
+        if (requestCost != null) {
+            synchronized (requestCost) {
+                requestCost.connections++;
+                requestCost.connectionHoldNanos += heldNanos;
+            }
+        }
+    }
+
+    private static void add(Map<String, Integer> breakdown, String key) {
+        if (breakdown.containsKey(key) || breakdown.size() < MAX_BREAKDOWN_SIZE) {
+            breakdown.merge(key, 1, Integer::sum);
+        }
+    }
+
+    public synchronized int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public synchronized int getSqlRows() {
+        return sqlRows;
+    }
+
+    public synchronized int getRedisCalls() {
+        return redisCalls;
+    }
+
+    public synchronized int getElasticsearchCalls() {
+        return elasticsearchCalls;
+    }
+
+    public synchronized int getConnections() {
+        return connections;
+    }
+
+    public synchronized long getConnectionHoldMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(connectionHoldNanos);
+    }
+
+    public synchronized String getSummary() {
+        return "sql=" + sqlStatements + " rows=" + sqlRows + " redis=" + redisCalls + " es=" + elasticsearchCalls
+                + " connections=" + connections + " held=" + getConnectionHoldMillis() + "ms";
+    }
+
+    /**
+     * @return count of each distinct statement and command, one per line
+     */
+    public synchronized String getBreakdown() {
+        StringBuilder breakdown = new StringBuilder();
+        appendBreakdown(breakdown, "sql", this.sqlBreakdown);
+        appendBreakdown(breakdown, "redis", this.redisBreakdown);
+        appendBreakdown(breakdown, "es", this.elasticsearchBreakdown);
+        return breakdown.toString();
+    }
+
+    private static void appendBreakdown(StringBuilder builder, String type, Map<String, Integer> breakdown) {
+        breakdown.forEach((key, count) -> builder.append(type).append(" x").append(count).append(": ")
+                .append(key).append('\n'));
+    }
+}
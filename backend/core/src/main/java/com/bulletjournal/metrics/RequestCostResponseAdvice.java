@@ -0,0 +1,43 @@
+package com.bulletjournal.metrics;
+
+import com.bulletjournal.config.RequestCostConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * In debug mode, adds cost of the request up to writing its body as a response header
+ */
+@ControllerAdvice
+public class RequestCostResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private RequestCostConfig requestCostConfig;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return this.requestCostConfig.isDebug();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestCost requestCost = RequestCost.current();
+        if (requestCost == null && request instanceof ServletServerHttpRequest) {
+            // async dispatch writing a DeferredResult
+            requestCost = (RequestCost) ((ServletServerHttpRequest) request).getServletRequest()
+                    .getAttribute(RequestCost.ATTRIBUTE);
+        }
+        if (requestCost != null) {
+            response.getHeaders().set(RequestCost.HEADER, requestCost.getSummary());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bulletjournal.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements prepared by Hibernate into {@link RequestCost}
+ */
+public class SqlCostInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestCost.recordSql(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bulletjournal.metrics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Counts entities loaded by Hibernate into {@link RequestCost} as rows. Rows of scalar and native queries are not
+ * counted.
+ */
+public class SqlRowCostInterceptor extends EmptyInterceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestCost.recordSqlRow();
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package com.bulletjournal.notifications;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sentence templates of project activities. Auditables only store the template and its arguments,
+ * the sentence is rendered when history is read.
+ *
+ * Templates are persisted by ordinal: only append new templates to the end.
+ */
+public enum ActivityTemplate {
+    CREATE_PROJECT("created BuJo ##{project}##"),
+    UPDATE_PROJECT("updated BuJo ##{project}##"),
+    DELETE_PROJECT("deleted BuJo ##{project}##"),
+    CREATE_ITEM("created {type} ##{name}## in BuJo ##{project}##"),
+    UPDATE_ITEM("updated {type} ##{name}## in BuJo ##{project}##"),
+    DELETE_ITEM("deleted {type} ##{name}## in BuJo ##{project}##"),
+    MOVE_ITEM("moved {type} ##{name}## to BuJo ##{target}##"),
+    CREATE_CONTENT("created Content in {type} ##{name}## under BuJo ##{project}##"),
+    UPDATE_CONTENT("updated Content in {type} ##{name}## under BuJo ##{project}##"),
+    DELETE_CONTENT("deleted Content in {type} ##{name}## under BuJo ##{project}##"),
+    COMPLETE_TASK("completed Task ##{name}## in BuJo ##{project}##"),
+    UNCOMPLETE_TASK("uncompleted Task ##{name}## in BuJo ##{project}##"),
+    SET_TASK_STATUS("set Task ##{name}## to ##{status}## in BuJo ##{project}##"),
+    SHARE_WITH_LINK("shared {type} ##{name}## in BuJo ##{project}## with link ##{link}##"),
+    SHARE_WITH_USER("shared {type} ##{name}## in BuJo ##{project}## with user ##{users}##"),
+    SHARE_WITH_USERS("shared {type} ##{name}## in BuJo ##{project}## with users ##{users}##");
+
+    public static final String PROJECT = "project";
+    public static final String TYPE = "type";
+    public static final String NAME = "name";
+    public static final String TARGET = "target";
+    public static final String STATUS = "status";
+    public static final String LINK = "link";
+    public static final String USERS = "users";
+
+    // template parsed once: even indexes are literal text, odd indexes are argument keys
+    private final List<String> segments;
+
+    ActivityTemplate(String template) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = template.indexOf('{', start)) >= 0) {
+            int close = template.indexOf('}', open);
+            segments.add(template.substring(start, open));
+            segments.add(template.substring(open + 1, close));
+            start = close + 1;
+        }
+        segments.add(template.substring(start));
+        this.segments = Collections.unmodifiableList(segments);
+    }
+
+    public boolean hasArgument(String key) {
+        for (int i = 1; i < this.segments.size(); i += 2) {
+            if (this.segments.get(i).equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String render(Map<String, String> args) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < this.segments.size(); i++) {
+            if (i % 2 == 0) {
+                sb.append(this.segments.get(i));
+            } else {
+                sb.append(args.getOrDefault(this.segments.get(i), ""));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,22 +1,28 @@
 package com.bulletjournal.notifications;
 
 import com.bulletjournal.contents.ContentAction;
+import com.google.gson.Gson;
 
 import java.sql.Timestamp;
+import java.util.Map;
 
 public class Auditable {
+    private static final Gson GSON = new Gson();
     private Long projectId;
     // projectItem may be deleted already
     private Long projectItemId;
-    private String activity;
+    private ActivityTemplate template;
+    // arguments of template, project name is filled in when it is persisted unless given here
+    private Map<String, String> args;
     private String originator;
     private ContentAction action;
     private Timestamp activityTime;
 
-    public Auditable(Long projectId, String activity, String originator, Long projectItemId, Timestamp activityTime,
-                     ContentAction action) {
+    public Auditable(Long projectId, ActivityTemplate template, Map<String, String> args, String originator,
+                     Long projectItemId, Timestamp activityTime, ContentAction action) {
         this.projectId = projectId;
-        this.activity = activity;
+        this.template = template;
+        this.args = args;
         this.originator = originator;
         this.projectItemId = projectItemId;
         this.activityTime = activityTime;
@@ -31,12 +37,20 @@ public class Auditable {
         this.projectItemId = projectItemId;
     }
 
-    public String getActivity() {
-        return activity;
+    public ActivityTemplate getTemplate() {
+        return template;
     }
 
-    public void setActivity(String activity) {
-        this.activity = activity;
+    public void setTemplate(ActivityTemplate template) {
+        this.template = template;
+    }
+
+    public Map<String, String> getArgs() {
+        return args;
+    }
+
+    public void setArgs(Map<String, String> args) {
+        this.args = args;
     }
 
     public String getOriginator() {
@@ -48,7 +62,8 @@ public class Auditable {
     }
 
     public com.bulletjournal.repository.models.Auditable toRepositoryAuditable() {
-        return new com.bulletjournal.repository.models.Auditable(this.projectId, this.activity, this.originator,
+        return new com.bulletjournal.repository.models.Auditable(this.projectId, this.template,
+                this.args == null || this.args.isEmpty() ? null : GSON.toJson(this.args), this.originator,
                 this.activityTime, this.action, this.projectItemId);
     }
 
@@ -6,6 +6,8 @@ import com.bulletjournal.redis.RedisEtagDaoJpa;
 import com.bulletjournal.repository.AuditableDaoJpa;
 import com.bulletjournal.repository.NotificationDaoJpa;
 import com.bulletjournal.util.CustomThreadFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +45,8 @@ public class NotificationService {
 
     @PostConstruct
     public void postConstruct() {
+        Gauge.builder("notification.queue.size", this.eventQueue, BlockingQueue::size)
+                .register(Metrics.globalRegistry);
         this.executorService.submit(() -> this.handleNotifications());
     }
 
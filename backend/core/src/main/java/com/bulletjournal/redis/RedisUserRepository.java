@@ -5,5 +5,5 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RedisUserRepository extends CrudRepository<User, String> {
+public interface RedisUserRepository extends CrudRepository<User, String>, RedisUserRepositoryCustom {
 }
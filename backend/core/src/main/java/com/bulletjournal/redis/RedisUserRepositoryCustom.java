@@ -0,0 +1,16 @@
+package com.bulletjournal.redis;
+
+import com.bulletjournal.controller.models.User;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RedisUserRepositoryCustom {
+
+    /**
+     * Read users in one round trip, unlike findAllById which waits for one HGETALL per name
+     *
+     * @return users found, missing names are skipped
+     */
+    List<User> multiGet(Collection<String> names);
+}
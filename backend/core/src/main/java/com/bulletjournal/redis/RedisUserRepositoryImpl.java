@@ -0,0 +1,60 @@
+package com.bulletjournal.redis;
+
+import com.bulletjournal.controller.models.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pipelines the HGETALL of each user and reads the hashes back the way the repository does
+ */
+public class RedisUserRepositoryImpl implements RedisUserRepositoryCustom {
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisConverter redisConverter;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<User> multiGet(Collection<String> names) {
+        List<User> users = new ArrayList<>();
+        if (names.isEmpty()) {
+            return users;
+        }
+        List<String> ids = new ArrayList<>(names);
+        String keyspace = this.redisConverter.getMappingContext().getRequiredPersistentEntity(User.class)
+                .getKeySpace();
+        List<Object> hashes = this.stringRedisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (String id : ids) {
+                connection.hGetAll(getKey(keyspace, id));
+            }
+            return connection.closePipeline();
+        });
+        for (int i = 0; i < ids.size(); i++) {
+            Map<byte[], byte[]> hash = (Map<byte[], byte[]>) hashes.get(i);
+            if (hash == null || hash.isEmpty()) {
+                continue;
+            }
+            RedisData data = new RedisData(hash);
+            data.setId(ids.get(i));
+            data.setKeyspace(keyspace);
+            users.add(this.redisConverter.read(User.class, data));
+        }
+        return users;
+    }
+
+    private static byte[] getKey(String keyspace, String id) {
+        return (keyspace + ":" + id).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,161 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.contents.ContentAction;
+import com.bulletjournal.controller.models.Activity;
+import com.bulletjournal.controller.utils.ZonedDateTimeHelper;
+import com.bulletjournal.notifications.ActivityTemplate;
+import com.bulletjournal.repository.models.Project;
+import com.bulletjournal.repository.utils.KeysetCursor;
+import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+public class AuditableDaoJpa {
+
+    private static final String EVERYONE = "Everyone";
+    @Autowired
+    private AuditableRepository auditableRepository;
+
+    @Autowired
+    private ProjectDaoJpa projectDaoJpa;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Persist auditables with the current name of their project, so that history keeps showing the name the
+     * project had at the time of the activity
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public void create(List<com.bulletjournal.notifications.Auditable> auditables) {
+        List<com.bulletjournal.notifications.Auditable> missingProject = auditables.stream()
+                .filter(auditable -> auditable.getTemplate().hasArgument(ActivityTemplate.PROJECT) &&
+                        (auditable.getArgs() == null || !auditable.getArgs().containsKey(ActivityTemplate.PROJECT)))
+                .collect(Collectors.toList());
+        Map<Long, String> projectNames = this.projectRepository.findAllById(missingProject.stream()
+                .map(com.bulletjournal.notifications.Auditable::getProjectId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Project::getId, Project::getName));
+        for (com.bulletjournal.notifications.Auditable auditable : missingProject) {
+            String projectName = projectNames.get(auditable.getProjectId());
+            if (projectName == null) {
+                continue;
+            }
+            Map<String, String> args = auditable.getArgs() == null ? new HashMap<>() :
+                    new HashMap<>(auditable.getArgs());
+            args.put(ActivityTemplate.PROJECT, projectName);
+            auditable.setArgs(args);
+        }
+        this.auditableRepository.saveAll(
+                auditables.stream().map(
+                        auditable -> auditable.toRepositoryAuditable()
+                ).collect(Collectors.toList())
+        );
+    }
+
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
+    public List<Activity> getHistory(Long projectId, String timezone, String startDate, String endDate,
+                                     ContentAction action, String username, String requester) {
+        Project project = this.projectDaoJpa.getProject(projectId, requester);
+        if (project.isShared()) {
+            return Collections.emptyList();
+        }
+
+        ZonedDateTime startTime = ZonedDateTimeHelper.getStartTime(startDate, null, timezone);
+        ZonedDateTime endTime = ZonedDateTimeHelper.getEndTime(endDate, null, timezone);
+
+        List<com.bulletjournal.repository.models.Auditable> auditables = Collections.emptyList();
+
+        if (username.equals(EVERYONE) && action.equals(ContentAction.ALL_ACTIONS)) {
+            auditables = this.auditableRepository.findAuditablesBetweenAllActionsAllUsers(projectId,
+                    Timestamp.from(startTime.toInstant()), Timestamp.from(endTime.toInstant()));
+        } else if (username.equals(EVERYONE) && !action.equals(ContentAction.ALL_ACTIONS)) {
+            auditables = this.auditableRepository.findAuditablesBetweenAllUsers(projectId,
+                    Timestamp.from(startTime.toInstant()), Timestamp.from(endTime.toInstant()), action);
+        } else if (!username.equals(EVERYONE) && action.equals(ContentAction.ALL_ACTIONS)) {
+            auditables = this.auditableRepository.findAuditablesBetweenAllActions(projectId,
+                    Timestamp.from(startTime.toInstant()), Timestamp.from(endTime.toInstant()), username);
+        } else {
+            auditables = this.auditableRepository.findAuditablesBetween(projectId,
+                    Timestamp.from(startTime.toInstant()), Timestamp.from(endTime.toInstant()), action, username);
+        }
+
+        return auditables.stream().map(a -> a.toActivity()).collect(Collectors.toList());
+    }
+
+    /**
+     * Get one page of project history, newest first, keyed on (activity_time, id).
+     *
+     * @return activities of this page and the cursor of next page (null if this is the last page)
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
+    public Pair<List<Activity>, String> getHistory(Long projectId, String timezone, String startDate, String endDate,
+                                                   ContentAction action, String username, String requester,
+                                                   String cursor, int pageSize) {
+        Project project = this.projectDaoJpa.getProject(projectId, requester);
+        if (project.isShared()) {
+            return Pair.of(Collections.emptyList(), null);
+        }
+
+        ZonedDateTime startTime = ZonedDateTimeHelper.getStartTime(startDate, null, timezone);
+        ZonedDateTime endTime = ZonedDateTimeHelper.getEndTime(endDate, null, timezone);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // only add the filters in use so that each combination is served by its own index
+        StringBuilder queryBuilder = new StringBuilder("SELECT auditable FROM Auditable auditable ")
+                .append("WHERE auditable.projectId = :projectId ")
+                .append("AND auditable.activityTime >= :startTime AND auditable.activityTime <= :endTime ");
+        if (!action.equals(ContentAction.ALL_ACTIONS)) {
+            queryBuilder.append("AND auditable.action = :action ");
+        }
+        if (!username.equals(EVERYONE)) {
+            queryBuilder.append("AND auditable.originator = :username ");
+        }
+        // the bound on activityTime alone lets the index scan start at the cursor, the OR is only a filter
+        queryBuilder.append("AND auditable.activityTime <= :cursorTime ")
+                .append("AND (auditable.activityTime < :cursorTime OR ")
+                .append("(auditable.activityTime = :cursorTime AND auditable.id < :cursorId)) ")
+                .append("ORDER BY auditable.activityTime DESC, auditable.id DESC");
+
+        TypedQuery<com.bulletjournal.repository.models.Auditable> query = this.entityManager.createQuery(
+                queryBuilder.toString(), com.bulletjournal.repository.models.Auditable.class)
+                .setParameter("projectId", projectId)
+                .setParameter("startTime", Timestamp.from(startTime.toInstant()))
+                .setParameter("endTime", Timestamp.from(endTime.toInstant()))
+                .setParameter("cursorTime", after.getTime())
+                .setParameter("cursorId", after.getId())
+                // fetch one extra row to know if there is a next page
+                .setMaxResults(pageSize + 1);
+        if (!action.equals(ContentAction.ALL_ACTIONS)) {
+            query.setParameter("action", action);
+        }
+        if (!username.equals(EVERYONE)) {
+            query.setParameter("username", username);
+        }
+        List<com.bulletjournal.repository.models.Auditable> auditables = query.getResultList();
+
+        String nextCursor = null;
+        if (auditables.size() > pageSize) {
+            auditables = auditables.subList(0, pageSize);
+            com.bulletjournal.repository.models.Auditable last = auditables.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getActivityTime(), last.getId()).encode();
+        }
+        return Pair.of(auditables.stream().map(a -> a.toActivity()).collect(Collectors.toList()), nextCursor);
+    }
+}
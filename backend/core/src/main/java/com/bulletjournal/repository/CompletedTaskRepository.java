@@ -0,0 +1,51 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.repository.models.CompletedTask;
+import com.bulletjournal.repository.models.Project;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public interface CompletedTaskRepository extends JpaRepository<CompletedTask, Long> {
+    List<CompletedTask> findCompletedTaskByProject(Project project, Pageable pageable);
+
+    // the bound on updatedAt alone lets the index scan start at the cursor, the OR is only a filter
+    @Query("SELECT completedTask FROM CompletedTask completedTask WHERE completedTask.project = :project AND "
+            + "completedTask.updatedAt <= :updatedAt AND (completedTask.updatedAt < :updatedAt OR "
+            + "(completedTask.updatedAt = :updatedAt AND completedTask.id < :id)) "
+            + "ORDER BY completedTask.updatedAt DESC, completedTask.id DESC")
+    List<CompletedTask> findCompletedTaskByProjectBefore(@Param("project") Project project,
+                                                         @Param("updatedAt") Timestamp updatedAt,
+                                                         @Param("id") Long id, Pageable pageable);
+
+    // keyed on createdAt like the range, so that a page is one range of the index on (project, createdAt, id)
+    @Query("SELECT completedTask FROM CompletedTask completedTask WHERE completedTask.project = :project AND "
+            + "completedTask.createdAt >= :startTime AND completedTask.createdAt <= :endTime AND "
+            + "completedTask.createdAt <= :createdAt AND (completedTask.createdAt < :createdAt OR "
+            + "(completedTask.createdAt = :createdAt AND completedTask.id < :id)) "
+            + "ORDER BY completedTask.createdAt DESC, completedTask.id DESC")
+    List<CompletedTask> findCompletedTaskBetweenBefore(@Param("project") Project project,
+                                                       @Param("startTime") Timestamp startTime,
+                                                       @Param("endTime") Timestamp endTime,
+                                                       @Param("createdAt") Timestamp createdAt,
+                                                       @Param("id") Long id, Pageable pageable);
+
+    @Query(value = "SELECT * FROM completed_tasks WHERE completed_tasks.project_id = :projectId AND "
+            + "completed_tasks.created_at >= :startTime AND completed_tasks.created_at <= :endTime AND "
+            + "completed_tasks.assignees @> ARRAY[CAST(:assignee AS text)] AND "
+            + "(completed_tasks.created_at, completed_tasks.id) < (:createdAt, :id) "
+            + "ORDER BY completed_tasks.created_at DESC, completed_tasks.id DESC LIMIT :limit", nativeQuery = true)
+    List<CompletedTask> findCompletedTaskByAssigneeBetweenBefore(@Param("projectId") Long projectId,
+                                                                 @Param("assignee") String assignee,
+                                                                 @Param("startTime") Timestamp startTime,
+                                                                 @Param("endTime") Timestamp endTime,
+                                                                 @Param("createdAt") Timestamp createdAt,
+                                                                 @Param("id") Long id, @Param("limit") int limit);
+
+}
@@ -0,0 +1,164 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.util.TextCompressor;
+import com.google.common.collect.ImmutableList;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrites rows stored before CompressedStringConverter was introduced, so that they are compressed as well.
+ * Progress is checkpointed per column in compression_checkpoints.
+ */
+@Repository
+public class CompressionDaoJpa {
+
+    public static final List<CompressedColumn> COMPRESSED_COLUMNS = ImmutableList.of(
+            new CompressedColumn("task_contents", "id", "bigint", "base_text"),
+            new CompressedColumn("task_contents", "id", "bigint", "revisions"),
+            new CompressedColumn("note_contents", "id", "bigint", "base_text"),
+            new CompressedColumn("note_contents", "id", "bigint", "revisions"),
+            new CompressedColumn("transaction_contents", "id", "bigint", "base_text"),
+            new CompressedColumn("transaction_contents", "id", "bigint", "revisions"),
+            new CompressedColumn("completed_tasks", "id", "bigint", "contents"),
+            new CompressedColumn("user_project_tasks", "project_id", "bigint", "tasks"),
+            new CompressedColumn("user_project_notes", "project_id", "bigint", "notes"),
+            new CompressedColumn("user_projects", "owner", "varchar", "owned_projects"),
+            new CompressedColumn("user_projects", "owner", "varchar", "shared_projects"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Compress up to batchSize uncompressed values of column that are above the compression threshold and after the
+     * column's checkpoint, then move the checkpoint to the last row examined. Values that do not get smaller stay as
+     * they are and are not examined again. Checkpoint is kept once the scan reaches the end of table, rows written
+     * since are compressed on write.
+     *
+     * @return number of rows examined, 0 once the column is fully compressed
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public int recompress(CompressedColumn column, int batchSize) {
+        String checkpoint = getCheckpoint(column);
+        // rows are locked until commit so that concurrent updates are not overwritten
+        Query select = entityManager.createNativeQuery(
+                "SELECT " + column.getKey() + ", " + column.getColumn() + " FROM " + column.getTable() +
+                        " WHERE length(" + column.getColumn() + ") >= ? AND " + column.getColumn() +
+                        " NOT LIKE '" + TextCompressor.HEADER + "%'" + afterCheckpoint(column, checkpoint) +
+                        " ORDER BY " + column.getKey() + " LIMIT ? FOR UPDATE");
+        int position = 1;
+        select.setParameter(position++, TextCompressor.DEFAULT_THRESHOLD);
+        if (checkpoint != null) {
+            select.setParameter(position++, checkpoint);
+        }
+        select.setParameter(position, batchSize);
+        List<Object[]> rows = select.getResultList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Object, String> compressed = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            String value = TextCompressor.compress((String) row[1]);
+            if (TextCompressor.isCompressed(value)) {
+                compressed.put(row[0], value);
+            }
+        }
+        if (!compressed.isEmpty()) {
+            update(column, compressed);
+        }
+        saveCheckpoint(column, rows.get(rows.size() - 1)[0].toString());
+        return rows.size();
+    }
+
+    public String getCheckpoint(CompressedColumn column) {
+        List<?> rows = entityManager.createNativeQuery(
+                "SELECT last_key FROM compression_checkpoints WHERE compressed_column = ?")
+                .setParameter(1, column.toString())
+                .getResultList();
+        return rows.isEmpty() || rows.get(0) == null ? null : rows.get(0).toString();
+    }
+
+    private void update(CompressedColumn column, Map<Object, String> values) {
+        // one statement per batch, as every statement on content tables refreshes the materialized views
+        StringBuilder queryBuilder = new StringBuilder("UPDATE " + column.getTable() + " SET " +
+                column.getColumn() + " = CASE " + column.getKey());
+        values.forEach((key, value) -> queryBuilder.append(" WHEN ? THEN ?"));
+        queryBuilder.append(" ELSE ").append(column.getColumn()).append(" END WHERE ")
+                .append(column.getKey()).append(" IN (");
+        values.forEach((key, value) -> queryBuilder.append("?,"));
+        queryBuilder.setCharAt(queryBuilder.length() - 1, ')');
+
+        Query query = entityManager.createNativeQuery(queryBuilder.toString());
+        int position = 1;
+        for (Map.Entry<Object, String> entry : values.entrySet()) {
+            query.setParameter(position++, entry.getKey());
+            query.setParameter(position++, entry.getValue());
+        }
+        for (Object key : values.keySet()) {
+            query.setParameter(position++, key);
+        }
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(column.getTable()).executeUpdate();
+    }
+
+    private void saveCheckpoint(CompressedColumn column, String lastKey) {
+        entityManager.createNativeQuery("INSERT INTO compression_checkpoints (compressed_column, last_key, " +
+                "updated_at) VALUES (?, ?, now()) ON CONFLICT (compressed_column) DO UPDATE SET " +
+                "last_key = excluded.last_key, updated_at = excluded.updated_at")
+                .setParameter(1, column.toString())
+                .setParameter(2, lastKey)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("compression_checkpoints")
+                .executeUpdate();
+    }
+
+    private static String afterCheckpoint(CompressedColumn column, String checkpoint) {
+        if (checkpoint == null) {
+            return "";
+        }
+        return " AND " + column.getKey() + " > CAST(? AS " + column.getKeyType() + ")";
+    }
+
+    public static class CompressedColumn {
+        private final String table;
+        private final String key;
+        private final String keyType;
+        private final String column;
+
+        public CompressedColumn(String table, String key, String keyType, String column) {
+            this.table = table;
+            this.key = key;
+            this.keyType = keyType;
+            this.column = column;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getKeyType() {
+            return keyType;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        @Override
+        public String toString() {
+            return table + "." + column;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.bulletjournal.repository.models.Project;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Channel;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +55,9 @@ public class GoogleCalendarProjectDaoJpa {
     public GoogleCalendarProject get(String calendarId) {
         GoogleCalendarProject calendarProject = this.googleCalendarProjectRepository.findById(calendarId)
                 .orElseThrow(() -> new ResourceNotFoundException("Calendar " + calendarId + " not found"));
+        // callers render the project after the transaction
+        Hibernate.initialize(calendarProject.getProject());
+        Hibernate.initialize(calendarProject.getProject().getGroup());
         return calendarProject;
     }
 
@@ -94,6 +98,10 @@ public class GoogleCalendarProjectDaoJpa {
                 this.googleCalendarProjectRepository.getByExpirationBefore(new Timestamp(expirationTime));
         Channel createdChannel;
         for (GoogleCalendarProject googleCalendarProject : expiringGoogleCalendarProjects) {
+            // interrupted when the cleaner loses leadership, the rest are renewed by the new leader
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
             Calendar service = this.googleCalClient.getCalendarService();
             Calendar.Events.Watch watch = service.events().watch(googleCalendarProject.getId(), Util.getChannel());
             LOGGER.info("Created watch {}", watch);
@@ -1,6 +1,7 @@
 package com.bulletjournal.repository;
 
 import com.bulletjournal.repository.models.GoogleCalendarProject;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
@@ -12,6 +13,11 @@ import java.util.Optional;
 
 @Repository
 public interface GoogleCalendarProjectRepository extends JpaRepository<GoogleCalendarProject, String> {
+    // controllers render the watched project after the transaction
+    @EntityGraph(attributePaths = {"project", "project.group"})
+    @Override
+    Optional<GoogleCalendarProject> findById(String calendarId);
+
     Optional<GoogleCalendarProject> getByChannelId(String channelId);
 
 
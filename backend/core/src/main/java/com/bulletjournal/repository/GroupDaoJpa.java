@@ -153,7 +153,7 @@ public class GroupDaoJpa implements Etaggable {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<com.bulletjournal.controller.models.Group> getGroups(String owner) {
         User user = this.userDaoJpa.getByName(owner);
         return user.getGroups()
@@ -225,11 +225,38 @@ public class GroupDaoJpa implements Etaggable {
 
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public Group getGroup(Long id) {
-        Group group = this.groupRepository.findById(id)
+        Group group = this.groupRepository.findWithUsersById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Group " + id + " not found"));
         return group;
     }
 
+    /**
+     * Get ids of the groups that user has joined
+     *
+     * @param username the group member
+     * @return a list of group ids
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
+    public List<Long> getAcceptedGroupIds(String username) {
+        return this.userGroupRepository.findAcceptedGroupIds(username);
+    }
+
+    /**
+     * Get names of the users that have joined a group
+     *
+     * @param groupId the group id
+     * @return a list of usernames
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
+    public List<String> getAcceptedUsernames(Long groupId) {
+        return this.userGroupRepository.findAcceptedUsernames(groupId);
+    }
+
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
+    public boolean isAcceptedMember(String username, Long groupId) {
+        return this.userGroupRepository.isAcceptedMember(username, groupId);
+    }
+
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public List<Event> removeUserGroups(
             String requester,
@@ -294,6 +321,7 @@ public class GroupDaoJpa implements Etaggable {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public String getUserEtag(String username) {
         List<com.bulletjournal.controller.models.Group> groupList = this.getGroups(username);
         return EtagGenerator.generateEtag(EtagGenerator.HashAlgorithm.MD5,
@@ -1,11 +1,13 @@
 package com.bulletjournal.repository;
 
 import com.bulletjournal.repository.models.Group;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
@@ -13,4 +15,7 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
 
     @Query("SELECT g FROM Group g WHERE g.owner = ?1 AND g.defaultGroup = TRUE")
     List<Group> findDefaultGroup(String owner);
+
+    @EntityGraph(Group.USERS_GRAPH)
+    Optional<Group> findWithUsersById(Long id);
 }
@@ -54,6 +54,9 @@ public class LabelDaoJpa {
     @Autowired
     private AuthorizationService authorizationService;
 
+    @Autowired
+    private UserGroupRepository userGroupRepository;
+
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public void createDefaultLabels(String owner) {
         List<Label> defaultLabels = DEFAULT_LABELS.entrySet().stream().map(l -> {
@@ -230,12 +233,12 @@ public class LabelDaoJpa {
             Map<Long, Boolean> cache) {
         return projectItems.stream().filter(item -> {
             Long projectId = item.getProject().getId();
-            return cache.computeIfAbsent(projectId, k -> item.getProject().getGroup().getAcceptedUsers().stream()
-                    .anyMatch(u -> requester.equals(u.getUser().getName())));
+            return cache.computeIfAbsent(projectId, k -> this.userGroupRepository.isAcceptedMember(
+                    requester, item.getProject().getGroup().getId()));
         }).collect(Collectors.toList());
     }
 
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<ProjectItems> getLabelsForProjectItems(List<ProjectItems> projectItems) {
         List<ProjectItem> items = new ArrayList<>();
         projectItems.forEach(item -> {
@@ -247,7 +250,7 @@ public class LabelDaoJpa {
         return projectItems;
     }
 
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public <T extends ProjectItem> List<T> getLabelsForProjectItemList(List<T> projectItems) {
         if (projectItems == null || projectItems.isEmpty()) {
             return projectItems;
@@ -268,7 +271,7 @@ public class LabelDaoJpa {
         return projectItems;
     }
 
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<com.bulletjournal.controller.models.Label> getLabels(final List<Long> labels) {
         if (labels == null || labels.isEmpty()) {
             return Collections.emptyList();
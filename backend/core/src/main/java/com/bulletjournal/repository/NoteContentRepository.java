@@ -1,5 +1,6 @@
 package com.bulletjournal.repository;
 
+import com.bulletjournal.repository.models.ContentSummary;
 import com.bulletjournal.repository.models.Note;
 import com.bulletjournal.repository.models.NoteContent;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,6 +15,11 @@ import java.util.List;
 public interface NoteContentRepository extends JpaRepository<NoteContent, Long> {
     List<NoteContent> findNoteContentByNote(Note note);
 
+    @Query("SELECT new com.bulletjournal.repository.models.ContentSummary(noteContent.id, noteContent.owner, noteContent.text, "
+            + "noteContent.createdAt, noteContent.updatedAt, noteContent.latestRevisionId) FROM NoteContent noteContent WHERE noteContent.note.id = :noteId "
+            + "ORDER BY noteContent.updatedAt DESC")
+    List<ContentSummary> findContentSummariesByNote(@Param("noteId") Long noteId);
+
     @Query("SELECT noteContent FROM NoteContent noteContent WHERE noteContent.updatedAt >= :startTime AND noteContent.updatedAt <= :endTime")
     List<NoteContent> findRecentNoteContentsBetween(@Param("startTime") Timestamp startTime,
                                                     @Param("endTime") Timestamp endTime);
@@ -28,8 +28,6 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.persistence.EntityManager;
-import javax.persistence.PersistenceContext;
 import java.sql.Timestamp;
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -41,8 +39,6 @@ public class NoteDaoJpa extends ProjectItemDaoJpa<NoteContent> {
 
     private static final Gson GSON = new Gson();
 
-    @PersistenceContext
-    EntityManager entityManager;
     @Autowired
     private NoteRepository noteRepository;
     @Autowired
@@ -64,7 +60,7 @@ public class NoteDaoJpa extends ProjectItemDaoJpa<NoteContent> {
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 100))
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<com.bulletjournal.controller.models.Note> getNotes(Long projectId, String requester) {
         Project project = this.projectDaoJpa.getProject(projectId, requester);
         Optional<ProjectNotes> projectNotesOptional = this.projectNotesRepository.findById(projectId);
@@ -90,8 +86,9 @@ public class NoteDaoJpa extends ProjectItemDaoJpa<NoteContent> {
                 final Map<Long, Note> noteMap = notes.stream().filter(n -> processedIds.contains(n.getId()))
                         .collect(Collectors.toMap(n -> n.getId(), n -> n));
 
+                final Map<Long, com.bulletjournal.controller.models.Label> labelsMap = getLabelsMap(noteMap.values());
                 ret.addAll(NoteRelationsProcessor.processRelations(noteMap, keptHierarchy).stream()
-                        .map(note -> addLabels(note, noteMap)).collect(Collectors.toList()));
+                        .map(note -> addLabels(note, noteMap, labelsMap)).collect(Collectors.toList()));
 
                 notes = notes.stream().filter(t -> !processedIds.contains(t.getId())).collect(Collectors.toList());
             }
@@ -109,16 +106,19 @@ public class NoteDaoJpa extends ProjectItemDaoJpa<NoteContent> {
         ProjectNotes projectNotes = projectNotesOptional.get();
         final Map<Long, Note> notesMap = this.noteRepository.findNoteByProject(project).stream()
                 .collect(Collectors.toMap(n -> n.getId(), n -> n));
+        final Map<Long, com.bulletjournal.controller.models.Label> labelsMap = getLabelsMap(notesMap.values());
         return NoteRelationsProcessor.processRelations(notesMap, projectNotes.getNotes()).stream()
-                .map(note -> addLabels(note, notesMap)).collect(Collectors.toList());
+                .map(note -> addLabels(note, notesMap, labelsMap)).collect(Collectors.toList());
     }
 
     private com.bulletjournal.controller.models.Note addLabels(com.bulletjournal.controller.models.Note note,
-                                                               Map<Long, Note> notesMap) {
-        List<com.bulletjournal.controller.models.Label> labels = getLabelsToProjectItem(notesMap.get(note.getId()));
+                                                               Map<Long, Note> notesMap,
+                                                               Map<Long, com.bulletjournal.controller.models.Label> labelsMap) {
+        List<com.bulletjournal.controller.models.Label> labels =
+                getLabelsToProjectItem(notesMap.get(note.getId()), labelsMap);
         note.setLabels(labels);
         for (com.bulletjournal.controller.models.Note subNote : note.getSubNotes()) {
-            addLabels(subNote, notesMap);
+            addLabels(subNote, notesMap, labelsMap);
         }
         return note;
     }
@@ -263,10 +263,9 @@ public class NoteDaoJpa extends ProjectItemDaoJpa<NoteContent> {
 
     private List<Event> generateEvents(Note note, String requester, Project project) {
         List<Event> events = new ArrayList<>();
-        for (UserGroup userGroup : project.getGroup().getAcceptedUsers()) {
+        for (String username : this.groupDaoJpa.getAcceptedUsernames(project.getGroup().getId())) {
             // skip send event to self
-            String username = userGroup.getUser().getName();
-            if (userGroup.getUser().getName().equals(requester)) {
+            if (username.equals(requester)) {
                 continue;
             }
             events.add(new Event(username, note.getId(), note.getName()));
@@ -312,6 +311,11 @@ public class NoteDaoJpa extends ProjectItemDaoJpa<NoteContent> {
         return this.noteContentRepository.findNoteContentByNote((Note) projectItem);
     }
 
+    @Override
+    List<ContentSummary> findContentSummaries(Long projectItemId) {
+        return this.noteContentRepository.findContentSummariesByNote(projectItemId);
+    }
+
     @Override
     List<Long> findItemLabelsByProject(Project project) {
         return noteRepository.findUniqueLabelsByProject(project.getId());
@@ -342,6 +346,7 @@ public class NoteDaoJpa extends ProjectItemDaoJpa<NoteContent> {
                 .getResultList();
     }
 
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public List<String> getDeleteESDocumentIdsForProjectItem(String requester, Long noteId) {
         List<String> deleteESDocumentIds = new ArrayList<>();
         Note note = this.getProjectItem(noteId, requester);
@@ -355,6 +360,7 @@ public class NoteDaoJpa extends ProjectItemDaoJpa<NoteContent> {
         return deleteESDocumentIds;
     }
 
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public List<String> getDeleteESDocumentIdsForContent(String requester, Long contentId) {
         List<String> deleteESDocumentIds = new ArrayList<>();
         NoteContent content = this.getContent(contentId, requester);
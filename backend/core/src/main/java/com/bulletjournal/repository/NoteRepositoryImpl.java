@@ -19,10 +19,12 @@ public class NoteRepositoryImpl implements NoteRepositoryCustom {
 
     @Override
     public List<Note> findNotesByLabelIds(List<Long> labelIds) {
-        StringBuilder queryString = new StringBuilder("SELECT * FROM notes WHERE ? = ANY(notes.labels)");
+        // containment is served by the labels GIN index, "? = ANY(labels)" is not
+        StringBuilder queryString = new StringBuilder("SELECT * FROM notes WHERE notes.labels @> ARRAY[?");
         for (int i = 1; i < labelIds.size(); i++) {
-            queryString.append(" and ? = ANY(notes.labels)");
+            queryString.append(", ?");
         }
+        queryString.append("]");
         Query query = entityManager.createNativeQuery(queryString.toString(), Note.class);
         for (int i = 1; i <= labelIds.size(); i++) {
             query.setParameter(i, labelIds.get(i - 1));
@@ -1,20 +1,23 @@
 package com.bulletjournal.repository;
 
 import com.bulletjournal.clients.UserClient;
+import com.bulletjournal.controller.models.User;
 import com.bulletjournal.controller.utils.EtagGenerator;
 import com.bulletjournal.notifications.Action;
 import com.bulletjournal.notifications.Informed;
 import com.bulletjournal.redis.models.EtagType;
 import com.bulletjournal.repository.factory.Etaggable;
 import com.bulletjournal.repository.models.Notification;
+import com.bulletjournal.repository.utils.KeysetCursor;
 import com.google.common.base.Preconditions;
 import com.google.gson.Gson;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.sql.Timestamp;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -31,16 +34,7 @@ public class NotificationDaoJpa implements Etaggable {
 
     public List<com.bulletjournal.controller.models.Notification> getNotifications(String username) {
         List<Notification> notifications = this.notificationRepository.findByTargetUser(username);
-        List<com.bulletjournal.controller.models.Notification> returnNotifications = notifications.stream().map(n -> {
-            com.bulletjournal.controller.models.Notification notification = n.toPresentationModel();
-            notification.setOriginator(this.userClient.getUser(n.getOriginator()));
-            if (n.getActions() != null) {
-                Action[] actions = GSON.fromJson(n.getActions(), Action[].class);
-                notification.setActions(
-                        Arrays.asList(actions).stream().map(a -> a.getDescription()).collect(Collectors.toList()));
-            }
-            return notification;
-        }).sorted((a, b) -> {
+        return toPresentationModels(notifications).stream().sorted((a, b) -> {
             if (a.getActions().isEmpty() && !b.getActions().isEmpty()) {
                 return 1;
             }
@@ -52,7 +46,47 @@ public class NotificationDaoJpa implements Etaggable {
             }
             return b.getTimestamp().compareTo(a.getTimestamp());
         }).collect(Collectors.toList());
-        return returnNotifications;
+    }
+
+    /**
+     * Get one page of the inbox, newest first.
+     *
+     * @return notifications of this page and the cursor of next page (null if this is the last page)
+     */
+    public Pair<List<com.bulletjournal.controller.models.Notification>, String> getNotifications(
+            String username, String cursor, int pageSize) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // fetch one extra row to know if there is a next page
+        List<Notification> notifications = this.notificationRepository.findByTargetUserBefore(
+                username, after.getTime(), after.getId(), PageRequest.of(0, pageSize + 1));
+
+        String nextCursor = null;
+        if (notifications.size() > pageSize) {
+            notifications = notifications.subList(0, pageSize);
+            Notification last = notifications.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+        return Pair.of(toPresentationModels(notifications), nextCursor);
+    }
+
+    public long getNotificationCount(String username) {
+        return this.notificationRepository.countByTargetUser(username);
+    }
+
+    private List<com.bulletjournal.controller.models.Notification> toPresentationModels(
+            List<Notification> notifications) {
+        Map<String, User> originators = this.userClient.getUsers(
+                notifications.stream().map(Notification::getOriginator).collect(Collectors.toSet()));
+        return notifications.stream().map(n -> {
+            com.bulletjournal.controller.models.Notification notification = n.toPresentationModel();
+            notification.setOriginator(originators.get(n.getOriginator()));
+            if (n.getActions() != null) {
+                Action[] actions = GSON.fromJson(n.getActions(), Action[].class);
+                notification.setActions(
+                        Arrays.asList(actions).stream().map(a -> a.getDescription()).collect(Collectors.toList()));
+            }
+            return notification;
+        }).collect(Collectors.toList());
     }
 
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
@@ -62,11 +96,6 @@ public class NotificationDaoJpa implements Etaggable {
         this.notificationRepository.saveAll(notifications);
     }
 
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
-    public void deleteAllExpiredNotifications(Timestamp expirationTime) {
-        this.notificationRepository.deleteByUpdatedAtBefore(expirationTime);
-    }
-
     @Override
     public Set<String> findAffectedUsernames(Set<String> contentIds, EtagType type) {
         if (EtagType.NOTIFICATION.equals(type)) {
@@ -81,9 +110,13 @@ public class NotificationDaoJpa implements Etaggable {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public String getUserEtag(String username) {
-        List<com.bulletjournal.controller.models.Notification> notifications = this.getNotifications(username);
+        // notifications are never updated in place, so newest id and count change whenever the inbox does
+        Object[] countAndMaxId = this.notificationRepository.findCountAndMaxIdByTargetUser(username).get(0);
+        long count = countAndMaxId[0] == null ? 0L : ((Number) countAndMaxId[0]).longValue();
+        long maxId = countAndMaxId[1] == null ? 0L : ((Number) countAndMaxId[1]).longValue();
         return EtagGenerator.generateEtag(EtagGenerator.HashAlgorithm.MD5,
-                EtagGenerator.HashType.TO_HASHCODE, notifications);
+                EtagGenerator.HashType.TO_STRING, count, maxId);
     }
 }
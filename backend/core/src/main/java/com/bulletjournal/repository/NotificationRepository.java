@@ -0,0 +1,43 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.repository.models.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    List<Notification> findByTargetUser(String targetUser);
+
+    // the bound on updatedAt alone lets the index scan start at the cursor, the OR is only a filter
+    @Query("SELECT notification FROM Notification notification WHERE notification.targetUser = :targetUser AND "
+            + "notification.updatedAt <= :updatedAt AND (notification.updatedAt < :updatedAt OR "
+            + "(notification.updatedAt = :updatedAt AND notification.id < :id)) "
+            + "ORDER BY notification.updatedAt DESC, notification.id DESC")
+    List<Notification> findByTargetUserBefore(@Param("targetUser") String targetUser,
+                                              @Param("updatedAt") Timestamp updatedAt,
+                                              @Param("id") Long id, Pageable pageable);
+
+    /**
+     * @return a single row of [count, max id] of the notifications of targetUser
+     */
+    @Query("SELECT COUNT(notification), MAX(notification.id) FROM Notification notification "
+            + "WHERE notification.targetUser = :targetUser")
+    List<Object[]> findCountAndMaxIdByTargetUser(@Param("targetUser") String targetUser);
+
+    long countByTargetUser(String targetUser);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Notification notification WHERE notification.targetUser = :targetUser")
+    void deleteByTargetUser(@Param("targetUser") String targetUser);
+
+}
+
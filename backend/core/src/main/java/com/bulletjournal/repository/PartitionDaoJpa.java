@@ -0,0 +1,142 @@
+package com.bulletjournal.repository;
+
+import com.google.common.collect.ImmutableMap;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains monthly partitions named {@code <table>_pYYYY_MM} of tables partitioned by time,
+ * see create_monthly_partition in the migrations. Rows of months without a partition are kept in
+ * {@code <table>_default} until the partition of their month is created or they expire.
+ */
+@Repository
+public class PartitionDaoJpa {
+
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String AUDITABLES = "auditables";
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionDaoJpa.class);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+    private static final String DEFAULT_SUFFIX = "_default";
+    // partition key of each table
+    private static final Map<String, String> KEY_COLUMNS = ImmutableMap.of(
+            NOTIFICATIONS, "created_at", AUDITABLES, "activity_time");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Create partitions of table from current month up to monthsAhead months later, if they do not exist yet.
+     * Rows of these months in the default partition are moved to their partition.
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public void createPartitions(String table, int monthsAhead) {
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(table, month.plusMonths(i));
+        }
+        long remaining = ((Number) this.entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM " + getDefaultPartition(table)).getSingleResult()).longValue();
+        if (remaining > 0) {
+            LOGGER.warn("{} rows of {} are in its default partition, their months have no partition", remaining,
+                    table);
+        }
+    }
+
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public String createPartition(String table, YearMonth month) {
+        return (String) this.entityManager.createNativeQuery("SELECT create_monthly_partition(?, ?)")
+                .setParameter(1, table)
+                .setParameter(2, Date.valueOf(month.atDay(1)))
+                .getSingleResult();
+    }
+
+    /**
+     * Drop partitions of table whose whole month is before expirationTime, and delete rows of the default
+     * partition before expirationTime
+     *
+     * @return names of dropped partitions
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public List<String> dropPartitionsBefore(String table, Timestamp expirationTime) {
+        LocalDate expirationDate = expirationTime.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        List<String> dropped = new ArrayList<>();
+        for (String partition : getPartitions(table)) {
+            YearMonth month = getPartitionMonth(table, partition);
+            if (month == null || month.plusMonths(1).atDay(1).isAfter(expirationDate)) {
+                continue;
+            }
+            // empty query space, so that Hibernate does not evict every cache region for a DDL statement
+            this.entityManager.createNativeQuery("DROP TABLE " + partition)
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedQuerySpace("")
+                    .executeUpdate();
+            dropped.add(partition);
+        }
+        if (!dropped.isEmpty()) {
+            LOGGER.info("Dropped partitions {}", dropped);
+        }
+
+        // retention reaching before the epoch keeps every row, and is out of range for postgres timestamps
+        if (expirationTime.getTime() <= 0) {
+            return dropped;
+        }
+        int purged = this.entityManager.createNativeQuery("DELETE FROM " + getDefaultPartition(table) +
+                " WHERE " + KEY_COLUMNS.get(table) + " < ?")
+                .setParameter(1, expirationTime)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(table)
+                .executeUpdate();
+        if (purged > 0) {
+            LOGGER.info("Deleted {} expired rows of {} from its default partition", purged, table);
+        }
+        return dropped;
+    }
+
+    public static String getDefaultPartition(String table) {
+        return table + DEFAULT_SUFFIX;
+    }
+
+    public List<String> getPartitions(String table) {
+        List<?> rows = this.entityManager.createNativeQuery(
+                "SELECT child.relname FROM pg_inherits " +
+                        "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent " +
+                        "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                        "WHERE parent.relname = ? ORDER BY child.relname")
+                .setParameter(1, table)
+                .getResultList();
+        List<String> partitions = new ArrayList<>();
+        rows.forEach(row -> partitions.add(row.toString()));
+        return partitions;
+    }
+
+    /**
+     * @return month of partition, or null for partitions not following the naming, e.g. the default partition
+     */
+    private static YearMonth getPartitionMonth(String table, String partition) {
+        if (!partition.startsWith(table)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(table.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -13,12 +13,12 @@ import com.bulletjournal.notifications.Event;
 import com.bulletjournal.repository.models.Group;
 import com.bulletjournal.repository.models.Project;
 import com.bulletjournal.repository.models.User;
-import com.bulletjournal.repository.models.UserGroup;
 import com.bulletjournal.repository.models.*;
 import com.bulletjournal.repository.utils.DaoHelper;
 import com.google.gson.Gson;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
@@ -75,14 +75,40 @@ public class ProjectDaoJpa {
         return results;
     }
 
+    /**
+     * Get ids of projects in the groups that user has joined
+     *
+     * @param username      the group member
+     * @param includeShared whether to include the projects that hold items shared with a user
+     * @return a list of project ids
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
+    public List<Long> getGroupProjectIds(String username, boolean includeShared) {
+        return this.projectRepository.findIdsByAcceptedMember(username, includeShared);
+    }
+
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public Project getProject(Long projectId, String requester) {
         Project project = this.projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project " + projectId + " not found"));
         this.authorizationService.validateRequesterInProjectGroup(requester, project);
+        // callers render the group after the transaction, it may come from the second-level cache as a proxy
+        Hibernate.initialize(project.getGroup());
         return project;
     }
 
+    /**
+     * Get project with its group and group members, rendered before the transaction ends as they load lazily
+     *
+     * @param projectId the project id
+     * @param requester the username of action requester
+     * @return the project presentation model
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public com.bulletjournal.controller.models.Project getVerboseProject(Long projectId, String requester) {
+        return getProject(projectId, requester).toVerbosePresentationModel();
+    }
+
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public Project getProject(Long projectId) {
         return this.projectRepository.findById(projectId)
@@ -93,23 +119,17 @@ public class ProjectDaoJpa {
         User user = this.userDaoJpa.getByName(owner);
         // project owner -> project ids
         Map<String, Set<Long>> projectIds = new HashMap<>();
-        for (UserGroup userGroup : user.getGroups()) {
-            Group group = userGroup.getGroup();
-            if (!userGroup.isAccepted()) {
+        List<Long> groupIds = this.userGroupRepository.findAcceptedGroupIds(owner);
+        // skip shared projects
+        List<Project> groupProjects = groupIds.isEmpty() ? Collections.emptyList()
+                : this.projectRepository.findByGroupIdInAndSharedFalse(groupIds);
+        for (Project project : groupProjects) {
+            String projectOwner = project.getOwner();
+            if (Objects.equals(user.getName(), projectOwner)) {
+                // skip projects owned by me
                 continue;
             }
-            for (Project project : group.getProjects()) {
-                if (project.isShared()) {
-                    // skip shared projects
-                    continue;
-                }
-                String projectOwner = project.getOwner();
-                if (Objects.equals(user.getName(), projectOwner)) {
-                    // skip projects owned by me
-                    continue;
-                }
-                projectIds.computeIfAbsent(projectOwner, k -> new HashSet<>()).add(project.getId());
-            }
+            projectIds.computeIfAbsent(projectOwner, k -> new HashSet<>()).add(project.getId());
         }
 
         ProjectsWithOwner sharedItems = getSharedItems(user);
@@ -226,8 +246,7 @@ public class ProjectDaoJpa {
 
     private List<Event> generateEvents(Group group, String requester, Project project) {
         List<Event> events = new ArrayList<>();
-        for (UserGroup userGroup : group.getAcceptedUsers()) {
-            String targetUser = userGroup.getUser().getName();
+        for (String targetUser : this.userGroupRepository.findAcceptedUsernames(group.getId())) {
             if (targetUser.equals(requester)) {
                 continue;
             }
@@ -264,10 +283,8 @@ public class ProjectDaoJpa {
                     () -> new ResourceNotFoundException("Group " + updateProjectParams.getGroupId() + " not found"));
             project.setGroup(group);
 
-            Set<String> oldUsers = oldGroup.getAcceptedUsers().stream().map(u -> u.getUser().getName())
-                    .collect(Collectors.toSet());
-            Set<String> newUsers = group.getAcceptedUsers().stream().map(u -> u.getUser().getName())
-                    .collect(Collectors.toSet());
+            Set<String> oldUsers = new HashSet<>(this.userGroupRepository.findAcceptedUsernames(oldGroup.getId()));
+            Set<String> newUsers = new HashSet<>(this.userGroupRepository.findAcceptedUsernames(group.getId()));
 
             generateEvents(joined, removed, project, oldUsers, newUsers);
 
@@ -347,10 +364,8 @@ public class ProjectDaoJpa {
         List<Event> events = new ArrayList<>();
         for (Project p : targetProjects) {
             Long groupId = p.getGroup().getId();
-            List<UserGroup> userGroups = this.userGroupRepository.findAllByGroupIdAndAccepted(groupId, true);
-            for (UserGroup userGroup : userGroups) {
+            for (String username : this.userGroupRepository.findAcceptedUsernames(groupId)) {
                 // skip send event to self
-                String username = userGroup.getUser().getName();
                 if (username.equals(owner)) {
                     continue;
                 }
@@ -7,17 +7,19 @@ import com.bulletjournal.contents.ContentAction;
 import com.bulletjournal.contents.ContentType;
 import com.bulletjournal.controller.models.*;
 import com.bulletjournal.exceptions.BadRequestException;
+import com.bulletjournal.exceptions.ResourceConflictException;
 import com.bulletjournal.exceptions.ResourceNotFoundException;
 import com.bulletjournal.notifications.*;
 import com.bulletjournal.repository.models.ContentModel;
-import com.bulletjournal.repository.models.Group;
+import com.bulletjournal.repository.models.ContentSummary;
 import com.bulletjournal.repository.models.ProjectItemModel;
-import com.bulletjournal.repository.models.UserGroup;
 import com.bulletjournal.util.ContentDiffTool;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
 import java.math.BigInteger;
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -41,7 +46,7 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
     @Autowired
     private AuthorizationService authorizationService;
     @Autowired
-    private GroupDaoJpa groupDaoJpa;
+    protected GroupDaoJpa groupDaoJpa;
     @Autowired
     private SharedProjectItemDaoJpa sharedProjectItemDaoJpa;
     @Autowired
@@ -54,6 +59,8 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
     private ProjectRepository projectRepository;
     @Autowired
     private NotificationService notificationService;
+    @PersistenceContext
+    protected EntityManager entityManager;
 
     abstract <T extends ProjectItemModel> JpaRepository<T, Long> getJpaRepository();
 
@@ -61,6 +68,8 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
 
     abstract <T extends ProjectItemModel> List<K> findContents(T projectItem);
 
+    abstract List<ContentSummary> findContentSummaries(Long projectItemId);
+
     abstract List<Long> findItemLabelsByProject(com.bulletjournal.repository.models.Project project);
 
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
@@ -69,10 +78,10 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
         T projectItem = getProjectItem(projectItemId, requester);
         SharableLink sharableLink = this.publicProjectItemDaoJpa.generatePublicItemLink(projectItem, requester, ttl);
         this.notificationService.trackActivity(
-                new Auditable(projectItem.getProject().getId(),
-                        "shared " + projectItem.getContentType() +
-                                " ##" + projectItem.getName() + "## in BuJo ##" + projectItem.getProject().getName() +
-                                "## with link ##" + sharableLink.getLink() + "##",
+                new Auditable(projectItem.getProject().getId(), ActivityTemplate.SHARE_WITH_LINK,
+                        ImmutableMap.of(ActivityTemplate.TYPE, projectItem.getContentType().toString(),
+                                ActivityTemplate.NAME, projectItem.getName(),
+                                ActivityTemplate.LINK, sharableLink.getLink()),
                         requester, projectItemId, Timestamp.from(Instant.now()), ContentAction.SHARE));
         return sharableLink;
     }
@@ -87,22 +96,16 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
         }
 
         if (shareProjectItemParams.getTargetGroup() != null) {
-            Group group = this.groupDaoJpa.getGroup(shareProjectItemParams.getTargetGroup());
-            for (UserGroup userGroup : group.getAcceptedUsers()) {
-                users.add(userGroup.getUser().getName());
-            }
+            users.addAll(this.groupDaoJpa.getAcceptedUsernames(shareProjectItemParams.getTargetGroup()));
         }
 
         ProjectType projectType = ProjectType.getType(projectItem.getProject().getType());
         ShareProjectItemEvent event = this.sharedProjectItemDaoJpa.save(projectType, projectItem, users, requester);
-        this.notificationService.trackActivity(new Auditable(
-                projectItem.getProject().getId(),
-                "shared " + projectItem.getContentType() +
-                        " ##" + projectItem.getName() + "## in BuJo ##" + projectItem.getProject().getName() +
-                        "## with " +
-                        (users.size() == 1 ? "user ##" + users.get(0) :
-                                "users ##" + users.toString().substring(1, users.toString().length() - 1))
-                        + "##",
+        this.notificationService.trackActivity(new Auditable(projectItem.getProject().getId(),
+                users.size() == 1 ? ActivityTemplate.SHARE_WITH_USER : ActivityTemplate.SHARE_WITH_USERS,
+                ImmutableMap.of(ActivityTemplate.TYPE, projectItem.getContentType().toString(),
+                        ActivityTemplate.NAME, projectItem.getName(),
+                        ActivityTemplate.USERS, String.join(", ", users)),
                 requester, projectItemId, Timestamp.from(Instant.now()), ContentAction.SHARE));
         return event;
     }
@@ -152,7 +155,7 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
         T projectItem = getProjectItem(projectItemId, owner);
         content.setProjectItem(projectItem);
         content.setOwner(owner);
-        updateRevision(content, content.getText(), owner);
+        updateRevision(content, content.getText(), null, owner);
         this.getContentJpaRepository().save(content);
         return Pair.of(content, projectItem);
     }
@@ -175,8 +178,16 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
         this.authorizationService.checkAuthorizedToOperateOnContent(content.getOwner(), requester, ContentType.CONTENT,
                 Operation.UPDATE, content.getId(), projectItem.getOwner(), projectItem.getProject().getOwner(),
                 projectItem);
-        updateRevision(content, updateContentParams.getText(), requester);
-        content.setText(updateContentParams.getText());
+        validateUpdateContentParams(updateContentParams);
+        // concurrent updates of content wait here, so that each sees the revision the previous one added
+        this.entityManager.refresh(content, LockModeType.PESSIMISTIC_WRITE);
+        if (updateContentParams.hasDiff()) {
+            applyContentDiff(content, updateContentParams.getDiff(), updateContentParams.getBaseRevisionId(),
+                    requester);
+        } else {
+            updateRevision(content, updateContentParams.getText(), null, requester);
+            content.setText(updateContentParams.getText());
+        }
         this.getContentJpaRepository().save(content);
         return Pair.of(content, projectItem);
     }
@@ -199,24 +210,82 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
         ProjectItemModel projectItem = this.getJpaRepository().findById(projectItemId)
                 .orElseThrow(() -> new ResourceNotFoundException("projectItem " + projectItemId + " not found"));
         this.authorizationService.validateRequesterInProjectGroup(requester, projectItem);
+        // shared items and admins pass authorization without loading the project, callers read it after the
+        // transaction
+        Hibernate.initialize(projectItem.getProject());
+        Hibernate.initialize(projectItem.getProject().getGroup());
         return (T) projectItem;
     }
 
+    /**
+     * Get project items by id at once, instead of {@link #getProjectItem(Long, String)} for each of them.
+     *
+     * @param projectItemIds the project item ids
+     * @param requester      the requester username
+     * @return the project items that exist and the requester may read, by id
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
+    public <T extends ProjectItemModel> Map<Long, T> getProjectItems(Collection<Long> projectItemIds,
+                                                                     String requester) {
+        if (projectItemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<T> projectItems = this.<T>getJpaRepository().findAllById(projectItemIds);
+        return this.authorizationService.filterReadableProjectItems(requester, projectItems).stream()
+                .collect(Collectors.toMap(ProjectItemModel::getId, projectItem -> projectItem));
+    }
+
+    /**
+     * Get the project item of contents by id at once. Callers check access to the project items.
+     *
+     * @param contentIds the content ids
+     * @return the project item id of each content that exists, by content id
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
+    public Map<Long, Long> getContentProjectItemIds(Collection<Long> contentIds) {
+        if (contentIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return this.getContentJpaRepository().findAllById(contentIds).stream()
+                .collect(Collectors.toMap(ContentModel::getId, content -> content.getProjectItem().getId()));
+    }
+
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     protected <T extends ProjectItemModel> List<com.bulletjournal.controller.models.Label> getLabelsToProjectItem(
             T projectItem) {
         return this.labelDaoJpa.getLabels(projectItem.getLabels());
     }
 
+    /**
+     * Fetch labels of all project items in one query instead of one per item
+     *
+     * @return labels by id
+     */
+    protected <T extends ProjectItemModel> Map<Long, com.bulletjournal.controller.models.Label> getLabelsMap(
+            Collection<T> projectItems) {
+        Set<Long> labelIds = new HashSet<>();
+        projectItems.forEach(item -> labelIds.addAll(item.getLabels()));
+        return this.labelDaoJpa.getLabels(new ArrayList<>(labelIds)).stream()
+                .collect(Collectors.toMap(com.bulletjournal.controller.models.Label::getId, label -> label));
+    }
+
+    protected <T extends ProjectItemModel> List<com.bulletjournal.controller.models.Label> getLabelsToProjectItem(
+            T projectItem, Map<Long, com.bulletjournal.controller.models.Label> labelsMap) {
+        List<Long> labelIds = projectItem.getLabels();
+        return labelIds.stream().distinct().map(labelsMap::get).filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public SetLabelEvent setLabels(String requester, Long projectItemId, List<Long> labels) {
         ProjectItemModel projectItem = getProjectItem(projectItemId, requester);
         projectItem.setLabels(labels);
-        Set<UserGroup> targetUsers = projectItem.getProject().getGroup().getAcceptedUsers();
+        List<String> targetUsers = this.groupDaoJpa.getAcceptedUsernames(
+                projectItem.getProject().getGroup().getId());
         List<Event> events = new ArrayList<>();
-        for (UserGroup user : targetUsers) {
-            if (!Objects.equals(user.getUser().getName(), requester)) {
-                events.add(new Event(user.getUser().getName(), projectItemId, projectItem.getName()));
+        for (String user : targetUsers) {
+            if (!Objects.equals(user, requester)) {
+                events.add(new Event(user, projectItemId, projectItem.getName()));
             }
         }
 
@@ -253,13 +322,68 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
         throw new IllegalStateException("Cannot reach here");
     }
 
-    private void updateRevision(K content, String newText, String requester) {
+    private static void validateUpdateContentParams(UpdateContentParams updateContentParams) {
+        if (updateContentParams.hasDiff()) {
+            if (updateContentParams.getText() != null) {
+                throw new BadRequestException("Only one of text and diff is allowed");
+            }
+            if (updateContentParams.getBaseRevisionId() == null) {
+                throw new BadRequestException("baseRevisionId is required with diff");
+            }
+        } else if (StringUtils.isBlank(updateContentParams.getText())) {
+            throw new BadRequestException("Either text or diff is required");
+        }
+    }
+
+    /**
+     * Apply a client supplied diff to the latest text of content and record it as the new revision as is
+     *
+     * @param content        the content to update
+     * @param diff           diff-match-patch patch text
+     * @param baseRevisionId the revision the diff was made against, must be the latest revision
+     * @param requester      the username of action requester
+     */
+    private void applyContentDiff(K content, String diff, Long baseRevisionId, String requester) {
+        LinkedList<Revision> revisionList = getRevisionList(content);
+        Long latestRevisionId = revisionList.isEmpty() ? null : revisionList.getLast().getId();
+        if (!Objects.equals(latestRevisionId, baseRevisionId)) {
+            throw new ResourceConflictException("Content " + content.getId() + " is at revision " +
+                    latestRevisionId + ", not base revision " + baseRevisionId);
+        }
+        String newText = this.contentDiffTool.applyClientDiff(content.getText(), diff);
+        updateRevision(content, newText, diff, requester);
+        content.setText(newText);
+    }
+
+    /**
+     * Get revision history of content without diffs, revision text is fetched through getContentRevision
+     *
+     * @param requester     the username of action requester
+     * @param projectItemId the project item id
+     * @param contentId     the content id
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public <T extends ProjectItemModel> List<Revision> getContentRevisions(String requester, Long projectItemId,
+                                                                           Long contentId) {
+        T projectItem = getProjectItem(projectItemId, requester);
+        K content = getContent(contentId, requester);
+        Preconditions.checkState(Objects.equals(projectItem.getId(), content.getProjectItem().getId()),
+                "ProjectItem ID mismatch");
+        List<Revision> revisions = getRevisionList(content);
+        revisions.forEach(revision -> revision.setDiff(null));
+        return revisions;
+    }
+
+    private LinkedList<Revision> getRevisionList(K content) {
         String revisionsJson = content.getRevisions();
         if (revisionsJson == null) {
             revisionsJson = "[]";
         }
-        LinkedList<Revision> revisionList = new LinkedList<>(
-                Arrays.asList(GSON.fromJson(revisionsJson, Revision[].class)));
+        return new LinkedList<>(Arrays.asList(GSON.fromJson(revisionsJson, Revision[].class)));
+    }
+
+    private void updateRevision(K content, String newText, String diff, String requester) {
+        LinkedList<Revision> revisionList = getRevisionList(content);
         int maxRevisionNumber = revisionConfig.getMaxRevisionNumber();
         long nextRevisionId;
         if (revisionList.isEmpty()) {
@@ -273,10 +397,13 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
                 content.setBaseText(contentDiffTool.applyDiff(oldBaseText, diffToMerge));
             }
         }
-        String diff = contentDiffTool.computeDiff(content.getText(), newText);
+        if (diff == null) {
+            diff = contentDiffTool.computeDiff(content.getText(), newText);
+        }
         Revision newRevision = new Revision(nextRevisionId, diff, Instant.now().toEpochMilli(), new User(requester));
         revisionList.offerLast(newRevision);
         content.setRevisions(GSON.toJson(revisionList));
+        content.setLatestRevisionId(nextRevisionId);
     }
 
     /**
@@ -292,11 +419,23 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get Contents for project item listing, without baseText and revisions
+     *
+     * @param projectItemId the project item id
+     * @param requester     the username of action requester
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public List<ContentSummary> getContentSummaries(Long projectItemId, String requester) {
+        getProjectItem(projectItemId, requester);
+        return this.findContentSummaries(projectItemId);
+    }
+
     abstract <T extends ProjectItemModel> List<T> findRecentProjectItemsBetween(Timestamp startTime, Timestamp endTime, List projects);
 
     abstract List<Object[]> findRecentProjectItemContentsBetween(Timestamp startTime, Timestamp endTime, List projectIds);
 
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public <T extends ProjectItemModel> List<T> getRecentProjectItemsBetween(Timestamp startTime, Timestamp endTime, List<Long> projectIds) {
         Map<Long, T> projectItemIdMap = new HashMap<>();
 
@@ -305,6 +444,7 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
         projectItemModels.forEach(item -> projectItemIdMap.put(item.getId(), item));
 
         List<Object[]> projectItemJoinContentModels = this.findRecentProjectItemContentsBetween(startTime, endTime, projectIds);
+        Map<Long, Timestamp> contentUpdatedAt = new HashMap<>();
         projectItemJoinContentModels.forEach(item -> {
             Long projectItemId = null;
             Timestamp mostRecentTime = null;
@@ -315,14 +455,22 @@ public abstract class ProjectItemDaoJpa<K extends ContentModel> {
                     mostRecentTime = (Timestamp) o;
                 }
             }
-            if (!projectItemIdMap.containsKey(projectItemId)) {
-                T projectItem = (T) this.getJpaRepository().findById(projectItemId).get();
-                projectItem.setUpdatedAt(mostRecentTime);
-                projectItemIdMap.put(projectItemId, projectItem);
-            } else if (projectItemIdMap.get(projectItemId).getUpdatedAt().compareTo(mostRecentTime) == -1)
-                projectItemIdMap.get(projectItemId).setUpdatedAt(mostRecentTime);
+            contentUpdatedAt.merge(projectItemId, mostRecentTime, (t1, t2) -> t1.compareTo(t2) >= 0 ? t1 : t2);
         });
 
+        // items only recent by content are fetched together
+        Set<Long> missingIds = contentUpdatedAt.keySet().stream()
+                .filter(id -> !projectItemIdMap.containsKey(id)).collect(Collectors.toSet());
+        if (!missingIds.isEmpty()) {
+            this.<T>getJpaRepository().findAllById(missingIds).forEach(item -> projectItemIdMap.put(item.getId(), item));
+        }
+        contentUpdatedAt.forEach((projectItemId, mostRecentTime) -> {
+            T projectItem = projectItemIdMap.get(projectItemId);
+            if (projectItem != null && (missingIds.contains(projectItemId)
+                    || projectItem.getUpdatedAt().compareTo(mostRecentTime) < 0)) {
+                projectItem.setUpdatedAt(mostRecentTime);
+            }
+        });
 
         return new ArrayList<>(projectItemIdMap.values());
     }
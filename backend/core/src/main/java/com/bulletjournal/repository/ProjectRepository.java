@@ -0,0 +1,33 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.repository.models.Project;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
+
+@Repository
+public interface ProjectRepository extends JpaRepository<Project, Long> {
+    List<Project> findByOwner(String owner);
+
+    List<Project> findByNameAndOwner(String name, String owner);
+
+    List<Project> findByOwnerAndSharedTrue(String owner);
+
+    List<Project> findByGroupIdInAndSharedFalse(Collection<Long> groupIds);
+
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    @Query("SELECT DISTINCT project.id FROM Project project JOIN project.group projectGroup "
+            + "JOIN projectGroup.users userGroup "
+            + "WHERE userGroup.user.name = :username AND userGroup.accepted = TRUE "
+            + "AND (:includeShared = TRUE OR project.shared = FALSE)")
+    List<Long> findIdsByAcceptedMember(@Param("username") String username,
+                                       @Param("includeShared") boolean includeShared);
+}
\ No newline at end of file
@@ -102,9 +102,4 @@ public class PublicProjectItemDaoJpa {
                 .findAny().orElseThrow(() -> new ResourceNotFoundException("Link " + link + " not found"));
         this.publicProjectItemRepository.delete(publicProjectItem);
     }
-
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
-    public void deleteAllExpiredPublicItems() {
-        this.publicProjectItemRepository.deleteByExpirationTimeBefore(new Timestamp(System.currentTimeMillis()));
-    }
 }
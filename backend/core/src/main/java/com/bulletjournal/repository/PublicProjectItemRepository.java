@@ -3,21 +3,21 @@ package com.bulletjournal.repository;
 import com.bulletjournal.repository.models.Note;
 import com.bulletjournal.repository.models.PublicProjectItem;
 import com.bulletjournal.repository.models.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PublicProjectItemRepository extends JpaRepository<PublicProjectItem, String> {
+    // the linked item is read after the transaction
+    @EntityGraph(attributePaths = {"task", "note"})
+    @Override
+    Optional<PublicProjectItem> findById(String id);
+
     List<PublicProjectItem> findByTask(Task task);
 
     List<PublicProjectItem> findByNote(Note note);
-
-    @Modifying
-    @Transactional
-    void deleteByExpirationTimeBefore(Timestamp expiryTime);
 }
@@ -0,0 +1,232 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.clients.UserClient;
+import com.bulletjournal.config.ReplicaConfig;
+import com.bulletjournal.util.CustomThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends connections of read-only transactions to the replica pool and all others to the primary pool. The replica
+ * lag is checked every lagCheckIntervalInMillis, reads stay on the primary while the replica lags behind by more
+ * than maxLagInSeconds or cannot be reached. A user also reads from the primary for maxLagInSeconds after their last
+ * read-write transaction, so that they read their own writes on any thread and node: writes are kept by the user in
+ * MDC, on this node and in Redis for the others. Redis is asked about a user at most once every
+ * writeCheckIntervalInMillis, writes it reports are kept on this node like local ones. Writes without a user, such
+ * as those of daemons, are kept by thread. Wrap it in a LazyConnectionDataSourceProxy, the transaction manager asks
+ * for a connection before the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    // a server that is not a standby, or has replayed everything it received, does not lag
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    static final String WRITTEN_KEY_PREFIX = "replica:written:";
+
+    // System.nanoTime() when the last read-write transaction of this thread completed, for work without a user
+    private static final ThreadLocal<Long> LAST_WRITE_NANOS = new ThreadLocal<>();
+
+    enum Pool {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaConfig replicaConfig;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ScheduledExecutorService executorService;
+    // System.nanoTime() of the last read-write transaction by user on this node
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    // System.nanoTime() when the write of user was last stored in Redis
+    private final Map<String, Long> publishedWriteNanos = new ConcurrentHashMap<>();
+    // System.nanoTime() when Redis last had no write of user
+    private final Map<String, Long> checkedWriteNanos = new ConcurrentHashMap<>();
+    private volatile boolean replicaUsable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaConfig replicaConfig,
+                                    StringRedisTemplate stringRedisTemplate) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaConfig = replicaConfig;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("replica-lag"));
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(Pool.PRIMARY, primary);
+        targetDataSources.put(Pool.REPLICA, replica);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        long interval = this.replicaConfig.getLagCheckIntervalInMillis();
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Invalid lagCheckIntervalInMillis: " + interval);
+        }
+        this.executorService.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        this.executorService.shutdownNow();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = MDC.get(UserClient.USER_NAME_KEY);
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                markWrite(user);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        markWrite(user);
+                        publishWrite(user);
+                    }
+                });
+            }
+            return Pool.PRIMARY;
+        }
+        if (!this.replicaUsable || wroteRecently(user)) {
+            return Pool.PRIMARY;
+        }
+        return Pool.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource dataSource = determineTargetDataSource();
+        if (dataSource != this.replica) {
+            return dataSource.getConnection();
+        }
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            LOGGER.error("Failed to connect to replica, reading from primary", e);
+            this.replicaUsable = false;
+            return this.primary.getConnection();
+        }
+    }
+
+    private void markWrite(String user) {
+        if (user == null) {
+            LAST_WRITE_NANOS.set(System.nanoTime());
+        } else {
+            this.lastWriteNanos.put(user, System.nanoTime());
+        }
+    }
+
+    /**
+     * Store the write of user in Redis for twice maxLagInSeconds, at most once every maxLagInSeconds, so that the
+     * key outlives each write by maxLagInSeconds with one Redis call per user and period
+     */
+    private void publishWrite(String user) {
+        long maxLagInSeconds = this.replicaConfig.getMaxLagInSeconds();
+        if (user == null || maxLagInSeconds <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        Long published = this.publishedWriteNanos.get(user);
+        if (published != null && now - published < TimeUnit.SECONDS.toNanos(maxLagInSeconds)) {
+            return;
+        }
+        try {
+            this.stringRedisTemplate.opsForValue().set(WRITTEN_KEY_PREFIX + user, "", 2 * maxLagInSeconds,
+                    TimeUnit.SECONDS);
+            this.publishedWriteNanos.put(user, now);
+        } catch (Exception e) {
+            LOGGER.error("Failed to store write of " + user + ", other nodes may read it from replica", e);
+        }
+    }
+
+    private boolean wroteRecently(String user) {
+        long maxLagNanos = TimeUnit.SECONDS.toNanos(this.replicaConfig.getMaxLagInSeconds());
+        if (maxLagNanos <= 0) {
+            return false;
+        }
+        Long lastWrite = user == null ? LAST_WRITE_NANOS.get() : this.lastWriteNanos.get(user);
+        if (lastWrite != null && System.nanoTime() - lastWrite < maxLagNanos) {
+            return true;
+        }
+        if (user == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        Long checked = this.checkedWriteNanos.get(user);
+        if (checked != null
+                && now - checked < TimeUnit.MILLISECONDS.toNanos(this.replicaConfig.getWriteCheckIntervalInMillis())) {
+            return false;
+        }
+        try {
+            if (Boolean.TRUE.equals(this.stringRedisTemplate.hasKey(WRITTEN_KEY_PREFIX + user))) {
+                // written on another node, stay on the primary without asking again
+                this.lastWriteNanos.put(user, now);
+                return true;
+            }
+            this.checkedWriteNanos.put(user, now);
+            return false;
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read writes of {}, reading from primary: {}", user, e.getMessage());
+            return true;
+        }
+    }
+
+    private void evictWrites() {
+        long expired = System.nanoTime() - 2 * TimeUnit.SECONDS.toNanos(this.replicaConfig.getMaxLagInSeconds());
+        this.lastWriteNanos.values().removeIf(nanos -> nanos - expired < 0);
+        this.publishedWriteNanos.values().removeIf(nanos -> nanos - expired < 0);
+        long checkExpired = System.nanoTime()
+                - TimeUnit.MILLISECONDS.toNanos(this.replicaConfig.getWriteCheckIntervalInMillis());
+        this.checkedWriteNanos.values().removeIf(nanos -> nanos - checkExpired < 0);
+    }
+
+    private void checkLag() {
+        evictWrites();
+        boolean usable;
+        try (Connection connection = this.replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double lagInSeconds = resultSet.getDouble(1);
+            usable = lagInSeconds <= this.replicaConfig.getMaxLagInSeconds();
+            if (!usable && this.replicaUsable) {
+                LOGGER.warn("Replica lags behind by {} seconds, reading from primary", lagInSeconds);
+            }
+        } catch (Exception e) {
+            usable = false;
+            if (this.replicaUsable) {
+                LOGGER.error("Failed to check replica lag, reading from primary", e);
+            }
+        }
+        if (usable && !this.replicaUsable) {
+            LOGGER.info("Reading from replica");
+        }
+        this.replicaUsable = usable;
+    }
+}
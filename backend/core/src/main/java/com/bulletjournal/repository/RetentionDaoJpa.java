@@ -0,0 +1,103 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.daemon.models.RetentionJob;
+import org.hibernate.jpa.TypedParameterValue;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StringType;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Deletes expired rows in small keyset chunks with plain SQL, so that nothing is loaded into the
+ * persistence context and no statement holds locks for long. Progress is checkpointed per job
+ * in retention_checkpoints so that a restarted job resumes where it stopped.
+ */
+@Repository
+public class RetentionDaoJpa {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Delete up to chunkSize expired rows after the job's checkpoint and move the checkpoint forward.
+     * Checkpoint is cleared once the scan reaches the end of table.
+     *
+     * @return number of rows deleted
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public int deleteChunk(RetentionJob job, Timestamp expirationTime, int chunkSize) {
+        String checkpoint = getCheckpoint(job.getName());
+        Query select = this.entityManager.createNativeQuery(
+                "SELECT CAST(" + job.getKeyColumn() + " AS text) FROM " + job.getTable() +
+                        " WHERE " + job.getTimeColumn() + " < ?" + afterCheckpoint(job, checkpoint) +
+                        " ORDER BY " + job.getKeyColumn() + " LIMIT ?");
+        int position = 1;
+        select.setParameter(position++, expirationTime);
+        if (checkpoint != null) {
+            select.setParameter(position++, checkpoint);
+        }
+        select.setParameter(position, chunkSize);
+        List<?> keys = select.getResultList();
+
+        if (keys.isEmpty()) {
+            saveCheckpoint(job.getName(), null);
+            return 0;
+        }
+
+        StringBuilder queryBuilder = new StringBuilder("DELETE FROM " + job.getTable() + " WHERE " +
+                job.getKeyColumn() + " IN (");
+        keys.forEach(key -> queryBuilder.append("CAST(? AS ").append(job.getKeyType()).append("),"));
+        queryBuilder.setCharAt(queryBuilder.length() - 1, ')');
+        Query delete = this.entityManager.createNativeQuery(queryBuilder.toString());
+        for (int i = 0; i < keys.size(); i++) {
+            delete.setParameter(i + 1, keys.get(i).toString());
+        }
+        int deleted = delete.unwrap(NativeQuery.class).addSynchronizedQuerySpace(job.getTable()).executeUpdate();
+
+        saveCheckpoint(job.getName(), keys.size() < chunkSize ? null : keys.get(keys.size() - 1).toString());
+        return deleted;
+    }
+
+    /**
+     * @return number of expired rows not deleted yet
+     */
+    public long countBacklog(RetentionJob job, Timestamp expirationTime) {
+        return ((Number) this.entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM " + job.getTable() + " WHERE " + job.getTimeColumn() + " < ?")
+                .setParameter(1, expirationTime)
+                .getSingleResult()).longValue();
+    }
+
+    public String getCheckpoint(String job) {
+        List<?> rows = this.entityManager.createNativeQuery(
+                "SELECT last_key FROM retention_checkpoints WHERE job = ?")
+                .setParameter(1, job)
+                .getResultList();
+        return rows.isEmpty() || rows.get(0) == null ? null : rows.get(0).toString();
+    }
+
+    private void saveCheckpoint(String job, String lastKey) {
+        this.entityManager.createNativeQuery("INSERT INTO retention_checkpoints (job, last_key, updated_at) " +
+                "VALUES (?, ?, now()) ON CONFLICT (job) DO UPDATE SET last_key = excluded.last_key, " +
+                "updated_at = excluded.updated_at")
+                .setParameter(1, job)
+                .setParameter(2, new TypedParameterValue(StringType.INSTANCE, lastKey))
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("retention_checkpoints")
+                .executeUpdate();
+    }
+
+    private static String afterCheckpoint(RetentionJob job, String checkpoint) {
+        if (checkpoint == null) {
+            return "";
+        }
+        return " AND " + job.getKeyColumn() + " > CAST(? AS " + job.getKeyType() + ")";
+    }
+}
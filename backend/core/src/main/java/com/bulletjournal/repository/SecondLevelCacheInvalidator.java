@@ -0,0 +1,176 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.config.SecondLevelCacheConfig;
+import com.bulletjournal.util.CustomThreadFactory;
+import com.google.gson.Gson;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps second-level caches of all nodes consistent. Hibernate updates the cache of the node that commits a change,
+ * this publishes the changed entity to the other nodes, which evict it, the collections and the query results over
+ * its table. They evict it again after reevictDelayInMillis, a load that read the old row before the commit may have
+ * put it back. An invalidation lost while Redis is unreachable is bounded by the time to live of the regions.
+ */
+public class SecondLevelCacheInvalidator implements MessageListener, InitializingBean, DisposableBean,
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+    private static final Gson GSON = new Gson();
+
+    private final String node = UUID.randomUUID().toString();
+    private final ScheduledExecutorService executorService =
+            Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("cache-invalidation"));
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private SecondLevelCacheConfig secondLevelCacheConfig;
+
+    private SessionFactoryImplementor sessionFactory;
+
+    static class Invalidation {
+        private String node;
+        private String entityName;
+        // identifier as JSON of the identifier class of the entity
+        private String id;
+        // no other node can have cached a row before its insert was committed
+        private boolean insert;
+
+        Invalidation(String node, String entityName, String id, boolean insert) {
+            this.node = node;
+            this.entityName = entityName;
+            this.id = id;
+            this.insert = insert;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.sessionFactory = this.entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = this.sessionFactory.getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void destroy() {
+        this.executorService.shutdownNow();
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId(), true);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void publish(EntityPersister persister, Serializable id, boolean insert) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        Invalidation invalidation = new Invalidation(this.node, persister.getEntityName(), GSON.toJson(id),
+                insert);
+        try {
+            this.stringRedisTemplate.convertAndSend(this.secondLevelCacheConfig.getInvalidationChannel(),
+                    GSON.toJson(invalidation));
+        } catch (Exception e) {
+            LOGGER.error("Failed to publish invalidation of {} {}", invalidation.entityName, invalidation.id, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation = GSON.fromJson(new String(message.getBody(), StandardCharsets.UTF_8),
+                Invalidation.class);
+        if (this.node.equals(invalidation.node)) {
+            return;
+        }
+        evict(invalidation);
+        this.executorService.schedule(() -> evict(invalidation),
+                this.secondLevelCacheConfig.getReevictDelayInMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void evict(Invalidation invalidation) {
+        try {
+            EntityPersister persister = this.sessionFactory.getMetamodel().entityPersister(invalidation.entityName);
+            Serializable id = (Serializable) GSON.fromJson(invalidation.id,
+                    persister.getIdentifierType().getReturnedClass());
+            CacheImplementor cache = this.sessionFactory.getCache();
+            if (!invalidation.insert) {
+                cache.evictEntityData(invalidation.entityName, id);
+            }
+            // inverse collections are keyed by their owner, which the message does not name,
+            // so all collections of the roles the entity takes part in are evicted
+            Set<String> roles = this.sessionFactory.getMetamodel()
+                    .getCollectionRolesByEntityParticipant(invalidation.entityName);
+            if (roles != null) {
+                roles.forEach(cache::evictCollectionData);
+            }
+            if (this.sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+                Serializable[] spaces = persister.getQuerySpaces();
+                try (Session session = this.sessionFactory.openSession()) {
+                    // results of queries that started before are stale from now on
+                    cache.getTimestampsCache().invalidate(Arrays.copyOf(spaces, spaces.length, String[].class),
+                            (SharedSessionContractImplementor) session);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to evict {} {}", invalidation.entityName, invalidation.id, e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.bulletjournal.repository;
 import com.bulletjournal.repository.models.Note;
 import com.bulletjournal.repository.models.SharedProjectItem;
 import com.bulletjournal.repository.models.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +12,8 @@ import java.util.List;
 @Repository
 public interface SharedProjectItemRepository extends JpaRepository<SharedProjectItem, Long>,
         SharedProjectItemRepositoryCustom {
+    // shared items with their task, note or transaction in one query
+    @EntityGraph(attributePaths = {"task", "note", "transaction"})
     List<SharedProjectItem> findByUsername(String username);
 
     List<SharedProjectItem> findByTask(Task task);
@@ -20,13 +20,15 @@ public class SharedProjectItemRepositoryImpl implements SharedProjectItemReposit
     @Override
     public List<SharedProjectItem> findSharedProjectItemsByLabelIds(String username, List<Long> labelIds) {
         StringBuilder queryString = new StringBuilder("SELECT * FROM shared_project_items WHERE " +
-                "shared_project_items.username = '" + username + "' AND ? = ANY(shared_project_items.labels)");
+                "shared_project_items.username = ? AND shared_project_items.labels @> ARRAY[?");
         for (int i = 1; i < labelIds.size(); i++) {
-            queryString.append(" and ? = ANY(shared_project_items.labels)");
+            queryString.append(", ?");
         }
+        queryString.append("]");
         Query query = entityManager.createNativeQuery(queryString.toString(), SharedProjectItem.class);
+        query.setParameter(1, username);
         for (int i = 1; i <= labelIds.size(); i++) {
-            query.setParameter(i, labelIds.get(i - 1));
+            query.setParameter(i + 1, labelIds.get(i - 1));
         }
         return query.getResultList();
     }
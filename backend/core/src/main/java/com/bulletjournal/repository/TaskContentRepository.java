@@ -1,5 +1,6 @@
 package com.bulletjournal.repository;
 
+import com.bulletjournal.repository.models.ContentSummary;
 import com.bulletjournal.repository.models.Task;
 import com.bulletjournal.repository.models.TaskContent;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,6 +15,11 @@ import java.util.List;
 public interface TaskContentRepository extends JpaRepository<TaskContent, Long> {
     List<TaskContent> findTaskContentByTask(Task task);
 
+    @Query("SELECT new com.bulletjournal.repository.models.ContentSummary(taskContent.id, taskContent.owner, taskContent.text, "
+            + "taskContent.createdAt, taskContent.updatedAt, taskContent.latestRevisionId) FROM TaskContent taskContent WHERE taskContent.task.id = :taskId "
+            + "ORDER BY taskContent.updatedAt DESC")
+    List<ContentSummary> findContentSummariesByTask(@Param("taskId") Long taskId);
+
     @Query("SELECT taskContent FROM TaskContent taskContent WHERE taskContent.updatedAt >= :startTime AND taskContent.updatedAt <= :endTime")
     List<TaskContent> findRecentTaskContentsBetween(@Param("startTime") Timestamp startTime,
                                                     @Param("endTime") Timestamp endTime);
@@ -17,9 +17,9 @@ import com.bulletjournal.notifications.Event;
 import com.bulletjournal.notifications.UpdateTaskAssigneeEvent;
 import com.bulletjournal.repository.models.Project;
 import com.bulletjournal.repository.models.Task;
-import com.bulletjournal.repository.models.UserGroup;
 import com.bulletjournal.repository.models.*;
 import com.bulletjournal.repository.utils.DaoHelper;
+import com.bulletjournal.repository.utils.KeysetCursor;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.apache.commons.lang3.StringUtils;
@@ -38,8 +38,6 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.persistence.EntityManager;
-import javax.persistence.PersistenceContext;
 import java.sql.Timestamp;
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -56,9 +54,6 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
     private static final Gson GSON_ALLOW_EXPOSE_ONLY = new GsonBuilder().excludeFieldsWithoutExposeAnnotation()
             .create();
 
-    @PersistenceContext
-    EntityManager entityManager;
-
     @Autowired
     private TaskRepository taskRepository;
 
@@ -96,7 +91,7 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
      * @return List<com.bulletjournal.controller.models.Task> - a list of controller
      * model tasks with labels
      */
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 100))
     public List<com.bulletjournal.controller.models.Task> getTasks(Long projectId, String requester) {
         Project project = this.projectDaoJpa.getProject(projectId, requester);
@@ -123,8 +118,9 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
                 final Map<Long, Task> taskMap = tasks.stream().filter(t -> processedIds.contains(t.getId()))
                         .collect(Collectors.toMap(n -> n.getId(), n -> n));
 
+                final Map<Long, com.bulletjournal.controller.models.Label> labelsMap = getLabelsMap(taskMap.values());
                 ret.addAll(TaskRelationsProcessor.processRelations(taskMap, keptHierarchy).stream()
-                        .map(task -> addLabels(task, taskMap)).collect(Collectors.toList()));
+                        .map(task -> addLabels(task, taskMap, labelsMap)).collect(Collectors.toList()));
 
                 tasks = tasks.stream().filter(t -> !processedIds.contains(t.getId())).collect(Collectors.toList());
             }
@@ -141,8 +137,9 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
         ProjectTasks projectTasks = projectTasksOptional.get();
         final Map<Long, Task> tasksMap = this.taskRepository.findTaskByProject(project).stream()
                 .collect(Collectors.toMap(Task::getId, n -> n));
+        final Map<Long, com.bulletjournal.controller.models.Label> labelsMap = getLabelsMap(tasksMap.values());
         return TaskRelationsProcessor.processRelations(tasksMap, projectTasks.getTasks()).stream()
-                .map(task -> addLabels(task, tasksMap)).collect(Collectors.toList());
+                .map(task -> addLabels(task, tasksMap, labelsMap)).collect(Collectors.toList());
     }
 
     /**
@@ -204,18 +201,22 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
      * @param task     the task object
      * @param tasksMap the Map object mapping relationship between TaskId and Task
      *                 Instance
+     * @param labelsMap labels of all tasks by id
      * @return com.bulletjournal.controller.models.Task - task instance with labels
      */
     private com.bulletjournal.controller.models.Task addLabels(com.bulletjournal.controller.models.Task task,
-                                                               Map<Long, Task> tasksMap) {
-        List<com.bulletjournal.controller.models.Label> labels = getLabelsToProjectItem(tasksMap.get(task.getId()));
+                                                               Map<Long, Task> tasksMap,
+                                                               Map<Long, com.bulletjournal.controller.models.Label> labelsMap) {
+        List<com.bulletjournal.controller.models.Label> labels =
+                getLabelsToProjectItem(tasksMap.get(task.getId()), labelsMap);
         task.setLabels(labels);
         for (com.bulletjournal.controller.models.Task subTask : task.getSubTasks()) {
-            addLabels(subTask, tasksMap);
+            addLabels(subTask, tasksMap, labelsMap);
         }
         return task;
     }
 
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public Pair<Task, List<Event>> setTaskStatus(TaskStatus taskStatus, Long taskId, String requester) {
         Task task = this.getProjectItem(taskId, requester);
         task.setStatus(taskStatus.getValue());
@@ -270,7 +271,7 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
      * @return List<com.bulletjournal.controller.models.Task> - a list of tasks to
      * be reminded
      */
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<com.bulletjournal.controller.models.Task> getRemindingTasks(String assignee, ZonedDateTime now) {
         Timestamp currentTime = Timestamp.from(now.toInstant());
         // Subtract current time by 10 minutes to compare with task's starting time
@@ -297,7 +298,7 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
      * @param endTime   the ZonedDateTime object of end time
      * @return List<com.bulletjournal.controller.models.Task> - a list of tasks
      */
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<Task> getTasksBetween(String assignee, ZonedDateTime startTime, ZonedDateTime endTime) {
         List<Task> tasks = this.taskRepository.findTasksOfAssigneeBetween(assignee,
                 ZonedDateTimeHelper.toDBTimestamp(startTime), ZonedDateTimeHelper.toDBTimestamp(endTime));
@@ -319,7 +320,7 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
      * @param now      the ZonedDateTime object of the current time
      * @return List<com.bulletjournal.controller.models.Task> - a list of tasks
      */
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<com.bulletjournal.controller.models.Task> getRecurringTaskNeedReminding(final String assignee,
                                                                                         final ZonedDateTime now) {
         ZonedDateTime maxRemindingTime = now.plusHours(ZonedDateTimeHelper.MAX_HOURS_BEFORE);
@@ -361,7 +362,7 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
      * @param endTime   the requested range end time
      * @return List<Task> - a list of recurrent tasks within the time range
      */
-    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<Task> getRecurringTaskOfAssignee(String assignee, ZonedDateTime startTime, ZonedDateTime endTime) {
         List<Task> recurringTasks = this.taskRepository.findTasksByAssigneeAndRecurrenceRuleNotNull(assignee);
         return getRecurringTasks(recurringTasks, startTime, endTime);
@@ -811,10 +812,9 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
      */
     private List<Event> generateEvents(TaskModel task, String requester, Project project) {
         List<Event> events = new ArrayList<>();
-        for (UserGroup userGroup : project.getGroup().getAcceptedUsers()) {
+        for (String username : this.groupDaoJpa.getAcceptedUsernames(project.getGroup().getId())) {
             // skip send event to self
-            String username = userGroup.getUser().getName();
-            if (userGroup.getUser().getName().equals(requester)) {
+            if (username.equals(requester)) {
                 continue;
             }
             events.add(new Event(username, task.getId(), task.getName()));
@@ -833,34 +833,62 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
     public List<CompletedTask> getCompletedTasks(Long projectId, String requester, Integer pageNo, Integer pageSize) {
         Project project = this.projectDaoJpa.getProject(projectId, requester);
 
-        Pageable paging = PageRequest.of(pageNo, pageSize, Sort.by("id").descending());
+        Pageable paging = PageRequest.of(pageNo, pageSize, Sort.by("updatedAt").descending()
+                .and(Sort.by("id").descending()));
 
         List<CompletedTask> completedTasks = this.completedTaskRepository.findCompletedTaskByProject(project, paging);
         completedTasks.forEach(t -> t.setLabels(Collections.emptyList()));
-        return completedTasks.stream().sorted((c1, c2) -> c2.getUpdatedAt().compareTo(c1.getUpdatedAt()))
-                .collect(Collectors.toList());
+        return completedTasks;
     }
 
+    /**
+     * Get a page of completed tasks ordered by (updatedAt, id) descending, starting after cursor. With a date range,
+     * which filters on createdAt, they are ordered by (createdAt, id) descending instead.
+     *
+     * @param projectId the project id
+     * @param requester the username of action requester
+     * @param cursor    cursor returned with the previous page, blank for the first page
+     * @param pageSize  the max number of completed tasks to return
+     * @param assignee  optional assignee filter, only applied with a date range
+     * @param startDate optional start date of the date range
+     * @param endDate   optional end date of the date range
+     * @param timezone  timezone of the date range
+     * @return completed tasks in this page and the cursor of the next page, null if this is the last page
+     */
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
-    public List<CompletedTask> getCompletedTasksBetween(Long projectId, String assignee, String requester,
-                                                        String startDate, String endDate, String timezone) {
+    public Pair<List<CompletedTask>, String> getCompletedTasks(Long projectId, String requester, String cursor,
+                                                               Integer pageSize, String assignee, String startDate,
+                                                               String endDate, String timezone) {
         Project project = this.projectDaoJpa.getProject(projectId, requester);
-        ZonedDateTime startTime = ZonedDateTimeHelper.getStartTime(startDate, null, timezone);
-        ZonedDateTime endTime = ZonedDateTimeHelper.getEndTime(endDate, null, timezone);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // fetch one extra row to know if there is a next page
+        int limit = pageSize + 1;
 
         List<CompletedTask> completedTasks;
-
-        if (StringUtils.isNotBlank(assignee) && !EVERYONE.equals(assignee)) {
-            completedTasks = this.completedTaskRepository.findCompletedTaskByAssigneeBetween(projectId, assignee,
-                    Timestamp.from(startTime.toInstant()), Timestamp.from(endTime.toInstant()));
+        boolean inRange = StringUtils.isNotBlank(startDate) && StringUtils.isNotBlank(endDate);
+        if (inRange) {
+            Timestamp startTime = Timestamp.from(ZonedDateTimeHelper.getStartTime(startDate, null, timezone).toInstant());
+            Timestamp endTime = Timestamp.from(ZonedDateTimeHelper.getEndTime(endDate, null, timezone).toInstant());
+            if (StringUtils.isNotBlank(assignee) && !EVERYONE.equals(assignee)) {
+                completedTasks = this.completedTaskRepository.findCompletedTaskByAssigneeBetweenBefore(projectId,
+                        assignee, startTime, endTime, after.getTime(), after.getId(), limit);
+            } else {
+                completedTasks = this.completedTaskRepository.findCompletedTaskBetweenBefore(project, startTime,
+                        endTime, after.getTime(), after.getId(), PageRequest.of(0, limit));
+            }
         } else {
-            completedTasks = this.completedTaskRepository.findCompletedTaskBetween(project,
-                    Timestamp.from(startTime.toInstant()), Timestamp.from(endTime.toInstant()));
+            completedTasks = this.completedTaskRepository.findCompletedTaskByProjectBefore(project,
+                    after.getTime(), after.getId(), PageRequest.of(0, limit));
         }
 
+        String nextCursor = null;
+        if (completedTasks.size() > pageSize) {
+            completedTasks = new ArrayList<>(completedTasks.subList(0, pageSize));
+            CompletedTask last = completedTasks.get(pageSize - 1);
+            nextCursor = new KeysetCursor(inRange ? last.getCreatedAt() : last.getUpdatedAt(), last.getId()).encode();
+        }
         completedTasks.forEach(t -> t.setLabels(Collections.emptyList()));
-        return completedTasks.stream().sorted((c1, c2) -> c2.getUpdatedAt().compareTo(c1.getUpdatedAt()))
-                .collect(Collectors.toList());
+        return Pair.of(completedTasks, nextCursor);
     }
 
     /**
@@ -955,6 +983,11 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
         return this.taskContentRepository.findTaskContentByTask((Task) projectItem);
     }
 
+    @Override
+    List<ContentSummary> findContentSummaries(Long projectItemId) {
+        return this.taskContentRepository.findContentSummariesByTask(projectItemId);
+    }
+
     @Override
     List<Long> findItemLabelsByProject(Project project) {
         return taskRepository.findUniqueLabelsByProject(project.getId());
@@ -966,6 +999,7 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
         return Arrays.asList(GSON.fromJson(task.getContents(), TaskContent[].class));
     }
 
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public boolean isTaskModified(Task task, String requester) {
         if (Math.abs(task.getCreatedAt().getTime() - task.getUpdatedAt().getTime()) > 1000) {
             return true;
@@ -1007,6 +1041,7 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
     }
 
 
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public List<String> getDeleteESDocumentIdsForProjectItem(String requester, Long taskId) {
         List<String> deleteESDocumentIds = new ArrayList<>();
         Task task = this.getProjectItem(taskId, requester);
@@ -1020,6 +1055,7 @@ public class TaskDaoJpa extends ProjectItemDaoJpa<TaskContent> {
         return deleteESDocumentIds;
     }
 
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public List<String> getDeleteESDocumentIdsForContent(String requester, Long contentId) {
         List<String> deleteESDocumentIds = new ArrayList<>();
         TaskContent content = this.getContent(contentId, requester);
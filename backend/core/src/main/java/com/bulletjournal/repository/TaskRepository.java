@@ -18,30 +18,32 @@ public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositor
 
     List<Task> findTaskByProject(Project project);
 
-    @Query(value = "SELECT * FROM tasks WHERE :assignee = ANY(tasks.assignees) AND tasks.project_id = :project_id", nativeQuery = true)
+    // GIN indexes on assignees serve "assignees @> ARRAY[...]" only and btree_gin cannot compare start_time with
+    // the timestamptz of to_timestamp, QueryPlanRegressionTest fails if a query falls back to a seq scan
+    @Query(value = "SELECT * FROM tasks WHERE tasks.assignees @> ARRAY[CAST(:assignee AS text)] AND tasks.project_id = :project_id", nativeQuery = true)
     List<Task> findTasksByAssigneeAndProject(@Param("assignee") String assignee,
                                              @Param("project_id") Long projectId);
 
-    @Query(value = "SELECT * FROM tasks WHERE :assignee = ANY(tasks.assignees) AND tasks.recurrence_rule IS NOT NULL", nativeQuery = true)
+    @Query(value = "SELECT * FROM tasks WHERE tasks.assignees @> ARRAY[CAST(:assignee AS text)] AND tasks.recurrence_rule IS NOT NULL", nativeQuery = true)
     List<Task> findTasksByAssigneeAndRecurrenceRuleNotNull(@Param("assignee") String assignee);
 
     List<Task> findTasksByRecurrenceRuleNotNull();
 
     @Query(value = "SELECT * FROM tasks WHERE tasks.start_time IS NOT NULL AND tasks.reminder_date_time IS NOT NULL"
-            + " AND tasks.start_time >= to_timestamp(:start, 'YYYY-MM-DD HH24:MI:SS') AND tasks.reminder_date_time <= to_timestamp(:end, 'YYYY-MM-DD HH24:MI:SS')", nativeQuery = true)
+            + " AND tasks.start_time >= CAST(:start AS timestamp) AND tasks.reminder_date_time <= CAST(:end AS timestamp)", nativeQuery = true)
     List<Task> findRemindingTasksBetween(@Param("start") String start, @Param("end") String end);
 
     Optional<Task> findTaskByGoogleCalendarEventId(String googleCalendarEventId);
 
-    @Query(value = "SELECT * FROM tasks WHERE :assignee = ANY(tasks.assignees) AND tasks.start_time IS NOT NULL AND tasks.reminder_date_time IS NOT NULL"
-            + " AND tasks.start_time >= to_timestamp(:start, 'YYYY-MM-DD HH24:MI:SS') AND tasks.reminder_date_time <= to_timestamp(:now, 'YYYY-MM-DD HH24:MI:SS')", nativeQuery = true)
+    @Query(value = "SELECT * FROM tasks WHERE tasks.assignees @> ARRAY[CAST(:assignee AS text)] AND tasks.start_time IS NOT NULL AND tasks.reminder_date_time IS NOT NULL"
+            + " AND tasks.start_time >= CAST(:start AS timestamp) AND tasks.reminder_date_time <= CAST(:now AS timestamp)", nativeQuery = true)
     List<Task> findRemindingTasks(@Param("assignee") String assignee, @Param("now") String now,
                                   @Param("start") String start);
 
-    @Query(value = "SELECT * FROM tasks WHERE :assignee = ANY(tasks.assignees) AND tasks.start_time IS NOT NULL AND "
+    @Query(value = "SELECT * FROM tasks WHERE tasks.assignees @> ARRAY[CAST(:assignee AS text)] AND tasks.start_time IS NOT NULL AND "
             + "tasks.end_time IS NOT NULL AND "
-            + "((tasks.start_time >= to_timestamp(:startTime, 'YYYY-MM-DD HH24:MI:SS') AND tasks.start_time <= to_timestamp(:endTime, 'YYYY-MM-DD HH24:MI:SS')) OR "
-            + "(tasks.end_time >= to_timestamp(:startTime, 'YYYY-MM-DD HH24:MI:SS') AND tasks.end_time <= to_timestamp(:endTime, 'YYYY-MM-DD HH24:MI:SS')))", nativeQuery = true)
+            + "((tasks.start_time >= CAST(:startTime AS timestamp) AND tasks.start_time <= CAST(:endTime AS timestamp)) OR "
+            + "(tasks.end_time >= CAST(:startTime AS timestamp) AND tasks.end_time <= CAST(:endTime AS timestamp)))", nativeQuery = true)
     List<Task> findTasksOfAssigneeBetween(@Param("assignee") String assignee, @Param("startTime") String startTime,
                                           @Param("endTime") String endTime);
 
@@ -24,10 +24,12 @@ public class TaskRepositoryImpl implements TaskRepositoryCustom {
 
     @Override
     public List<Task> findTasksByLabelIds(List<Long> labelIds) {
-        StringBuilder queryString = new StringBuilder("SELECT * FROM tasks WHERE ? = ANY(tasks.labels)");
+        // containment is served by the labels GIN index, "? = ANY(labels)" is not
+        StringBuilder queryString = new StringBuilder("SELECT * FROM tasks WHERE tasks.labels @> ARRAY[?");
         for (int i = 1; i < labelIds.size(); i++) {
-            queryString.append(" and ? = ANY(tasks.labels)");
+            queryString.append(", ?");
         }
+        queryString.append("]");
         Query query = entityManager.createNativeQuery(queryString.toString(), Task.class);
         for (int i = 1; i <= labelIds.size(); i++) {
             query.setParameter(i, labelIds.get(i - 1));
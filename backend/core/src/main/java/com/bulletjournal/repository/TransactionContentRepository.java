@@ -1,5 +1,6 @@
 package com.bulletjournal.repository;
 
+import com.bulletjournal.repository.models.ContentSummary;
 import com.bulletjournal.repository.models.Transaction;
 import com.bulletjournal.repository.models.TransactionContent;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,6 +15,11 @@ import java.util.List;
 public interface TransactionContentRepository extends JpaRepository<TransactionContent, Long> {
     List<TransactionContent> findTransactionContentByTransaction(Transaction transaction);
 
+    @Query("SELECT new com.bulletjournal.repository.models.ContentSummary(transactionContent.id, transactionContent.owner, transactionContent.text, "
+            + "transactionContent.createdAt, transactionContent.updatedAt, transactionContent.latestRevisionId) FROM TransactionContent transactionContent WHERE transactionContent.transaction.id = :transactionId "
+            + "ORDER BY transactionContent.updatedAt DESC")
+    List<ContentSummary> findContentSummariesByTransaction(@Param("transactionId") Long transactionId);
+
     @Query("SELECT transactionContent FROM TransactionContent transactionContent WHERE transactionContent.updatedAt >= :startTime AND transactionContent.updatedAt <= :endTime")
     List<TransactionContent> findRecentTransactionContentsBetween(@Param("startTime") Timestamp startTime,
                                                                   @Param("endTime") Timestamp endTime);
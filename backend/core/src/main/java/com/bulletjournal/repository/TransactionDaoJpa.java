@@ -22,8 +22,6 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.persistence.EntityManager;
-import javax.persistence.PersistenceContext;
 import java.sql.Timestamp;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -35,8 +33,6 @@ import java.util.stream.Collectors;
 @Repository
 public class TransactionDaoJpa extends ProjectItemDaoJpa<TransactionContent> {
 
-    @PersistenceContext
-    EntityManager entityManager;
     @Autowired
     private TransactionRepository transactionRepository;
     @Autowired
@@ -85,6 +81,7 @@ public class TransactionDaoJpa extends ProjectItemDaoJpa<TransactionContent> {
      *           repository
      * @retVal a Transaction object
      */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public com.bulletjournal.controller.models.Transaction getTransaction(String requester, Long id) {
         Transaction transaction = this.getProjectItem(id, requester);
         return addLabels(transaction);
@@ -106,6 +103,7 @@ public class TransactionDaoJpa extends ProjectItemDaoJpa<TransactionContent> {
      * @param endTime   - End Time to retrieve transaction from ledger repository
      * @retVal List of Transaction
      */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED, readOnly = true)
     public List<Transaction> getTransactionsBetween(String payer, ZonedDateTime startTime, ZonedDateTime endTime) {
         return this.transactionRepository.findTransactionsOfPayerBetween(payer, Timestamp.from(startTime.toInstant()),
                 Timestamp.from(endTime.toInstant()));
@@ -246,9 +244,8 @@ public class TransactionDaoJpa extends ProjectItemDaoJpa<TransactionContent> {
 
     private List<Event> generateEvents(Transaction transaction, String requester, Project project) {
         List<Event> events = new ArrayList<>();
-        for (UserGroup userGroup : project.getGroup().getAcceptedUsers()) {
-            String username = userGroup.getUser().getName();
-            if (userGroup.getUser().getName().equals(requester))
+        for (String username : this.groupDaoJpa.getAcceptedUsernames(project.getGroup().getId())) {
+            if (username.equals(requester))
                 continue;
 
             events.add(new Event(username, transaction.getId(), transaction.getName()));
@@ -281,6 +278,11 @@ public class TransactionDaoJpa extends ProjectItemDaoJpa<TransactionContent> {
         return this.transactionContentRepository.findTransactionContentByTransaction((Transaction) projectItem);
     }
 
+    @Override
+    List<ContentSummary> findContentSummaries(Long projectItemId) {
+        return this.transactionContentRepository.findContentSummariesByTransaction(projectItemId);
+    }
+
     @Override
     List<Long> findItemLabelsByProject(Project project) {
         return transactionRepository.findUniqueLabelsByProject(project.getId());
@@ -311,6 +313,7 @@ public class TransactionDaoJpa extends ProjectItemDaoJpa<TransactionContent> {
                 .getResultList();
     }
 
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public List<String> getDeleteESDocumentIdsForProjectItem(String requester, Long transactionId) {
         List<String> deleteESDocumentIds = new ArrayList<>();
         Transaction transaction = this.getProjectItem(transactionId, requester);
@@ -324,6 +327,7 @@ public class TransactionDaoJpa extends ProjectItemDaoJpa<TransactionContent> {
         return deleteESDocumentIds;
     }
 
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public List<String> getDeleteESDocumentIdsForContent(String requester, Long contentId) {
         List<String> deleteESDocumentIds = new ArrayList<>();
         TransactionContent content = this.getContent(contentId, requester);
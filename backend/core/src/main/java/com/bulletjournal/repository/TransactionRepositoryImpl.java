@@ -20,10 +20,12 @@ public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
 
     @Override
     public List<Transaction> findTransactionsByLabelIds(List<Long> labelIds) {
-        StringBuilder queryString = new StringBuilder("SELECT * FROM transactions WHERE ? = ANY(transactions.labels)");
+        // containment is served by the labels GIN index, "? = ANY(labels)" is not
+        StringBuilder queryString = new StringBuilder("SELECT * FROM transactions WHERE transactions.labels @> ARRAY[?");
         for (int i = 1; i < labelIds.size(); i++) {
-            queryString.append(" and ? = ANY(transactions.labels)");
+            queryString.append(", ?");
         }
+        queryString.append("]");
         Query query = entityManager.createNativeQuery(queryString.toString(), Transaction.class);
         for (int i = 1; i <= labelIds.size(); i++) {
             query.setParameter(i, labelIds.get(i - 1));
@@ -63,7 +63,14 @@ public class UserAliasDaoJpa {
 
     @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
     public User updateUserAlias(User user) {
-        String requester = MDC.get(UserClient.USER_NAME_KEY);
+        return updateUserAlias(user, MDC.get(UserClient.USER_NAME_KEY));
+    }
+
+    /**
+     * Set the alias requester gave to user, for threads other than the one serving requester
+     */
+    @Transactional(rollbackFor = Exception.class, propagation = Propagation.REQUIRED)
+    public User updateUserAlias(User user, String requester) {
         if (requester == null) {
             // handle request from daemon thread
             return user;
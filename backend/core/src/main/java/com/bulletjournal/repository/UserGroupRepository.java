@@ -0,0 +1,40 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.repository.models.UserGroup;
+import com.bulletjournal.repository.models.UserGroupKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
+
+@Repository
+public interface UserGroupRepository extends JpaRepository<UserGroup, UserGroupKey> {
+    // in the query cache
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    List<UserGroup> findAllByGroupIdAndAccepted(Long groupId, Boolean accepted);
+
+    List<UserGroup> findAllByUserId(Long userId);
+
+    // membership projections, answered from user_groups without loading users or groups
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    @Query("SELECT userGroup.group.id FROM UserGroup userGroup "
+            + "WHERE userGroup.user.name = :username AND userGroup.accepted = TRUE")
+    List<Long> findAcceptedGroupIds(@Param("username") String username);
+
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    @Query("SELECT userGroup.user.name FROM UserGroup userGroup "
+            + "WHERE userGroup.group.id = :groupId AND userGroup.accepted = TRUE")
+    List<String> findAcceptedUsernames(@Param("groupId") Long groupId);
+
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    @Query("SELECT CASE WHEN COUNT(userGroup) > 0 THEN TRUE ELSE FALSE END FROM UserGroup userGroup "
+            + "WHERE userGroup.user.name = :username AND userGroup.group.id = :groupId "
+            + "AND userGroup.accepted = TRUE")
+    boolean isAcceptedMember(@Param("username") String username, @Param("groupId") Long groupId);
+}
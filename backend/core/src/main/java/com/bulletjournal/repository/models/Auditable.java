@@ -3,15 +3,25 @@ package com.bulletjournal.repository.models;
 import com.bulletjournal.contents.ContentAction;
 import com.bulletjournal.controller.models.Activity;
 import com.bulletjournal.controller.models.User;
+import com.bulletjournal.notifications.ActivityTemplate;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
+import java.lang.reflect.Type;
 import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Map;
 
 @Entity
 @Table(name = "auditables")
 public class Auditable extends AuditModel {
+    private static final Gson GSON = new Gson();
+    private static final Type ARGS_TYPE = new TypeToken<Map<String, String>>() {
+    }.getType();
+
     @Id
     @GeneratedValue(generator = "auditable_generator")
     @SequenceGenerator(name = "auditable_generator", sequenceName = "auditable_sequence", initialValue = 200)
@@ -26,9 +36,16 @@ public class Auditable extends AuditModel {
     @Column(name = "project_id")
     private Long projectId;
 
-    @Column(name = "activity", nullable = false, updatable = false)
+    // rendered sentence, only kept for rows that could not be converted to template
+    @Column(name = "activity", updatable = false)
     private String activity;
 
+    @Column(name = "template", updatable = false)
+    private ActivityTemplate template;
+
+    @Column(name = "args", updatable = false)
+    private String args;
+
     @Column(name = "activity_time", nullable = false, updatable = false)
     private Timestamp activityTime;
 
@@ -40,10 +57,11 @@ public class Auditable extends AuditModel {
     public Auditable() {
     }
 
-    public Auditable(Long projectId, String activity, String originator, Timestamp activityTime, ContentAction action,
-                     Long projectItemId) {
+    public Auditable(Long projectId, ActivityTemplate template, String args, String originator,
+                     Timestamp activityTime, ContentAction action, Long projectItemId) {
         this.projectId = projectId;
-        this.activity = activity;
+        this.template = template;
+        this.args = args;
         this.originator = originator;
         this.activityTime = activityTime;
         this.action = action;
@@ -74,6 +92,22 @@ public class Auditable extends AuditModel {
         this.activity = activity;
     }
 
+    public ActivityTemplate getTemplate() {
+        return template;
+    }
+
+    public void setTemplate(ActivityTemplate template) {
+        this.template = template;
+    }
+
+    public String getArgs() {
+        return args;
+    }
+
+    public void setArgs(String args) {
+        this.args = args;
+    }
+
     public String getOriginator() {
         return originator;
     }
@@ -109,11 +143,22 @@ public class Auditable extends AuditModel {
     public Activity toActivity() {
         Activity activity = new Activity();
         activity.setAction(this.getAction());
-        activity.setActivity(this.activity);
+        activity.setActivity(renderActivity());
         activity.setActivityTime(this.activityTime.getTime());
         activity.setOriginator(new User(this.originator));
         activity.setLink(ContentAction.getContentLink(this.getAction(),
                 this.projectItemId != null ? this.projectItemId : this.projectId));
         return activity;
     }
+
+    private String renderActivity() {
+        if (this.template == null) {
+            return this.activity;
+        }
+        if (this.args == null) {
+            return this.template.render(Collections.emptyMap());
+        }
+        // project name as of the activity is kept in args
+        return this.template.render(GSON.fromJson(this.args, ARGS_TYPE));
+    }
 }
@@ -1,6 +1,7 @@
 package com.bulletjournal.repository.models;
 
 import com.bulletjournal.contents.ContentType;
+import com.bulletjournal.repository.utils.CompressedStringConverter;
 
 import javax.persistence.*;
 import java.util.Objects;
@@ -18,6 +19,7 @@ public class CompletedTask extends TaskModel {
     )
     private Long id;
 
+    @Convert(converter = CompressedStringConverter.class)
     @Column(columnDefinition = "TEXT")
     private String contents;
 
@@ -2,9 +2,11 @@ package com.bulletjournal.repository.models;
 
 import com.bulletjournal.controller.models.Content;
 import com.bulletjournal.controller.models.User;
+import com.bulletjournal.repository.utils.CompressedStringConverter;
 import com.google.gson.annotations.Expose;
 
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.MappedSuperclass;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
@@ -22,12 +24,17 @@ public abstract class ContentModel<T extends ProjectItemModel> extends AuditMode
     @Column(columnDefinition = "TEXT")
     private String text;
 
+    @Convert(converter = CompressedStringConverter.class)
     @Column(columnDefinition = "TEXT")
     private String baseText;
 
+    @Convert(converter = CompressedStringConverter.class)
     @Column(columnDefinition = "TEXT")
     private String revisions;
 
+    @Column(name = "latest_revision_id")
+    private Long latestRevisionId;
+
     public abstract Long getId();
 
     public abstract T getProjectItem();
@@ -66,11 +73,19 @@ public abstract class ContentModel<T extends ProjectItemModel> extends AuditMode
         this.revisions = revisions;
     }
 
+    public Long getLatestRevisionId() {
+        return latestRevisionId;
+    }
+
+    public void setLatestRevisionId(Long latestRevisionId) {
+        this.latestRevisionId = latestRevisionId;
+    }
+
     public Content toPresentationModel() {
         return new Content(
                 this.getId(), new User(this.getOwner()), this.getText(),
                 this.getBaseText(), this.getCreatedAt() == null ? null : this.getCreatedAt().getTime(),
                 this.getUpdatedAt() == null ? null : this.getUpdatedAt().getTime(),
-                this.getRevisions());
+                this.getRevisions(), this.getLatestRevisionId());
     }
 }
@@ -0,0 +1,66 @@
+package com.bulletjournal.repository.models;
+
+import com.bulletjournal.controller.models.Content;
+import com.bulletjournal.controller.models.User;
+
+import java.util.Date;
+
+/**
+ * Content listing projection, it leaves out baseText and revisions which are only needed for revision history
+ */
+public class ContentSummary {
+
+    private final Long id;
+
+    private final String owner;
+
+    private final String text;
+
+    private final Date createdAt;
+
+    private final Date updatedAt;
+
+    private final Long latestRevisionId;
+
+    // Hibernate types timestamp properties as Date when matching the constructor of a select new
+    public ContentSummary(Long id, String owner, String text, Date createdAt, Date updatedAt,
+                          Long latestRevisionId) {
+        this.id = id;
+        this.owner = owner;
+        this.text = text;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.latestRevisionId = latestRevisionId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getLatestRevisionId() {
+        return latestRevisionId;
+    }
+
+    public Content toPresentationModel() {
+        return new Content(
+                this.getId(), new User(this.getOwner()), this.getText(),
+                this.getCreatedAt() == null ? null : this.getCreatedAt().getTime(),
+                this.getUpdatedAt() == null ? null : this.getUpdatedAt().getTime(), this.getLatestRevisionId());
+    }
+}
@@ -1,6 +1,8 @@
 package com.bulletjournal.repository.models;
 
 import com.bulletjournal.repository.auditing.GroupEntityListeners;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.*;
@@ -12,10 +14,20 @@ import java.util.stream.Collectors;
                 @UniqueConstraint(columnNames = {"owner", "name"})
         })
 @EntityListeners(value = {GroupEntityListeners.class})
+@NamedEntityGraph(name = Group.USERS_GRAPH, attributeNodes = {
+        @NamedAttributeNode(value = "users", subgraph = "users")
+}, subgraphs = {
+        @NamedSubgraph(name = "users", attributeNodes = @NamedAttributeNode("user"))
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "group")
 public class Group extends OwnedModel {
 
     public static final String DEFAULT_NAME = "Default";
+    // group with its members, for rendering them after the transaction
+    public static final String USERS_GRAPH = "Group.users";
     @OneToMany(mappedBy = "group", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "group-users")
     Set<UserGroup> users = new HashSet<>();
     @Id
     @GeneratedValue(generator = "group_generator")
@@ -28,6 +40,7 @@ public class Group extends OwnedModel {
     @Column(name = "default_group", nullable = false, updatable = false)
     private boolean defaultGroup = false;
     @OneToMany(mappedBy = "group", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "group-projects")
     private List<Project> projects = new ArrayList<>();
 
     public Long getId() {
@@ -1,5 +1,8 @@
 package com.bulletjournal.repository.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 
 @Entity
@@ -7,6 +10,8 @@ import javax.persistence.*;
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"owner", "name"})
         })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "label")
 public class Label extends OwnedModel {
 
     @Id
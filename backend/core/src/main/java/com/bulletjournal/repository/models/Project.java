@@ -2,6 +2,8 @@ package com.bulletjournal.repository.models;
 
 import com.bulletjournal.controller.models.ProjectType;
 import com.bulletjournal.controller.models.User;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -14,6 +16,8 @@ import java.util.Objects;
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"owner", "name"})
         })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 public class Project extends OwnedModel {
 
     @Id
@@ -29,7 +33,7 @@ public class Project extends OwnedModel {
     @Column(updatable = false, nullable = false)
     private Integer type;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "group_id", nullable = false)
     @OnDelete(action = OnDeleteAction.NO_ACTION)
     private Group group;
@@ -1,6 +1,9 @@
 package com.bulletjournal.repository.models;
 
+import com.bulletjournal.repository.utils.CompressedStringConverter;
+
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
@@ -15,6 +18,7 @@ public class ProjectTasks extends AuditModel {
     /**
      * Store Tasks' hierarchy
      */
+    @Convert(converter = CompressedStringConverter.class)
     @Column(length = 10485760)
     private String tasks;
 
@@ -1,6 +1,8 @@
 package com.bulletjournal.repository.models;
 
 import com.bulletjournal.controller.models.Before;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.HashSet;
@@ -9,6 +11,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users", uniqueConstraints = { @UniqueConstraint(columnNames = { "name" }) })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User extends NamedModel {
     @Id
     @GeneratedValue(generator = "user_generator")
@@ -22,6 +26,7 @@ public class User extends NamedModel {
     private Integer points = 0;
 
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-groups")
     private Set<UserGroup> groups = new HashSet<>();
 
     @OneToMany(mappedBy = "user", fetch = FetchType.EAGER)
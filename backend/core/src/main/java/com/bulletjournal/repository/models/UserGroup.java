@@ -1,6 +1,8 @@
 package com.bulletjournal.repository.models;
 
 import com.bulletjournal.repository.auditing.UserGroupEntityListeners;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.Objects;
@@ -8,17 +10,19 @@ import java.util.Objects;
 @Entity
 @Table(name = "user_groups")
 @EntityListeners(value = {UserGroupEntityListeners.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-group")
 public class UserGroup {
 
     @EmbeddedId
     private UserGroupKey id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("user_id")
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("group_id")
     @JoinColumn(name = "group_id")
     private Group group;
@@ -74,14 +78,14 @@ public class UserGroup {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof UserGroup)) return false;
         UserGroup userGroup = (UserGroup) o;
-        return Objects.equals(user, userGroup.user) &&
-                Objects.equals(group, userGroup.group);
+        // compared by key, user and group may be uninitialized proxies
+        return Objects.equals(getId(), userGroup.getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(user, group);
+        return Objects.hash(getId());
     }
 }
@@ -1,6 +1,9 @@
 package com.bulletjournal.repository.models;
 
+import com.bulletjournal.repository.utils.CompressedStringConverter;
+
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
@@ -15,12 +18,14 @@ public class UserProjects extends AuditModel {
     /**
      * Store self-owned projects' hierarchy
      */
+    @Convert(converter = CompressedStringConverter.class)
     @Column(length = 10485760)
     private String ownedProjects;
 
     /**
      * Stores projects shared with me - order of project owners
      */
+    @Convert(converter = CompressedStringConverter.class)
     @Column(length = 10485760)
     private String sharedProjects;
 
@@ -0,0 +1,20 @@
+package com.bulletjournal.repository.utils;
+
+import com.bulletjournal.util.TextCompressor;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class CompressedStringConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return TextCompressor.compress(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return TextCompressor.decompress(dbData);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bulletjournal.repository.utils;
+
+import com.bulletjournal.exceptions.BadRequestException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination on (timestamp, id) in descending order.
+ * Clients receive it as base64 and pass it back unchanged to get the next page.
+ */
+public class KeysetCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "Next-Cursor";
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // sorts before every row, used for the first page
+    public static final KeysetCursor START = new KeysetCursor(Timestamp.valueOf("9999-12-31 23:59:59"), Long.MAX_VALUE);
+
+    private final Timestamp time;
+    private final Long id;
+
+    public KeysetCursor(Timestamp time, Long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public Timestamp getTime() {
+        return time;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        Instant instant = this.time.toInstant();
+        String raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws BadRequestException if pageSize is not between 1 and MAX_PAGE_SIZE
+     */
+    public static void validatePageSize(Integer pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Invalid pageSize: " + pageSize + ", must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * @return START if cursor is blank, which means the first page
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected number of cursor parts " + parts.length);
+            }
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new KeysetCursor(Timestamp.from(instant), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
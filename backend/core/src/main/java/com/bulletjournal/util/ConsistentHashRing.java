@@ -0,0 +1,50 @@
+package com.bulletjournal.util;
+
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maps keys to nodes on a hash ring with virtual nodes. Adding or removing a node only moves keys from or to that
+ * node. Rings built from the same nodes map keys the same way on every JVM.
+ */
+public class ConsistentHashRing {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32();
+    private final Set<String> nodes;
+    private final NavigableMap<Integer, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Invalid virtualNodes: " + virtualNodes);
+        }
+        this.nodes = ImmutableSortedSet.copyOf(nodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                this.ring.put(HASH_FUNCTION.hashString(node + "#" + i, StandardCharsets.UTF_8).asInt(), node);
+            }
+        }
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return node owning key, null if ring is empty
+     */
+    public String getNode(long key) {
+        if (this.ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Integer, String> entry = this.ring.ceilingEntry(HASH_FUNCTION.hashLong(key).asInt());
+        return entry == null ? this.ring.firstEntry().getValue() : entry.getValue();
+    }
+}
@@ -0,0 +1,70 @@
+package com.bulletjournal.util;
+
+import com.bulletjournal.exceptions.BadRequestException;
+import org.bitbucket.cowwoc.diffmatchpatch.DiffMatchPatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedList;
+import java.util.List;
+
+@Component
+public class ContentDiffTool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentDiffTool.class);
+
+    private DiffMatchPatch diffMatchPatch = new DiffMatchPatch();
+
+    private ContentDiffTool() {
+    }
+
+    public String computeDiff(String oldText, String newText) {
+        return diffMatchPatch.patchToText(
+                diffMatchPatch.patchMake(
+                        diffMatchPatch.diffMain(oldText, newText)
+                )
+        );
+    }
+
+    public String applyDiff(String oldText, String diff) {
+        Object[] output = patchApply(oldText, diff);
+        String newText = (String) output[0];
+        if (!allApplied((boolean[]) output[1])) {
+            LOGGER.error("Some patches in diff failed to apply, old text:\n {}, \n diff:\n {}",
+                    oldText, diff);
+        }
+        return newText;
+    }
+
+    /**
+     * Apply a client supplied diff, rejecting it unless every patch applies cleanly.
+     */
+    public String applyClientDiff(String oldText, String diff) {
+        Object[] output;
+        try {
+            output = patchApply(oldText, diff);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid diff: " + ex.getMessage(), ex);
+        }
+        if (!allApplied((boolean[]) output[1])) {
+            throw new BadRequestException("Diff does not apply to base revision");
+        }
+        return (String) output[0];
+    }
+
+    private Object[] patchApply(String oldText, String diff) {
+        List<DiffMatchPatch.Patch> patches = diffMatchPatch.patchFromText(diff);
+        return diffMatchPatch.patchApply((LinkedList<DiffMatchPatch.Patch>) patches, oldText);
+    }
+
+    // check if all patches are applied successfully
+    private static boolean allApplied(boolean[] status) {
+        for (boolean s : status) {
+            if (!s) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
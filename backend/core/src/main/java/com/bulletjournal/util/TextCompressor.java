@@ -0,0 +1,94 @@
+package com.bulletjournal.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate based compression for large text columns.
+ * Compressed values are stored as HEADER + base64(deflate(utf8 text)) so that they still fit in TEXT/VARCHAR
+ * columns. Values without the header are returned as is, which keeps existing rows readable.
+ */
+public class TextCompressor {
+
+    public static final String HEADER = "bjz1:";
+
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private TextCompressor() {
+    }
+
+    public static boolean isCompressed(String value) {
+        return value != null && value.startsWith(HEADER);
+    }
+
+    public static String compress(String text) {
+        return compress(text, DEFAULT_THRESHOLD);
+    }
+
+    public static String compress(String text, int threshold) {
+        if (text == null) {
+            return null;
+        }
+        // plain text that happens to look like a compressed value is always compressed to stay unambiguous
+        if (text.length() < threshold && !isCompressed(text)) {
+            return text;
+        }
+        String compressed = HEADER + Base64.getEncoder().encodeToString(deflate(text.getBytes(StandardCharsets.UTF_8)));
+        if (compressed.length() >= text.length() && !isCompressed(text)) {
+            return text;
+        }
+        return compressed;
+    }
+
+    public static String decompress(String value) {
+        if (!isCompressed(value)) {
+            return value;
+        }
+        try {
+            byte[] data = Base64.getDecoder().decode(value.substring(HEADER.length()));
+            return new String(inflate(data), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException | DataFormatException ex) {
+            throw new IllegalStateException("Fail to decompress value with header " + HEADER, ex);
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated deflate stream");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
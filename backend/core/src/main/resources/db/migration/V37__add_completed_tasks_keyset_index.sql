@@ -0,0 +1,3 @@
+-- keyset pagination of completed tasks on (updated_at, id)
+create index completed_tasks_project_id_updated_at_id_index
+    on completed_tasks (project_id, updated_at desc, id desc);
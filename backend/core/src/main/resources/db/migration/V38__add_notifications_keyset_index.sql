@@ -0,0 +1,5 @@
+-- keyset pagination of notification inbox on (updated_at, id); it also covers lookups by target_user
+create index notification_target_user_updated_at_id_index
+    on notifications (target_user, updated_at desc, id desc);
+
+drop index if exists notification_time_index;
@@ -0,0 +1,13 @@
+-- keyset pagination of project history on (activity_time, id), one index per filter combination
+create index auditables_project_id_activity_time_id_index
+    on auditables (project_id, activity_time desc, id desc);
+
+create index auditables_project_id_originator_activity_time_id_index
+    on auditables (project_id, originator, activity_time desc, id desc);
+
+create index auditables_project_id_action_activity_time_id_index
+    on auditables (project_id, action, activity_time desc, id desc);
+
+-- superseded by the indexes above
+drop index if exists auditables_project_id_activity_time_index;
+drop index if exists auditables_action_index;
@@ -0,0 +1,88 @@
+-- auditables store a template (ordinal of ActivityTemplate) and its arguments instead of the rendered sentence
+alter table auditables
+    add template smallint,
+    add args text;
+
+alter table auditables
+    alter column activity drop not null;
+
+-- convert existing sentences, rows that do not match any template keep their sentence
+-- the project name is kept in args as it was at the time of the activity, json nulls are stripped as a missing
+-- argument renders empty
+
+-- created/updated/deleted BuJo ##project##
+update auditables a
+set template = case s.m[1] when 'created' then 0 when 'updated' then 1 else 2 end,
+    args     = json_build_object('project', s.m[2])::text,
+    activity = null
+from (select id, regexp_match(activity, '^(created|updated|deleted) BuJo ##(.*)##$') m
+      from auditables where template is null) s
+where a.id = s.id and s.m is not null;
+
+-- created/updated/deleted Content in Task ##name## under BuJo ##project##
+update auditables a
+set template = case lower(s.m[1]) when 'created' then 7 when 'updated' then 8 else 9 end,
+    args     = json_build_object('type', s.m[2], 'name', s.m[3], 'project', s.m[5])::text,
+    activity = null
+from (select id,
+             regexp_match(activity,
+                          '^(created|updated|deleted|Deleted) Content in (Task|Note|Transaction) ##(.*)## (under|in) BuJo ##(.*)##$') m
+      from auditables where template is null) s
+where a.id = s.id and s.m is not null;
+
+-- created/updated/deleted Task ##name## in BuJo ##project##, older rows may miss the project or its leading ##
+update auditables a
+set template = case s.m[1] when 'created' then 3 when 'updated' then 4 else 5 end,
+    args     = jsonb_strip_nulls(jsonb_build_object('type', initcap(s.m[2]), 'name', s.m[3], 'project', s.m[6]))::text,
+    activity = null
+from (select id,
+             regexp_match(activity,
+                          '^(created|updated|deleted) (Task|Note|note|Transaction) ##(.*?)##( in BuJo (##)?(.*)##)?$') m
+      from auditables where template is null) s
+where a.id = s.id and s.m is not null;
+
+-- moved Task ##name## to BuJo ##target##
+update auditables a
+set template = 6,
+    args     = json_build_object('type', s.m[1], 'name', s.m[2], 'target', s.m[3])::text,
+    activity = null
+from (select id, regexp_match(activity, '^moved (Task|Note|Transaction) ##(.*)## to BuJo ##(.*)##$') m
+      from auditables where template is null) s
+where a.id = s.id and s.m is not null;
+
+-- completed/uncompleted Task ##name## in BuJo ##project##
+update auditables a
+set template = case s.m[1] when 'completed' then 10 else 11 end,
+    args     = json_build_object('name', s.m[2], 'project', s.m[3])::text,
+    activity = null
+from (select id, regexp_match(activity, '^(completed|uncompleted) Task ##(.*)## in BuJo ##(.*)##$') m
+      from auditables where template is null) s
+where a.id = s.id and s.m is not null;
+
+-- set Task ##name## to ##status## in BuJo ##project##
+update auditables a
+set template = 12,
+    args     = json_build_object('name', s.m[1], 'status', s.m[2], 'project', s.m[3])::text,
+    activity = null
+from (select id, regexp_match(activity, '^set Task ##(.*)## to ##(.*)## in BuJo ##(.*)##$') m
+      from auditables where template is null) s
+where a.id = s.id and s.m is not null;
+
+-- shared TASK ##name## in BuJo ##project## with link ##link## / with user(s) ##users##
+update auditables a
+set template = case s.m[4] when 'link' then 13 when 'user' then 14 else 15 end,
+    args     = json_build_object('type', s.m[1], 'name', s.m[2], 'project', s.m[3],
+                                 case s.m[4] when 'link' then 'link' else 'users' end, s.m[5])::text,
+    activity = null
+from (select id, regexp_match(activity, '^shared (\w+) ##(.*)## in BuJo ##(.*)## with (link|user|users) ##(.*)##$') m
+      from auditables where template is null) s
+where a.id = s.id and s.m is not null;
+
+-- older item rows without the project in their sentence take its current name, all templates but moved use it
+update auditables a
+set args = (coalesce(a.args, '{}')::jsonb || jsonb_build_object('project', p.name))::text
+from projects p
+where a.project_id = p.id
+  and a.template is not null
+  and a.template <> 6
+  and coalesce(a.args, '{}')::jsonb ->> 'project' is null;
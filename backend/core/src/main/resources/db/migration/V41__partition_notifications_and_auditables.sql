@@ -0,0 +1,84 @@
+-- notifications and auditables are partitioned by month so that retention drops whole partitions
+-- instead of deleting rows. Partitions are named <table>_pYYYY_MM, Cleaner creates them ahead of time.
+
+create or replace function create_monthly_partition(parent text, month date) returns text as
+$$
+declare
+    partition_start date := date_trunc('month', month);
+    partition_name  text := parent || '_p' || to_char(partition_start, 'YYYY_MM');
+begin
+    if to_regclass(partition_name) is null then
+        execute format('create table %I partition of %I for values from (%L) to (%L)',
+                       partition_name, parent, partition_start, partition_start + interval '1 month');
+    end if;
+    return partition_name;
+end;
+$$ language plpgsql;
+
+-- notifications by created_at
+alter table notifications rename to notifications_unpartitioned;
+
+create table notifications
+(
+    like notifications_unpartitioned including defaults
+) partition by range (created_at);
+
+alter table notifications
+    add constraint notifications_pkey_partitioned primary key (id, created_at);
+
+create table notifications_default partition of notifications default;
+
+select create_monthly_partition('notifications', month::date)
+from generate_series(
+             date_trunc('month', coalesce((select min(created_at) from notifications_unpartitioned), now())),
+             date_trunc('month', now()) + interval '3 month',
+             interval '1 month') month;
+
+insert into notifications
+select *
+from notifications_unpartitioned;
+
+drop table notifications_unpartitioned;
+
+create index notification_target_user_updated_at_id_index
+    on notifications (target_user, updated_at desc, id desc);
+
+create index notification_created_at_index
+    on notifications (created_at);
+
+-- auditables by activity_time, which is also what history queries filter on
+alter table auditables rename to auditables_unpartitioned;
+
+create table auditables
+(
+    like auditables_unpartitioned including defaults
+) partition by range (activity_time);
+
+alter table auditables
+    add constraint auditables_pkey_partitioned primary key (id, activity_time);
+
+create table auditables_default partition of auditables default;
+
+select create_monthly_partition('auditables', month::date)
+from generate_series(
+             date_trunc('month', coalesce((select min(activity_time) from auditables_unpartitioned), now())),
+             date_trunc('month', now()) + interval '3 month',
+             interval '1 month') month;
+
+insert into auditables
+select *
+from auditables_unpartitioned;
+
+drop table auditables_unpartitioned;
+
+create index auditables_project_id_activity_time_id_index
+    on auditables (project_id, activity_time desc, id desc);
+
+create index auditables_project_id_originator_activity_time_id_index
+    on auditables (project_id, originator, activity_time desc, id desc);
+
+create index auditables_project_id_action_activity_time_id_index
+    on auditables (project_id, action, activity_time desc, id desc);
+
+create index auditables_originator_index
+    on auditables (originator);
@@ -0,0 +1,11 @@
+-- progress of retention jobs, so that a restarted job resumes from the last deleted key
+create table retention_checkpoints
+(
+    job        varchar(100) primary key,
+    last_key   varchar(255),
+    updated_at timestamp without time zone not null
+);
+
+create index public_project_items_expiration_time_index
+    on public_project_items (expiration_time)
+    where expiration_time is not null;
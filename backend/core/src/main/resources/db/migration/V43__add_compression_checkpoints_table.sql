@@ -0,0 +1,7 @@
+-- last key examined by the recompressor per column, so that incompressible rows are passed over
+create table compression_checkpoints
+(
+    compressed_column varchar(100) primary key,
+    last_key          varchar(255),
+    updated_at        timestamp without time zone not null
+);
@@ -0,0 +1,12 @@
+-- id of the last revision of a content, listed without reading the revisions column
+alter table task_contents add column latest_revision_id bigint;
+alter table note_contents add column latest_revision_id bigint;
+alter table transaction_contents add column latest_revision_id bigint;
+
+-- revisions are compressed only by code released with this migration, so they are all plain json here
+update task_contents set latest_revision_id = (revisions::jsonb -> -1 ->> 'id')::bigint
+where revisions is not null;
+update note_contents set latest_revision_id = (revisions::jsonb -> -1 ->> 'id')::bigint
+where revisions is not null;
+update transaction_contents set latest_revision_id = (revisions::jsonb -> -1 ->> 'id')::bigint
+where revisions is not null;
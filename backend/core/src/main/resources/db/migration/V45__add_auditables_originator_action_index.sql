@@ -0,0 +1,3 @@
+-- history filtered by both user and action, the last filter combination without its own keyset index
+create index auditables_project_id_originator_action_activity_time_id_index
+    on auditables (project_id, originator, action, activity_time desc, id desc);
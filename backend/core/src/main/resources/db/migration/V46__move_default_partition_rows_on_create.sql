@@ -0,0 +1,40 @@
+-- Rows land in the default partition when their month has no partition yet, e.g. backdated times or months past
+-- those created ahead. Creating the partition of such a month fails while the default partition holds its rows,
+-- so the month is created as a table of its own, the rows are moved there and the table is attached.
+create or replace function create_monthly_partition(parent text, month date) returns text as
+$$
+declare
+    partition_start date := date_trunc('month', month);
+    partition_end   date := partition_start + interval '1 month';
+    partition_name  text := parent || '_p' || to_char(partition_start, 'YYYY_MM');
+    default_name    text;
+    key_column      text;
+begin
+    if to_regclass(partition_name) is not null then
+        return partition_name;
+    end if;
+
+    select child.relname
+    into default_name
+    from pg_inherits
+             join pg_class child on child.oid = pg_inherits.inhrelid
+    where pg_inherits.inhparent = parent::regclass
+      and pg_get_expr(child.relpartbound, child.oid) = 'DEFAULT';
+    if default_name is null then
+        execute format('create table %I partition of %I for values from (%L) to (%L)',
+                       partition_name, parent, partition_start, partition_end);
+        return partition_name;
+    end if;
+
+    -- e.g. RANGE (created_at)
+    key_column := substring(pg_get_partkeydef(parent::regclass) from '\((.*)\)');
+    execute format('create table %I (like %I including defaults)', partition_name, parent);
+    execute format('with moved as (delete from %I where %I >= %L and %I < %L returning *) ' ||
+                   'insert into %I select * from moved',
+                   default_name, key_column, partition_start, key_column, partition_end, partition_name);
+    -- indexes of the parent are created on attach
+    execute format('alter table %I attach partition %I for values from (%L) to (%L)',
+                   parent, partition_name, partition_start, partition_end);
+    return partition_name;
+end;
+$$ language plpgsql;
@@ -0,0 +1,3 @@
+-- template is an enum ordinal mapped as integer like action, smallint fails schema validation
+alter table auditables
+    alter column template type integer;
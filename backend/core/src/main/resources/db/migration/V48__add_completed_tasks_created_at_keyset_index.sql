@@ -0,0 +1,6 @@
+-- keyset pagination of completed tasks in a created_at range on (created_at, id), it also serves the range
+-- queries of the index it replaces
+create index completed_tasks_project_id_created_at_id_index
+    on completed_tasks (project_id, created_at desc, id desc);
+
+drop index completed_tasks_project_id_created_at_index;
@@ -0,0 +1,13 @@
+package com.bulletjournal;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Application context of the core tests: repositories, services, clients and configuration, without controllers
+ * or daemons, which are tested in the api and worker modules.
+ */
+@SpringBootApplication
+@EnableJpaAuditing
+public class CoreTestApplication {
+}
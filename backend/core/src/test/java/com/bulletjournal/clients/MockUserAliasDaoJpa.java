@@ -0,0 +1,28 @@
+package com.bulletjournal.clients;
+
+import com.bulletjournal.controller.models.User;
+import com.bulletjournal.repository.UserAliasDaoJpa;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class MockUserAliasDaoJpa extends UserAliasDaoJpa {
+
+    // threads that set aliases for a requester
+    private final Queue<String> threads = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public User updateUserAlias(User user) {
+        return user;
+    }
+
+    @Override
+    public User updateUserAlias(User user, String requester) {
+        this.threads.add(Thread.currentThread().getName());
+        return user;
+    }
+
+    public Queue<String> getThreads() {
+        return threads;
+    }
+}
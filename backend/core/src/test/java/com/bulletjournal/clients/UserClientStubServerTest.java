@@ -0,0 +1,214 @@
+package com.bulletjournal.clients;
+
+import com.bulletjournal.config.BulkheadConfig;
+import com.bulletjournal.config.SSOConfig;
+import com.bulletjournal.controller.models.User;
+import com.bulletjournal.exceptions.ServiceUnavailableException;
+import com.bulletjournal.redis.RedisUserRepository;
+import com.bulletjournal.repository.UserDaoJpa;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link UserClient} against a stub SSO server on a local port: concurrent misses of a user share one fetch,
+ * fetched users are stored and aliases of async lookups are set off the SSO threads, and a server answering slower
+ * than the read timeout opens the circuit breaker.
+ */
+public class UserClientStubServerTest {
+
+    private static final Gson GSON = new Gson();
+    private static final String USER_PREFIX = "/u/";
+    private static final String USER_SUFFIX = ".json";
+    private static final int MISSES = 500;
+    // keeps the fetch in flight while the callers miss
+    private static final long RESPONSE_DELAY_MILLIS = 500;
+    private static final int READ_TIMEOUT_MILLIS = 1000;
+    private static final int FAILURE_THRESHOLD = 3;
+
+    private final Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+    private final Map<String, User> redis = new ConcurrentHashMap<>();
+    // threads users were created on
+    private final Queue<String> createThreads = new ConcurrentLinkedQueue<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private volatile long responseDelayMillis = RESPONSE_DELAY_MILLIS;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private RedisUserRepository redisUserRepository;
+    private UserDaoJpa userDaoJpa;
+    private Bulkheads bulkheads;
+    private MockUserAliasDaoJpa userAliasDaoJpa;
+    private UserClient userClient;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext(USER_PREFIX, this::getUser);
+        this.serverExecutor = Executors.newFixedThreadPool(8);
+        this.server.setExecutor(this.serverExecutor);
+        this.server.start();
+
+        this.redisUserRepository = mock(RedisUserRepository.class);
+        when(this.redisUserRepository.findById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(this.redis.get((String) invocation.getArguments()[0])).map(this::copy));
+        when(this.redisUserRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = (User) invocation.getArguments()[0];
+            this.redis.put(user.getName(), copy(user));
+            return user;
+        });
+        this.userDaoJpa = mock(UserDaoJpa.class);
+        when(this.userDaoJpa.create(anyString(), anyString())).thenAnswer(invocation -> {
+            this.createThreads.add(Thread.currentThread().getName());
+            com.bulletjournal.repository.models.User user = new com.bulletjournal.repository.models.User();
+            user.setName((String) invocation.getArguments()[0]);
+            user.setEmail("todo1o24@outlook.com");
+            return user;
+        });
+
+        SSOConfig ssoConfig = new SSOConfig("http://localhost:" + this.server.getAddress().getPort());
+        ssoConfig.setReadTimeoutInMillis(READ_TIMEOUT_MILLIS);
+        ssoConfig.setCircuitBreakerFailureThreshold(FAILURE_THRESHOLD);
+        ssoConfig.setCircuitBreakerOpenInMillis(60000);
+        this.bulkheads = new Bulkheads(new BulkheadConfig(), this.meterRegistry);
+        this.userAliasDaoJpa = new MockUserAliasDaoJpa();
+        this.userClient = new UserClient(ssoConfig, this.redisUserRepository, this.userDaoJpa,
+                this.userAliasDaoJpa, this.bulkheads, this.meterRegistry);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.userClient.close();
+        this.bulkheads.shutdown();
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentMissesFetchOnce() throws Exception {
+        String username = "single_flight";
+        ExecutorService callers = Executors.newFixedThreadPool(MISSES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<User> users = new ArrayList<>();
+        try {
+            List<Future<User>> futures = new ArrayList<>();
+            for (int i = 0; i < MISSES; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    return this.userClient.getUser(username);
+                }));
+            }
+            start.countDown();
+            for (Future<User> future : futures) {
+                users.add(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, this.fetches.get(username).get());
+        verify(this.userDaoJpa, times(1)).create(eq(username), anyString());
+        verify(this.redisUserRepository, times(1)).save(any(User.class));
+        // the SSO thread is released before the user is stored
+        assertEquals(1, this.createThreads.size());
+        assertTrue(this.createThreads.peek(), this.createThreads.peek().startsWith("user-alias"));
+        Set<User> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (User user : users) {
+            assertEquals(username, user.getName());
+            assertNotNull(user.getAvatar());
+            distinct.add(user);
+        }
+        // callers set aliases on their own copy
+        assertEquals(MISSES, distinct.size());
+    }
+
+    @Test
+    public void testAsyncMissesSetAliasesOffSSOThreads() throws Exception {
+        String username = "async_single_flight";
+        List<CompletableFuture<User>> futures = new ArrayList<>();
+        for (int i = 0; i < MISSES; i++) {
+            futures.add(this.userClient.getUserAsync(username));
+        }
+        for (CompletableFuture<User> future : futures) {
+            assertEquals(username, future.get(30, TimeUnit.SECONDS).getName());
+        }
+
+        assertEquals(1, this.fetches.get(username).get());
+        assertEquals(MISSES, this.userAliasDaoJpa.getThreads().size());
+        // the SSO thread completing the fill is released before the aliases are looked up
+        for (String thread : this.userAliasDaoJpa.getThreads()) {
+            assertTrue(thread, thread.startsWith("user-alias"));
+        }
+    }
+
+    @Test
+    public void testSlowServerOpensCircuitBreaker() {
+        this.responseDelayMillis = 3 * READ_TIMEOUT_MILLIS;
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            try {
+                this.userClient.getUser("slow_" + i);
+                fail("Read should time out");
+            } catch (ResourceAccessException expected) {
+            }
+        }
+
+        String username = "slow_" + FAILURE_THRESHOLD;
+        long start = System.nanoTime();
+        try {
+            this.userClient.getUser(username);
+            fail("Circuit breaker should be open");
+        } catch (ServiceUnavailableException expected) {
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < READ_TIMEOUT_MILLIS);
+        assertNull(this.fetches.get(username));
+        assertEquals(1, this.meterRegistry.get("circuit.breaker.rejected").tag("name", Bulkheads.SSO)
+                .counter().count(), 0);
+    }
+
+    private void getUser(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String username = path.substring(USER_PREFIX.length(), path.length() - USER_SUFFIX.length());
+        this.fetches.computeIfAbsent(username, k -> new AtomicInteger()).incrementAndGet();
+        try {
+            Thread.sleep(this.responseDelayMillis);
+        } catch (InterruptedException e) {
+            exchange.close();
+            return;
+        }
+        Map<String, Object> user = new HashMap<>();
+        user.put("id", username.hashCode() & Integer.MAX_VALUE);
+        user.put("username", username);
+        user.put("avatar_template", "/user_avatar/" + username + "/{size}.png");
+        byte[] response = GSON.toJson(Collections.singletonMap("user", user)).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        } catch (IOException e) {
+            // the client timed out
+        }
+    }
+
+    private User copy(User user) {
+        User copy = new User(user.getId(), user.getName(), user.getThumbnail(), user.getAvatar());
+        copy.setEmail(user.getEmail());
+        return copy;
+    }
+}
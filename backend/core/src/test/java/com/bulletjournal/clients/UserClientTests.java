@@ -1,9 +1,12 @@
 package com.bulletjournal.clients;
 
+import com.bulletjournal.config.BulkheadConfig;
 import com.bulletjournal.config.SSOConfig;
 import com.bulletjournal.controller.models.User;
 import com.bulletjournal.redis.RedisUserRepository;
 import com.bulletjournal.repository.UserDaoJpa;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -33,8 +36,11 @@ public class UserClientTests {
         when(userDaoJpa.create(username, "America/Los_Angeles")).thenReturn(u);
         MockUserAliasDaoJpa userAliasDaoJpa = new MockUserAliasDaoJpa();
 
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Bulkheads bulkheads = new Bulkheads(new BulkheadConfig(), meterRegistry);
+
         UserClient userClient = new UserClient(new SSOConfig(
-                "https://1o24bbs.com"), redisUserRepository, userDaoJpa, userAliasDaoJpa);
+                "https://1o24bbs.com"), redisUserRepository, userDaoJpa, userAliasDaoJpa, bulkheads, meterRegistry);
 
         User user = userClient.getUser(username);
         Assert.assertEquals(username, user.getName());
@@ -43,5 +49,7 @@ public class UserClientTests {
         Assert.assertEquals(expectedThumbnail,
                 user.getThumbnail());
         Assert.assertEquals(6475, user.getId().intValue());
+        userClient.close();
+        bulkheads.shutdown();
     }
 }
@@ -0,0 +1,78 @@
+package com.bulletjournal.datagen;
+
+import com.bulletjournal.repository.NotificationRepository;
+import com.bulletjournal.repository.models.Notification;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests ids of bulk written rows are not given to concurrent bulk writes or to entities saved by Hibernate
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class BulkWriterTest {
+
+    private static final int WRITERS = 4;
+    private static final int BATCHES = 10;
+    // more than one block of ids per batch
+    private static final int BATCH_SIZE = 60;
+
+    @Autowired
+    private BulkWriter bulkWriter;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    public void testConcurrentWrites() throws Exception {
+        String targetUser = "BulkWriterTest_" + System.currentTimeMillis();
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(writers.submit(() -> {
+                    for (int batch = 0; batch < BATCHES; batch++) {
+                        List<Notification> notifications = new ArrayList<>();
+                        for (int j = 0; j < BATCH_SIZE; j++) {
+                            notifications.add(createNotification(targetUser));
+                        }
+                        this.bulkWriter.writeNotifications(notifications);
+                        this.notificationRepository.save(createNotification(targetUser));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        List<Notification> written = this.notificationRepository.findByTargetUser(targetUser);
+        Assert.assertEquals(WRITERS * BATCHES * (BATCH_SIZE + 1), written.size());
+        Assert.assertEquals(written.size(), written.stream().map(Notification::getId).distinct().count());
+    }
+
+    private static Notification createNotification(String targetUser) {
+        Notification notification = new Notification("BulkWriterTest", "title", null, targetUser, "type",
+                null, null);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        notification.setCreatedAt(now);
+        notification.setUpdatedAt(now);
+        return notification;
+    }
+}
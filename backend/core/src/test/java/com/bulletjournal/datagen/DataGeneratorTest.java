@@ -0,0 +1,103 @@
+package com.bulletjournal.datagen;
+
+import com.bulletjournal.config.DataGeneratorConfig;
+import com.bulletjournal.controller.models.ProjectType;
+import com.bulletjournal.repository.NotificationRepository;
+import com.bulletjournal.repository.ProjectRepository;
+import com.bulletjournal.repository.TaskRepository;
+import com.bulletjournal.repository.models.Project;
+import com.bulletjournal.repository.models.Task;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tests data generator produces the configured shape, the same for the same seed
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class DataGeneratorTest {
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    public void testGenerate() {
+        String run = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        DataGeneratorConfig first = createShape("dga" + run);
+        DataGeneratorConfig second = createShape("dgb" + run);
+
+        Map<String, Long> counts = this.dataGenerator.generate(first);
+        Assert.assertEquals(counts, this.dataGenerator.generate(second));
+
+        Assert.assertEquals(3, (long) counts.get(DataGenerator.USERS));
+        Assert.assertEquals(3, (long) counts.get(DataGenerator.GROUPS));
+        Assert.assertEquals(9, (long) counts.get(DataGenerator.PROJECTS));
+        Assert.assertEquals(30, (long) counts.get(DataGenerator.TASKS));
+        Assert.assertEquals(12, (long) counts.get(DataGenerator.COMPLETED_TASKS));
+        Assert.assertEquals(15, (long) counts.get(DataGenerator.NOTES));
+        Assert.assertEquals(15, (long) counts.get(DataGenerator.TRANSACTIONS));
+        Assert.assertEquals(60, (long) counts.get(DataGenerator.CONTENTS));
+        Assert.assertEquals(15, (long) counts.get(DataGenerator.NOTIFICATIONS));
+        Assert.assertEquals(54, (long) counts.get(DataGenerator.AUDITABLES));
+        Assert.assertTrue(counts.get(DataGenerator.SHARED_ITEMS) > 0);
+
+        String user = DataGenerator.getUsername(first, 0);
+        Assert.assertEquals(5, this.notificationRepository.findByTargetUser(user).size());
+        Assert.assertEquals(getTaskNames(user), getTaskNames(DataGenerator.getUsername(second, 0)));
+    }
+
+    private static DataGeneratorConfig createShape(String userPrefix) {
+        DataGeneratorConfig shape = new DataGeneratorConfig();
+        shape.setUserPrefix(userPrefix);
+        shape.setAnchorDate("2020-06-15");
+        shape.setUsers(3);
+        shape.setGroupsPerUser(1);
+        shape.setUsersPerGroup(2);
+        shape.setProjectsPerGroup(3);
+        shape.setTasksPerProject(10);
+        shape.setCompletedTasksPerProject(4);
+        shape.setNotesPerProject(5);
+        shape.setTransactionsPerProject(5);
+        shape.setMaxTreeDepth(3);
+        shape.setLabelsPerUser(3);
+        shape.setContentsPerItem(1);
+        shape.setRevisionsPerContent(3);
+        shape.setRecurringTaskPercent(50);
+        shape.setSharedItemsPerUser(4);
+        shape.setNotificationsPerUser(5);
+        shape.setMonths(2);
+        shape.setAuditablesPerProjectPerMonth(3);
+        shape.setBatchSize(4);
+        return shape;
+    }
+
+    private List<String> getTaskNames(String owner) {
+        Project project = this.projectRepository.findByOwner(owner).stream()
+                .filter(p -> !p.isShared() && ProjectType.TODO.getValue() == p.getType())
+                .findFirst().get();
+        return this.taskRepository.findTaskByProject(project).stream()
+                .sorted(Comparator.comparing(Task::getId))
+                .map(Task::getName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,53 @@
+package com.bulletjournal.metrics;
+
+import com.bulletjournal.redis.RedisUserRepository;
+import com.bulletjournal.repository.NotificationDaoJpa;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Tests DAO methods and repository calls are timed
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class MetricsAspectTest {
+
+    @Autowired
+    private NotificationDaoJpa notificationDaoJpa;
+
+    @Autowired
+    private RedisUserRepository redisUserRepository;
+
+    // the global registry also holds registries of contexts closed by other tests, which no longer record
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testTimers() {
+        long daoCount = count(MetricsAspect.DAO_TIMER, "NotificationDaoJpa", "getNotificationCount");
+        long repositoryCount = count(MetricsAspect.REPOSITORY_TIMER, "RedisUserRepository", "findById");
+
+        this.notificationDaoJpa.getNotificationCount("MetricsAspectTest");
+        this.redisUserRepository.findById("MetricsAspectTest");
+
+        Assert.assertEquals(daoCount + 1, count(MetricsAspect.DAO_TIMER, "NotificationDaoJpa", "getNotificationCount"));
+        Assert.assertEquals(repositoryCount + 1,
+                count(MetricsAspect.REPOSITORY_TIMER, "RedisUserRepository", "findById"));
+        Assert.assertEquals("redis", this.meterRegistry.find(MetricsAspect.REPOSITORY_TIMER)
+                .tag("class", "RedisUserRepository").timer().getId().getTag("store"));
+        Assert.assertNotNull(this.meterRegistry.find("notification.queue.size").gauge());
+    }
+
+    private long count(String name, String type, String method) {
+        Timer timer = this.meterRegistry.find(name).tag("class", type).tag("method", method).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
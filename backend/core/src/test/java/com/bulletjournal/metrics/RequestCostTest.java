@@ -0,0 +1,66 @@
+package com.bulletjournal.metrics;
+
+import com.bulletjournal.clients.Bulkheads;
+import com.bulletjournal.redis.RedisUserRepository;
+import com.bulletjournal.repository.NotificationDaoJpa;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Tests SQL statements, Redis commands and connection hold time on the request thread and on bulkhead calls it runs
+ * are counted
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class RequestCostTest {
+
+    @Autowired
+    private NotificationDaoJpa notificationDaoJpa;
+
+    @Autowired
+    private RedisUserRepository redisUserRepository;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @After
+    public void tearDown() {
+        RequestCost.end();
+    }
+
+    @Test
+    public void testRecordCost() {
+        RequestCost requestCost = RequestCost.start();
+        this.notificationDaoJpa.getNotificationCount("RequestCostTest");
+        this.redisUserRepository.findById("RequestCostTest");
+        RequestCost.end();
+        // not recorded after end
+        this.notificationDaoJpa.getNotificationCount("RequestCostTest");
+
+        Assert.assertEquals(1, requestCost.getSqlStatements());
+        Assert.assertEquals(1, requestCost.getConnections());
+        Assert.assertTrue(requestCost.getRedisCalls() > 0);
+        Assert.assertEquals(0, requestCost.getElasticsearchCalls());
+        Assert.assertTrue(requestCost.getBreakdown().contains("sql x1: "));
+        Assert.assertEquals("sql=1 rows=0 redis=" + requestCost.getRedisCalls() + " es=0 connections=1 held="
+                + requestCost.getConnectionHoldMillis() + "ms", requestCost.getSummary());
+    }
+
+    @Test
+    public void testRecordBulkheadCall() {
+        RequestCost requestCost = RequestCost.start();
+        this.bulkheads.get(Bulkheads.SSO).call(
+                () -> this.notificationDaoJpa.getNotificationCount("RequestCostTest"));
+        RequestCost.end();
+
+        Assert.assertEquals(1, requestCost.getSqlStatements());
+        Assert.assertEquals(1, requestCost.getConnections());
+    }
+}
@@ -0,0 +1,56 @@
+package com.bulletjournal.notifications;
+
+import com.bulletjournal.contents.ContentAction;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+
+/**
+ * Tests {@link ActivityTemplate}
+ */
+public class ActivityTemplateTest {
+
+    @Test
+    public void testRender() {
+        Assert.assertEquals("created Task ##t1## in BuJo ##p1##", ActivityTemplate.CREATE_ITEM.render(
+                ImmutableMap.of(ActivityTemplate.TYPE, "Task", ActivityTemplate.NAME, "t1",
+                        ActivityTemplate.PROJECT, "p1")));
+        Assert.assertEquals("set Task ##t1## to ##Ready## in BuJo ##p1##", ActivityTemplate.SET_TASK_STATUS.render(
+                ImmutableMap.of(ActivityTemplate.NAME, "t1", ActivityTemplate.STATUS, "Ready",
+                        ActivityTemplate.PROJECT, "p1")));
+        Assert.assertEquals("updated BuJo ##{x}##", ActivityTemplate.UPDATE_PROJECT.render(
+                ImmutableMap.of(ActivityTemplate.PROJECT, "{x}")));
+    }
+
+    @Test
+    public void testHasArgument() {
+        Assert.assertTrue(ActivityTemplate.CREATE_ITEM.hasArgument(ActivityTemplate.PROJECT));
+        Assert.assertTrue(ActivityTemplate.SHARE_WITH_LINK.hasArgument(ActivityTemplate.LINK));
+        Assert.assertFalse(ActivityTemplate.MOVE_ITEM.hasArgument(ActivityTemplate.PROJECT));
+        Assert.assertFalse(ActivityTemplate.UPDATE_PROJECT.hasArgument(ActivityTemplate.NAME));
+    }
+
+    @Test
+    public void testRenderFromRepositoryModel() {
+        Auditable auditable = new Auditable(1L, ActivityTemplate.MOVE_ITEM,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Note", ActivityTemplate.NAME, "n1", ActivityTemplate.TARGET, "p2"),
+                "BulletJournal", 2L, new Timestamp(0), ContentAction.MOVE_NOTE);
+        Assert.assertEquals("moved Note ##n1## to BuJo ##p2##",
+                auditable.toRepositoryAuditable().toActivity().getActivity());
+
+        // the name the project had when the activity happened
+        auditable = new Auditable(1L, ActivityTemplate.UPDATE_ITEM,
+                ImmutableMap.of(ActivityTemplate.TYPE, "Task", ActivityTemplate.NAME, "t1",
+                        ActivityTemplate.PROJECT, "old"),
+                "BulletJournal", 2L, new Timestamp(0), ContentAction.UPDATE_TASK);
+        Assert.assertEquals("updated Task ##t1## in BuJo ##old##",
+                auditable.toRepositoryAuditable().toActivity().getActivity());
+
+        auditable = new Auditable(1L, ActivityTemplate.DELETE_PROJECT,
+                ImmutableMap.of(ActivityTemplate.PROJECT, "old"),
+                "BulletJournal", null, new Timestamp(0), ContentAction.DELETE_PROJECT);
+        Assert.assertEquals("deleted BuJo ##old##", auditable.toRepositoryAuditable().toActivity().getActivity());
+    }
+}
@@ -0,0 +1,66 @@
+package com.bulletjournal.redis;
+
+import com.bulletjournal.controller.models.User;
+import com.bulletjournal.metrics.RequestCost;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tests users are read from redis in one round trip
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class RedisUserRepositoryTest {
+
+    private static final String USER_PREFIX = "RedisUserRepositoryTest_";
+    private static final int USERS = 20;
+
+    @Autowired
+    private RedisUserRepository redisUserRepository;
+
+    private final List<String> names = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        RequestCost.end();
+        this.names.forEach(this.redisUserRepository::deleteById);
+    }
+
+    @Test
+    public void testMultiGet() {
+        for (int i = 0; i < USERS; i++) {
+            String name = USER_PREFIX + i;
+            this.names.add(name);
+            this.redisUserRepository.save(new User(i, name, "thumbnail" + i, "avatar" + i));
+        }
+        List<String> requested = new ArrayList<>(this.names);
+        requested.add(USER_PREFIX + "missing");
+
+        RequestCost requestCost = RequestCost.start();
+        Map<String, User> users = this.redisUserRepository.multiGet(requested).stream()
+                .collect(Collectors.toMap(User::getName, Function.identity()));
+        RequestCost.end();
+
+        Assert.assertEquals(1, requestCost.getRedisCalls());
+        Assert.assertEquals(USERS, users.size());
+        for (int i = 0; i < USERS; i++) {
+            User user = users.get(USER_PREFIX + i);
+            Assert.assertEquals(Integer.valueOf(i), user.getId());
+            Assert.assertEquals("thumbnail" + i, user.getThumbnail());
+            Assert.assertEquals("avatar" + i, user.getAvatar());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.config.DataGeneratorConfig;
+import com.bulletjournal.datagen.DataGenerator;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Tests history page queries are served by the keyset indexes without sorting the window, as planned by Postgres
+ * for a project with months of generated history. auditables is partitioned, plans refer to the per partition
+ * indexes named after the columns.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class AuditableQueryPlanTest {
+
+    // last month, history of older months may have expired and be dropped by a cleaner of another test context
+    private static final YearMonth MONTH = YearMonth.now().minusMonths(1);
+    // data set is generated once per database and month and reused by later runs, change the prefix with the shape
+    private static final String USER_PREFIX = "aplan2_" + MONTH.format(DateTimeFormatter.ofPattern("yyyyMM")) + "_";
+    private static final int PAGE_SIZE = 50;
+    // index pages of one page of rows and the heap pages holding them
+    private static final long MAX_BUFFERS = 2 * PAGE_SIZE;
+    private static final Timestamp START_TIME = Timestamp.valueOf(MONTH.atDay(1).atStartOfDay());
+    private static final Timestamp END_TIME = Timestamp.valueOf(MONTH.atEndOfMonth().atTime(23, 59, 59));
+    // a later page, rows after it are in the window but not on the page
+    private static final Timestamp CURSOR_TIME = Timestamp.valueOf(MONTH.atDay(20).atStartOfDay());
+
+    // same query as AuditableDaoJpa.getHistory with a cursor
+    private static final String PAGE_QUERY = "SELECT * FROM auditables WHERE project_id = ? "
+            + "AND activity_time >= ? AND activity_time <= ? %s"
+            + "AND activity_time <= ? AND (activity_time < ? OR (activity_time = ? AND id < ?)) "
+            + "ORDER BY activity_time DESC, id DESC LIMIT " + (PAGE_SIZE + 1);
+
+    private static boolean analyzed;
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String originator;
+    private Long projectId;
+    private Integer action;
+
+    @Before
+    public void setup() {
+        DataGeneratorConfig shape = createShape();
+        this.originator = DataGenerator.getUsername(shape, 0);
+        if (!analyzed) {
+            if (this.userRepository.findByName(this.originator) == null) {
+                this.dataGenerator.generate(shape);
+            }
+            this.jdbcTemplate.execute("ANALYZE auditables");
+            analyzed = true;
+        }
+        this.projectId = this.jdbcTemplate.queryForObject("SELECT project_id FROM auditables "
+                + "WHERE originator = ? ORDER BY id LIMIT 1", Long.class, this.originator);
+        this.action = this.jdbcTemplate.queryForObject("SELECT action FROM auditables "
+                + "WHERE project_id = ? AND originator = ? ORDER BY id LIMIT 1", Integer.class,
+                this.projectId, this.originator);
+    }
+
+    @Test
+    public void testAllUsersAllActions() {
+        assertPlan("", "project_id_activity_time_id_idx");
+    }
+
+    @Test
+    public void testUser() {
+        assertPlan("AND originator = ? ", "project_id_originator_activity_time_id_idx", this.originator);
+    }
+
+    @Test
+    public void testAction() {
+        assertPlan("AND action = ? ", "project_id_action_activity_time_id_idx", this.action);
+    }
+
+    @Test
+    public void testUserAndAction() {
+        // partition index names are truncated after the leading columns
+        assertPlan("AND originator = ? AND action = ? ", "project_id_originator_action",
+                this.originator, this.action);
+    }
+
+    private static DataGeneratorConfig createShape() {
+        DataGeneratorConfig shape = new DataGeneratorConfig();
+        shape.setUserPrefix(USER_PREFIX);
+        shape.setAnchorDate(MONTH.atDay(15).toString());
+        shape.setUsers(8);
+        shape.setGroupsPerUser(1);
+        shape.setUsersPerGroup(8);
+        // task projects only
+        shape.setProjectsPerGroup(1);
+        shape.setTasksPerProject(50);
+        shape.setNotesPerProject(0);
+        shape.setTransactionsPerProject(0);
+        shape.setMaxTreeDepth(2);
+        shape.setLabelsPerUser(5);
+        shape.setContentsPerItem(0);
+        shape.setRecurringTaskPercent(0);
+        shape.setSharedItemsPerUser(0);
+        shape.setNotificationsPerUser(0);
+        shape.setMonths(3);
+        // 8 members and 4 actions leave more than a page per user and action before the cursor
+        shape.setAuditablesPerProjectPerMonth(5000);
+        return shape;
+    }
+
+    private void assertPlan(String filter, String expectedIndex, Object... filterArgs) {
+        List<Object> args = new ArrayList<>(Arrays.asList(this.projectId, START_TIME, END_TIME));
+        args.addAll(Arrays.asList(filterArgs));
+        args.addAll(Arrays.asList(CURSOR_TIME, CURSOR_TIME, CURSOR_TIME, Long.MAX_VALUE));
+        JsonObject plan = explain(String.format(PAGE_QUERY, filter), args.toArray()).getAsJsonObject("Plan");
+        String text = plan.toString();
+
+        List<JsonObject> nodes = new ArrayList<>();
+        collectNodes(plan, nodes);
+        Assert.assertTrue(text, nodes.stream().map(n -> n.get("Index Name")).filter(Objects::nonNull)
+                .map(JsonElement::getAsString).anyMatch(name -> name.contains(expectedIndex)));
+        Assert.assertTrue(text, nodes.stream().map(n -> n.get("Node Type").getAsString())
+                .noneMatch(type -> type.equals("Sort") || type.equals("Seq Scan")));
+        // a full page, read without skipping rows of the window
+        Assert.assertEquals(text, PAGE_SIZE + 1, plan.get("Actual Rows").getAsLong());
+        Assert.assertTrue(text, nodes.stream().map(n -> n.get("Rows Removed by Filter")).filter(Objects::nonNull)
+                .mapToLong(JsonElement::getAsLong).sum() <= PAGE_SIZE);
+        Assert.assertTrue(text, plan.get("Shared Hit Blocks").getAsLong()
+                + plan.get("Shared Read Blocks").getAsLong() <= MAX_BUFFERS);
+    }
+
+    private JsonObject explain(String sql, Object[] args) {
+        return this.jdbcTemplate.execute((ConnectionCallback<JsonObject>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+                for (int i = 0; i < args.length; i++) {
+                    explain.setObject(i + 1, args[i]);
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return JsonParser.parseString(resultSet.getString(1)).getAsJsonArray().get(0).getAsJsonObject();
+                }
+            }
+        });
+    }
+
+    private static void collectNodes(JsonObject node, List<JsonObject> nodes) {
+        nodes.add(node);
+        if (node.has("Plans")) {
+            for (JsonElement child : node.getAsJsonArray("Plans")) {
+                collectNodes(child.getAsJsonObject(), nodes);
+            }
+        }
+    }
+}
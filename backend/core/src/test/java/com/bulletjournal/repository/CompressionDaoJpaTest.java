@@ -0,0 +1,114 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.util.TextCompressor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests recompression passes over values that do not get smaller instead of selecting them again
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class CompressionDaoJpaTest {
+
+    private static final String OWNER_PREFIX = "CompressionDaoJpaTest_";
+    // more incompressible rows than a batch holds
+    private static final int INCOMPRESSIBLE = 5;
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_BATCHES = 1000;
+
+    @Autowired
+    private CompressionDaoJpa compressionDaoJpa;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CompressionDaoJpa.CompressedColumn column = new CompressionDaoJpa.CompressedColumn(
+            "user_projects", "owner", "varchar", "shared_projects");
+
+    @Before
+    @After
+    public void cleanup() {
+        this.transactionTemplate.execute(status -> {
+            this.entityManager.createNativeQuery("DELETE FROM user_projects WHERE owner LIKE '" +
+                    OWNER_PREFIX + "%'").executeUpdate();
+            return this.entityManager.createNativeQuery(
+                    "DELETE FROM compression_checkpoints WHERE compressed_column = ?")
+                    .setParameter(1, this.column.toString())
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    public void testIncompressibleValuesAreSkipped() {
+        Random random = new Random(27);
+        List<String> incompressible = new ArrayList<>();
+        for (int i = 0; i < INCOMPRESSIBLE; i++) {
+            // base64 of random bytes grows once deflated and encoded again
+            byte[] bytes = new byte[TextCompressor.DEFAULT_THRESHOLD];
+            random.nextBytes(bytes);
+            String value = Base64.getEncoder().encodeToString(bytes);
+            Assert.assertFalse(TextCompressor.isCompressed(TextCompressor.compress(value)));
+            incompressible.add(value);
+            insert(OWNER_PREFIX + i, value);
+        }
+        StringBuilder compressible = new StringBuilder();
+        while (compressible.length() < 2 * TextCompressor.DEFAULT_THRESHOLD) {
+            compressible.append("{\"id\":").append(compressible.length()).append(",\"s\":[]},");
+        }
+        // sorts after the incompressible rows
+        insert(OWNER_PREFIX + INCOMPRESSIBLE, compressible.toString());
+
+        int batches = 0;
+        while (this.compressionDaoJpa.recompress(this.column, BATCH_SIZE) > 0) {
+            Assert.assertTrue("Recompression does not end", ++batches < MAX_BATCHES);
+        }
+
+        for (int i = 0; i < INCOMPRESSIBLE; i++) {
+            Assert.assertEquals(incompressible.get(i), select(OWNER_PREFIX + i));
+        }
+        String stored = select(OWNER_PREFIX + INCOMPRESSIBLE);
+        Assert.assertTrue(TextCompressor.isCompressed(stored));
+        Assert.assertEquals(compressible.toString(), TextCompressor.decompress(stored));
+        // nothing left to examine until new rows are written
+        Assert.assertEquals(0, this.compressionDaoJpa.recompress(this.column, BATCH_SIZE));
+    }
+
+    private void insert(String owner, String sharedProjects) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        this.transactionTemplate.execute(status -> this.entityManager.createNativeQuery(
+                "INSERT INTO user_projects (owner, created_at, updated_at, shared_projects) VALUES (?, ?, ?, ?)")
+                .setParameter(1, owner)
+                .setParameter(2, now)
+                .setParameter(3, now)
+                .setParameter(4, sharedProjects)
+                .executeUpdate());
+    }
+
+    private String select(String owner) {
+        return (String) this.entityManager.createNativeQuery(
+                "SELECT shared_projects FROM user_projects WHERE owner = ?")
+                .setParameter(1, owner)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,69 @@
+package com.bulletjournal.repository;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+/**
+ * Tests content listing queries only select the columns needed by the listing
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.bulletjournal.repository.SqlStatementRecorder")
+@ActiveProfiles("test")
+public class ContentSummaryQueryTest {
+
+    @Autowired
+    private TaskContentRepository taskContentRepository;
+
+    @Autowired
+    private NoteContentRepository noteContentRepository;
+
+    @Autowired
+    private TransactionContentRepository transactionContentRepository;
+
+    @Before
+    public void setup() {
+        SqlStatementRecorder.clear();
+    }
+
+    @Test
+    public void testTaskContentSummaries() {
+        this.taskContentRepository.findContentSummariesByTask(1L);
+        assertListingColumns("task_contents");
+    }
+
+    @Test
+    public void testNoteContentSummaries() {
+        this.noteContentRepository.findContentSummariesByNote(1L);
+        assertListingColumns("note_contents");
+    }
+
+    @Test
+    public void testTransactionContentSummaries() {
+        this.transactionContentRepository.findContentSummariesByTransaction(1L);
+        assertListingColumns("transaction_contents");
+    }
+
+    private void assertListingColumns(String table) {
+        List<String> statements = SqlStatementRecorder.getStatements();
+        Assert.assertEquals(1, statements.size());
+        String sql = statements.get(0).toLowerCase();
+        Assert.assertTrue(sql, sql.contains("from " + table));
+        String columns = sql.substring(sql.indexOf("select") + "select".length(), sql.indexOf(" from "));
+        for (String column : new String[]{"id", "owner", "text", "created_at", "updated_at",
+                "latest_revision_id"}) {
+            Assert.assertTrue(columns, columns.contains("." + column + " "));
+        }
+        Assert.assertFalse(columns, columns.contains("base_text"));
+        Assert.assertFalse(columns, columns.contains("revisions"));
+        Assert.assertEquals(columns, 6, columns.split(",").length);
+    }
+}
@@ -0,0 +1,178 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.metrics.RequestCost;
+import com.bulletjournal.repository.models.Group;
+import com.bulletjournal.repository.models.User;
+import com.bulletjournal.repository.models.UserGroup;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks membership lookups of a user in 50 groups of 500 members. Caches are evicted before every run, so each
+ * run reads the database. Loading the user must not load its groups or their members and every membership question
+ * is a single statement however large the groups are. Times are logged next to walking the entity associations,
+ * which is what these lookups replace.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class GroupMembershipBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupMembershipBenchmarkTest.class);
+    private static final String TIMEZONE = "America/Los_Angeles";
+    private static final int GROUPS = 50;
+    // including the user
+    private static final int MEMBERS_PER_GROUP = 500;
+    private static final int RUNS = 10;
+    // the user row and its device tokens
+    private static final int USER_STATEMENTS = 2;
+    // user projects, the user, its group ids and their projects, the shared item project lookups
+    private static final int GET_PROJECTS_STATEMENTS = 8;
+
+    @Autowired
+    private UserDaoJpa userDaoJpa;
+
+    @Autowired
+    private GroupDaoJpa groupDaoJpa;
+
+    @Autowired
+    private ProjectDaoJpa projectDaoJpa;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @After
+    public void tearDown() {
+        RequestCost.end();
+    }
+
+    @Test
+    public void benchmarkMemberships() {
+        String prefix = "membership_" + System.nanoTime() + "_";
+        String username = prefix + "user";
+        List<Long> groupIds = seed(prefix, username);
+        Long groupId = groupIds.get(0);
+
+        int statements = measure("getByName", () -> this.userDaoJpa.getByName(username));
+        Assert.assertTrue(statements + " statements", statements <= USER_STATEMENTS);
+
+        statements = measure("getAcceptedGroupIds", () -> {
+            Assert.assertEquals(GROUPS, this.groupDaoJpa.getAcceptedGroupIds(username).size());
+            return null;
+        });
+        Assert.assertEquals(1, statements);
+
+        statements = measure("getAcceptedUsernames", () -> {
+            Assert.assertEquals(MEMBERS_PER_GROUP, this.groupDaoJpa.getAcceptedUsernames(groupId).size());
+            return null;
+        });
+        Assert.assertEquals(1, statements);
+
+        statements = measure("isAcceptedMember", () -> {
+            Assert.assertTrue(this.groupDaoJpa.isAcceptedMember(username, groupId));
+            return null;
+        });
+        Assert.assertEquals(1, statements);
+
+        statements = measure("getProjects", () -> this.projectDaoJpa.getProjects(username));
+        Assert.assertTrue(statements + " statements", statements <= GET_PROJECTS_STATEMENTS);
+
+        // the lookups above through the associations, for comparison only
+        measure("walkUserGroups", () -> this.transactionTemplate.execute(status -> {
+            User user = this.userRepository.findByName(username);
+            Assert.assertEquals(GROUPS, user.getGroups().stream().map(UserGroup::getGroup).map(Group::getId).count());
+            return null;
+        }));
+        measure("walkGroupMembers", () -> this.transactionTemplate.execute(status -> {
+            Group group = this.groupRepository.findById(groupId).get();
+            Assert.assertEquals(MEMBERS_PER_GROUP, group.getAcceptedUsers().stream()
+                    .map(userGroup -> userGroup.getUser().getName()).count());
+            return null;
+        }));
+    }
+
+    /**
+     * Inserts the user, its groups and their members with plain JDBC, other members are not shared between groups
+     *
+     * @return ids of the groups
+     */
+    private List<Long> seed(String prefix, String username) {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> groups = new ArrayList<>();
+        List<Object[]> memberships = new ArrayList<>();
+        users.add(new Object[]{username, TIMEZONE});
+        for (int g = 0; g < GROUPS; g++) {
+            String groupName = prefix + "group_" + g;
+            groups.add(new Object[]{groupName, username});
+            memberships.add(new Object[]{groupName, username});
+            for (int m = 1; m < MEMBERS_PER_GROUP; m++) {
+                String member = prefix + "g" + g + "m" + m;
+                users.add(new Object[]{member, TIMEZONE});
+                memberships.add(new Object[]{groupName, member});
+            }
+        }
+        this.jdbcTemplate.batchUpdate("INSERT INTO users (id, created_at, updated_at, name, date_format, "
+                + "time_format, timezone) VALUES (nextval('user_sequence'), now(), now(), ?, 0, 0, ?)", users);
+        this.jdbcTemplate.batchUpdate("INSERT INTO groups (id, created_at, updated_at, name, owner, default_group) "
+                + "VALUES (nextval('group_sequence'), now(), now(), ?, ?, false)", groups);
+        this.jdbcTemplate.batchUpdate("INSERT INTO user_groups (group_id, user_id, accepted) "
+                + "SELECT g.id, u.id, true FROM groups g, users u WHERE g.name = ? AND u.name = ?", memberships);
+        return this.jdbcTemplate.queryForList("SELECT id FROM groups WHERE owner = ? ORDER BY id", Long.class,
+                username);
+    }
+
+    /**
+     * Runs work with cold caches and logs its time
+     *
+     * @return the most statements of a run
+     */
+    private int measure(String name, Supplier<?> work) {
+        SessionFactory sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+        int statements = 0;
+        long totalNanos = 0;
+        long minNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            sessionFactory.getCache().evictAllRegions();
+            RequestCost requestCost = RequestCost.start();
+            long start = System.nanoTime();
+            work.get();
+            long nanos = System.nanoTime() - start;
+            RequestCost.end();
+            statements = Math.max(statements, requestCost.getSqlStatements());
+            totalNanos += nanos;
+            minNanos = Math.min(minNanos, nanos);
+        }
+        LOGGER.info("{}: {} statements, mean {} ms, min {} ms", name, statements,
+                TimeUnit.NANOSECONDS.toMillis(totalNanos / RUNS), TimeUnit.NANOSECONDS.toMillis(minNanos));
+        return statements;
+    }
+}
@@ -0,0 +1,339 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.config.DataGeneratorConfig;
+import com.bulletjournal.datagen.DataGenerator;
+import com.bulletjournal.repository.models.Project;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Tests hot queries are planned on their indexes against the synthetic data set. Plans are explained for the
+ * statements Hibernate prepares, recorded by {@link SqlStatementRecorder}, with the arguments of the call, and
+ * executed with EXPLAIN (ANALYZE, BUFFERS). Each user holds a few percent of the rows, so a sequential scan or
+ * reading as many pages as the table has means the planner found no index worth using.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.bulletjournal.repository.SqlStatementRecorder")
+@ActiveProfiles("test")
+public class QueryPlanRegressionTest {
+
+    // data set is generated once per database and reused by later runs, change the prefix with the shape
+    private static final String USER_PREFIX = "qplan2_";
+    // estimated rows of a table scan may be off from actual rows by this factor, both counted as at least MIN_ROWS
+    private static final long ESTIMATE_FACTOR = 10;
+    private static final long MIN_ROWS = 10;
+    private static final String[] TABLES = {"tasks", "notes", "transactions", "completed_tasks",
+            "shared_project_items"};
+    private static final List<String> ASSIGNEE_INDEXES = ImmutableList.of(
+            "tasks_assignees_project_id_index", "tasks_assignees_recurrence_rule_index",
+            "tasks_assignees_start_time_reminder_date_time_index", "tasks_assignees_start_time_end_time_index");
+    private static final List<String> COMPLETED_TASK_INDEXES = ImmutableList.of(
+            "completed_tasks_project_id_created_at_assignee_index", "completed_tasks_project_id_created_at_id_index",
+            "completed_tasks_project_id_updated_at_id_index", "completed_task_project_id_index");
+
+    private static boolean analyzed;
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CompletedTaskRepository completedTaskRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SharedProjectItemRepository sharedProjectItemRepository;
+
+    private String assignee;
+    private Timestamp startTime;
+    private Timestamp endTime;
+
+    @Before
+    public void setup() {
+        DataGeneratorConfig shape = createShape();
+        this.assignee = DataGenerator.getUsername(shape, 0);
+        if (!analyzed) {
+            if (this.userRepository.findByName(this.assignee) == null) {
+                this.dataGenerator.generate(shape);
+            }
+            for (String table : TABLES) {
+                this.jdbcTemplate.execute("ANALYZE " + table);
+            }
+            analyzed = true;
+        }
+        this.endTime = this.jdbcTemplate.queryForObject(
+                "SELECT MAX(start_time) FROM tasks WHERE owner = ?", Timestamp.class, this.assignee);
+        this.startTime = Timestamp.from(this.endTime.toInstant().minus(30, ChronoUnit.DAYS));
+        SqlStatementRecorder.clear();
+    }
+
+    @Test
+    public void testTasksByAssigneeAndProject() {
+        Long projectId = findProjectId("tasks");
+        this.taskRepository.findTasksByAssigneeAndProject(this.assignee, projectId);
+        assertPlan("tasks", ImmutableList.of("tasks_assignees_project_id_index", "task_project_id_index"), false,
+                new Object[]{this.assignee, projectId});
+    }
+
+    @Test
+    public void testTasksByAssigneeWithRecurrenceRule() {
+        this.taskRepository.findTasksByAssigneeAndRecurrenceRuleNotNull(this.assignee);
+        assertPlan("tasks", ASSIGNEE_INDEXES, this.assignee);
+    }
+
+    @Test
+    public void testRemindingTasksBetween() {
+        String start = this.startTime.toString();
+        String end = this.endTime.toString();
+        this.taskRepository.findRemindingTasksBetween(start, end);
+        assertPlan("tasks", ImmutableList.of("tasks_assignees_start_time_reminder_date_time_index",
+                "tasks_assignees_start_time_end_time_index"), start, end);
+    }
+
+    @Test
+    public void testRemindingTasks() {
+        String start = this.startTime.toString();
+        String now = this.endTime.toString();
+        this.taskRepository.findRemindingTasks(this.assignee, now, start);
+        assertPlan("tasks", ASSIGNEE_INDEXES, this.assignee, start, now);
+    }
+
+    @Test
+    public void testTasksOfAssigneeBetween() {
+        String start = this.startTime.toString();
+        String end = this.endTime.toString();
+        this.taskRepository.findTasksOfAssigneeBetween(this.assignee, start, end);
+        assertPlan("tasks", ASSIGNEE_INDEXES, this.assignee, start, end, start, end);
+    }
+
+    @Test
+    public void testTasksByProject() {
+        Project project = this.projectRepository.findById(findProjectId("tasks")).get();
+        this.taskRepository.findTaskByProject(project);
+        assertPlan("tasks", ImmutableList.of("task_project_id_index", "tasks_labels_project_id_index"),
+                project.getId());
+    }
+
+    @Test
+    public void testTaskLabelsByProject() {
+        Long projectId = findProjectId("tasks");
+        this.taskRepository.findUniqueLabelsByProject(projectId);
+        assertPlan("tasks", ImmutableList.of("task_project_id_index", "tasks_labels_project_id_index"), projectId);
+    }
+
+    @Test
+    public void testTasksByLabels() {
+        List<Long> labels = findLabels("tasks");
+        this.taskRepository.findTasksByLabelIds(labels);
+        assertPlan("tasks", ImmutableList.of("tasks_labels_project_id_index"), labels.toArray());
+    }
+
+    @Test
+    public void testCompletedTasksByAssigneeBetweenBefore() {
+        Long projectId = findProjectId("tasks");
+        this.completedTaskRepository.findCompletedTaskByAssigneeBetweenBefore(projectId, this.assignee,
+                this.startTime, this.endTime, this.endTime, Long.MAX_VALUE, 20);
+        assertPlan("completed_tasks", COMPLETED_TASK_INDEXES, false,
+                new Object[]{projectId, this.startTime, this.endTime, this.assignee, this.endTime, Long.MAX_VALUE, 20});
+    }
+
+    @Test
+    public void testCompletedTasksByProjectBefore() {
+        Project project = this.projectRepository.findById(findProjectId("tasks")).get();
+        this.completedTaskRepository.findCompletedTaskByProjectBefore(project, this.endTime, Long.MAX_VALUE,
+                PageRequest.of(0, 21));
+        assertPlan("completed_tasks", ImmutableList.of("completed_tasks_project_id_updated_at_id_index"),
+                project.getId(), this.endTime, this.endTime, this.endTime, Long.MAX_VALUE, 21);
+    }
+
+    @Test
+    public void testCompletedTasksBetweenBefore() {
+        Project project = this.projectRepository.findById(findProjectId("tasks")).get();
+        this.completedTaskRepository.findCompletedTaskBetweenBefore(project, this.startTime, this.endTime,
+                this.endTime, Long.MAX_VALUE, PageRequest.of(0, 21));
+        assertPlan("completed_tasks", ImmutableList.of("completed_tasks_project_id_created_at_id_index"),
+                project.getId(), this.startTime, this.endTime, this.endTime, this.endTime, this.endTime,
+                Long.MAX_VALUE, 21);
+    }
+
+    @Test
+    public void testNotesByProject() {
+        Project project = this.projectRepository.findById(findProjectId("notes")).get();
+        this.noteRepository.findNoteByProject(project);
+        assertPlan("notes", ImmutableList.of("notes_project_id_index", "notes_project_id_owner_index",
+                "notes_labels_project_id_index"), project.getId());
+    }
+
+    @Test
+    public void testNotesByLabels() {
+        List<Long> labels = findLabels("notes");
+        this.noteRepository.findNotesByLabelIds(labels);
+        assertPlan("notes", ImmutableList.of("notes_labels_project_id_index"), labels.toArray());
+    }
+
+    @Test
+    public void testTransactionsByLabels() {
+        List<Long> labels = findLabels("transactions");
+        this.transactionRepository.findTransactionsByLabelIds(labels);
+        assertPlan("transactions", ImmutableList.of("transactions_labels_project_id_index"), labels.toArray());
+    }
+
+    @Test
+    public void testTransactionsOfPayerBetween() {
+        this.transactionRepository.findTransactionsOfPayerBetween(this.assignee, this.startTime, this.endTime);
+        assertPlan("transactions", ImmutableList.of("transaction_payer_interval_index"),
+                this.assignee, this.startTime, this.endTime, this.startTime, this.endTime);
+    }
+
+    @Test
+    public void testSharedItemsByLabels() {
+        List<Long> labels = findLabels("tasks");
+        this.sharedProjectItemRepository.findSharedProjectItemsByLabelIds(this.assignee, labels);
+        List<Object> args = new ArrayList<>();
+        args.add(this.assignee);
+        args.addAll(labels);
+        assertPlan("shared_project_items", ImmutableList.of("shared_project_items_username_index"), args.toArray());
+    }
+
+    private static DataGeneratorConfig createShape() {
+        DataGeneratorConfig shape = new DataGeneratorConfig();
+        shape.setUserPrefix(USER_PREFIX);
+        shape.setAnchorDate("2020-06-15");
+        shape.setUsers(40);
+        shape.setGroupsPerUser(1);
+        shape.setUsersPerGroup(4);
+        shape.setProjectsPerGroup(3);
+        shape.setTasksPerProject(300);
+        shape.setCompletedTasksPerProject(300);
+        shape.setNotesPerProject(100);
+        shape.setTransactionsPerProject(100);
+        shape.setMaxTreeDepth(4);
+        shape.setLabelsPerUser(20);
+        shape.setContentsPerItem(0);
+        shape.setRecurringTaskPercent(10);
+        shape.setSharedItemsPerUser(50);
+        shape.setNotificationsPerUser(0);
+        shape.setMonths(1);
+        shape.setAuditablesPerProjectPerMonth(0);
+        return shape;
+    }
+
+    private Long findProjectId(String table) {
+        return this.jdbcTemplate.queryForObject("SELECT project_id FROM " + table
+                + " WHERE owner = ? ORDER BY id LIMIT 1", Long.class, this.assignee);
+    }
+
+    private List<Long> findLabels(String table) {
+        return this.jdbcTemplate.queryForObject("SELECT labels[1], labels[2] FROM " + table
+                        + " WHERE owner = ? AND cardinality(labels) >= 2 ORDER BY id LIMIT 1",
+                (rs, i) -> ImmutableList.of(rs.getLong(1), rs.getLong(2)), this.assignee);
+    }
+
+    private void assertPlan(String table, List<String> expectedIndexes, Object... args) {
+        assertPlan(table, expectedIndexes, true, args);
+    }
+
+    /**
+     * @param checkEstimate false for filters on both project and assignee, the planner multiplies their
+     *                      selectivities while a project's items are assigned to few users, and Postgres has no
+     *                      extended statistics on array elements to learn that
+     */
+    private void assertPlan(String table, List<String> expectedIndexes, boolean checkEstimate, Object[] args) {
+        String sql = SqlStatementRecorder.getStatements().stream()
+                .filter(s -> s.toLowerCase().contains(" from " + table + " "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No query on " + table));
+        JsonObject plan = explain(sql, args).getAsJsonObject("Plan");
+        String text = plan.toString();
+
+        List<JsonObject> nodes = new ArrayList<>();
+        collectNodes(plan, nodes);
+        JsonObject scan = nodes.stream()
+                .filter(n -> n.has("Relation Name") && table.equals(n.get("Relation Name").getAsString()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(text));
+        Assert.assertNotEquals(text, "Seq Scan", scan.get("Node Type").getAsString());
+        Assert.assertTrue(text, nodes.stream().map(n -> n.get("Index Name")).filter(Objects::nonNull)
+                .map(JsonElement::getAsString).anyMatch(expectedIndexes::contains));
+
+        // a scan under a limit stops early, its actual rows are only compared to the estimate of the limit
+        JsonObject rows = "Limit".equals(plan.get("Node Type").getAsString()) ? plan : scan;
+        long estimated = Math.max(rows.get("Plan Rows").getAsLong(), MIN_ROWS);
+        long actual = Math.max(rows.get("Actual Rows").getAsLong(), MIN_ROWS);
+        if (checkEstimate) {
+            Assert.assertTrue(text, estimated <= ESTIMATE_FACTOR * actual);
+            Assert.assertTrue(text, actual <= ESTIMATE_FACTOR * estimated);
+        }
+
+        long buffers = plan.get("Shared Hit Blocks").getAsLong() + plan.get("Shared Read Blocks").getAsLong();
+        long pages = this.jdbcTemplate.queryForObject(
+                "SELECT relpages FROM pg_class WHERE relname = ?", Long.class, table);
+        // rows of a user may each be on a page of their own, so a small table may be read entirely by an index
+        // scan, which still reads no more pages than rows, including those its filter removes
+        long read = scan.get("Actual Rows").getAsLong()
+                + (scan.has("Rows Removed by Filter") ? scan.get("Rows Removed by Filter").getAsLong() : 0);
+        Assert.assertTrue(text, buffers < pages || buffers <= read);
+    }
+
+    private JsonObject explain(String sql, Object[] args) {
+        return this.jdbcTemplate.execute((ConnectionCallback<JsonObject>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+                for (int i = 0; i < args.length; i++) {
+                    explain.setObject(i + 1, args[i]);
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return JsonParser.parseString(resultSet.getString(1)).getAsJsonArray().get(0).getAsJsonObject();
+                }
+            }
+        });
+    }
+
+    private static void collectNodes(JsonObject node, List<JsonObject> nodes) {
+        nodes.add(node);
+        if (node.has("Plans")) {
+            for (JsonElement child : node.getAsJsonArray("Plans")) {
+                collectNodes(child.getAsJsonObject(), nodes);
+            }
+        }
+    }
+}
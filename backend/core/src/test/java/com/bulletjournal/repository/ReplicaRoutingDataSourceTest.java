@@ -0,0 +1,226 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.CoreTestApplication;
+import com.bulletjournal.clients.UserClient;
+import com.bulletjournal.config.ReplicaConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Tests read-only transactions run on the replica database and all other work on the primary database. The
+ * replica is a second database of the local Postgres without replication, which does not lag.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String REPLICA_DATABASE = "bulletjournal_replica";
+    private static final String USER = "ReplicaRoutingDataSourceTest";
+    private static final String OTHER_USER = "ReplicaRoutingDataSourceTest_other";
+    private ConfigurableApplicationContext context;
+
+    @After
+    public void tearDown() {
+        if (this.context != null) {
+            this.context.close();
+        }
+    }
+
+    @Test
+    public void testReadOnlyTransactionsRunOnReplica() throws Exception {
+        this.context = start(REPLICA_DATABASE, 0);
+        String primaryDatabase = getPrimaryDatabase();
+        createDatabase(REPLICA_DATABASE);
+        await(this.context.getBean(ReplicaRoutingDataSource.class)::isReplicaUsable);
+
+        JdbcTemplate jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+        Assert.assertEquals(REPLICA_DATABASE, inTransaction(true, () -> getDatabase(jdbcTemplate)));
+        Assert.assertEquals(primaryDatabase, inTransaction(false, () -> getDatabase(jdbcTemplate)));
+        Assert.assertEquals(primaryDatabase, getDatabase(jdbcTemplate));
+
+        // JPA transactions take the connection of their EntityManager the same way
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                this.context.getBean(EntityManagerFactory.class));
+        Assert.assertEquals(REPLICA_DATABASE, inTransaction(true, () -> getDatabase(entityManager)));
+        Assert.assertEquals(primaryDatabase, inTransaction(false, () -> getDatabase(entityManager)));
+    }
+
+    @Test
+    public void testReadOnlyTransactionsAfterWriteRunOnPrimary() throws Exception {
+        this.context = start(REPLICA_DATABASE, 60);
+        String primaryDatabase = getPrimaryDatabase();
+        createDatabase(REPLICA_DATABASE);
+        await(this.context.getBean(ReplicaRoutingDataSource.class)::isReplicaUsable);
+
+        JdbcTemplate jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+        // a new thread has not written yet
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertEquals(REPLICA_DATABASE, executor.submit(
+                    () -> inTransaction(true, () -> getDatabase(jdbcTemplate))).get());
+            executor.submit(() -> inTransaction(false, () -> getDatabase(jdbcTemplate))).get();
+            Assert.assertEquals(primaryDatabase, executor.submit(
+                    () -> inTransaction(true, () -> getDatabase(jdbcTemplate))).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReadsAfterWriteOfUserRunOnPrimary() throws Exception {
+        this.context = start(REPLICA_DATABASE, 60);
+        String primaryDatabase = getPrimaryDatabase();
+        createDatabase(REPLICA_DATABASE);
+        ReplicaRoutingDataSource routingDataSource = this.context.getBean(ReplicaRoutingDataSource.class);
+        await(routingDataSource::isReplicaUsable);
+        StringRedisTemplate stringRedisTemplate = this.context.getBean(StringRedisTemplate.class);
+        stringRedisTemplate.delete(ReplicaRoutingDataSource.WRITTEN_KEY_PREFIX + USER);
+
+        JdbcTemplate jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+        UserRepository userRepository = this.context.getBean(UserRepository.class);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertEquals(REPLICA_DATABASE, reader.submit(
+                    asUser(USER, () -> inTransaction(true, () -> getDatabase(jdbcTemplate)))).get());
+            writer.submit(asUser(USER, () -> inTransaction(false, () -> getDatabase(jdbcTemplate)))).get();
+
+            Assert.assertEquals(primaryDatabase, reader.submit(
+                    asUser(USER, () -> inTransaction(true, () -> getDatabase(jdbcTemplate)))).get());
+            // read-only repository methods outside a transaction, the replica has no tables
+            reader.submit(asUser(USER, () -> userRepository.findAll())).get();
+            Assert.assertEquals(REPLICA_DATABASE, reader.submit(
+                    asUser(OTHER_USER, () -> inTransaction(true, () -> getDatabase(jdbcTemplate)))).get());
+        } finally {
+            writer.shutdownNow();
+            reader.shutdownNow();
+        }
+
+        // another node only sees the write in Redis, and asks about each user once
+        AtomicInteger redisChecks = new AtomicInteger();
+        StringRedisTemplate countingRedisTemplate = new StringRedisTemplate(
+                this.context.getBean(RedisConnectionFactory.class)) {
+            @Override
+            public Boolean hasKey(String key) {
+                redisChecks.incrementAndGet();
+                return super.hasKey(key);
+            }
+        };
+        ReplicaRoutingDataSource otherNode = new ReplicaRoutingDataSource(
+                this.context.getBean("primaryDataSource", DataSource.class),
+                this.context.getBean("replicaDataSource", DataSource.class),
+                this.context.getBean(ReplicaConfig.class), countingRedisTemplate);
+        otherNode.afterPropertiesSet();
+        try {
+            await(otherNode::isReplicaUsable);
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(ReplicaRoutingDataSource.Pool.PRIMARY, lookupReadOnly(otherNode, USER));
+                Assert.assertEquals(ReplicaRoutingDataSource.Pool.REPLICA, lookupReadOnly(otherNode, OTHER_USER));
+            }
+            Assert.assertEquals(2, redisChecks.get());
+        } finally {
+            otherNode.destroy();
+        }
+    }
+
+    @Test
+    public void testReadOnlyTransactionsFallBackToPrimary() throws Exception {
+        this.context = start("bulletjournal_missing_replica", 0);
+        String primaryDatabase = getPrimaryDatabase();
+
+        Assert.assertFalse(this.context.getBean(ReplicaRoutingDataSource.class).isReplicaUsable());
+        Assert.assertEquals(primaryDatabase, inTransaction(true,
+                () -> getDatabase(this.context.getBean(JdbcTemplate.class))));
+    }
+
+    private static ConfigurableApplicationContext start(String replicaDatabase, int maxLagInSeconds) {
+        return new SpringApplicationBuilder(CoreTestApplication.class)
+                .profiles("test")
+                // arguments, default properties would be overridden by application.properties
+                .run("--server.port=0",
+                        "--datasource.replica.enabled=true",
+                        "--datasource.replica.url=jdbc:postgresql://localhost:5432/" + replicaDatabase,
+                        "--datasource.replica.maxLagInSeconds=" + maxLagInSeconds,
+                        "--datasource.replica.lagCheckIntervalInMillis=100",
+                        "--datasource.replica.writeCheckIntervalInMillis=60000",
+                        "--datasource.replica.hikari.connection-timeout=1000");
+    }
+
+    private String getPrimaryDatabase() {
+        return getDatabase(new JdbcTemplate(this.context.getBean("primaryDataSource", DataSource.class)));
+    }
+
+    private void createDatabase(String database) {
+        JdbcTemplate primary = new JdbcTemplate(this.context.getBean("primaryDataSource", DataSource.class));
+        Integer count = primary.queryForObject(
+                "SELECT COUNT(*) FROM pg_database WHERE datname = ?", Integer.class, database);
+        if (count == 0) {
+            primary.execute("CREATE DATABASE " + database);
+        }
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                this.context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private static <T> Callable<T> asUser(String user, Supplier<T> work) {
+        return () -> {
+            MDC.put(UserClient.USER_NAME_KEY, user);
+            try {
+                return work.get();
+            } finally {
+                MDC.remove(UserClient.USER_NAME_KEY);
+            }
+        };
+    }
+
+    private static Object lookupReadOnly(ReplicaRoutingDataSource routingDataSource, String user) throws Exception {
+        return asUser(user, () -> {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try {
+                return routingDataSource.determineCurrentLookupKey();
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        }).call();
+    }
+
+    private static String getDatabase(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static String getDatabase(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("SELECT current_database()").getSingleResult();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("Timed out waiting for replica", System.nanoTime() < deadline);
+            Thread.sleep(50);
+        }
+    }
+}
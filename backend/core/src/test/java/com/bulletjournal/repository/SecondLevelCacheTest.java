@@ -0,0 +1,262 @@
+package com.bulletjournal.repository;
+
+import com.bulletjournal.CoreTestApplication;
+import com.bulletjournal.metrics.RequestCost;
+import com.bulletjournal.repository.models.Group;
+import com.bulletjournal.repository.models.Label;
+import com.bulletjournal.repository.models.UserGroup;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Tests the second-level cache of two application contexts sharing the database and Redis: reads are served from
+ * the cache, readers never see a value older than the last commit, changes on one node reach the other, and native
+ * updates of other tables leave cached entities in place.
+ */
+public class SecondLevelCacheTest {
+
+    private static final String TIMEZONE = "America/Los_Angeles";
+    private static final long REEVICT_DELAY_MILLIS = 200;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private ConfigurableApplicationContext a;
+    private ConfigurableApplicationContext b;
+
+    @Before
+    public void setUp() throws Exception {
+        // not shared with contexts cached by other tests
+        String channel = "bulletjournal:second-level-cache:" + UUID.randomUUID();
+        for (int i = 0; i < 2; i++) {
+            this.contexts.add(new SpringApplicationBuilder(CoreTestApplication.class)
+                    .profiles("test")
+                    // arguments, default properties would be overridden by application.properties
+                    .run("--server.port=0",
+                            "--cache.second-level.enabled=true",
+                            "--cache.second-level.invalidationChannel=" + channel,
+                            "--cache.second-level.reevictDelayInMillis=" + REEVICT_DELAY_MILLIS));
+        }
+        this.a = this.contexts.get(0);
+        this.b = this.contexts.get(1);
+        for (ConfigurableApplicationContext context : this.contexts) {
+            await(context.getBean("secondLevelCacheListenerContainer",
+                    RedisMessageListenerContainer.class)::isRunning);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        RequestCost.end();
+        this.contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    public void testReadServedFromCache() {
+        Long id = createLabel(this.a, "icon0");
+        // the first read of the other node misses
+        Assert.assertEquals("icon0", readIcon(this.b, id));
+
+        RequestCost requestCost = RequestCost.start();
+        Assert.assertEquals("icon0", readIcon(this.a, id));
+        Assert.assertEquals("icon0", readIcon(this.b, id));
+        RequestCost.end();
+        Assert.assertEquals(0, requestCost.getSqlStatements());
+
+        MeterRegistry registry = this.b.getBean(MeterRegistry.class);
+        Assert.assertTrue(registry.get("cache.gets").tags("cache", "label", "result", "hit")
+                .functionCounter().count() >= 1);
+        Assert.assertTrue(registry.get("cache.gets").tags("cache", "label", "result", "miss")
+                .functionCounter().count() >= 1);
+    }
+
+    @Test
+    public void testNativeUpdatesKeepUnrelatedEntitiesCached() {
+        Long id = createLabel(this.a, "kept");
+        Assert.assertEquals("kept", readIcon(this.a, id));
+
+        // a DROP TABLE of an expired partition and a DELETE of expired notifications
+        PartitionDaoJpa partitionDaoJpa = this.a.getBean(PartitionDaoJpa.class);
+        partitionDaoJpa.createPartition(PartitionDaoJpa.NOTIFICATIONS, YearMonth.of(2001, 1));
+        Assert.assertEquals(1, partitionDaoJpa.dropPartitionsBefore(PartitionDaoJpa.NOTIFICATIONS,
+                Timestamp.valueOf(LocalDate.of(2001, 3, 1).atStartOfDay())).size());
+
+        RequestCost requestCost = RequestCost.start();
+        Assert.assertEquals("kept", readIcon(this.a, id));
+        RequestCost.end();
+        Assert.assertEquals(0, requestCost.getSqlStatements());
+    }
+
+    @Test
+    public void testReadersNeverSeeOlderThanLastCommit() throws Exception {
+        Long id = createLabel(this.a, "0");
+        int updates = 200;
+        AtomicInteger committed = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        Queue<String> stale = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        int before = committed.get();
+                        int read = Integer.parseInt(readIcon(this.a, id));
+                        if (read < before) {
+                            stale.add("read " + read + " after " + before + " was committed");
+                        }
+                    }
+                }));
+            }
+            for (int i = 1; i <= updates; i++) {
+                updateIcon(this.a, id, String.valueOf(i));
+                committed.set(i);
+            }
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertTrue(String.join("\n", stale), stale.isEmpty());
+        Assert.assertEquals(String.valueOf(updates), readIcon(this.a, id));
+    }
+
+    @Test
+    public void testChangeOnOtherNodeEvicted() throws Exception {
+        Long id = createLabel(this.a, "old");
+        Assert.assertEquals("old", readIcon(this.b, id));
+
+        updateIcon(this.a, id, "new");
+        await(() -> "new".equals(readIcon(this.b, id)));
+
+        inTransaction(this.a, () -> {
+            this.a.getBean(LabelRepository.class).deleteById(id);
+            return null;
+        });
+        await(() -> readIcon(this.b, id) == null);
+    }
+
+    @Test
+    public void testQueryResultsInvalidatedByOtherNode() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        String owner = "cache_owner_" + suffix;
+        String member = "cache_member_" + suffix;
+        this.a.getBean(UserDaoJpa.class).create(owner, TIMEZONE);
+        this.a.getBean(UserDaoJpa.class).create(member, TIMEZONE);
+        Long groupId = this.a.getBean(GroupDaoJpa.class).create("cache_group_" + suffix, owner).getId();
+        awaitReevictions();
+
+        Assert.assertEquals(1, countAcceptedUsers(this.b, groupId));
+        RequestCost requestCost = RequestCost.start();
+        Assert.assertEquals(1, countAcceptedUsers(this.b, groupId));
+        RequestCost.end();
+        Assert.assertEquals(0, requestCost.getSqlStatements());
+
+        inTransaction(this.a, () -> this.a.getBean(UserGroupRepository.class).save(new UserGroup(
+                this.a.getBean(UserRepository.class).findByName(member),
+                this.a.getBean(GroupRepository.class).findById(groupId).get(), true)));
+        await(() -> countAcceptedUsers(this.b, groupId) == 2);
+        // the collection of the group is evicted with it
+        Assert.assertEquals(2, (int) inTransaction(this.b, () -> this.b.getBean(GroupRepository.class)
+                .findById(groupId).map(Group::getAcceptedUsers).get().size()));
+    }
+
+    @Test
+    public void testConcurrentUpdatesOnBothNodesConverge() throws Exception {
+        Long id = createLabel(this.a, "start");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (ConfigurableApplicationContext context : this.contexts) {
+                String node = context == this.a ? "a" : "b";
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        updateIcon(context, id, node + i);
+                    }
+                }));
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        Assert.assertNotNull(readIcon(context, id));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String last = this.a.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT icon FROM labels WHERE id = ?", String.class, id);
+        for (ConfigurableApplicationContext context : this.contexts) {
+            await(() -> last.equals(readIcon(context, id)));
+        }
+    }
+
+    private static Long createLabel(ConfigurableApplicationContext context, String icon) {
+        return context.getBean(LabelDaoJpa.class)
+                .create("cache_" + UUID.randomUUID().toString().substring(0, 8), "SecondLevelCacheTest", icon)
+                .getId();
+    }
+
+    private static String readIcon(ConfigurableApplicationContext context, Long id) {
+        return inTransaction(context, () -> context.getBean(LabelRepository.class).findById(id)
+                .map(Label::getIcon).orElse(null));
+    }
+
+    private static void updateIcon(ConfigurableApplicationContext context, Long id, String icon) {
+        inTransaction(context, () -> {
+            context.getBean(LabelRepository.class).findById(id).get().setIcon(icon);
+            return null;
+        });
+    }
+
+    private static int countAcceptedUsers(ConfigurableApplicationContext context, Long groupId) {
+        return inTransaction(context, () -> context.getBean(UserGroupRepository.class)
+                .findAllByGroupIdAndAccepted(groupId, true).size());
+    }
+
+    private static <T> T inTransaction(ConfigurableApplicationContext context, Supplier<T> work) {
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .execute(status -> work.get());
+    }
+
+    // the other node has evicted twice for all earlier changes
+    private static void awaitReevictions() throws InterruptedException {
+        Thread.sleep(5 * REEVICT_DELAY_MILLIS);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("Timed out waiting for invalidation", System.nanoTime() < deadline);
+            Thread.sleep(50);
+        }
+    }
+}
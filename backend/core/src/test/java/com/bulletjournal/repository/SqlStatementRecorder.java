@@ -0,0 +1,28 @@
+package com.bulletjournal.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records SQL statements prepared by Hibernate on the current thread
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    public static void clear() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> getStatements() {
+        return new ArrayList<>(STATEMENTS.get());
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bulletjournal.repository.utils;
+
+import com.bulletjournal.exceptions.BadRequestException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+
+/**
+ * Tests {@link KeysetCursor}
+ */
+public class KeysetCursorTest {
+
+    @Test
+    public void testEncodeDecode() {
+        Timestamp time = Timestamp.valueOf("2020-07-04 10:15:30.123456");
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(time, 1234L).encode());
+        Assert.assertEquals(time, cursor.getTime());
+        Assert.assertEquals(Long.valueOf(1234L), cursor.getId());
+    }
+
+    @Test
+    public void testFirstPage() {
+        Assert.assertSame(KeysetCursor.START, KeysetCursor.decode(null));
+        Assert.assertSame(KeysetCursor.START, KeysetCursor.decode(""));
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testInvalidCursor() {
+        KeysetCursor.decode("not-a-cursor");
+    }
+
+    @Test
+    public void testPageSize() {
+        KeysetCursor.validatePageSize(1);
+        KeysetCursor.validatePageSize(KeysetCursor.MAX_PAGE_SIZE);
+        for (int pageSize : new int[]{0, -1, KeysetCursor.MAX_PAGE_SIZE + 1, Integer.MAX_VALUE}) {
+            try {
+                KeysetCursor.validatePageSize(pageSize);
+                Assert.fail("Accepted pageSize " + pageSize);
+            } catch (BadRequestException expected) {
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bulletjournal.util;
 
+import com.bulletjournal.exceptions.BadRequestException;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -56,4 +57,24 @@ public class ContentDiffToolTest {
         String result34 = contentDiffTool.applyDiff(text3, diff34);
         Assert.assertEquals(text4, result34);
     }
+
+    @Test
+    public void testApplyClientDiff() {
+        String text1 = "The quick brown fox jumps over the lazy dog.";
+        String text2 = "The quick red fox jumps over the lazy dog!";
+        String diff12 = contentDiffTool.computeDiff(text1, text2);
+        Assert.assertEquals(text2, contentDiffTool.applyClientDiff(text1, diff12));
+
+        try {
+            contentDiffTool.applyClientDiff("Something completely different.", diff12);
+            Assert.fail("Diff against a different base should be rejected");
+        } catch (BadRequestException ignored) {
+        }
+
+        try {
+            contentDiffTool.applyClientDiff(text1, "not a patch");
+            Assert.fail("Malformed diff should be rejected");
+        } catch (BadRequestException ignored) {
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package com.bulletjournal.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link TextCompressor}
+ */
+public class TextCompressorTest {
+
+    @Test
+    public void testCompressHierarchy() {
+        StringBuilder hierarchy = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            if (i > 0) {
+                hierarchy.append(',');
+            }
+            hierarchy.append("{\"id\":").append(100000 + i * 7)
+                    .append(",\"s\":[{\"id\":").append(200000 + i).append(",\"s\":[]}]}");
+        }
+        hierarchy.append(']');
+        String text = hierarchy.toString();
+
+        String compressed = TextCompressor.compress(text);
+        Assert.assertTrue(TextCompressor.isCompressed(compressed));
+        Assert.assertTrue(compressed.length() < text.length() / 3);
+        Assert.assertEquals(text, TextCompressor.decompress(compressed));
+    }
+
+    @Test
+    public void testBelowThreshold() {
+        String text = "[{\"id\":1,\"s\":[]}]";
+        Assert.assertSame(text, TextCompressor.compress(text));
+        Assert.assertSame(text, TextCompressor.decompress(text));
+        Assert.assertNull(TextCompressor.compress(null));
+        Assert.assertNull(TextCompressor.decompress(null));
+    }
+
+    @Test
+    public void testTextLookingCompressed() {
+        String text = TextCompressor.HEADER + "not compressed";
+        String stored = TextCompressor.compress(text);
+        Assert.assertNotEquals(text, stored);
+        Assert.assertEquals(text, TextCompressor.decompress(stored));
+    }
+}
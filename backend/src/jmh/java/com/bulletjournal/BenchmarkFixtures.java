@@ -0,0 +1,114 @@
+package com.bulletjournal;
+
+import com.bulletjournal.controller.models.Label;
+import com.bulletjournal.controller.models.ProjectType;
+import com.bulletjournal.controller.models.Transaction;
+import com.bulletjournal.controller.models.User;
+import com.bulletjournal.hierarchy.HierarchyItem;
+import com.bulletjournal.repository.models.Project;
+import com.bulletjournal.repository.models.Task;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic data shared by benchmarks
+ */
+public class BenchmarkFixtures {
+
+    public static final String TIMEZONE = "America/Los_Angeles";
+    public static final long SEED = 1024;
+    private static final int ROOTS = 10;
+    private static final Gson GSON = new Gson();
+    private static final List<String> USERS = ImmutableList.of("Xavier", "bbs1024", "Thinker", "mqm", "0518");
+
+    /**
+     * Tree with ids 1 to size where every item is under a random earlier one, so depth grows with log(size)
+     */
+    public static List<HierarchyItem> createTree(int size) {
+        Random random = new Random(SEED);
+        List<HierarchyItem> items = new ArrayList<>(size);
+        List<HierarchyItem> roots = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            HierarchyItem item = new HierarchyItem((long) i + 1);
+            if (i < ROOTS) {
+                roots.add(item);
+            } else {
+                items.get(random.nextInt(i)).getS().add(item);
+            }
+            items.add(item);
+        }
+        return roots;
+    }
+
+    public static String toJson(List<HierarchyItem> items) {
+        return GSON.toJson(items);
+    }
+
+    public static Project createProject(ProjectType type) {
+        Project project = new Project("Benchmark", type.getValue(), null, false);
+        project.setId(1L);
+        return project;
+    }
+
+    /**
+     * Tasks with ids 1 to size due over a year, a fifth of them without due time and a tenth without due date
+     */
+    public static List<Task> createTasks(int size) {
+        Random random = new Random(SEED);
+        Project project = createProject(ProjectType.TODO);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setName("Task " + i);
+            task.setOwner(USERS.get(random.nextInt(USERS.size())));
+            task.setAssignees(ImmutableList.of(USERS.get(random.nextInt(USERS.size()))));
+            task.setTimezone(TIMEZONE);
+            if (random.nextInt(10) > 0) {
+                task.setDueDate(String.format("2020-%02d-%02d", random.nextInt(12) + 1, random.nextInt(28) + 1));
+                if (random.nextInt(5) > 0) {
+                    task.setDueTime(String.format("%02d:%02d", random.nextInt(24), random.nextInt(60)));
+                }
+            }
+            task.setDuration(random.nextInt(120));
+            task.setProject(project);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Transactions over a year, each with one or two of 20 labels
+     */
+    public static List<Transaction> createTransactions(int size) {
+        Random random = new Random(SEED);
+        Project project = createProject(ProjectType.LEDGER);
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            labels.add(new Label((long) i + 1, "Label" + i, "TagOutlined"));
+        }
+        long now = System.currentTimeMillis();
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<Label> transactionLabels = new ArrayList<>();
+            transactionLabels.add(labels.get(random.nextInt(labels.size())));
+            if (random.nextBoolean()) {
+                transactionLabels.add(labels.get(random.nextInt(labels.size())));
+            }
+            transactions.add(new Transaction((long) i + 1, new User(USERS.get(0)), "Transaction " + i, project,
+                    new User(USERS.get(random.nextInt(USERS.size()))), random.nextInt(100_000) / 100.0,
+                    String.format("2020-%02d-%02d", random.nextInt(12) + 1, random.nextInt(28) + 1),
+                    String.format("%02d:%02d", random.nextInt(24), random.nextInt(60)), TIMEZONE,
+                    random.nextInt(2), now, now, transactionLabels));
+        }
+        return transactions;
+    }
+}
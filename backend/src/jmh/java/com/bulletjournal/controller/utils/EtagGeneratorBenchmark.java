@@ -0,0 +1,44 @@
+package com.bulletjournal.controller.utils;
+
+import com.bulletjournal.BenchmarkFixtures;
+import com.bulletjournal.controller.models.Task;
+import com.bulletjournal.repository.models.TaskModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks {@link EtagGenerator} over a project's tasks for every hash algorithm and hash type
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EtagGeneratorBenchmark {
+
+    @Param({"MD5", "ADLER32", "SHA256"})
+    private EtagGenerator.HashAlgorithm hashAlgorithm;
+
+    @Param({"TO_HASHCODE", "TO_STRING"})
+    private EtagGenerator.HashType hashType;
+
+    @Param({"1000"})
+    private int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setup() {
+        this.tasks = BenchmarkFixtures.createTasks(this.size).stream()
+                .map(TaskModel::toPresentationModel).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public String generateEtag() {
+        return EtagGenerator.generateEtag(this.hashAlgorithm, this.hashType, this.tasks);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bulletjournal.controller.utils;
+
+import com.bulletjournal.BenchmarkFixtures;
+import com.bulletjournal.repository.models.Note;
+import com.bulletjournal.repository.models.Task;
+import com.bulletjournal.repository.models.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks sorting project items with {@link ProjectItemsGrouper} comparators. Task and transaction comparators
+ * parse dates on every comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectItemsGrouperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private List<Task> tasks;
+    private List<Transaction> transactions;
+    private List<Note> notes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkFixtures.SEED);
+        this.tasks = BenchmarkFixtures.createTasks(this.size);
+        this.transactions = new ArrayList<>(this.size);
+        this.notes = new ArrayList<>(this.size);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < this.size; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i + 1);
+            transaction.setDate(String.format("2020-%02d-%02d", random.nextInt(12) + 1, random.nextInt(28) + 1));
+            transaction.setTime(String.format("%02d:%02d", random.nextInt(24), random.nextInt(60)));
+            transaction.setTimezone(BenchmarkFixtures.TIMEZONE);
+            this.transactions.add(transaction);
+
+            Note note = new Note();
+            note.setId((long) i + 1);
+            note.setUpdatedAt(new Timestamp(now - random.nextInt(Integer.MAX_VALUE)));
+            this.notes.add(note);
+        }
+    }
+
+    @Benchmark
+    public List<Task> sortTasks() {
+        List<Task> sorted = new ArrayList<>(this.tasks);
+        sorted.sort(ProjectItemsGrouper.TASK_COMPARATOR);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Transaction> sortTransactions() {
+        List<Transaction> sorted = new ArrayList<>(this.transactions);
+        sorted.sort(ProjectItemsGrouper.TRANSACTION_COMPARATOR);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Note> sortNotes() {
+        List<Note> sorted = new ArrayList<>(this.notes);
+        sorted.sort(ProjectItemsGrouper.NOTE_COMPARATOR);
+        return sorted;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bulletjournal.hierarchy;
+
+import com.bulletjournal.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link HierarchyProcessor} on project trees of 100 to 50k items. Every call parses the relations json,
+ * which dominates for large trees.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HierarchyProcessorBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int size;
+
+    private String relations;
+    private long deepestId;
+    private long rootId;
+
+    @Setup
+    public void setup() {
+        List<HierarchyItem> tree = BenchmarkFixtures.createTree(this.size);
+        this.relations = BenchmarkFixtures.toJson(tree);
+        // added last, so under the longest path on average
+        this.deepestId = this.size;
+        this.rootId = tree.get(0).getId();
+    }
+
+    @Benchmark
+    public String addItem() {
+        return HierarchyProcessor.addItem(this.relations, this.size + 1L);
+    }
+
+    @Benchmark
+    public List<HierarchyItem> removeTargetItem() {
+        return HierarchyProcessor.removeTargetItem(this.relations, this.deepestId);
+    }
+
+    @Benchmark
+    public List<Long> getSubItems() {
+        return HierarchyProcessor.getSubItems(this.relations, this.rootId);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bulletjournal.hierarchy;
+
+import com.bulletjournal.BenchmarkFixtures;
+import com.bulletjournal.repository.models.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks {@link TaskRelationsProcessor#processRelations} turning a project's task tree into presentation models
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskRelationsProcessorBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private Map<Long, Task> taskMap;
+    private String relations;
+
+    @Setup
+    public void setup() {
+        this.taskMap = BenchmarkFixtures.createTasks(this.size).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        this.relations = BenchmarkFixtures.toJson(BenchmarkFixtures.createTree(this.size));
+    }
+
+    @Benchmark
+    public List<com.bulletjournal.controller.models.Task> processRelations() {
+        return TaskRelationsProcessor.processRelations(this.taskMap, this.relations);
+    }
+}
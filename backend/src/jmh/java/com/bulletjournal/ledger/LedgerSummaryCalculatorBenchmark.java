@@ -0,0 +1,48 @@
+package com.bulletjournal.ledger;
+
+import com.bulletjournal.BenchmarkFixtures;
+import com.bulletjournal.controller.models.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link LedgerSummaryCalculator} summarizing a year of transactions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerSummaryCalculatorBenchmark {
+
+    @Param({"DEFAULT", "PAYER", "LABEL"})
+    private LedgerSummaryType ledgerSummaryType;
+
+    @Param({"WEEKLY", "MONTHLY"})
+    private FrequencyType frequencyType;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private final LedgerSummaryCalculator ledgerSummaryCalculator = new LedgerSummaryCalculator();
+    private final ZonedDateTime startTime = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0,
+            ZoneId.of(BenchmarkFixtures.TIMEZONE));
+    private final ZonedDateTime endTime = this.startTime.plusYears(1);
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setup() {
+        this.transactions = BenchmarkFixtures.createTransactions(this.size);
+    }
+
+    @Benchmark
+    public LedgerSummary getLedgerSummary() {
+        return this.ledgerSummaryCalculator.getLedgerSummary(this.ledgerSummaryType, this.startTime, this.endTime,
+                this.transactions, this.frequencyType);
+    }
+}
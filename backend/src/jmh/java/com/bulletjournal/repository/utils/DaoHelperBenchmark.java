@@ -0,0 +1,45 @@
+package com.bulletjournal.repository.utils;
+
+import com.bulletjournal.BenchmarkFixtures;
+import com.bulletjournal.repository.models.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DaoHelper#getRecurringTask} expanding a recurring task over a month and a year
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaoHelperBenchmark {
+
+    @Param({"FREQ=DAILY;INTERVAL=1", "FREQ=WEEKLY;INTERVAL=1", "FREQ=HOURLY;INTERVAL=4"})
+    private String rule;
+
+    @Param({"31", "366"})
+    private int days;
+
+    private Task task;
+    private ZonedDateTime startTime;
+    private ZonedDateTime endTime;
+
+    @Setup
+    public void setup() {
+        this.task = BenchmarkFixtures.createTasks(1).get(0);
+        this.task.setRecurrenceRule("DTSTART:20200101T070000Z RRULE:" + this.rule);
+        this.startTime = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneId.of(BenchmarkFixtures.TIMEZONE));
+        this.endTime = this.startTime.plusDays(this.days);
+    }
+
+    @Benchmark
+    public List<Task> getRecurringTask() {
+        return DaoHelper.getRecurringTask(this.task, this.startTime, this.endTime);
+    }
+}
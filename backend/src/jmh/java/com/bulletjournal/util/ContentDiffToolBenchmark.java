@@ -0,0 +1,60 @@
+package com.bulletjournal.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ContentDiffTool} on a content revision that changes a few words of a long text
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentDiffToolBenchmark {
+
+    private static final String[] WORDS = {"bullet", "journal", "task", "note", "ledger", "project", "label", "group"};
+
+    @Param({"1000", "10000", "100000"})
+    private int length;
+
+    private ContentDiffTool contentDiffTool;
+    private String oldText;
+    private String newText;
+    private String diff;
+
+    @Setup
+    public void setup() throws Exception {
+        // created by Spring otherwise
+        Constructor<ContentDiffTool> constructor = ContentDiffTool.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        this.contentDiffTool = constructor.newInstance();
+
+        Random random = new Random(1024);
+        StringBuilder oldBuilder = new StringBuilder();
+        StringBuilder newBuilder = new StringBuilder();
+        while (oldBuilder.length() < this.length) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            oldBuilder.append(word).append(' ');
+            // about one word in fifty changes
+            newBuilder.append(random.nextInt(50) == 0 ? WORDS[random.nextInt(WORDS.length)] : word).append(' ');
+        }
+        this.oldText = oldBuilder.toString();
+        this.newText = newBuilder.toString();
+        this.diff = this.contentDiffTool.computeDiff(this.oldText, this.newText);
+    }
+
+    @Benchmark
+    public String computeDiff() {
+        return this.contentDiffTool.computeDiff(this.oldText, this.newText);
+    }
+
+    @Benchmark
+    public String applyDiff() {
+        return this.contentDiffTool.applyDiff(this.oldText, this.diff);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bulletjournal.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sends requests to the backend as a given user and records them into the stats of their endpoint
+ */
+public class Client implements Closeable {
+
+    // same as UserClient.USER_NAME_KEY, set by the auth proxy in front of the backend
+    static final String USER_NAME_KEY = "discourse-user-name";
+    private static final Gson GSON = new Gson();
+    private static final int TIMEOUT_MILLIS = 30_000;
+    private final String baseUrl;
+    private final CloseableHttpClient httpClient;
+    private final Map<String, EndpointStats> stats = new ConcurrentSkipListMap<>();
+
+    public Client(String baseUrl, int connections) {
+        this.baseUrl = baseUrl;
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(TIMEOUT_MILLIS)
+                .setSocketTimeout(TIMEOUT_MILLIS)
+                .setConnectionRequestTimeout(TIMEOUT_MILLIS)
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setMaxConnTotal(connections)
+                .setMaxConnPerRoute(connections)
+                .setDefaultRequestConfig(requestConfig)
+                .disableCookieManagement()
+                .build();
+    }
+
+    public Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    /**
+     * @param endpoint  stats key, method and route template
+     * @param startNanos when the request was meant to start, earlier than now if it had to wait
+     * @return parsed response body, null if the request failed or returned no body
+     */
+    public JsonElement send(String endpoint, String method, String path, String user, Object body, long startNanos) {
+        RequestBuilder request = RequestBuilder.create(method)
+                .setUri(this.baseUrl + path)
+                .addHeader(USER_NAME_KEY, user);
+        if (body != null) {
+            request.setEntity(new StringEntity(GSON.toJson(body), ContentType.APPLICATION_JSON));
+        }
+        boolean error = true;
+        JsonElement result = null;
+        try {
+            HttpResponse response = this.httpClient.execute(request.build());
+            String content = response.getEntity() == null ? null : EntityUtils.toString(response.getEntity());
+            error = response.getStatusLine().getStatusCode() >= 400;
+            if (!error && content != null && !content.isEmpty()) {
+                result = JsonParser.parseString(content);
+            }
+        } catch (IOException | RuntimeException e) {
+            result = null;
+        } finally {
+            if (endpoint != null) {
+                this.stats.computeIfAbsent(endpoint, EndpointStats::new).record(System.nanoTime() - startNanos, error);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.httpClient.close();
+    }
+}
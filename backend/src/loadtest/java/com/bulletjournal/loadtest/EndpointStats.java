@@ -0,0 +1,82 @@
+package com.bulletjournal.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome of requests to one endpoint, e.g. "GET /api/projects/{projectId}/tasks", collected per step
+ */
+public class EndpointStats {
+
+    // latencies are recorded in microseconds, longer ones are clamped
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void record(long latencyNanos, boolean error) {
+        this.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        this.requests.increment();
+        if (error) {
+            this.errors.increment();
+        }
+    }
+
+    /**
+     * @return requests since the last interval, and reset
+     */
+    public Interval nextInterval() {
+        return new Interval(this.endpoint, this.recorder.getIntervalHistogram(), this.requests.sumThenReset(),
+                this.errors.sumThenReset());
+    }
+
+    public static class Interval {
+        private final String endpoint;
+        private final Histogram histogram;
+        private final long requests;
+        private final long errors;
+
+        Interval(String endpoint, Histogram histogram, long requests, long errors) {
+            this.endpoint = endpoint;
+            this.histogram = histogram;
+            this.requests = requests;
+            this.errors = errors;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getErrorPercent() {
+            return this.requests == 0 ? 0 : this.errors * 100.0 / this.requests;
+        }
+
+        public double getMillis(double percentile) {
+            return this.histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
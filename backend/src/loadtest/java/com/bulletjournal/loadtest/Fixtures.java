@@ -0,0 +1,70 @@
+package com.bulletjournal.loadtest;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Projects of every user, looked up once before the test so that sessions can pick one without extra requests
+ */
+public class Fixtures {
+
+    private final List<String> users = new ArrayList<>();
+    private final List<List<Long>> taskProjects = new ArrayList<>();
+    private final List<List<Long>> noteProjects = new ArrayList<>();
+
+    public static Fixtures load(Plan plan, Client client) {
+        Fixtures fixtures = new Fixtures();
+        for (int i = 0; i < plan.getUsers(); i++) {
+            String user = plan.getUsername(i);
+            JsonElement projects = client.send(null, "GET", "/api/projects", user, null, System.nanoTime());
+            if (projects == null) {
+                throw new IllegalStateException("Unable to load projects of " + user +
+                        ", generate users with the datagen profile first");
+            }
+            List<Long> tasks = new ArrayList<>();
+            List<Long> notes = new ArrayList<>();
+            addProjects(projects.getAsJsonObject().getAsJsonArray("owned"), tasks, notes);
+            fixtures.users.add(user);
+            fixtures.taskProjects.add(tasks);
+            fixtures.noteProjects.add(notes);
+        }
+        return fixtures;
+    }
+
+    private static void addProjects(JsonArray projects, List<Long> tasks, List<Long> notes) {
+        if (projects == null) {
+            return;
+        }
+        for (JsonElement element : projects) {
+            JsonObject project = element.getAsJsonObject();
+            String type = project.get("projectType").getAsString();
+            if ("TODO".equals(type)) {
+                tasks.add(project.get("id").getAsLong());
+            } else if ("NOTE".equals(type)) {
+                notes.add(project.get("id").getAsLong());
+            }
+            addProjects(project.getAsJsonArray("subProjects"), tasks, notes);
+        }
+    }
+
+    public int size() {
+        return this.users.size();
+    }
+
+    public String getUser(int index) {
+        return this.users.get(index);
+    }
+
+    public List<Long> getTaskProjects(int index) {
+        return Collections.unmodifiableList(this.taskProjects.get(index));
+    }
+
+    public List<Long> getNoteProjects(int index) {
+        return Collections.unmodifiableList(this.noteProjects.get(index));
+    }
+}
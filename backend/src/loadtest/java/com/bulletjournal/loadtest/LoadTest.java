@@ -0,0 +1,156 @@
+package com.bulletjournal.loadtest;
+
+import com.google.gson.Gson;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link Plan} against a running backend: java LoadTest plan.json reportDirectory [baseUrl]
+ * <p>
+ * Sessions of every scenario arrive as a Poisson process at the scenario's rate times the step's multiplier, and run
+ * on a pool of worker threads. Arrivals beyond maxInFlight are dropped and reported rather than slowing down the
+ * arrival rate, so that an overloaded backend shows up as latency, errors and drops.
+ */
+public class LoadTest {
+
+    private static final Gson GSON = new Gson();
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+    private final Plan plan;
+    private final Client client;
+    private final Fixtures fixtures;
+    private final ExecutorService workers;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadTest(Plan plan, Client client, Fixtures fixtures) {
+        this.plan = plan;
+        this.client = client;
+        this.fixtures = fixtures;
+        this.workers = Executors.newFixedThreadPool(plan.getThreads());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadTest plan.json reportDirectory [baseUrl]");
+            System.exit(1);
+        }
+        Plan plan = GSON.fromJson(new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8),
+                Plan.class);
+        if (args.length > 2) {
+            plan.setBaseUrl(args[2]);
+        }
+        Path reportDirectory = Paths.get(args[1]);
+        SsoStub ssoStub = plan.getSsoPort() > 0 ? new SsoStub(plan.getSsoPort()) : null;
+        try (Client client = new Client(plan.getBaseUrl(), plan.getThreads())) {
+            LoadTest loadTest = new LoadTest(plan, client, Fixtures.load(plan, client));
+            Report report = loadTest.run();
+            report.write(reportDirectory);
+            report.print(System.out);
+            System.out.println("Report written to " + reportDirectory.toAbsolutePath());
+        } finally {
+            if (ssoStub != null) {
+                ssoStub.close();
+            }
+        }
+    }
+
+    public Report run() throws InterruptedException {
+        Report report = new Report(this.plan);
+        try {
+            if (this.plan.getWarmupSeconds() > 0) {
+                System.out.println("Warming up for " + this.plan.getWarmupSeconds() + " s");
+                runStep(0, 1.0, this.plan.getWarmupSeconds());
+            }
+            List<Double> multipliers = this.plan.getRateMultipliers();
+            for (int i = 0; i < multipliers.size(); i++) {
+                System.out.println("Step " + (i + 1) + ": rate x" + multipliers.get(i));
+                report.add(runStep(i + 1, multipliers.get(i), this.plan.getStepSeconds()));
+            }
+        } finally {
+            this.workers.shutdownNow();
+        }
+        return report;
+    }
+
+    private Report.Step runStep(int step, double multiplier, int seconds) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Plan.Scenario> scenarios = this.plan.getScenarios();
+        List<Thread> dispatchers = new ArrayList<>();
+        long[][] results = new long[scenarios.size()][];
+        for (int i = 0; i < scenarios.size(); i++) {
+            int index = i;
+            Random random = new Random(this.plan.getSeed() * 31 * 31 + step * 31 + i);
+            Thread dispatcher = new Thread(() -> results[index] = dispatch(scenarios.get(index),
+                    scenarios.get(index).getRatePerSecond() * multiplier, end, random),
+                    "dispatcher-" + scenarios.get(i).getName());
+            dispatcher.start();
+            dispatchers.add(dispatcher);
+        }
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join();
+        }
+        // sessions still running belong to this step
+        long drainEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        while (this.inFlight.get() > 0 && System.nanoTime() < drainEnd) {
+            Thread.sleep(100);
+        }
+
+        List<Report.ScenarioResult> scenarioResults = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            scenarioResults.add(new Report.ScenarioResult(scenarios.get(i).getName(), results[i][0], results[i][1]));
+        }
+        List<EndpointStats.Interval> endpoints = new ArrayList<>();
+        this.client.getStats().values().forEach(stats -> endpoints.add(stats.nextInterval()));
+        return new Report.Step(multiplier, seconds, scenarioResults, endpoints);
+    }
+
+    /**
+     * Start sessions of scenario at exponentially distributed intervals until end
+     *
+     * @return number of arrivals and of dropped arrivals
+     */
+    private long[] dispatch(Plan.Scenario scenario, double ratePerSecond, long end, Random random) {
+        if (ratePerSecond <= 0) {
+            return new long[]{0, 0};
+        }
+        long arrivals = 0;
+        long dropped = 0;
+        long due = System.nanoTime();
+        while (true) {
+            due += (long) (-Math.log(1 - random.nextDouble()) * TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            if (due >= end) {
+                break;
+            }
+            for (long now = System.nanoTime(); now < due; now = System.nanoTime()) {
+                LockSupport.parkNanos(due - now);
+            }
+            arrivals++;
+            if (this.inFlight.incrementAndGet() > this.plan.getMaxInFlight()) {
+                this.inFlight.decrementAndGet();
+                dropped++;
+                continue;
+            }
+            Session session = new Session(this.client, this.fixtures, random.nextLong(), due);
+            this.workers.execute(() -> {
+                try {
+                    scenario.getType().run(session);
+                } catch (RuntimeException e) {
+                    // failed requests are already recorded, e.g. an unexpected response body
+                } finally {
+                    this.inFlight.decrementAndGet();
+                }
+            });
+        }
+        return new long[]{arrivals, dropped};
+    }
+}
@@ -0,0 +1,110 @@
+package com.bulletjournal.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Load test plan read from JSON. Every scenario starts sessions at its own rate regardless of how fast earlier ones
+ * complete (open loop). The plan runs once per rate multiplier, each a step of stepSeconds, to find where endpoints
+ * saturate.
+ */
+public class Plan {
+
+    private String baseUrl = "http://localhost:8080";
+    // sessions act as users <userPrefix>0000, <userPrefix>0001, ... as created by DataGenerator
+    private String userPrefix = "perf";
+    private int users = 10;
+    // port of the SSO stand-in started with the test, 0 to not start it
+    private int ssoPort = 0;
+    private long seed = 1024;
+    private int warmupSeconds = 30;
+    private int stepSeconds = 60;
+    private List<Double> rateMultipliers = Collections.singletonList(1.0);
+    // sessions waiting or running at once beyond this are dropped and counted
+    private int maxInFlight = 1000;
+    private int threads = 200;
+    // a step saturates an endpoint when p99 is above this or more than maxErrorPercent of requests fail
+    private long sloP99Millis = 500;
+    private double maxErrorPercent = 1;
+    private List<Scenario> scenarios = new ArrayList<>();
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getUserPrefix() {
+        return userPrefix;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getSsoPort() {
+        return ssoPort;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public List<Double> getRateMultipliers() {
+        return rateMultipliers;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getSloP99Millis() {
+        return sloP99Millis;
+    }
+
+    public double getMaxErrorPercent() {
+        return maxErrorPercent;
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    public String getUsername(int index) {
+        return String.format("%s%04d", this.userPrefix, index);
+    }
+
+    public static class Scenario {
+        private String name;
+        private ScenarioType type;
+        // sessions started per second at rate multiplier 1
+        private double ratePerSecond;
+
+        public String getName() {
+            return name == null ? type.name() : name;
+        }
+
+        public ScenarioType getType() {
+            return type;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.bulletjournal.loadtest;
+
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of every step and, per endpoint, the highest throughput within SLO and the step where it saturated
+ */
+public class Report {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private final Plan plan;
+    private final List<Step> steps = new ArrayList<>();
+
+    public Report(Plan plan) {
+        this.plan = plan;
+    }
+
+    public void add(Step step) {
+        this.steps.add(step);
+    }
+
+    /**
+     * @return reason the endpoint is saturated in the interval, null if it is within SLO
+     */
+    private String getSaturation(EndpointStats.Interval interval) {
+        if (interval.getErrorPercent() > this.plan.getMaxErrorPercent()) {
+            return String.format("errors %.1f%%", interval.getErrorPercent());
+        }
+        if (interval.getMillis(99) > this.plan.getSloP99Millis()) {
+            return String.format("p99 %.0f ms", interval.getMillis(99));
+        }
+        return null;
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("report.txt")), true,
+                StandardCharsets.UTF_8.name())) {
+            print(out);
+        }
+        Files.write(directory.resolve("report.json"), new GsonBuilder().setPrettyPrinting().create()
+                .toJson(toJson()).getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < this.steps.size(); i++) {
+            for (EndpointStats.Interval interval : this.steps.get(i).endpoints) {
+                String name = String.format("step-%d-%s.hgrm", i + 1,
+                        interval.getEndpoint().replaceAll("[^A-Za-z0-9]+", "_"));
+                try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name)), true,
+                        StandardCharsets.UTF_8.name())) {
+                    // in milliseconds
+                    interval.getHistogram().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+
+    public void print(PrintStream out) {
+        for (int i = 0; i < this.steps.size(); i++) {
+            Step step = this.steps.get(i);
+            out.printf("Step %d: rate x%.2f for %d s%n", i + 1, step.multiplier, step.seconds);
+            out.printf("  %-24s %10s %10s %10s%n", "scenario", "offered/s", "started/s", "dropped");
+            for (ScenarioResult scenario : step.scenarios) {
+                out.printf("  %-24s %10.1f %10.1f %10d%n", scenario.name, scenario.arrivals / (double) step.seconds,
+                        (scenario.arrivals - scenario.dropped) / (double) step.seconds, scenario.dropped);
+            }
+            out.printf("  %-44s %8s %7s %9s %9s %9s %9s %9s  %s%n", "endpoint", "req/s", "err%",
+                    "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "saturation");
+            for (EndpointStats.Interval interval : step.endpoints) {
+                String saturation = getSaturation(interval);
+                out.printf("  %-44s %8.1f %7.2f %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n", interval.getEndpoint(),
+                        interval.getRequests() / (double) step.seconds, interval.getErrorPercent(),
+                        interval.getMillis(50), interval.getMillis(90), interval.getMillis(99),
+                        interval.getMillis(99.9), interval.getHistogram().getMaxValue() / 1000.0,
+                        saturation == null ? "-" : saturation);
+            }
+            out.println();
+        }
+        out.println("Saturation by endpoint");
+        for (Map.Entry<String, Map<String, Object>> entry : getSaturations().entrySet()) {
+            Map<String, Object> saturation = entry.getValue();
+            out.printf("  %-44s max req/s within SLO %8.1f, %s%n", entry.getKey(),
+                    (double) saturation.get("maxThroughputWithinSlo"),
+                    saturation.containsKey("saturatedAtStep")
+                            ? "saturated at step " + saturation.get("saturatedAtStep") + " by " +
+                            saturation.get("reason")
+                            : "not saturated");
+        }
+    }
+
+    private Map<String, Map<String, Object>> getSaturations() {
+        Map<String, Map<String, Object>> saturations = new LinkedHashMap<>();
+        for (int i = 0; i < this.steps.size(); i++) {
+            Step step = this.steps.get(i);
+            for (EndpointStats.Interval interval : step.endpoints) {
+                Map<String, Object> saturation = saturations.computeIfAbsent(interval.getEndpoint(), k -> {
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("maxThroughputWithinSlo", 0.0);
+                    return result;
+                });
+                String reason = getSaturation(interval);
+                if (reason == null) {
+                    saturation.put("maxThroughputWithinSlo", Math.max((double) saturation.get("maxThroughputWithinSlo"),
+                            interval.getRequests() / (double) step.seconds));
+                } else if (!saturation.containsKey("saturatedAtStep")) {
+                    saturation.put("saturatedAtStep", i + 1);
+                    saturation.put("reason", reason);
+                }
+            }
+        }
+        return saturations;
+    }
+
+    private Map<String, Object> toJson() {
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (Step step : this.steps) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("rateMultiplier", step.multiplier);
+            result.put("seconds", step.seconds);
+            result.put("scenarios", step.scenarios);
+            List<Map<String, Object>> endpoints = new ArrayList<>();
+            for (EndpointStats.Interval interval : step.endpoints) {
+                Map<String, Object> endpoint = new LinkedHashMap<>();
+                endpoint.put("endpoint", interval.getEndpoint());
+                endpoint.put("requests", interval.getRequests());
+                endpoint.put("errors", interval.getErrors());
+                for (double percentile : PERCENTILES) {
+                    String name = String.valueOf(percentile).replace(".0", "");
+                    endpoint.put("p" + name + "Millis", interval.getMillis(percentile));
+                }
+                endpoint.put("maxMillis", interval.getHistogram().getMaxValue() / 1000.0);
+                endpoint.put("saturation", getSaturation(interval));
+                endpoints.add(endpoint);
+            }
+            result.put("endpoints", endpoints);
+            steps.add(result);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("steps", steps);
+        report.put("saturation", getSaturations());
+        return report;
+    }
+
+    public static class Step {
+        private final double multiplier;
+        private final int seconds;
+        private final List<ScenarioResult> scenarios;
+        private final List<EndpointStats.Interval> endpoints;
+
+        public Step(double multiplier, int seconds, List<ScenarioResult> scenarios,
+                    List<EndpointStats.Interval> endpoints) {
+            this.multiplier = multiplier;
+            this.seconds = seconds;
+            this.scenarios = scenarios;
+            this.endpoints = endpoints;
+        }
+    }
+
+    public static class ScenarioResult {
+        private final String name;
+        private final long arrivals;
+        private final long dropped;
+
+        public ScenarioResult(String name, long arrivals, long dropped) {
+            this.name = name;
+            this.arrivals = arrivals;
+            this.dropped = dropped;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bulletjournal.loadtest;
+
+import com.google.gson.JsonElement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What the frontend does in one session of each scenario. Requests are recorded by route template.
+ */
+public enum ScenarioType {
+
+    // the frontend polls updates of the opened project every few seconds
+    POLL_UPDATES {
+        @Override
+        void run(Session session) {
+            Long projectId = pickProject(session);
+            session.send("GET", "/api/system/updates", "/api/system/updates" +
+                    (projectId == null ? "" : "?projectId=" + projectId), null);
+        }
+    },
+    // project list, then the tree of one project
+    LOAD_PROJECT_TREE {
+        @Override
+        void run(Session session) {
+            session.send("GET", "/api/projects", "/api/projects", null);
+            boolean notes = session.getTaskProjects().isEmpty() ||
+                    (!session.getNoteProjects().isEmpty() && session.getRandom().nextBoolean());
+            if (notes && !session.getNoteProjects().isEmpty()) {
+                session.send("GET", "/api/projects/{projectId}/notes",
+                        "/api/projects/" + session.pick(session.getNoteProjects()) + "/notes", null);
+            } else if (!notes) {
+                session.send("GET", "/api/projects/{projectId}/tasks",
+                        "/api/projects/" + session.pick(session.getTaskProjects()) + "/tasks", null);
+            }
+        }
+    },
+    TASK_CRUD {
+        @Override
+        void run(Session session) {
+            Long taskId = createTask(session);
+            if (taskId == null) {
+                return;
+            }
+            Map<String, Object> update = new HashMap<>();
+            update.put("name", "load test task updated");
+            session.send("PATCH", "/api/tasks/{taskId}", "/api/tasks/" + taskId, update);
+            session.send("GET", "/api/tasks/{taskId}", "/api/tasks/" + taskId, null);
+            session.send("DELETE", "/api/tasks/{taskId}", "/api/tasks/" + taskId, null);
+        }
+    },
+    SHARE_TASK {
+        @Override
+        void run(Session session) {
+            Long taskId = createTask(session);
+            if (taskId == null) {
+                return;
+            }
+            Map<String, Object> share = new HashMap<>();
+            share.put("targetUser", session.getOtherUser());
+            share.put("generateLink", false);
+            session.send("POST", "/api/tasks/{taskId}/share", "/api/tasks/" + taskId + "/share", share);
+            session.send("DELETE", "/api/tasks/{taskId}", "/api/tasks/" + taskId, null);
+        }
+    },
+    SEARCH {
+        private final String[] terms = {"plan", "review", "budget", "meeting", "trip", "report", "grocery"};
+
+        @Override
+        void run(Session session) {
+            session.send("GET", "/api/query", "/api/query?term=" + this.terms[session.getRandom()
+                    .nextInt(this.terms.length)], null);
+        }
+    };
+
+    abstract void run(Session session);
+
+    private static Long pickProject(Session session) {
+        if (!session.getTaskProjects().isEmpty()) {
+            return session.pick(session.getTaskProjects());
+        }
+        return session.getNoteProjects().isEmpty() ? null : session.pick(session.getNoteProjects());
+    }
+
+    /**
+     * @return id of the created task, null if it failed or the user has no TODO project
+     */
+    private static Long createTask(Session session) {
+        if (session.getTaskProjects().isEmpty()) {
+            return null;
+        }
+        Map<String, Object> reminderSetting = new HashMap<>();
+        // Before.NONE
+        reminderSetting.put("before", 6);
+        Map<String, Object> task = new HashMap<>();
+        task.put("name", "load test task");
+        task.put("timezone", "America/Los_Angeles");
+        task.put("reminderSetting", reminderSetting);
+        Long projectId = session.pick(session.getTaskProjects());
+        JsonElement created = session.send("POST", "/api/projects/{projectId}/tasks",
+                "/api/projects/" + projectId + "/tasks", task);
+        return created == null ? null : created.getAsJsonObject().get("id").getAsLong();
+    }
+}
@@ -0,0 +1,64 @@
+package com.bulletjournal.loadtest;
+
+import com.google.gson.JsonElement;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One run of a scenario as a random user. Latency of its first request counts from when the session was due to
+ * start, so time spent waiting for a free worker is not hidden (coordinated omission).
+ */
+public class Session {
+
+    private final Client client;
+    private final Fixtures fixtures;
+    private final Random random;
+    private final int user;
+    private long startNanos;
+
+    public Session(Client client, Fixtures fixtures, long seed, long dueNanos) {
+        this.client = client;
+        this.fixtures = fixtures;
+        this.random = new Random(seed);
+        this.user = this.random.nextInt(fixtures.size());
+        this.startNanos = dueNanos;
+    }
+
+    public String getUser() {
+        return this.fixtures.getUser(this.user);
+    }
+
+    /**
+     * @return another user than the session's, the session's own if there is only one
+     */
+    public String getOtherUser() {
+        if (this.fixtures.size() == 1) {
+            return getUser();
+        }
+        int other = this.random.nextInt(this.fixtures.size() - 1);
+        return this.fixtures.getUser(other >= this.user ? other + 1 : other);
+    }
+
+    public List<Long> getTaskProjects() {
+        return this.fixtures.getTaskProjects(this.user);
+    }
+
+    public List<Long> getNoteProjects() {
+        return this.fixtures.getNoteProjects(this.user);
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public <T> T pick(List<T> list) {
+        return list.get(this.random.nextInt(list.size()));
+    }
+
+    public JsonElement send(String method, String route, String path, Object body) {
+        JsonElement result = this.client.send(method + " " + route, method, path, getUser(), body, this.startNanos);
+        this.startNanos = System.nanoTime();
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bulletjournal.loadtest;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stands in for the SSO server's user lookup, GET /u/{username}.json, so that the backend can run offline. Start the
+ * backend with sso.endpoint pointing to it, see application-loadtest.properties.
+ */
+public class SsoStub implements Closeable {
+
+    private static final Gson GSON = new Gson();
+    private static final String USER_PREFIX = "/u/";
+    private static final String USER_SUFFIX = ".json";
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    public SsoStub(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext(USER_PREFIX, this::getUser);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+
+    private void getUser(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (!path.endsWith(USER_SUFFIX)) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        String username = path.substring(USER_PREFIX.length(), path.length() - USER_SUFFIX.length());
+        Map<String, Object> user = new HashMap<>();
+        user.put("id", username.hashCode() & Integer.MAX_VALUE);
+        user.put("username", username);
+        user.put("avatar_template", "/user_avatar/" + username + "/{size}.png");
+        Map<String, Object> body = new HashMap<>();
+        body.put("user", user);
+        byte[] response = GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+}
@@ -0,0 +1,18 @@
+package com.bulletjournal;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Background daemon process, the worker module. Requests are served by the api module.
+ * Runs with the worker profile in addition to the active ones, see application-worker.properties.
+ */
+@SpringBootApplication
+@EnableJpaAuditing
+public class WorkerApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(WorkerApplication.class).profiles("worker").run(args);
+    }
+}
@@ -1,15 +1,15 @@
 package com.bulletjournal.daemon;
 
 import com.bulletjournal.clients.GoogleCalClient;
+import com.bulletjournal.config.DaemonConfig;
 import com.bulletjournal.config.NotificationConfig;
-import com.bulletjournal.repository.AuditableDaoJpa;
 import com.bulletjournal.repository.GoogleCalendarProjectDaoJpa;
-import com.bulletjournal.repository.NotificationDaoJpa;
-import com.bulletjournal.repository.PublicProjectItemDaoJpa;
+import com.bulletjournal.repository.PartitionDaoJpa;
 import com.bulletjournal.util.CustomThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
@@ -20,27 +20,30 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Maintains partitions of notifications and auditables and renews Google Calendar watches.
+ * Expired rows are deleted by {@link RetentionJobRunner}. Runs only on the leader.
+ */
 @Service
+@ConditionalOnProperty(value = DaemonConfig.ENABLED, havingValue = "true", matchIfMissing = true)
 public class Cleaner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Cleaner.class);
     private final ScheduledExecutorService executorService;
-    private final NotificationDaoJpa notificationDaoJpa;
-    private final PublicProjectItemDaoJpa publicProjectItemDaoJpa;
     private final GoogleCalendarProjectDaoJpa googleCalendarProjectDaoJpa;
 
     @Autowired
     private NotificationConfig notificationConfig;
 
     @Autowired
-    private AuditableDaoJpa auditableDaoJpa;
+    private PartitionDaoJpa partitionDaoJpa;
 
     @Autowired
-    public Cleaner(NotificationDaoJpa notificationDaoJpa, PublicProjectItemDaoJpa publicProjectItemDaoJpa,
-                   GoogleCalendarProjectDaoJpa googleCalendarProjectDaoJpa, GoogleCalClient googleCalClient) {
+    private LeaderElection leaderElection;
+
+    @Autowired
+    public Cleaner(GoogleCalendarProjectDaoJpa googleCalendarProjectDaoJpa, GoogleCalClient googleCalClient) {
         this.executorService = Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("cleaner"));
-        this.notificationDaoJpa = notificationDaoJpa;
-        this.publicProjectItemDaoJpa = publicProjectItemDaoJpa;
         this.googleCalendarProjectDaoJpa = googleCalendarProjectDaoJpa;
     }
 
@@ -51,7 +54,8 @@ public class Cleaner {
             throw new IllegalArgumentException("Invalid intervalInSeconds: " + intervalInSeconds);
         }
 
-        this.executorService.scheduleWithFixedDelay(this::clean, 0, intervalInSeconds, TimeUnit.SECONDS);
+        this.leaderElection.scheduleWhileLeader(this.executorService, this::clean, 0, intervalInSeconds,
+                TimeUnit.SECONDS);
     }
 
     public void clean() {
@@ -62,18 +66,19 @@ public class Cleaner {
             LOGGER.error("cleanNotification error", e);
         }
 
-        try {
-            cleanPublicProjectItems();
-        } catch (Exception e) {
-            LOGGER.error("cleanPublicProjectItems error", e);
+        // interrupted when leadership is lost, the new leader runs the remaining steps
+        if (Thread.currentThread().isInterrupted()) {
+            return;
         }
-
         try {
             cleanHistory();
         } catch (Exception e) {
             LOGGER.error("cleanHistory error", e);
         }
 
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
         try {
             renewGoogleCalendarWatch();
         } catch (Exception e) {
@@ -90,20 +95,20 @@ public class Cleaner {
         int maxRetentionTimeInDays = notificationConfig.getCleaner().getMaxRetentionTimeInDays();
         long expirationTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxRetentionTimeInDays);
 
-        notificationDaoJpa.deleteAllExpiredNotifications(new Timestamp(expirationTime));
+        // whole expired months are dropped, rows of the month partially expired are left to retention job
+        partitionDaoJpa.createPartitions(PartitionDaoJpa.NOTIFICATIONS,
+                notificationConfig.getCleaner().getPartitionMonthsAhead());
+        partitionDaoJpa.dropPartitionsBefore(PartitionDaoJpa.NOTIFICATIONS, new Timestamp(expirationTime));
         LOGGER.info("Notification Cleaning Done");
     }
 
-    private void cleanPublicProjectItems() {
-        this.publicProjectItemDaoJpa.deleteAllExpiredPublicItems();
-        LOGGER.info("PublicProjectItems Cleaning Done");
-    }
-
     private void cleanHistory() {
         int historyMaxRetentionDays = notificationConfig.getCleaner().getHistoryMaxRetentionDays();
         long expirationTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(historyMaxRetentionDays);
 
-        auditableDaoJpa.deleteAllExpiredHistory(new Timestamp(expirationTime));
+        partitionDaoJpa.createPartitions(PartitionDaoJpa.AUDITABLES,
+                notificationConfig.getCleaner().getPartitionMonthsAhead());
+        partitionDaoJpa.dropPartitionsBefore(PartitionDaoJpa.AUDITABLES, new Timestamp(expirationTime));
         LOGGER.info("History Cleaning Done");
     }
 
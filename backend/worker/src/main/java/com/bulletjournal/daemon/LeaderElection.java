@@ -0,0 +1,222 @@
+package com.bulletjournal.daemon;
+
+import com.bulletjournal.config.DaemonConfig;
+import com.bulletjournal.config.LeaderConfig;
+import com.bulletjournal.util.CustomThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elects one instance to run background daemons. The leader holds a session level advisory lock on a dedicated
+ * connection outside the pool, checked every keepAliveIntervalInSeconds. When the session is lost, the leader steps
+ * down and Postgres releases the lock, which a follower takes on its next attempt.
+ */
+@Service
+@ConditionalOnProperty(value = DaemonConfig.ENABLED, havingValue = "true", matchIfMissing = true)
+public class LeaderElection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaderElection.class);
+    private final ScheduledExecutorService executorService;
+    private final DataSourceProperties dataSourceProperties;
+    private final List<LeadershipListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean leader;
+    private volatile int sessionPid;
+    // only used by the executor thread
+    private Connection connection;
+
+    @Autowired
+    private LeaderConfig leaderConfig;
+
+    @Autowired
+    public LeaderElection(DataSourceProperties dataSourceProperties) {
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("leader"));
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        if (!leaderConfig.isEnabled()) {
+            LOGGER.info("Leader election disabled, running background daemons on this instance");
+            setLeader(true);
+            return;
+        }
+        int keepAliveIntervalInSeconds = leaderConfig.getKeepAliveIntervalInSeconds();
+        if (keepAliveIntervalInSeconds <= 0) {
+            throw new IllegalArgumentException("Invalid keepAliveIntervalInSeconds: " + keepAliveIntervalInSeconds);
+        }
+
+        this.executorService.scheduleWithFixedDelay(this::keepAlive, 0, keepAliveIntervalInSeconds, TimeUnit.SECONDS);
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * @return backend pid of the session competing for the lock, 0 if there is none
+     */
+    public int getSessionPid() {
+        return sessionPid;
+    }
+
+    /**
+     * Start listener now if this instance is leader, and on every later change of leadership
+     */
+    public synchronized void register(LeadershipListener listener) {
+        this.listeners.add(listener);
+        if (this.leader) {
+            listener.onLeadershipAcquired();
+        }
+    }
+
+    /**
+     * Run task with fixed delay on executor while this instance is leader. A run in progress when leadership is lost
+     * is interrupted, tasks check the interrupt flag between batches so that at most one batch overlaps with the
+     * new leader.
+     */
+    public void scheduleWhileLeader(ScheduledExecutorService executor, Runnable task,
+                                    long initialDelay, long delay, TimeUnit unit) {
+        register(new LeadershipListener() {
+            private ScheduledFuture<?> future;
+
+            @Override
+            public void onLeadershipAcquired() {
+                this.future = executor.scheduleWithFixedDelay(task, initialDelay, delay, unit);
+            }
+
+            @Override
+            public void onLeadershipLost() {
+                if (this.future != null) {
+                    this.future.cancel(true);
+                    this.future = null;
+                }
+            }
+        });
+    }
+
+    private void keepAlive() {
+        try {
+            if (this.connection == null) {
+                this.connection = openConnection();
+            }
+            if (this.leader) {
+                try (Statement statement = this.connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+            } else if (tryLock()) {
+                LOGGER.info("Acquired leadership with session {}", this.sessionPid);
+                setLeader(true);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Leader election session " + this.sessionPid + " lost", e);
+            setLeader(false);
+            closeConnection();
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        int timeout = leaderConfig.getKeepAliveIntervalInSeconds();
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("ApplicationName", "bulletjournal-leader");
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("connectTimeout", String.valueOf(timeout));
+        // a hanging keep-alive counts as a lost session
+        properties.setProperty("socketTimeout", String.valueOf(timeout));
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT pg_backend_pid()")) {
+            resultSet.next();
+            this.sessionPid = resultSet.getInt(1);
+        }
+        return connection;
+    }
+
+    private boolean tryLock() throws SQLException {
+        try (PreparedStatement statement = this.connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, leaderConfig.getLockKey());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private synchronized void setLeader(boolean leader) {
+        if (this.leader == leader) {
+            return;
+        }
+        this.leader = leader;
+        if (!leader) {
+            LOGGER.info("Lost leadership");
+        }
+        for (LeadershipListener listener : this.listeners) {
+            try {
+                if (leader) {
+                    listener.onLeadershipAcquired();
+                } else {
+                    listener.onLeadershipLost();
+                }
+            } catch (Exception e) {
+                LOGGER.error("Leadership listener " + listener + " error", e);
+            }
+        }
+    }
+
+    private void closeConnection() {
+        if (this.connection == null) {
+            return;
+        }
+        try {
+            // closing the session releases the lock
+            this.connection.close();
+        } catch (SQLException e) {
+            LOGGER.error("Close leader election session error", e);
+        }
+        this.connection = null;
+        this.sessionPid = 0;
+    }
+
+    /**
+     * Step down as soon as the context starts closing, daemons depending on this are destroyed first and may take
+     * seconds to stop, while a follower could already take over
+     */
+    @EventListener(ContextClosedEvent.class)
+    @PreDestroy
+    public void preDestroy() {
+        this.executorService.shutdownNow();
+        try {
+            this.executorService.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        setLeader(false);
+        closeConnection();
+    }
+}
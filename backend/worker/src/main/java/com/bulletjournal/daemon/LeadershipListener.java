@@ -0,0 +1,12 @@
+package com.bulletjournal.daemon;
+
+/**
+ * Background daemon started and stopped by {@link LeaderElection}. Callbacks are made one at a time and must not
+ * block, long running work belongs to the daemon's own executor.
+ */
+public interface LeadershipListener {
+
+    void onLeadershipAcquired();
+
+    void onLeadershipLost();
+}
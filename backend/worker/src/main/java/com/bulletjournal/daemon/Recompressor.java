@@ -0,0 +1,87 @@
+package com.bulletjournal.daemon;
+
+import com.bulletjournal.config.CompressionConfig;
+import com.bulletjournal.config.DaemonConfig;
+import com.bulletjournal.repository.CompressionDaoJpa;
+import com.bulletjournal.util.CustomThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresses large values written before compression was enabled, one batch per column per run.
+ * Runs only on the leader.
+ */
+@Service
+@ConditionalOnProperty(value = DaemonConfig.ENABLED, havingValue = "true", matchIfMissing = true)
+public class Recompressor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Recompressor.class);
+    private final ScheduledExecutorService executorService;
+    private final CompressionDaoJpa compressionDaoJpa;
+
+    @Autowired
+    private CompressionConfig compressionConfig;
+
+    @Autowired
+    private LeaderElection leaderElection;
+
+    @Autowired
+    public Recompressor(CompressionDaoJpa compressionDaoJpa) {
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("recompressor"));
+        this.compressionDaoJpa = compressionDaoJpa;
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        CompressionConfig.Recompressor config = compressionConfig.getRecompressor();
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (config.getIntervalInSeconds() <= 0 || config.getBatchSize() <= 0) {
+            throw new IllegalArgumentException("Invalid recompressor intervalInSeconds: " +
+                    config.getIntervalInSeconds() + " batchSize: " + config.getBatchSize());
+        }
+
+        this.leaderElection.scheduleWhileLeader(this.executorService, this::recompress,
+                config.getIntervalInSeconds(), config.getIntervalInSeconds(), TimeUnit.SECONDS);
+    }
+
+    public void recompress() {
+        Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+        int batchSize = compressionConfig.getRecompressor().getBatchSize();
+        for (CompressionDaoJpa.CompressedColumn column : CompressionDaoJpa.COMPRESSED_COLUMNS) {
+            // interrupted when leadership is lost
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                int count = this.compressionDaoJpa.recompress(column, batchSize);
+                if (count > 0) {
+                    LOGGER.info("Examined {} rows of {} for compression", count, column);
+                }
+            } catch (Exception e) {
+                LOGGER.error("recompress " + column + " error", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void preDestroy() {
+        if (executorService != null) {
+            try {
+                executorService.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.bulletjournal.daemon;
+
+import com.bulletjournal.config.DaemonConfig;
+import com.bulletjournal.config.ReminderConfig;
+import com.bulletjournal.daemon.models.ReminderRecord;
+import com.bulletjournal.repository.TaskDaoJpa;
+import com.bulletjournal.repository.TaskRepository;
+import com.bulletjournal.repository.models.Task;
+import com.bulletjournal.repository.utils.DaoHelper;
+import com.bulletjournal.util.CustomThreadFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes task reminders. Each node schedules only the reminders of tasks it owns, see {@link ReminderMembership}.
+ */
+@Service
+@ConditionalOnProperty(value = DaemonConfig.ENABLED, havingValue = "true", matchIfMissing = true)
+public class Reminder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Reminder.class);
+    private static long SECONDS_OF_DAY = 86400;
+    private static long VERIFY_BUFF_SECONDS = 600;
+    private static long SCHEDULE_BUFF_SECONDS = 5;
+    private static long CRON_JOB_CYCLE_SECONDS = 15;
+
+    private final ScheduledExecutorService executorService;
+    private final Clock clock;
+    private final ConcurrentHashMap<ReminderRecord, ScheduledFuture<?>> concurrentHashMap;
+    // delay of push after the time it was scheduled for
+    private final Timer fireLag = Timer.builder("reminder.fire.lag").register(Metrics.globalRegistry);
+
+    @Autowired
+    ReminderConfig reminderConfig;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    ReminderMembership reminderMembership;
+
+    private final TaskDaoJpa taskDaoJpa;
+
+    @Autowired
+    Reminder(TaskDaoJpa taskDaoJpa) {
+        this(taskDaoJpa, Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("Reminder")),
+                Clock.systemUTC());
+    }
+
+    Reminder(TaskDaoJpa taskDaoJpa, ScheduledExecutorService executorService, Clock clock) {
+        this.taskDaoJpa = taskDaoJpa;
+        this.concurrentHashMap = new ConcurrentHashMap();
+        this.executorService = executorService;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        LOGGER.info(reminderConfig.toString());
+        Gauge.builder("reminder.scheduled", this.concurrentHashMap, ConcurrentHashMap::size)
+                .register(Metrics.globalRegistry);
+
+        this.reminderMembership.register(ring -> executorService.execute(this::rebalance));
+        executorService.execute(this::initLoad);
+
+        executorService.scheduleWithFixedDelay(this::cronJob,
+                SECONDS_OF_DAY - now().get(ChronoField.SECOND_OF_DAY),
+                CRON_JOB_CYCLE_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Drop reminders moved to other nodes and load the ones moved to this node, including those due while their
+     * previous owner was gone. Reminders already fired by the previous owner are skipped by the claim.
+     */
+    private void rebalance() {
+        concurrentHashMap.entrySet().removeIf(e -> {
+            if (reminderMembership.owns(e.getKey().getId())) {
+                return false;
+            }
+            e.getValue().cancel(false);
+            return true;
+        });
+        this.initLoad();
+    }
+
+    private void initLoad() {
+        ZonedDateTime now = now();
+        ZonedDateTime start = now.minus(reminderConfig.getLoadPrevSeconds(), ChronoUnit.SECONDS);
+        ZonedDateTime end = now.plus(reminderConfig.getLoadNextSeconds(), ChronoUnit.SECONDS);
+        this.scheduleReminderRecords(Pair.of(start, end));
+    }
+
+    private void cronJob() {
+        LOGGER.info("This is Reminder daily cronJob");
+        this.purge(this.reminderConfig.getPurgePrevSeconds());
+
+        this.scheduleReminderRecords(this.reminderConfig.getLoadNextSeconds());
+    }
+
+    /***
+     * called by controller who created or updated task
+     * @param createdTask
+     */
+    public void generateTaskReminder(Task createdTask) {
+        if (!reminderMembership.owns(createdTask.getId())) {
+            // picked up by cron job of the owner
+            return;
+        }
+        Pair<ZonedDateTime, ZonedDateTime> interval = nowToNext(SECONDS_OF_DAY);
+        taskRepository.findById(createdTask.getId()).ifPresent(task -> {
+            DaoHelper.getReminderRecords(task, interval.getFirst(), interval.getSecond()).forEach(e -> {
+                        if (!concurrentHashMap.containsKey(e)) {
+                            this.scheduleReminderRecords(reminderConfig.getLoadNextSeconds());
+                        }
+                    }
+            );
+        });
+
+    }
+
+    private void purge(long expiredSeconds) {
+        concurrentHashMap.entrySet().removeIf(e ->
+                e.getKey().getTimestampSecond() + expiredSeconds < now().toEpochSecond());
+    }
+
+    private void scheduleReminderRecords(Pair<ZonedDateTime, ZonedDateTime> interval) {
+        taskDaoJpa.getRemindingTasks(interval.getFirst(), interval.getSecond()).forEach((k, v) -> {
+            if (!concurrentHashMap.containsKey(k) && reminderMembership.owns(k.getId())) {
+                LOGGER.info("Schedule New job" + k.toString());
+                concurrentHashMap.put(k, executorService.schedule(() -> this.process(k),
+                        k.getTimestampSecond() - now().toEpochSecond() - SCHEDULE_BUFF_SECONDS,
+                        TimeUnit.SECONDS));
+            }
+        });
+    }
+
+    private void scheduleReminderRecords(long seconds) {
+        this.scheduleReminderRecords(nowToNext(seconds));
+    }
+
+    private ZonedDateTime now() {
+        return ZonedDateTime.now(this.clock.withZone(ZoneId.of(reminderConfig.getTimeZone())));
+    }
+
+    private Pair<ZonedDateTime, ZonedDateTime> nowToNext(long seconds) {
+        ZonedDateTime now = now();
+        return Pair.of(now, now.plus(seconds, ChronoUnit.SECONDS));
+    }
+
+    private void process(ReminderRecord record) {
+        // reminders taken over from another node are processed after they are due, back to the load window
+        ZonedDateTime now = now();
+        ZonedDateTime start = now.minus(reminderConfig.getLoadPrevSeconds(), ChronoUnit.SECONDS);
+        ZonedDateTime end = now.plus(VERIFY_BUFF_SECONDS, ChronoUnit.SECONDS);
+        taskRepository.findById(record.getId()).ifPresent(task -> {
+            List<ReminderRecord> records = DaoHelper.getReminderRecords(task, start, end);
+            if (records.contains(record)) {
+                concurrentHashMap.remove(record);
+                if (reminderMembership.claim(record)) {
+                    LOGGER.info("Push notification record = " + record);
+                    long scheduledTime = record.getTimestamp() - TimeUnit.SECONDS.toMillis(SCHEDULE_BUFF_SECONDS);
+                    fireLag.record(Math.max(0, this.clock.millis() - scheduledTime), TimeUnit.MILLISECONDS);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void preDestroy() {
+        if (executorService != null) {
+            try {
+                executorService.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.bulletjournal.daemon;
+
+import com.bulletjournal.config.DaemonConfig;
+import com.bulletjournal.config.ReminderConfig;
+import com.bulletjournal.daemon.models.ReminderRecord;
+import com.bulletjournal.util.ConsistentHashRing;
+import com.bulletjournal.util.CustomThreadFactory;
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Tracks live nodes through heartbeats in a Redis sorted set scored by time, and splits reminder ownership across
+ * them by consistent hashing of task id. Nodes see membership changes at slightly different times, so a reminder
+ * can be owned by two nodes for a moment. Firing is claimed in Redis to push it only once.
+ */
+@Service
+@ConditionalOnProperty(value = DaemonConfig.ENABLED, havingValue = "true", matchIfMissing = true)
+public class ReminderMembership {
+
+    static final String NODES_KEY = "reminder:nodes";
+    static final String FIRED_KEY_PREFIX = "reminder:fired:";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReminderMembership.class);
+    private final ScheduledExecutorService executorService;
+    private final Clock clock;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<ConsistentHashRing>> listeners = new CopyOnWriteArrayList<>();
+    private volatile ConsistentHashRing ring;
+
+    @Autowired
+    private ReminderConfig reminderConfig;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    public ReminderMembership() {
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("reminder-membership"));
+        this.clock = Clock.systemUTC();
+    }
+
+    ReminderMembership(ReminderConfig reminderConfig, StringRedisTemplate stringRedisTemplate,
+                       ScheduledExecutorService executorService, Clock clock) {
+        this.reminderConfig = reminderConfig;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.executorService = executorService;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        int heartbeatIntervalInSeconds = reminderConfig.getHeartbeatIntervalInSeconds();
+        if (heartbeatIntervalInSeconds <= 0 || reminderConfig.getNodeTimeoutInSeconds() <= heartbeatIntervalInSeconds) {
+            throw new IllegalArgumentException("Invalid reminder heartbeatIntervalInSeconds: " +
+                    heartbeatIntervalInSeconds + " nodeTimeoutInSeconds: " + reminderConfig.getNodeTimeoutInSeconds());
+        }
+        this.ring = new ConsistentHashRing(ImmutableSet.of(this.nodeId), reminderConfig.getVirtualNodes());
+        this.heartbeat();
+
+        this.executorService.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalInSeconds,
+                heartbeatIntervalInSeconds, TimeUnit.SECONDS);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Set<String> getNodes() {
+        return this.ring.getNodes();
+    }
+
+    /**
+     * Call listener with the new ring whenever a node joins or leaves
+     */
+    public void register(Consumer<ConsistentHashRing> listener) {
+        this.listeners.add(listener);
+    }
+
+    public boolean owns(long taskId) {
+        return this.nodeId.equals(this.ring.getNode(taskId));
+    }
+
+    /**
+     * @return true if no node has fired record yet
+     */
+    public boolean claim(ReminderRecord record) {
+        Boolean claimed = this.stringRedisTemplate.opsForValue().setIfAbsent(
+                FIRED_KEY_PREFIX + record.getId() + ":" + record.getTimestamp(), this.nodeId,
+                reminderConfig.getPurgePrevSeconds(), TimeUnit.SECONDS);
+        return Boolean.TRUE.equals(claimed);
+    }
+
+    private void heartbeat() {
+        try {
+            long now = this.clock.millis();
+            long expiration = now - TimeUnit.SECONDS.toMillis(reminderConfig.getNodeTimeoutInSeconds());
+            ZSetOperations<String, String> nodes = this.stringRedisTemplate.opsForZSet();
+            nodes.add(NODES_KEY, this.nodeId, now);
+            nodes.removeRangeByScore(NODES_KEY, Double.NEGATIVE_INFINITY, expiration);
+            Set<String> liveNodes = new HashSet<>(nodes.rangeByScore(NODES_KEY, expiration, Double.POSITIVE_INFINITY));
+            liveNodes.add(this.nodeId);
+
+            if (liveNodes.equals(this.ring.getNodes())) {
+                return;
+            }
+            LOGGER.info("Reminder nodes changed from {} to {}", this.ring.getNodes(), liveNodes);
+            this.ring = new ConsistentHashRing(liveNodes, reminderConfig.getVirtualNodes());
+            this.listeners.forEach(listener -> listener.accept(this.ring));
+        } catch (Exception e) {
+            LOGGER.error("Reminder heartbeat error", e);
+        }
+    }
+
+    @PreDestroy
+    public void preDestroy() {
+        this.executorService.shutdownNow();
+        try {
+            this.executorService.awaitTermination(5, TimeUnit.SECONDS);
+            // leave now instead of after nodeTimeoutInSeconds
+            this.stringRedisTemplate.opsForZSet().remove(NODES_KEY, this.nodeId);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.error("Leave reminder nodes error", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.bulletjournal.daemon;
+
+import com.bulletjournal.config.DaemonConfig;
+import com.bulletjournal.config.NotificationConfig;
+import com.bulletjournal.config.RetentionConfig;
+import com.bulletjournal.daemon.models.RetentionJob;
+import com.bulletjournal.repository.RetentionDaoJpa;
+import com.bulletjournal.util.CustomThreadFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs retention jobs, each on its own schedule. A run deletes expired rows chunk by chunk, throttled to
+ * maxRowsPerSecond, until no expired row is left. Reports backlog and deletion rate per job.
+ * Jobs are scheduled only on the leader.
+ */
+@Service
+@ConditionalOnProperty(value = DaemonConfig.ENABLED, havingValue = "true", matchIfMissing = true)
+public class RetentionJobRunner {
+
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String AUDITABLES = "auditables";
+    public static final String PUBLIC_PROJECT_ITEMS = "publicProjectItems";
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetentionJobRunner.class);
+    private final ScheduledExecutorService executorService;
+    private final RetentionDaoJpa retentionDaoJpa;
+    private final Map<String, RetentionJob> jobs = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> backlogs = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> rowsPerSecond = new LinkedHashMap<>();
+    private final Map<String, Counter> deletedCounters = new LinkedHashMap<>();
+
+    @Autowired
+    private NotificationConfig notificationConfig;
+
+    @Autowired
+    private RetentionConfig retentionConfig;
+
+    @Autowired
+    private LeaderElection leaderElection;
+
+    @Autowired
+    public RetentionJobRunner(RetentionDaoJpa retentionDaoJpa) {
+        this.executorService = Executors.newScheduledThreadPool(2, new CustomThreadFactory("retention"));
+        this.retentionDaoJpa = retentionDaoJpa;
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        register(new RetentionJob(NOTIFICATIONS, "notifications", "id", "bigint", "created_at",
+                () -> daysAgo(notificationConfig.getCleaner().getMaxRetentionTimeInDays())));
+        register(new RetentionJob(AUDITABLES, "auditables", "id", "bigint", "activity_time",
+                () -> daysAgo(notificationConfig.getCleaner().getHistoryMaxRetentionDays())));
+        register(new RetentionJob(PUBLIC_PROJECT_ITEMS, "public_project_items", "id", "varchar", "expiration_time",
+                () -> new Timestamp(System.currentTimeMillis())));
+    }
+
+    private void register(RetentionJob job) {
+        String name = job.getName();
+        this.jobs.put(name, job);
+        this.backlogs.put(name, new AtomicLong());
+        this.rowsPerSecond.put(name, new AtomicLong());
+        Gauge.builder("retention.backlog", this.backlogs.get(name), AtomicLong::get)
+                .tag("job", name).register(Metrics.globalRegistry);
+        Gauge.builder("retention.rows.per.second", this.rowsPerSecond.get(name), AtomicLong::get)
+                .tag("job", name).register(Metrics.globalRegistry);
+        this.deletedCounters.put(name, Counter.builder("retention.deleted")
+                .tag("job", name).register(Metrics.globalRegistry));
+
+        RetentionConfig.Job config = retentionConfig.getJob(name);
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (config.getIntervalInSeconds() <= 0 || config.getChunkSize() <= 0 || config.getMaxRowsPerSecond() <= 0) {
+            throw new IllegalArgumentException("Invalid retention job " + name + " intervalInSeconds: " +
+                    config.getIntervalInSeconds() + " chunkSize: " + config.getChunkSize() +
+                    " maxRowsPerSecond: " + config.getMaxRowsPerSecond());
+        }
+        this.leaderElection.scheduleWhileLeader(this.executorService, () -> {
+            try {
+                runJob(name);
+            } catch (Exception e) {
+                LOGGER.error("Retention job " + name + " error", e);
+            }
+        }, 0, config.getIntervalInSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Delete all expired rows of job, resuming from its checkpoint
+     *
+     * @return number of rows deleted
+     */
+    public long runJob(String name) {
+        Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+        RetentionJob job = this.jobs.get(name);
+        RetentionConfig.Job config = retentionConfig.getJob(name);
+        int chunkSize = config.getChunkSize();
+        // minimum time a chunk takes at the configured rate
+        long chunkNanos = TimeUnit.SECONDS.toNanos(chunkSize) / config.getMaxRowsPerSecond();
+
+        Timestamp expirationTime = job.getExpirationTime();
+        long backlog = this.retentionDaoJpa.countBacklog(job, expirationTime);
+        this.backlogs.get(name).set(backlog);
+
+        long start = System.nanoTime();
+        long total = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long chunkStart = System.nanoTime();
+            int deleted = this.retentionDaoJpa.deleteChunk(job, expirationTime, chunkSize);
+            total += deleted;
+            this.deletedCounters.get(name).increment(deleted);
+            this.backlogs.get(name).set(Math.max(0, backlog - total));
+            if (deleted < chunkSize) {
+                break;
+            }
+
+            long sleepNanos = chunkNanos - (System.nanoTime() - chunkStart);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        this.rowsPerSecond.get(name).set(total * 1000 / elapsedMillis);
+        LOGGER.info("Retention job {} deleted {} rows in {} ms", name, total, elapsedMillis);
+        return total;
+    }
+
+    private static Timestamp daysAgo(int days) {
+        // retention reaching before the epoch keeps every row, and is out of range for postgres timestamps
+        return new Timestamp(Math.max(0, System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days)));
+    }
+
+    @PreDestroy
+    public void preDestroy() {
+        if (executorService != null) {
+            try {
+                executorService.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
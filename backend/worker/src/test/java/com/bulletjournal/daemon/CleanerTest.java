@@ -0,0 +1,187 @@
+package com.bulletjournal.daemon;
+
+import com.bulletjournal.contents.ContentAction;
+import com.bulletjournal.notifications.ActivityTemplate;
+import com.bulletjournal.notifications.Auditable;
+import com.bulletjournal.repository.AuditableDaoJpa;
+import com.bulletjournal.repository.PartitionDaoJpa;
+import com.bulletjournal.repository.RetentionDaoJpa;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests Cleaner drops expired partitions and retention jobs delete expired rows of partitioned tables
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"notification.cleaner.maxRetentionTimeInDays=60",
+        "notification.cleaner.historyMaxRetentionDays=365", "retention.jobs.notifications.chunkSize=2"})
+@ActiveProfiles("test")
+public class CleanerTest {
+
+    @Autowired
+    private Cleaner cleaner;
+
+    @Autowired
+    private RetentionJobRunner retentionJobRunner;
+
+    @Autowired
+    private RetentionDaoJpa retentionDaoJpa;
+
+    @Autowired
+    private PartitionDaoJpa partitionDaoJpa;
+
+    @Autowired
+    private AuditableDaoJpa auditableDaoJpa;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    public void testCleanPartitionedTables() {
+        YearMonth expiredMonth = YearMonth.now().minusMonths(16);
+        String notificationPartition = this.partitionDaoJpa.createPartition(
+                PartitionDaoJpa.NOTIFICATIONS, expiredMonth);
+        String auditablePartition = this.partitionDaoJpa.createPartition(PartitionDaoJpa.AUDITABLES, expiredMonth);
+        Timestamp expired = Timestamp.from(expiredMonth.atDay(10).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        // in a partition that is not dropped, but older than retention
+        Timestamp partiallyExpired = new Timestamp(System.currentTimeMillis() - 61L * 24 * 3600 * 1000);
+        Timestamp recent = new Timestamp(System.currentTimeMillis());
+
+        long expiredNotification = insertNotification(expired);
+        long partiallyExpiredNotification = insertNotification(partiallyExpired);
+        long recentNotification = insertNotification(recent);
+        this.auditableDaoJpa.create(ImmutableList.of(
+                auditable(expired), auditable(new Timestamp(System.currentTimeMillis() - 366L * 24 * 3600 * 1000)),
+                auditable(recent)));
+
+        this.cleaner.clean();
+        this.retentionJobRunner.runJob(RetentionJobRunner.NOTIFICATIONS);
+        this.retentionJobRunner.runJob(RetentionJobRunner.AUDITABLES);
+
+        Assert.assertFalse(this.partitionDaoJpa.getPartitions(PartitionDaoJpa.NOTIFICATIONS)
+                .contains(notificationPartition));
+        Assert.assertFalse(this.partitionDaoJpa.getPartitions(PartitionDaoJpa.AUDITABLES)
+                .contains(auditablePartition));
+        // partitions are created ahead of time
+        Assert.assertTrue(this.partitionDaoJpa.getPartitions(PartitionDaoJpa.NOTIFICATIONS).contains(
+                PartitionDaoJpa.NOTIFICATIONS + "_p" + YearMonth.now().plusMonths(3).format(
+                        DateTimeFormatter.ofPattern("yyyy_MM"))));
+
+        Assert.assertEquals(0, countNotification(expiredNotification));
+        Assert.assertEquals(0, countNotification(partiallyExpiredNotification));
+        Assert.assertEquals(1, countNotification(recentNotification));
+        Assert.assertEquals(0L, ((Number) this.entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM auditables WHERE originator = 'CleanerTest' AND activity_time < ?")
+                .setParameter(1, new Timestamp(System.currentTimeMillis() - 365L * 24 * 3600 * 1000))
+                .getSingleResult()).longValue());
+        Assert.assertEquals(1L, ((Number) this.entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM auditables WHERE originator = 'CleanerTest' AND activity_time = ?")
+                .setParameter(1, recent)
+                .getSingleResult()).longValue());
+    }
+
+    @Test
+    public void testDefaultPartition() {
+        // past the partitions created ahead of time
+        YearMonth futureMonth = YearMonth.now().plusMonths(12);
+        String futurePartition = PartitionDaoJpa.NOTIFICATIONS + "_p" + futureMonth.format(
+                DateTimeFormatter.ofPattern("yyyy_MM"));
+        YearMonth expiredMonth = YearMonth.now().minusMonths(16);
+        this.partitionDaoJpa.dropPartitionsBefore(PartitionDaoJpa.NOTIFICATIONS,
+                Timestamp.from(expiredMonth.plusMonths(1).atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        dropTable(futurePartition);
+        try {
+            long future = insertNotification(Timestamp.from(
+                    futureMonth.atDay(10).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            long expired = insertNotification(Timestamp.from(
+                    expiredMonth.atDay(10).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            String defaultPartition = PartitionDaoJpa.getDefaultPartition(PartitionDaoJpa.NOTIFICATIONS);
+            Assert.assertEquals(1, countNotification(defaultPartition, future));
+            Assert.assertEquals(1, countNotification(defaultPartition, expired));
+
+            // fails while the default partition holds a row of the month unless the row is moved
+            this.transactionTemplate.execute(status -> this.partitionDaoJpa.createPartition(
+                    PartitionDaoJpa.NOTIFICATIONS, futureMonth));
+            Assert.assertEquals(0, countNotification(defaultPartition, future));
+            Assert.assertEquals(1, countNotification(futurePartition, future));
+
+            this.cleaner.clean();
+            Assert.assertEquals(0, countNotification(expired));
+            Assert.assertEquals(1, countNotification(future));
+        } finally {
+            dropTable(futurePartition);
+        }
+    }
+
+    @Test
+    public void testRetentionJobInChunks() {
+        Timestamp expired = new Timestamp(System.currentTimeMillis() - 61L * 24 * 3600 * 1000);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(insertNotification(expired));
+        }
+
+        this.retentionJobRunner.runJob(RetentionJobRunner.NOTIFICATIONS);
+
+        for (long id : ids) {
+            Assert.assertEquals(0, countNotification(id));
+        }
+        // scan reached the end of table
+        Assert.assertNull(this.retentionDaoJpa.getCheckpoint(RetentionJobRunner.NOTIFICATIONS));
+    }
+
+    private Auditable auditable(Timestamp activityTime) {
+        return new Auditable(11L, ActivityTemplate.UPDATE_PROJECT, ImmutableMap.of(), "CleanerTest", null,
+                activityTime, ContentAction.UPDATE_PROJECT);
+    }
+
+    private long insertNotification(Timestamp createdAt) {
+        return this.transactionTemplate.execute(status -> {
+            long id = ((Number) this.entityManager.createNativeQuery("SELECT nextval('notification_sequence')")
+                    .getSingleResult()).longValue();
+            this.entityManager.createNativeQuery("INSERT INTO notifications (id, created_at, updated_at, "
+                    + "originator, target_user, title, type) VALUES (?, ?, ?, 'CleanerTest', 'CleanerTest', "
+                    + "'CleanerTest', 'CleanerTest')")
+                    .setParameter(1, id)
+                    .setParameter(2, createdAt)
+                    .setParameter(3, createdAt)
+                    .executeUpdate();
+            return id;
+        });
+    }
+
+    private long countNotification(long id) {
+        return countNotification(PartitionDaoJpa.NOTIFICATIONS, id);
+    }
+
+    private long countNotification(String table, long id) {
+        return ((Number) this.entityManager.createNativeQuery("SELECT COUNT(*) FROM " + table + " WHERE id = ?")
+                .setParameter(1, id)
+                .getSingleResult()).longValue();
+    }
+
+    private void dropTable(String table) {
+        this.transactionTemplate.execute(status -> this.entityManager.createNativeQuery(
+                "DROP TABLE IF EXISTS " + table).executeUpdate());
+    }
+}
@@ -0,0 +1,150 @@
+package com.bulletjournal.daemon;
+
+import com.bulletjournal.WorkerApplication;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Starts two application contexts competing for leadership, kills the leader and measures failover time, and checks
+ * daemon runs of the old leader are interrupted
+ */
+public class LeaderElectionTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaderElectionTest.class);
+    private static final int KEEP_ALIVE_INTERVAL_IN_SECONDS = 1;
+    // follower retries the lock once per interval, leader notices a lost session within an interval
+    private static final long MAX_FAILOVER_MILLIS = TimeUnit.SECONDS.toMillis(3L * KEEP_ALIVE_INTERVAL_IN_SECONDS);
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        // not shared with the lock of contexts cached by other tests
+        long lockKey = ThreadLocalRandom.current().nextLong();
+        for (int i = 0; i < 2; i++) {
+            this.contexts.add(new SpringApplicationBuilder(WorkerApplication.class)
+                    .profiles("test")
+                    // arguments, default properties would be overridden by application.properties
+                    .run("--server.port=0", "--leader.lockKey=" + lockKey,
+                            "--leader.keepAliveIntervalInSeconds=" + KEEP_ALIVE_INTERVAL_IN_SECONDS));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        this.contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    public void testFailoverWhenLeaderSessionKilled() throws Exception {
+        ConfigurableApplicationContext leader = awaitSingleLeader();
+        LeaderElection oldLeader = leader.getBean(LeaderElection.class);
+        LeaderElection follower = getFollower(leader).getBean(LeaderElection.class);
+
+        long start = System.nanoTime();
+        terminateSession(leader, oldLeader);
+        await(follower::isLeader);
+        long failoverMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        await(() -> !oldLeader.isLeader());
+        LOGGER.info("Failover after leader session killed took {} ms", failoverMillis);
+
+        Assert.assertTrue("Failover took " + failoverMillis + " ms", failoverMillis <= MAX_FAILOVER_MILLIS);
+        // old leader keeps competing with a new session
+        await(() -> oldLeader.getSessionPid() != 0);
+        Assert.assertFalse(oldLeader.isLeader());
+        Assert.assertTrue(follower.isLeader());
+    }
+
+    @Test
+    public void testFailoverWhenLeaderStopped() throws Exception {
+        ConfigurableApplicationContext leader = awaitSingleLeader();
+        LeaderElection follower = getFollower(leader).getBean(LeaderElection.class);
+
+        long start = System.nanoTime();
+        // the leader steps down when closing starts, its daemons take a while longer to stop
+        Thread closing = new Thread(leader::close);
+        closing.start();
+        await(follower::isLeader);
+        long failoverMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        closing.join();
+        LOGGER.info("Failover after leader stopped took {} ms", failoverMillis);
+
+        Assert.assertTrue("Failover took " + failoverMillis + " ms", failoverMillis <= MAX_FAILOVER_MILLIS);
+    }
+
+    @Test
+    public void testRunInterruptedWhenLeadershipLost() throws Exception {
+        ConfigurableApplicationContext leader = awaitSingleLeader();
+        LeaderElection leaderElection = leader.getBean(LeaderElection.class);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            leaderElection.scheduleWhileLeader(executor, () -> {
+                running.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }, 0, 1, TimeUnit.SECONDS);
+            Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            terminateSession(leader, leaderElection);
+            Assert.assertTrue("Run in progress was not interrupted",
+                    interrupted.await(MAX_FAILOVER_MILLIS, TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void terminateSession(ConfigurableApplicationContext context, LeaderElection leaderElection)
+            throws Exception {
+        try (Connection connection = context.getBean(DataSource.class).getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_terminate_backend(?)")) {
+            statement.setInt(1, leaderElection.getSessionPid());
+            statement.execute();
+        }
+    }
+
+    private ConfigurableApplicationContext awaitSingleLeader() throws InterruptedException {
+        await(() -> this.contexts.stream().anyMatch(c -> c.getBean(LeaderElection.class).isLeader()));
+        List<ConfigurableApplicationContext> leaders = new ArrayList<>();
+        for (ConfigurableApplicationContext context : this.contexts) {
+            if (context.getBean(LeaderElection.class).isLeader()) {
+                leaders.add(context);
+            }
+        }
+        Assert.assertEquals(1, leaders.size());
+        return leaders.get(0);
+    }
+
+    private ConfigurableApplicationContext getFollower(ConfigurableApplicationContext leader) {
+        return this.contexts.get(0) == leader ? this.contexts.get(1) : this.contexts.get(0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("Timed out waiting for leadership change", System.nanoTime() < deadline);
+            Thread.sleep(50);
+        }
+    }
+}
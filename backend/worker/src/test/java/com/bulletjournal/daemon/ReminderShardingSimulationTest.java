@@ -0,0 +1,458 @@
+package com.bulletjournal.daemon;
+
+import com.bulletjournal.config.ReminderConfig;
+import com.bulletjournal.controller.models.ReminderSetting;
+import com.bulletjournal.daemon.models.ReminderRecord;
+import com.bulletjournal.repository.TaskDaoJpa;
+import com.bulletjournal.repository.TaskRepository;
+import com.bulletjournal.repository.models.Task;
+import com.bulletjournal.repository.utils.DaoHelper;
+import com.bulletjournal.util.ConsistentHashRing;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.dmfs.rfc5545.DateTime;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Simulates 3 nodes running {@link Reminder} and {@link ReminderMembership} in virtual time over a day of hourly
+ * reminders, with Redis and the task tables kept in memory. One node crashes and rejoins as a new node, another
+ * leaves, and every node sees membership changes at its own heartbeat.
+ */
+public class ReminderShardingSimulationTest {
+
+    private static final String TIMEZONE = "America/Los_Angeles";
+    // midnight in TIMEZONE, the daily cron job starts a day later
+    private static final Instant START = Instant.parse("2020-06-01T07:00:00Z");
+    private static final int TASKS = 1200;
+    private static final int OCCURRENCES = 20;
+    private static final long LOAD_PREV_SECONDS = 43_200;
+    private static final long LOAD_NEXT_SECONDS = 86_400;
+    private static final long SCHEDULE_BUFF_SECONDS = 5;
+    private static final int NODE_TIMEOUT_SECONDS = 20;
+    private static final int HEARTBEAT_INTERVAL_SECONDS = 5;
+    private static final int VIRTUAL_NODES = 100;
+    private static final String NODE_1 = "node-1";
+    private static final String NODE_2 = "node-2";
+    private static final String NODE_3 = "node-3";
+    private static final List<String> NODES = ImmutableList.of(NODE_1, NODE_2, NODE_3);
+
+    private final VirtualTime time = new VirtualTime();
+    private final Map<Long, Task> tasks = new HashMap<>();
+    // fired key of each reminder to its due time in millis
+    private final Map<String, Long> reminders = new HashMap<>();
+    // stand in for Redis
+    private final Map<String, Double> nodes = new HashMap<>();
+    private final Map<String, String> fired = new HashMap<>();
+    private final Map<String, Long> firedAt = new HashMap<>();
+    private long suppressedDuplicates;
+    private ReminderConfig reminderConfig;
+    private StringRedisTemplate stringRedisTemplate;
+    private TaskDaoJpa taskDaoJpa;
+    private TaskRepository taskRepository;
+
+    @Before
+    public void setUp() {
+        this.reminderConfig = new ReminderConfig();
+        this.reminderConfig.setLoadPrevSeconds(LOAD_PREV_SECONDS);
+        this.reminderConfig.setLoadNextSeconds(LOAD_NEXT_SECONDS);
+        this.reminderConfig.setPurgePrevSeconds(2 * LOAD_NEXT_SECONDS);
+        this.reminderConfig.setTimeZone(TIMEZONE);
+        this.reminderConfig.setHeartbeatIntervalInSeconds(HEARTBEAT_INTERVAL_SECONDS);
+        this.reminderConfig.setNodeTimeoutInSeconds(NODE_TIMEOUT_SECONDS);
+        this.reminderConfig.setVirtualNodes(VIRTUAL_NODES);
+
+        createTasks();
+        this.taskRepository = mock(TaskRepository.class);
+        when(this.taskRepository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(this.tasks.get((Long) invocation.getArguments()[0])));
+        this.taskDaoJpa = mock(TaskDaoJpa.class);
+        when(this.taskDaoJpa.getRemindingTasks(any(ZonedDateTime.class), any(ZonedDateTime.class)))
+                .thenAnswer(invocation -> {
+                    ZonedDateTime start = (ZonedDateTime) invocation.getArguments()[0];
+                    ZonedDateTime end = (ZonedDateTime) invocation.getArguments()[1];
+                    Map<ReminderRecord, Task> records = new HashMap<>();
+                    this.tasks.values().forEach(task -> DaoHelper.getReminderRecords(task, start, end)
+                            .forEach(record -> records.put(record, task)));
+                    return records;
+                });
+        this.stringRedisTemplate = createRedis();
+    }
+
+    @Test
+    public void testNoReminderMissedOrFiredTwiceDuringRebalance() {
+        Map<String, Node> running = new HashMap<>();
+        for (int i = 0; i < NODES.size(); i++) {
+            // nodes heartbeat at different moments
+            this.time.advanceTo(seconds(i));
+            running.put(NODES.get(i), new Node());
+        }
+
+        // node 3 crashes 10 seconds before a minute at which reminders are due, others notice on their heartbeat
+        // after the node timeout
+        this.time.advanceTo(seconds(30_050));
+        running.remove(NODE_3).crash();
+        // node 3 rejoins and sees everyone at once, others see it on their next heartbeat
+        this.time.advanceTo(seconds(60_000));
+        running.put(NODE_3, new Node());
+        // node 2 leaves
+        this.time.advanceTo(seconds(70_050));
+        running.remove(NODE_2).leave();
+        this.time.advanceTo(seconds(OCCURRENCES * 3600 + 3600));
+
+        Assert.assertEquals(this.reminders.size(), this.fired.size());
+        long late = 0;
+        for (Map.Entry<String, Long> reminder : this.reminders.entrySet()) {
+            Long firedAt = this.firedAt.get(reminder.getKey());
+            Assert.assertNotNull("Reminder " + reminder.getKey() + " not pushed", firedAt);
+            long delay = TimeUnit.MILLISECONDS.toSeconds(firedAt - reminder.getValue());
+            Assert.assertTrue("Reminder " + reminder.getKey() + " pushed " + delay + " seconds late",
+                    delay >= -SCHEDULE_BUFF_SECONDS && delay <= NODE_TIMEOUT_SECONDS + HEARTBEAT_INTERVAL_SECONDS);
+            if (delay > 0) {
+                late++;
+            }
+        }
+        // the scenario overlaps ownership and leaves gaps, otherwise it proves nothing
+        Assert.assertTrue(this.suppressedDuplicates > 0);
+        Assert.assertTrue(late > 0);
+    }
+
+    @Test
+    public void testJoinMovesKeysOnlyToNewNode() {
+        ConsistentHashRing before = new ConsistentHashRing(ImmutableSet.of(NODE_1, NODE_2), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(ImmutableSet.copyOf(NODES), VIRTUAL_NODES);
+        int moved = 0;
+        int keys = 100_000;
+        for (long taskId = 1; taskId <= keys; taskId++) {
+            if (!before.getNode(taskId).equals(after.getNode(taskId))) {
+                Assert.assertEquals(NODE_3, after.getNode(taskId));
+                moved++;
+            }
+        }
+        // about a third of the keys
+        Assert.assertTrue(moved > keys / 5 && moved < keys / 2);
+    }
+
+    /**
+     * Hourly tasks, as many due at each minute of the hour
+     */
+    private void createTasks() {
+        TimeZone timeZone = TimeZone.getTimeZone(TIMEZONE);
+        for (int i = 0; i < TASKS; i++) {
+            long id = i + 1;
+            long first = seconds(60 * (1 + i % 60));
+            long last = first + TimeUnit.HOURS.toMillis(OCCURRENCES - 1);
+            Task task = new Task();
+            task.setId(id);
+            task.setTimezone(TIMEZONE);
+            // in local time of the task
+            task.setRecurrenceRule("DTSTART:" + new DateTime(timeZone, first) +
+                    " RRULE:FREQ=HOURLY;INTERVAL=1;COUNT=" + OCCURRENCES);
+            // remind at start
+            task.setReminderSetting(new ReminderSetting(null, null, 0));
+            this.tasks.put(id, task);
+            for (long at = first; at <= last; at += TimeUnit.HOURS.toMillis(1)) {
+                this.reminders.put(ReminderMembership.FIRED_KEY_PREFIX + id + ":" + at, at);
+            }
+        }
+    }
+
+    private StringRedisTemplate createRedis() {
+        ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class, (Answer<Object>) invocation -> {
+            Object[] args = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "add":
+                    this.nodes.put((String) args[1], (Double) args[2]);
+                    return true;
+                case "removeRangeByScore":
+                    long removed = this.nodes.size();
+                    this.nodes.values().removeIf(score -> score >= (Double) args[1] && score <= (Double) args[2]);
+                    return removed - this.nodes.size();
+                case "rangeByScore":
+                    Set<String> range = new LinkedHashSet<>();
+                    this.nodes.forEach((node, score) -> {
+                        if (score >= (Double) args[1] && score <= (Double) args[2]) {
+                            range.add(node);
+                        }
+                    });
+                    return range;
+                case "remove":
+                    long count = 0;
+                    for (int i = 1; i < args.length; i++) {
+                        for (Object node : args[i] instanceof Object[] ? (Object[]) args[i] : new Object[]{args[i]}) {
+                            count += this.nodes.remove(node) == null ? 0 : 1;
+                        }
+                    }
+                    return count;
+                default:
+                    throw new UnsupportedOperationException(invocation.getMethod().getName());
+            }
+        });
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class, (Answer<Object>) invocation -> {
+            Object[] args = invocation.getArguments();
+            if (!"setIfAbsent".equals(invocation.getMethod().getName()) || args.length != 4) {
+                throw new UnsupportedOperationException(invocation.getMethod().getName());
+            }
+            String key = (String) args[0];
+            if (this.fired.containsKey(key)) {
+                this.suppressedDuplicates++;
+                return false;
+            }
+            this.fired.put(key, (String) args[1]);
+            this.firedAt.put(key, this.time.nowMillis);
+            return true;
+        });
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        return stringRedisTemplate;
+    }
+
+    private static long seconds(long secondsFromStart) {
+        return START.toEpochMilli() + TimeUnit.SECONDS.toMillis(secondsFromStart);
+    }
+
+    /**
+     * A node started as Spring starts it, with its own executors in virtual time
+     */
+    private class Node {
+        private final VirtualExecutor membershipExecutor = time.executor();
+        private final VirtualExecutor reminderExecutor = time.executor();
+        private final ReminderMembership membership;
+        private final Reminder reminder;
+
+        Node() {
+            this.membership = new ReminderMembership(reminderConfig, stringRedisTemplate, this.membershipExecutor,
+                    time.clock());
+            this.membership.postConstruct();
+            this.reminder = new Reminder(taskDaoJpa, this.reminderExecutor, time.clock());
+            this.reminder.reminderConfig = reminderConfig;
+            this.reminder.taskRepository = taskRepository;
+            this.reminder.reminderMembership = this.membership;
+            this.reminder.postConstruct();
+        }
+
+        void crash() {
+            this.membershipExecutor.shutdownNow();
+            this.reminderExecutor.shutdownNow();
+        }
+
+        void leave() {
+            this.reminderExecutor.shutdownNow();
+            this.reminder.preDestroy();
+            this.membership.preDestroy();
+        }
+    }
+
+    /**
+     * Clock and scheduled tasks of all nodes, tasks run on the test thread in order of time as time advances
+     */
+    private static class VirtualTime {
+        private final PriorityQueue<VirtualTask> tasks = new PriorityQueue<>(
+                Comparator.comparingLong((VirtualTask task) -> task.at).thenComparingLong(task -> task.sequence));
+        private long nowMillis = START.toEpochMilli();
+        private long sequence;
+
+        Clock clock() {
+            return new VirtualClock(ZoneOffset.UTC);
+        }
+
+        VirtualExecutor executor() {
+            return new VirtualExecutor(this);
+        }
+
+        void advanceTo(long millis) {
+            while (!this.tasks.isEmpty() && this.tasks.peek().at <= millis) {
+                VirtualTask task = this.tasks.poll();
+                this.nowMillis = task.at;
+                task.run();
+            }
+            this.nowMillis = millis;
+        }
+
+        VirtualTask schedule(VirtualExecutor executor, Runnable command, long delayMillis, long periodMillis) {
+            VirtualTask task = new VirtualTask(executor, command, periodMillis);
+            reschedule(task, delayMillis);
+            return task;
+        }
+
+        void reschedule(VirtualTask task, long delayMillis) {
+            task.at = this.nowMillis + Math.max(0, delayMillis);
+            task.sequence = this.sequence++;
+            this.tasks.add(task);
+        }
+
+        private class VirtualClock extends Clock {
+            private final ZoneId zone;
+
+            VirtualClock(ZoneId zone) {
+                this.zone = zone;
+            }
+
+            @Override
+            public ZoneId getZone() {
+                return this.zone;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return new VirtualClock(zone);
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(nowMillis);
+            }
+        }
+    }
+
+    private static class VirtualTask implements ScheduledFuture<Object> {
+        private final VirtualExecutor executor;
+        private final Runnable command;
+        // fixed delay after each run, 0 if run once
+        private final long periodMillis;
+        private long at;
+        private long sequence;
+        private boolean cancelled;
+        private boolean done;
+
+        VirtualTask(VirtualExecutor executor, Runnable command, long periodMillis) {
+            this.executor = executor;
+            this.command = command;
+            this.periodMillis = periodMillis;
+        }
+
+        void run() {
+            if (this.cancelled || this.executor.isShutdown()) {
+                return;
+            }
+            this.command.run();
+            if (this.periodMillis > 0) {
+                this.executor.time.reschedule(this, this.periodMillis);
+            } else {
+                this.done = true;
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.at - this.executor.time.nowMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (this.done) {
+                return false;
+            }
+            this.cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return this.done || this.cancelled;
+        }
+
+        @Override
+        public Object get() {
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            return null;
+        }
+    }
+
+    private static class VirtualExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+        private final VirtualTime time;
+        private boolean shutdown;
+
+        VirtualExecutor(VirtualTime time) {
+            this.time = time;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return this.time.schedule(this, command, unit.toMillis(delay), 0);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+                                                      TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+                                                         TimeUnit unit) {
+            return this.time.schedule(this, command, unit.toMillis(initialDelay), unit.toMillis(delay));
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            schedule(command, 0, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void shutdown() {
+            this.shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            this.shutdown = true;
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return this.shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return this.shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 import {v4 as uuidv4} from 'uuid';
 
+// response header of paged endpoints holding the cursor of the next page, absent on the last page
+export const NEXT_CURSOR_HEADER = 'Next-Cursor';
+
 export function doFetch(endpoint: string, etag: any = undefined) {
   if (process.env.REACT_APP_ENV === 'debug') {
     console.log(endpoint);
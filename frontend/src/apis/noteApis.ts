@@ -206,6 +206,14 @@ export const updateContent = (
     });
 };
 
+export const getContentRevisions = (noteId: number, contentId: number) => {
+  return doFetch(`/api/notes/${noteId}/contents/${contentId}/revisions`)
+    .then((res) => res.json())
+    .catch((err) => {
+      throw Error(err.message);
+    });
+};
+
 export const getContentRevision = (
   noteId: number,
   contentId: number,
@@ -1,13 +1,24 @@
 import {doDelete, doFetch, doPost} from './api-helper';
 
-export const fetchNotifications = () => {
-  return doFetch('/api/notifications')
+// an empty cursor gets the newest page, the cursor of the next page is in the Next-Cursor header
+export const fetchNotifications = (cursor: string, pageSize: number) => {
+  return doFetch(
+    `/api/notifications?cursor=${encodeURIComponent(cursor)}&pageSize=${pageSize}`
+  )
     .then(res => res)
     .catch(err => {
       throw Error(err.message);
     });
 };
 
+export const fetchNotificationCount = () => {
+  return doFetch('/api/notifications/count')
+    .then(res => res.json())
+    .catch(err => {
+      throw Error(err.message);
+    });
+};
+
 export const answerNotification = (notificationId: number, action: string) => {
   const postBody = JSON.stringify({
     action: action
@@ -82,6 +82,25 @@ export const updateProjectRelations = (projects: Project[], etag: string) => {
 };
 
 export const GetProjectHistory = (
+  projectId: number,
+  timezone: string,
+  startDate: string,
+  endDate: string,
+  action: ContentAction,
+  username: string,
+  cursor: string,
+  pageSize: number
+) => {
+  return doFetch(
+    `/api/projects/${projectId}/history?timezone=${timezone}&startDate=${startDate}&endDate=${endDate}&action=${action}&username=${username}&cursor=${cursor}&pageSize=${pageSize}`
+  )
+    .then((res) => res)
+    .catch((err) => {
+      throw Error(err.message);
+    });
+};
+
+export const ExportProjectHistory = (
   projectId: number,
   timezone: string,
   startDate: string,
@@ -90,9 +109,9 @@ export const GetProjectHistory = (
   username: string
 ) => {
   return doFetch(
-    `/api/projects/${projectId}/history?timezone=${timezone}&startDate=${startDate}&endDate=${endDate}&action=${action}&username=${username}`
+    `/api/projects/${projectId}/history/export?timezone=${timezone}&startDate=${startDate}&endDate=${endDate}&action=${action}&username=${username}`
   )
-    .then((res) => res.json())
+    .then((res) => res.blob())
     .catch((err) => {
       throw Error(err.message);
     });
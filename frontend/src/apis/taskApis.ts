@@ -23,23 +23,24 @@ export const fetchTasks = (
     });
 };
 
+// an empty cursor gets the first page, the cursor of the next page is in the Next-Cursor header
 export const fetchCompletedTasks = (
   projectId: number,
-  pageNo: number,
+  cursor: string,
   pageSize: number,
   assignee?: string,
   startDate?: string,
   endDate?: string,
   timezone?: string
 ) => {
-  let url = `/api/projects/${projectId}/completedTasks?`;
+  let url = `/api/projects/${projectId}/completedTasks?cursor=${encodeURIComponent(
+    cursor
+  )}&pageSize=${pageSize}`;
   if (startDate && startDate.length > 0) {
-    url += `assignee=${assignee}&startDate=${startDate}&endDate=${endDate}&timezone=${timezone}`;
-  } else {
-    url += `pageNo=${pageNo}&pageSize=${pageSize}`;
+    url += `&assignee=${assignee}&startDate=${startDate}&endDate=${endDate}&timezone=${timezone}`;
   }
   return doFetch(url)
-    .then((res) => res.json())
+    .then((res) => res)
     .catch((err) => {
       throw Error(err.message);
     });
@@ -314,6 +315,14 @@ export const updateContent = (
     });
 };
 
+export const getContentRevisions = (taskId: number, contentId: number) => {
+  return doFetch(`/api/tasks/${taskId}/contents/${contentId}/revisions`)
+    .then((res) => res.json())
+    .catch((err) => {
+      throw Error(err.message);
+    });
+};
+
 export const getContentRevision = (
   taskId: number,
   contentId: number,
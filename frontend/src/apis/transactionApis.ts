@@ -207,6 +207,14 @@ export const updateContent = (
     });
 };
 
+export const getContentRevisions = (transactionId: number, contentId: number) => {
+  return doFetch(`/api/transactions/${transactionId}/contents/${contentId}/revisions`)
+    .then((res) => res.json())
+    .catch((err) => {
+      throw Error(err.message);
+    });
+};
+
 export const getContentRevision = (
   transactionId: number,
   contentId: number,
@@ -11,10 +11,13 @@ import {Project} from "../../features/project/interface";
 import {IState} from "../../store";
 import {connect} from "react-redux";
 import {ContentType} from "../../features/myBuJo/constants";
-import {deleteContent as deleteNoteContent} from "../../features/notes/actions";
+import {deleteContent as deleteNoteContent, updateNoteContentRevisions} from "../../features/notes/actions";
 import {getProject} from "../../features/project/actions";
-import {deleteContent as deleteTaskContent} from "../../features/tasks/actions";
-import {deleteContent as deleteTransactionContent} from "../../features/transactions/actions";
+import {deleteContent as deleteTaskContent, updateTaskContentRevisions} from "../../features/tasks/actions";
+import {
+  deleteContent as deleteTransactionContent,
+  updateTransactionContentRevisions
+} from "../../features/transactions/actions";
 
 type ContentProps = {
   contentEditable?: boolean;
@@ -25,6 +28,9 @@ type ContentProps = {
   deleteNoteContent: (noteId: number, contentId: number) => void;
   deleteTaskContent: (taskId: number, contentId: number) => void;
   deleteTransactionContent: (transactionId: number, contentId: number) => void;
+  updateNoteContentRevisions: (noteId: number, contentId: number) => void;
+  updateTaskContentRevisions: (taskId: number, contentId: number) => void;
+  updateTransactionContentRevisions: (transactionId: number, contentId: number) => void;
   getProject: (projectId: number) => void;
 };
 
@@ -43,6 +49,9 @@ const ContentItem: React.FC<ContentProps> = ({
   deleteNoteContent,
   deleteTaskContent,
   deleteTransactionContent,
+  updateNoteContentRevisions,
+  updateTaskContentRevisions,
+  updateTransactionContentRevisions,
   getProject
 }) => {
   const contentState = BraftEditor.createEditorState(content.text);
@@ -61,7 +70,21 @@ const ContentItem: React.FC<ContentProps> = ({
     setReadMode(true);
     setDisplayMore(true);
   };
+  const updateContentRevisionsCall: { [key in ContentType]: Function } = {
+    [ContentType.NOTE]: updateNoteContentRevisions,
+    [ContentType.TASK]: updateTaskContentRevisions,
+    [ContentType.TRANSACTION]: updateTransactionContentRevisions,
+    [ContentType.PROJECT]: () => {},
+    [ContentType.GROUP]: () => {},
+    [ContentType.LABEL]: () => {},
+    [ContentType.CONTENT]: () => {},
+  };
+
   const handleOpenRevisions = () => {
+    // content listing does not include revisions, load them on first open
+    if (!content.revisions) {
+      updateContentRevisionsCall[projectItem.contentType](projectItem.id, content.id);
+    }
     setDisplayRevision(true);
   };
 
@@ -122,13 +145,12 @@ const ContentItem: React.FC<ContentProps> = ({
       );
     }
 
-    if (content.revisions && content.revisions.length > 0) {
+    if (content.revisions ? content.revisions.length > 0 : !window.location.pathname.startsWith('/public/item')) {
       actions.push(
         <Tooltip title="View revision history">
           <span className="open-revisions-button" onClick={handleOpenRevisions}>
             <HighlightOutlined />
-            &nbsp;
-            {content.revisions.length}
+            {content.revisions && <span>&nbsp;{content.revisions.length}</span>}
           </span>
         </Tooltip>
       );
@@ -160,7 +182,7 @@ const ContentItem: React.FC<ContentProps> = ({
       <RevisionDrawer
         revisionDisplay={displayRevision}
         onClose={handleRevisionClose}
-        revisions={content.revisions}
+        revisions={content.revisions || []}
         projectItem={projectItem}
         content={content}
       />
@@ -178,4 +200,7 @@ export default connect(mapStateToProps, {
   getProject,
   deleteTaskContent,
   deleteTransactionContent,
+  updateNoteContentRevisions,
+  updateTaskContentRevisions,
+  updateTransactionContentRevisions,
 })(ContentItem);
@@ -8,6 +8,8 @@ import {
 import {Avatar, Button, DatePicker, Divider, Modal, Select, Tooltip} from 'antd';
 import {
   CheckCircleTwoTone,
+  CloudDownloadOutlined,
+  CloudSyncOutlined,
   CloseCircleTwoTone,
   DeleteTwoTone,
   HistoryOutlined,
@@ -29,7 +31,11 @@ import {
 import { getGroup } from '../../features/group/actions';
 import { Group, User } from '../../features/group/interface';
 import moment from 'moment';
-import { getProjectHistory, historyReceived } from '../../features/project/actions';
+import {
+  exportProjectHistory,
+  getProjectHistory,
+  historyReceived,
+} from '../../features/project/actions';
 import ProjectHistory from '../project-history/project-history.component';
 
 import './modals.styles.less';
@@ -37,6 +43,14 @@ import './modals.styles.less';
 const { Option } = Select;
 const { RangePicker } = DatePicker;
 
+type GetHistoryQuery = {
+  projectId: number;
+  startDate: string;
+  endDate: string;
+  action: ContentAction;
+  username: string;
+};
+
 type ShowProjectHistoryProps = {
   project: Project | undefined;
   ownedProjects: Project[];
@@ -44,8 +58,18 @@ type ShowProjectHistoryProps = {
   group: Group | undefined;
   timezone: string;
   projectHistory: Activity[];
+  projectHistoryNextCursor: string | undefined;
   getGroup: (groupId: number) => void;
   getProjectHistory: (
+    projectId: number,
+    timezone: string,
+    startDate: string,
+    endDate: string,
+    action: ContentAction,
+    username: string,
+    cursor?: string
+  ) => void;
+  exportProjectHistory: (
     projectId: number,
     timezone: string,
     startDate: string,
@@ -87,9 +111,11 @@ const ShowProjectHistory: React.FC<ShowProjectHistoryProps> = ({
   sharedProjects,
   group,
   projectHistory,
+  projectHistoryNextCursor,
   timezone,
   getGroup,
   getProjectHistory,
+  exportProjectHistory,
   historyReceived,
 }) => {
   const [visible, setVisible] = useState(false);
@@ -106,10 +132,15 @@ const ShowProjectHistory: React.FC<ShowProjectHistoryProps> = ({
   );
   const [selectGroup, setSelectGroup] = useState([] as User[]);
   const [selectUser, setSelectUser] = useState('Everyone');
+  // filters of the shown history, the next cursor only continues these
+  const [shownQuery, setShownQuery] = useState(
+    undefined as GetHistoryQuery | undefined
+  );
 
   const onCancel = () => setVisible(false);
   const openModal = () => {
     historyReceived([]);
+    setShownQuery(undefined);
     setVisible(true);
   };
 
@@ -135,7 +166,39 @@ const ShowProjectHistory: React.FC<ShowProjectHistoryProps> = ({
   };
 
   const handleGetHistory = () => {
+    const query = {
+      projectId: selectProject,
+      startDate: selectDate[0],
+      endDate: selectDate[1],
+      action: selectAction,
+      username: selectUser,
+    };
+    setShownQuery(query);
     getProjectHistory(
+      query.projectId,
+      timezone,
+      query.startDate,
+      query.endDate,
+      query.action,
+      query.username
+    );
+  };
+
+  const handleLoadMore = () => {
+    if (!shownQuery || !projectHistoryNextCursor) return;
+    getProjectHistory(
+      shownQuery.projectId,
+      timezone,
+      shownQuery.startDate,
+      shownQuery.endDate,
+      shownQuery.action,
+      shownQuery.username,
+      projectHistoryNextCursor
+    );
+  };
+
+  const handleExport = () => {
+    exportProjectHistory(
       selectProject,
       timezone,
       selectDate[0],
@@ -276,9 +339,21 @@ const ShowProjectHistory: React.FC<ShowProjectHistoryProps> = ({
             <span className='history-refresh-button'>
               <Button type="primary" icon={<SyncOutlined />} onClick={handleGetHistory}>Refresh</Button>
             </span>
+            <span className='history-refresh-button'>
+              <Tooltip title='Download the whole range as JSON'>
+                <Button icon={<CloudDownloadOutlined />} onClick={handleExport}>Export</Button>
+              </Tooltip>
+            </span>
           </div>
           <Divider />
           <ProjectHistory activities={projectHistory} />
+          {shownQuery && projectHistoryNextCursor && (
+            <span className='load-more-history-button' onClick={handleLoadMore}>
+              <Tooltip title='Load More'>
+                <CloudSyncOutlined />
+              </Tooltip>
+            </span>
+          )}
         </Modal>
       </div>
     </Tooltip>
@@ -291,9 +366,15 @@ const mapStateToProps = (state: IState) => ({
   sharedProjects: state.project.shared,
   group: state.group.group,
   projectHistory: state.project.projectHistory,
+  projectHistoryNextCursor: state.project.projectHistoryNextCursor,
   timezone: state.myself.timezone,
 });
 
-export default connect(mapStateToProps, { getGroup, getProjectHistory, historyReceived })(
+export default connect(mapStateToProps, {
+  getGroup,
+  getProjectHistory,
+  exportProjectHistory,
+  historyReceived,
+})(
   ShowProjectHistory
 );
@@ -7,6 +7,14 @@ export const updateNotes = (projectId: number) =>
   actions.NotesUpdate({ projectId: projectId });
 export const updateNoteContents = (noteId: number) =>
   actions.NoteContentsUpdate({ noteId: noteId });
+export const updateNoteContentRevisions = (
+  noteId: number,
+  contentId: number
+) =>
+  actions.NoteContentRevisionsUpdate({
+    noteId: noteId,
+    contentId: contentId,
+  });
 export const updateNoteContentRevision = (
   noteId: number,
   contentId: number,
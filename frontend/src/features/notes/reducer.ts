@@ -18,6 +18,11 @@ export type UpdateNoteContents = {
   noteId: number;
 };
 
+export type UpdateNoteContentRevisions = {
+  noteId: number;
+  contentId: number;
+};
+
 export type UpdateNoteContentRevision = {
   noteId: number;
   contentId: number;
@@ -215,6 +220,10 @@ const slice = createSlice({
     NotesUpdate: (state, action: PayloadAction<UpdateNotes>) => state,
     NoteContentsUpdate: (state, action: PayloadAction<UpdateNoteContents>) =>
       state,
+    NoteContentRevisionsUpdate: (
+      state,
+      action: PayloadAction<UpdateNoteContentRevisions>
+    ) => state,
     NoteContentRevisionUpdate: (
       state,
       action: PayloadAction<UpdateNoteContentRevision>
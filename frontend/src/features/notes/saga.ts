@@ -21,6 +21,7 @@ import {
   SetNoteLabels,
   ShareNote,
   UpdateNoteContentRevision,
+  UpdateNoteContentRevisions,
   UpdateNoteContents,
   UpdateNotes,
 } from './reducer';
@@ -33,6 +34,7 @@ import {
   deleteNotes as deleteNotesApi,
   fetchNotes,
   getContentRevision,
+  getContentRevisions,
   getContents,
   getNoteById,
   getSharables,
@@ -98,6 +100,34 @@ function* noteContentsUpdate(action: PayloadAction<UpdateNoteContents>) {
   }
 }
 
+function* noteContentRevisionsUpdate(
+  action: PayloadAction<UpdateNoteContentRevisions>
+) {
+  try {
+    const { noteId, contentId } = action.payload;
+    const revisions: Revision[] = yield call(
+      getContentRevisions,
+      noteId,
+      contentId
+    );
+
+    const state: IState = yield select();
+    const noteContents: Content[] = state.note.contents.map((noteContent) =>
+      noteContent.id === contentId ? { ...noteContent, revisions: revisions } : noteContent
+    );
+    yield put(
+      notesActions.noteContentsReceived({
+        contents: noteContents,
+      })
+    );
+  } catch (error) {
+    yield call(
+      message.error,
+      `noteContentRevisionsUpdate Error Received: ${error}`
+    );
+  }
+}
+
 function* noteContentRevisionUpdate(
   action: PayloadAction<UpdateNoteContentRevision>
 ) {
@@ -508,6 +538,10 @@ export default function* noteSagas() {
     ),
     yield takeLatest(notesActions.NotesUpdate.type, notesUpdate),
     yield takeLatest(notesActions.NoteContentsUpdate.type, noteContentsUpdate),
+    yield takeLatest(
+      notesActions.NoteContentRevisionsUpdate.type,
+      noteContentRevisionsUpdate
+    ),
     yield takeLatest(
       notesActions.NoteContentRevisionUpdate.type,
       noteContentRevisionUpdate
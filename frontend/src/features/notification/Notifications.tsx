@@ -2,19 +2,28 @@ import React from 'react';
 import {IState} from '../../store';
 import {connect} from 'react-redux';
 import {Notification} from './interface';
-import {BellFilled, DeleteTwoTone} from '@ant-design/icons';
+import {BellFilled, CloudSyncOutlined, DeleteTwoTone} from '@ant-design/icons';
 import {Badge, List, Popover, Result, Tooltip} from 'antd';
 import TitleAvatar from '../../components/notification/avatar.compoennt';
 import Actions from '../../components/notification/action.component';
 import ListTitle from '../../components/notification/list-title.component';
-import {deleteAllNotifications, updateNotifications} from './actions';
+import {
+  deleteAllNotifications,
+  loadMoreNotifications,
+  updateNotificationCount,
+  updateNotifications,
+} from './actions';
 
 import './notification.styles.less';
 import {Link} from 'react-router-dom';
 
 type NotificationsProps = {
   notifications: Notification[];
+  nextCursor: string | undefined;
+  count: number | undefined;
   updateNotifications: () => void;
+  updateNotificationCount: () => void;
+  loadMoreNotifications: () => void;
   deleteAllNotifications: () => void;
 };
 
@@ -50,13 +59,22 @@ const getNotification = (item: Notification) => {
   );
 };
 
-const NotificationList = ({notifications}: NotificationsProps) => {
+const NotificationList = ({notifications, nextCursor, loadMoreNotifications}: NotificationsProps) => {
   return notifications.length > 0 ? (
-      <List
-          itemLayout='horizontal'
-          dataSource={notifications}
-          renderItem={(item) => getNotification(item)}
-      />
+      <div>
+        <List
+            itemLayout='horizontal'
+            dataSource={notifications}
+            renderItem={(item) => getNotification(item)}
+        />
+        {nextCursor && (
+            <Tooltip title='Load More'>
+              <span className='load-more-notifications-button' onClick={loadMoreNotifications}>
+                <CloudSyncOutlined/>
+              </span>
+            </Tooltip>
+        )}
+      </div>
   ) : (
       <div className='no-data'>
         <Result title='No Notifications'/>
@@ -78,19 +96,27 @@ const getRemoveNotificationsButton = (len: number, deleteCall: () => void) => {
 
 class Notifications extends React.Component<NotificationsProps> {
   componentDidMount() {
-    this.props.updateNotifications();
+    this.props.updateNotificationCount();
   }
 
+  // the inbox is only loaded when opened, the badge shows the count
+  handleVisibleChange = (visible: boolean) => {
+    if (visible) {
+      this.props.updateNotifications();
+    }
+  };
+
   render() {
     return (
         <Tooltip placement='bottom' title='Notifications'>
           <div className='notifications'>
-            <Badge dot={this.props.notifications.length > 0}>
+            <Badge count={this.props.count}>
               <Popover
                   content={<NotificationList {...this.props} />}
                   title={
                     <div>Notifications {getRemoveNotificationsButton(this.props.notifications.length, this.props.deleteAllNotifications)}</div>}
                   trigger='click'
+                  onVisibleChange={this.handleVisibleChange}
                   arrowPointAtCenter
                   placement='bottomRight'
                   overlayClassName='notifications-list'
@@ -106,6 +132,13 @@ class Notifications extends React.Component<NotificationsProps> {
 
 const mapStateToProps = (state: IState) => ({
   notifications: state.notice.notifications,
+  nextCursor: state.notice.nextCursor,
+  count: state.notice.count,
 });
 
-export default connect(mapStateToProps, {updateNotifications, deleteAllNotifications})(Notifications);
+export default connect(mapStateToProps, {
+  updateNotifications,
+  updateNotificationCount,
+  loadMoreNotifications,
+  deleteAllNotifications,
+})(Notifications);
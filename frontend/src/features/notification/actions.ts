@@ -1,6 +1,9 @@
 import { actions } from './reducer';
 
 export const updateNotifications = () => actions.notificationsUpdate({});
+export const updateNotificationCount = () =>
+  actions.notificationCountUpdate({});
+export const loadMoreNotifications = () => actions.notificationsLoadMore({});
 export const answerNotice = (
   action: string,
   notificationId: number,
@@ -1,3 +1,6 @@
+// notifications loaded per page of the inbox
+export const notificationPageSize = 50;
+
 export enum ActionType {
     Accept = 'Accept',
     Decline = 'Decline',
@@ -7,6 +7,18 @@ export type NoticeApiErrorAction = {
 
 export type UpdateNotifications = {};
 
+export type UpdateNotificationCount = {};
+
+export type LoadMoreNotifications = {};
+
+export type NotificationCountAction = {
+  count: number;
+};
+
+export type NotificationsNextCursorAction = {
+  nextCursor: string | undefined;
+};
+
 export type AnswerNotificationAction = {
   action: string;
   notificationId: number;
@@ -22,6 +34,10 @@ export type DeleteNotificationsAction = {
 
 let initialState = {
   notifications: [] as Array<Notification>,
+  // cursor of the next page of the inbox, undefined after the last page
+  nextCursor: undefined as string | undefined,
+  // undefined until the first count is received
+  count: undefined as number | undefined,
 };
 
 const slice = createSlice({
@@ -35,12 +51,34 @@ const slice = createSlice({
       const { notifications } = action.payload;
       state.notifications = notifications;
     },
+    notificationsNextCursorReceived: (
+      state,
+      action: PayloadAction<NotificationsNextCursorAction>
+    ) => {
+      const { nextCursor } = action.payload;
+      state.nextCursor = nextCursor;
+    },
+    notificationCountReceived: (
+      state,
+      action: PayloadAction<NotificationCountAction>
+    ) => {
+      const { count } = action.payload;
+      state.count = count;
+    },
     noticeApiErrorReceived: (
       state,
       action: PayloadAction<NoticeApiErrorAction>
     ) => state,
     notificationsUpdate: (state, action: PayloadAction<UpdateNotifications>) =>
       state,
+    notificationCountUpdate: (
+      state,
+      action: PayloadAction<UpdateNotificationCount>
+    ) => state,
+    notificationsLoadMore: (
+      state,
+      action: PayloadAction<LoadMoreNotifications>
+    ) => state,
     answerNotice: (state, action: PayloadAction<AnswerNotificationAction>) =>
       state,
     deleteAllNotifications: (state, action: PayloadAction<DeleteNotificationsAction>) =>
@@ -4,40 +4,39 @@ import {
   actions as notificationsActions,
   AnswerNotificationAction,
   DeleteNotificationsAction,
+  LoadMoreNotifications,
   NoticeApiErrorAction,
   NotificationsAction,
+  UpdateNotificationCount,
 } from './reducer';
 import {PayloadAction} from 'redux-starter-kit';
-import {answerNotification, deleteNotifications, fetchNotifications,} from '../../apis/notificationApis';
+import {
+  answerNotification,
+  deleteNotifications,
+  fetchNotificationCount,
+  fetchNotifications,
+} from '../../apis/notificationApis';
+import {NEXT_CURSOR_HEADER} from '../../apis/api-helper';
 import {groupUpdate, updateGroups} from '../group/actions';
 import {Notification} from './interface';
 import {IState} from '../../store';
-import {EventType} from './constants';
+import {EventType, notificationPageSize} from './constants';
 import {actions as SystemActions} from '../system/reducer';
 
 function* noticeApiErrorReceived(action: PayloadAction<NoticeApiErrorAction>) {
   yield call(message.error, `Notice Error Received: ${action.payload.error}`);
 }
 
+// newest page of the inbox, loaded when it is opened
 function* notificationsUpdate(action: PayloadAction<NotificationsAction>) {
   try {
-    const data = yield call(fetchNotifications);
+    const data = yield call(fetchNotifications, '', notificationPageSize);
     const etag = data.headers.get('Etag')!;
     const notifications: Notification[] = yield data.json();
 
     const state: IState = yield select();
     const systemState = state.system;
 
-    if (
-        etag &&
-        state.system.notificationsEtag &&
-        state.system.notificationsEtag !== etag &&
-        notifications.filter(n => n.timestamp > (Date.now() - 120000)).length > 0
-    ) {
-      // if latestNotification is within 2 minutes
-      yield call(message.info, "You've got new notifications");
-    }
-
     yield put(
         SystemActions.systemUpdateReceived({
           ...systemState,
@@ -49,6 +48,55 @@ function* notificationsUpdate(action: PayloadAction<NotificationsAction>) {
           notifications: notifications,
         })
     );
+    yield put(
+        notificationsActions.notificationsNextCursorReceived({
+          nextCursor: data.headers.get(NEXT_CURSOR_HEADER) || undefined,
+        })
+    );
+  } catch (error) {
+    yield call(message.error, `Notice Error Received: ${error}`);
+  }
+}
+
+function* notificationsLoadMore(action: PayloadAction<LoadMoreNotifications>) {
+  try {
+    const state: IState = yield select();
+    if (!state.notice.nextCursor) {
+      return;
+    }
+    const data = yield call(
+        fetchNotifications,
+        state.notice.nextCursor,
+        notificationPageSize
+    );
+    const notifications: Notification[] = yield data.json();
+    yield put(
+        notificationsActions.notificationsReceived({
+          notifications: state.notice.notifications.concat(notifications),
+        })
+    );
+    yield put(
+        notificationsActions.notificationsNextCursorReceived({
+          nextCursor: data.headers.get(NEXT_CURSOR_HEADER) || undefined,
+        })
+    );
+  } catch (error) {
+    yield call(message.error, `Notice Error Received: ${error}`);
+  }
+}
+
+// count shown on the badge, fetched instead of the inbox whenever the notifications etag changes
+function* notificationCountUpdate(
+    action: PayloadAction<UpdateNotificationCount>
+) {
+  try {
+    const count: number = yield call(fetchNotificationCount);
+    const state: IState = yield select();
+    const previous = state.notice.count;
+    if (previous !== undefined && count > previous) {
+      yield call(message.info, "You've got new notifications");
+    }
+    yield put(notificationsActions.notificationCountReceived({count: count}));
   } catch (error) {
     yield call(message.error, `Notice Error Received: ${error}`);
   }
@@ -82,6 +130,13 @@ function* answerNotice(act: PayloadAction<AnswerNotificationAction>) {
   yield put(
       notificationsActions.notificationsReceived({notifications: notifications})
   );
+  if (state.notice.count) {
+    yield put(
+        notificationsActions.notificationCountReceived({
+          count: state.notice.count - 1,
+        })
+    );
+  }
 }
 
 function* notificationsDelete(action: PayloadAction<DeleteNotificationsAction>) {
@@ -104,6 +159,12 @@ function* notificationsDelete(action: PayloadAction<DeleteNotificationsAction>)
           notifications: notifications,
         })
     );
+    yield put(
+        notificationsActions.notificationsNextCursorReceived({
+          nextCursor: undefined,
+        })
+    );
+    yield put(notificationsActions.notificationCountReceived({count: 0}));
   } catch (error) {
     yield call(message.error, `Delete all notification failed: ${error}`);
   }
@@ -119,6 +180,14 @@ export default function* notificationSagas() {
         notificationsActions.notificationsUpdate.type,
         notificationsUpdate
     ),
+    yield takeLatest(
+        notificationsActions.notificationsLoadMore.type,
+        notificationsLoadMore
+    ),
+    yield takeLatest(
+        notificationsActions.notificationCountUpdate.type,
+        notificationCountUpdate
+    ),
     yield takeLatest(
         notificationsActions.deleteAllNotifications.type,
         notificationsDelete
@@ -47,7 +47,8 @@ export const getProjectHistory = (
   startDate: string,
   endDate: string,
   action: ContentAction,
-  username: string
+  username: string,
+  cursor: string = ''
 ) =>
   actions.getProjectHistory({
     projectId: projectId,
@@ -56,6 +57,24 @@ export const getProjectHistory = (
     endDate: endDate,
     action: action,
     username: username,
+    cursor: cursor,
+  });
+
+export const exportProjectHistory = (
+  projectId: number,
+  timezone: string,
+  startDate: string,
+  endDate: string,
+  action: ContentAction,
+  username: string
+) =>
+  actions.exportProjectHistory({
+    projectId: projectId,
+    timezone: timezone,
+    startDate: startDate,
+    endDate: endDate,
+    action: action,
+    username: username,
   });
 
 export const historyReceived = (activities: Activity[]) =>
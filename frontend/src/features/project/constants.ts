@@ -83,6 +83,7 @@ export enum ContentAction {
 }
 
 export const completedTaskPageSize = 50;
+export const projectHistoryPageSize = 50;
 
 export enum ProjectItemUIType {
     TODAY,
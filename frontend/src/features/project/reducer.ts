@@ -62,6 +62,21 @@ export type GetProjectHistoryAction = {
   endDate: string;
   action: ContentAction;
   username: string;
+  // empty for the first page, otherwise appended to what is shown
+  cursor: string;
+};
+
+export type HistoryNextCursorAction = {
+  nextCursor: string | undefined;
+};
+
+export type ExportProjectHistoryAction = {
+  projectId: number;
+  timezone: string;
+  startDate: string;
+  endDate: string;
+  action: ContentAction;
+  username: string;
 };
 
 let initialState = {
@@ -69,6 +84,7 @@ let initialState = {
   shared: [] as ProjectsWithOwner[],
   project: undefined as Project | undefined,
   projectHistory: [] as Activity[],
+  projectHistoryNextCursor: undefined as string | undefined,
 };
 
 const slice = createSlice({
@@ -79,10 +95,21 @@ const slice = createSlice({
       const { projectHistory } = action.payload;
       state.projectHistory = projectHistory;
     },
+    historyNextCursorReceived: (
+      state,
+      action: PayloadAction<HistoryNextCursorAction>
+    ) => {
+      const { nextCursor } = action.payload;
+      state.projectHistoryNextCursor = nextCursor;
+    },
     getProjectHistory: (
       state,
       action: PayloadAction<GetProjectHistoryAction>
     ) => state,
+    exportProjectHistory: (
+      state,
+      action: PayloadAction<ExportProjectHistoryAction>
+    ) => state,
     projectsReceived: (state, action: PayloadAction<Projects>) => {
       const { owned, shared } = action.payload;
       state.owned = owned;
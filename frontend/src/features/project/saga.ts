@@ -11,6 +11,7 @@ import {
   UpdateProjects,
   UpdateSharedProjectsOrderAction,
   GetProjectHistoryAction,
+  ExportProjectHistoryAction,
 } from './reducer';
 import { actions as groupsActions } from '../group/reducer';
 import { actions as tasksActions } from '../tasks/reducer';
@@ -24,7 +25,10 @@ import {
   updateProjectRelations,
   updateSharedProjectsOrder,
   GetProjectHistory,
+  ExportProjectHistory,
 } from '../../apis/projectApis';
+import { NEXT_CURSOR_HEADER } from '../../apis/api-helper';
+import { projectHistoryPageSize } from './constants';
 import { IState } from '../../store';
 import { Project, Activity } from './interface';
 import { actions as SystemActions } from '../system/reducer';
@@ -221,24 +225,75 @@ function* getProjectHistory(action: PayloadAction<GetProjectHistoryAction>) {
       startDate,
       endDate,
       username,
+      cursor,
     } = action.payload;
 
-    const data: Activity[] = yield call(
+    const data = yield call(
       GetProjectHistory,
       projectId,
       timezone,
       startDate,
       endDate,
       action.payload.action,
-      username
+      username,
+      cursor,
+      projectHistoryPageSize
     );
+    const activities: Activity[] = yield data.json();
 
-    yield put(projectActions.historyReceived({ projectHistory: data }));
+    const state: IState = yield select();
+    yield put(
+      projectActions.historyReceived({
+        projectHistory: cursor
+          ? state.project.projectHistory.concat(activities)
+          : activities,
+      })
+    );
+    yield put(
+      projectActions.historyNextCursorReceived({
+        nextCursor: data.headers.get(NEXT_CURSOR_HEADER) || undefined,
+      })
+    );
   } catch (error) {
     yield call(message.error, `Get Project History Error Received: ${error}`);
   }
 }
 
+function* exportProjectHistory(
+  action: PayloadAction<ExportProjectHistoryAction>
+) {
+  try {
+    const {
+      projectId,
+      timezone,
+      startDate,
+      endDate,
+      username,
+    } = action.payload;
+
+    const blob: Blob = yield call(
+      ExportProjectHistory,
+      projectId,
+      timezone,
+      startDate,
+      endDate,
+      action.payload.action,
+      username
+    );
+
+    const url = URL.createObjectURL(blob);
+    const link = document.createElement('a');
+    link.href = url;
+    link.download = `history-${projectId}-${startDate}-${endDate}.json`;
+    document.body.appendChild(link);
+    link.click();
+    document.body.removeChild(link);
+    URL.revokeObjectURL(url);
+  } catch (error) {
+    yield call(message.error, `Export Project History Error Received: ${error}`);
+  }
+}
+
 export default function* projectSagas() {
   yield all([
     yield takeLatest(
@@ -259,5 +314,9 @@ export default function* projectSagas() {
       putProjectRelations
     ),
     yield takeLatest(projectActions.getProjectHistory.type, getProjectHistory),
+    yield takeLatest(
+      projectActions.exportProjectHistory.type,
+      exportProjectHistory
+    ),
   ]);
 }
@@ -14,7 +14,7 @@ import {
 import { ContentType } from '../myBuJo/constants';
 import { getProject, updateProjects } from '../project/actions';
 import { updateGroups } from '../group/actions';
-import { updateNotifications } from '../notification/actions';
+import { updateNotificationCount } from '../notification/actions';
 import { ProjectType } from '../project/constants';
 import { Task } from '../tasks/interface';
 import moment from 'moment-timezone';
@@ -75,7 +75,7 @@ function* SystemUpdate(action: PayloadAction<UpdateSystem>) {
     }
 
     if (notificationsEtag !== data.notificationsEtag) {
-      yield put(updateNotifications());
+      yield put(updateNotificationCount());
     }
 
     let newComingTasks = [] as Task[];
@@ -144,7 +144,7 @@ function* SystemUpdate(action: PayloadAction<UpdateSystem>) {
         tasksEtag: tasksEtag,
         notesEtag: notesEtag,
         groupsEtag: data.groupsEtag,
-        notificationsEtag: '', // already done by put(updateNotifications())
+        notificationsEtag: data.notificationsEtag,
         ownedProjectsEtag: data.ownedProjectsEtag,
         sharedProjectsEtag: data.sharedProjectsEtag,
         remindingTaskEtag: data.remindingTaskEtag,
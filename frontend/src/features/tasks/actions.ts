@@ -121,6 +121,14 @@ export const updateTaskContents = (taskId: number) =>
   actions.TaskContentsUpdate({ taskId: taskId });
 export const updateCompleteTaskContents = (taskId: number) =>
   actions.CompleteTaskContentsUpdate({ taskId: taskId });
+export const updateTaskContentRevisions = (
+  taskId: number,
+  contentId: number
+) =>
+  actions.TaskContentRevisionsUpdate({
+    taskId: taskId,
+    contentId: contentId,
+  });
 export const updateTaskContentRevision = (
   taskId: number,
   contentId: number,
@@ -179,7 +187,8 @@ export const getSearchCompletedTasks = (
   assignee: string,
   startDate: string,
   endDate: string,
-  timezone: string
+  timezone: string,
+  cursor: string = ''
 ) =>
   actions.getSearchCompletedTasks({
     projectId: projectId,
@@ -187,6 +196,7 @@ export const getSearchCompletedTasks = (
     startDate: startDate,
     endDate: endDate,
     timezone: timezone,
+    cursor: cursor,
   });
 
 export const setTaskStatus = (taskId: number, taskStatus: TaskStatus) =>
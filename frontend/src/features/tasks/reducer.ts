@@ -14,6 +14,11 @@ export type UpdateTaskContents = {
   taskId: number;
 };
 
+export type UpdateTaskContentRevisions = {
+  taskId: number;
+  contentId: number;
+};
+
 export type UpdateTaskContentRevision = {
   taskId: number;
   contentId: number;
@@ -69,6 +74,10 @@ export type TasksAction = {
 
 export type ClearCompletedTasksAction = {};
 
+export type NextCursorAction = {
+  nextCursor: string | undefined;
+};
+
 export type TaskAction = {
   task: Task | undefined;
 };
@@ -207,6 +216,7 @@ export type GetSearchCompletedTasks = {
   startDate: string;
   endDate: string;
   timezone: string;
+  cursor: string;
 };
 
 export type SetTaskStatus = {
@@ -220,7 +230,7 @@ let initialState = {
   task: undefined as Task | undefined,
   tasks: [] as Array<Task>,
   completedTasks: [] as Array<Task>,
-  nextCompletedTasks: [] as Array<Task>,
+  completedTasksNextCursor: undefined as string | undefined,
   sharedUsers: [] as User[],
   sharedLinks: [] as SharableLink[],
   sharedLink: '',
@@ -229,6 +239,7 @@ let initialState = {
   tasksByAssignee: [] as Array<Task>,
   tasksByOrder: [] as Array<Task>,
   searchCompletedTasks: [] as Array<Task>,
+  searchCompletedTasksNextCursor: undefined as string | undefined,
 };
 
 const slice = createSlice({
@@ -242,6 +253,13 @@ const slice = createSlice({
       const { searchCompletedTasks } = action.payload;
       state.searchCompletedTasks = searchCompletedTasks;
     },
+    searchCompletedTasksNextCursorReceived: (
+      state,
+      action: PayloadAction<NextCursorAction>
+    ) => {
+      const { nextCursor } = action.payload;
+      state.searchCompletedTasksNextCursor = nextCursor;
+    },
     getSearchCompletedTasks: (
       state,
       action: PayloadAction<GetSearchCompletedTasks>
@@ -313,12 +331,15 @@ const slice = createSlice({
       action: PayloadAction<ClearCompletedTasksAction>
     ) => {
       state.completedTasks = [];
-      state.nextCompletedTasks = [];
+      state.completedTasksNextCursor = undefined;
       state.completedTaskPageNo = 0;
     },
-    nextCompletedTasksReceived: (state, action: PayloadAction<TasksAction>) => {
-      const { tasks } = action.payload;
-      state.nextCompletedTasks = tasks;
+    completedTasksNextCursorReceived: (
+      state,
+      action: PayloadAction<NextCursorAction>
+    ) => {
+      const { nextCursor } = action.payload;
+      state.completedTasksNextCursor = nextCursor;
     },
     taskApiErrorReceived: (state, action: PayloadAction<TaskApiErrorAction>) =>
       state,
@@ -354,6 +375,10 @@ const slice = createSlice({
       state,
       action: PayloadAction<UpdateTaskContents>
     ) => state,
+    TaskContentRevisionsUpdate: (
+      state,
+      action: PayloadAction<UpdateTaskContentRevisions>
+    ) => state,
     TaskContentRevisionUpdate: (
       state,
       action: PayloadAction<UpdateTaskContentRevision>
@@ -28,6 +28,7 @@ import {
   UncompleteTask,
   UpdateCompletedTasks,
   UpdateTaskContentRevision,
+  UpdateTaskContentRevisions,
   UpdateTaskContents,
   UpdateTasks,
 } from './reducer';
@@ -46,6 +47,7 @@ import {
   getCompletedTaskById,
   getCompletedTaskContents,
   getContentRevision,
+  getContentRevisions,
   getContents,
   getSharables,
   getTaskById,
@@ -67,6 +69,7 @@ import {Content, ProjectItems, Revision} from '../myBuJo/interface';
 import {updateItemsByLabels} from '../label/actions';
 import {actions as SystemActions} from '../system/reducer';
 import {completedTaskPageSize, ProjectItemUIType} from '../project/constants';
+import {NEXT_CURSOR_HEADER} from '../../apis/api-helper';
 import {Task} from './interface';
 import {recentItemsReceived} from '../recent/actions';
 import {ContentType} from '../myBuJo/constants';
@@ -126,37 +129,22 @@ function* completedTasksUpdate(action: PayloadAction<UpdateCompletedTasks>) {
       return;
     }
     yield put(updateLoadingCompletedTask(true));
-    if (state.task.completedTaskPageNo === 0) {
-      const tasks = yield call(
-        fetchCompletedTasks,
-        projectId,
-        state.task.completedTaskPageNo,
-        completedTaskPageSize
-      );
-      yield put(
-        tasksActions.completedTasksReceived({
-          tasks: tasks,
-        })
-      );
-    } else {
-      yield put(
-        tasksActions.completedTasksReceived({
-          tasks: state.task.completedTasks.concat(
-            state.task.nextCompletedTasks
-          ),
-        })
-      );
-    }
-
-    const tasks = yield call(
+    const firstPage = state.task.completedTaskPageNo === 0;
+    const data = yield call(
       fetchCompletedTasks,
       projectId,
-      state.task.completedTaskPageNo + 1,
+      firstPage ? '' : state.task.completedTasksNextCursor || '',
       completedTaskPageSize
     );
+    const tasks = yield data.json();
     yield put(
-      tasksActions.nextCompletedTasksReceived({
-        tasks: tasks,
+      tasksActions.completedTasksReceived({
+        tasks: firstPage ? tasks : state.task.completedTasks.concat(tasks),
+      })
+    );
+    yield put(
+      tasksActions.completedTasksNextCursorReceived({
+        nextCursor: data.headers.get(NEXT_CURSOR_HEADER) || undefined,
       })
     );
     yield put(
@@ -170,6 +158,33 @@ function* completedTasksUpdate(action: PayloadAction<UpdateCompletedTasks>) {
   yield put(updateLoadingCompletedTask(false));
 }
 
+// reload as many pages of completed tasks as are shown, after a task was completed or uncompleted
+function* completedTasksReload(projectId: number, pages: number) {
+  let tasks: Task[] = [];
+  let cursor: string | undefined = '';
+  for (let i = 0; i < pages && cursor !== undefined; i++) {
+    const data = yield call(
+      fetchCompletedTasks,
+      projectId,
+      cursor,
+      completedTaskPageSize
+    );
+    const page: Task[] = yield data.json();
+    tasks = tasks.concat(page);
+    cursor = data.headers.get(NEXT_CURSOR_HEADER) || undefined;
+  }
+  yield put(
+    tasksActions.completedTasksReceived({
+      tasks: tasks,
+    })
+  );
+  yield put(
+    tasksActions.completedTasksNextCursorReceived({
+      nextCursor: cursor,
+    })
+  );
+}
+
 function* taskCreate(action: PayloadAction<CreateTask>) {
   try {
     const {
@@ -356,28 +371,7 @@ function* completeTask(action: PayloadAction<CompleteTask>) {
 
       const completedTaskPageNo = state.task.completedTaskPageNo;
       if (completedTaskPageNo > 0) {
-        const completedTasks = yield call(
-          fetchCompletedTasks,
-          task.projectId,
-          0,
-          completedTaskPageNo * completedTaskPageSize
-        );
-        yield put(
-          tasksActions.completedTasksReceived({
-            tasks: completedTasks,
-          })
-        );
-        const tasks = yield call(
-          fetchCompletedTasks,
-          task.projectId,
-          completedTaskPageNo,
-          completedTaskPageSize
-        );
-        yield put(
-          tasksActions.nextCompletedTasksReceived({
-            tasks: tasks,
-          })
-        );
+        yield call(completedTasksReload, task.projectId, completedTaskPageNo);
       }
     }
 
@@ -462,28 +456,7 @@ function* uncompleteTask(action: PayloadAction<UncompleteTask>) {
     );
     const completedTaskPageNo = state.task.completedTaskPageNo;
     if (completedTaskPageNo > 0) {
-      const completedTasks = yield call(
-        fetchCompletedTasks,
-        task.projectId,
-        0,
-        completedTaskPageNo * completedTaskPageSize
-      );
-      yield put(
-        tasksActions.completedTasksReceived({
-          tasks: completedTasks,
-        })
-      );
-      const tasks = yield call(
-        fetchCompletedTasks,
-        task.projectId,
-        completedTaskPageNo,
-        completedTaskPageSize
-      );
-      yield put(
-        tasksActions.nextCompletedTasksReceived({
-          tasks: tasks,
-        })
-      );
+      yield call(completedTasksReload, task.projectId, completedTaskPageNo);
     }
     const searchCompletedTasks = state.task.searchCompletedTasks.filter(
       (t) => t.id !== taskId
@@ -818,6 +791,34 @@ function* completeTaskContentsUpdate(
   }
 }
 
+function* taskContentRevisionsUpdate(
+  action: PayloadAction<UpdateTaskContentRevisions>
+) {
+  try {
+    const { taskId, contentId } = action.payload;
+    const revisions: Revision[] = yield call(
+      getContentRevisions,
+      taskId,
+      contentId
+    );
+
+    const state: IState = yield select();
+    const taskContents: Content[] = state.task.contents.map((taskContent) =>
+      taskContent.id === contentId ? { ...taskContent, revisions: revisions } : taskContent
+    );
+    yield put(
+      tasksActions.taskContentsReceived({
+        contents: taskContents,
+      })
+    );
+  } catch (error) {
+    yield call(
+      message.error,
+      `taskContentRevisionsUpdate Error Received: ${error}`
+    );
+  }
+}
+
 function* taskContentRevisionUpdate(
   action: PayloadAction<UpdateTaskContentRevision>
 ) {
@@ -968,21 +969,32 @@ function* getSearchCompletedTasks(
       startDate,
       endDate,
       timezone,
+      cursor,
     } = action.payload;
-    const searchCompletedTasks = yield call(
+    const data = yield call(
       fetchCompletedTasks,
       projectId,
-      1,
-      1,
+      cursor,
+      completedTaskPageSize,
       assignee,
       startDate,
       endDate,
       timezone
     );
+    const tasks: Task[] = yield data.json();
 
+    // a cursor loads the next page of the same search
+    const state: IState = yield select();
     yield put(
       tasksActions.searchCompletedTasksReceived({
-        searchCompletedTasks: searchCompletedTasks,
+        searchCompletedTasks: cursor
+          ? state.task.searchCompletedTasks.concat(tasks)
+          : tasks,
+      })
+    );
+    yield put(
+      tasksActions.searchCompletedTasksNextCursorReceived({
+        nextCursor: data.headers.get(NEXT_CURSOR_HEADER) || undefined,
       })
     );
   } catch (error) {
@@ -1023,6 +1035,10 @@ export default function* taskSagas() {
       completedTasksUpdate
     ),
     yield takeLatest(tasksActions.TaskContentsUpdate.type, taskContentsUpdate),
+    yield takeLatest(
+      tasksActions.TaskContentRevisionsUpdate.type,
+      taskContentRevisionsUpdate
+    ),
     yield takeLatest(
       tasksActions.TaskContentRevisionUpdate.type,
       taskContentRevisionUpdate
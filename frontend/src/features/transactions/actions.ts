@@ -112,6 +112,14 @@ export const moveTransaction = (
 
 export const updateTransactionContents = (transactionId: number) =>
   actions.TransactionContentsUpdate({ transactionId: transactionId });
+export const updateTransactionContentRevisions = (
+  transactionId: number,
+  contentId: number
+) =>
+  actions.TransactionContentRevisionsUpdate({
+    transactionId: transactionId,
+    contentId: contentId,
+  });
 export const updateTransactionContentRevision = (
   transactionId: number,
   contentId: number,
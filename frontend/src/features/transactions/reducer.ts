@@ -17,6 +17,11 @@ export type UpdateTransactionContents = {
   transactionId: number;
 };
 
+export type UpdateTransactionContentRevisions = {
+  transactionId: number;
+  contentId: number;
+};
+
 export type UpdateTransactionContentRevision = {
   transactionId: number;
   contentId: number;
@@ -225,6 +230,10 @@ const slice = createSlice({
       state,
       action: PayloadAction<UpdateTransactionContents>
     ) => state,
+    TransactionContentRevisionsUpdate: (
+      state,
+      action: PayloadAction<UpdateTransactionContentRevisions>
+    ) => state,
     TransactionContentRevisionUpdate: (
       state,
       action: PayloadAction<UpdateTransactionContentRevision>
@@ -16,6 +16,7 @@ import {
   ShareTransaction,
   TransactionApiErrorAction,
   UpdateTransactionContentRevision,
+  UpdateTransactionContentRevisions,
   UpdateTransactionContents,
   UpdateTransactions,
 } from './reducer';
@@ -29,6 +30,7 @@ import {
   deleteTransactions as deleteTransactionsApi,
   fetchTransactions,
   getContentRevision,
+  getContentRevisions,
   getContents,
   getTransactionById,
   moveToTargetProject,
@@ -409,6 +411,34 @@ function* transactionContentsUpdate(
   }
 }
 
+function* transactionContentRevisionsUpdate(
+  action: PayloadAction<UpdateTransactionContentRevisions>
+) {
+  try {
+    const { transactionId, contentId } = action.payload;
+    const revisions: Revision[] = yield call(
+      getContentRevisions,
+      transactionId,
+      contentId
+    );
+
+    const state: IState = yield select();
+    const transactionContents: Content[] = state.transaction.contents.map((transactionContent) =>
+      transactionContent.id === contentId ? { ...transactionContent, revisions: revisions } : transactionContent
+    );
+    yield put(
+      transactionsActions.transactionContentsReceived({
+        contents: transactionContents,
+      })
+    );
+  } catch (error) {
+    yield call(
+      message.error,
+      `transactionContentRevisionsUpdate Error Received: ${error}`
+    );
+  }
+}
+
 function* transactionContentRevisionUpdate(
   action: PayloadAction<UpdateTransactionContentRevision>
 ) {
@@ -572,6 +602,10 @@ export default function* transactionSagas() {
       transactionsActions.TransactionContentsUpdate.type,
       transactionContentsUpdate
     ),
+    yield takeLatest(
+      transactionsActions.TransactionContentRevisionsUpdate.type,
+      transactionContentRevisionsUpdate
+    ),
     yield takeLatest(
       transactionsActions.TransactionContentRevisionUpdate.type,
       transactionContentRevisionUpdate
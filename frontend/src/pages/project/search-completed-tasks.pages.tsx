@@ -4,7 +4,7 @@ import {IState} from '../../store';
 import {Project} from '../../features/project/interface';
 import {connect} from 'react-redux';
 import {Avatar, BackTop, DatePicker, Divider, Select, Tooltip} from 'antd';
-import {SyncOutlined, TeamOutlined, UpSquareOutlined,} from '@ant-design/icons';
+import {CloudSyncOutlined, SyncOutlined, TeamOutlined, UpSquareOutlined,} from '@ant-design/icons';
 import moment from 'moment';
 import {getGroup} from '../../features/group/actions';
 import {Group, User} from '../../features/group/interface';
@@ -24,6 +24,7 @@ type SearchCompletedTasksProps = {
   group: Group | undefined;
   timezone: string;
   searchCompletedTasks: Task[];
+  searchCompletedTasksNextCursor: string | undefined;
   getGroup: (groupId: number) => void;
   getProject: (projectId: number) => void;
   getSearchCompletedTasks: (
@@ -31,7 +32,8 @@ type SearchCompletedTasksProps = {
     assignee: string,
     startDate: string,
     endDate: string,
-    timezone: string
+    timezone: string,
+    cursor?: string
   ) => void;
 };
 
@@ -43,6 +45,7 @@ const SearchCompletedTasksPage: React.FC<SearchCompletedTasksProps> = (
     timezone,
     group,
     searchCompletedTasks,
+    searchCompletedTasksNextCursor,
     getGroup,
     getProject,
     getSearchCompletedTasks,
@@ -81,6 +84,18 @@ const SearchCompletedTasksPage: React.FC<SearchCompletedTasksProps> = (
     getSearchCompletedTasks(project.id, user, Date[0], Date[1], timezone);
   };
 
+  const handleLoadMore = () => {
+    if (!project || !searchCompletedTasksNextCursor) return;
+    getSearchCompletedTasks(
+      project.id,
+      user,
+      Date[0],
+      Date[1],
+      timezone,
+      searchCompletedTasksNextCursor
+    );
+  };
+
   return (
     <div className='project'>
       <BackTop />
@@ -153,6 +168,13 @@ const SearchCompletedTasksPage: React.FC<SearchCompletedTasksProps> = (
           );
         })}
       </div>
+      {searchCompletedTasksNextCursor && (
+        <span className='load-more-button' onClick={handleLoadMore}>
+          <Tooltip title='Load More'>
+            <CloudSyncOutlined />
+          </Tooltip>
+        </span>
+      )}
     </div>
   );
 };
@@ -162,6 +184,7 @@ const mapStateToProps = (state: IState) => ({
   group: state.group.group,
   timezone: state.myself.timezone,
   searchCompletedTasks: state.task.searchCompletedTasks,
+  searchCompletedTasksNextCursor: state.task.searchCompletedTasksNextCursor,
 });
 
 export default connect(mapStateToProps, {
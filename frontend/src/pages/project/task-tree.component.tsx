@@ -33,7 +33,7 @@ type TasksProps = {
   tasks: Task[];
   completedTasks: Task[];
   loadingCompletedTask: boolean;
-  nextCompletedTasks: Task[];
+  completedTasksNextCursor: string | undefined;
   updateTasks: (projectId: number) => void;
   updateCompletedTasks: (projectId: number) => void;
   putTask: (projectId: number, tasks: Task[]) => void;
@@ -184,7 +184,7 @@ const TaskTree: React.FC<TasksProps> = (props) => {
     updateCompletedTasks,
     putTask,
     loadingCompletedTask,
-    nextCompletedTasks,
+    completedTasksNextCursor,
     showModal,
     showOrderModal,
     getTasksByOrder,
@@ -261,7 +261,7 @@ const TaskTree: React.FC<TasksProps> = (props) => {
             </div>
             {loadingCompletedTask ? (
                 <Loading/>
-            ) : nextCompletedTasks.length === 0 ? null : (
+            ) : !completedTasksNextCursor ? null : (
                 <span className='load-more-button' onClick={handleLoadMore}>
               <Tooltip title='Load More'>
                 <CloudSyncOutlined/>
@@ -375,7 +375,7 @@ const mapStateToProps = (state: IState) => ({
   tasks: state.task.tasks,
   completedTasks: state.task.completedTasks,
   loadingCompletedTask: state.task.loadingCompletedTask,
-  nextCompletedTasks: state.task.nextCompletedTasks,
+  completedTasksNextCursor: state.task.completedTasksNextCursor,
 });
 
 export default connect(mapStateToProps, {